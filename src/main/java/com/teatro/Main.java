@@ -2,8 +2,11 @@ package com.teatro;
 
 import com.teatro.database.DatabaseConnection;
 import com.teatro.model.Teatro;
+import com.teatro.service.EstatisticasService;
+import com.teatro.service.IngressoService;
 import com.teatro.view.LoginView;
 import com.teatro.util.PasswordMigration;
+import com.teatro.util.TarefasSegundoPlano;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
@@ -27,29 +30,8 @@ public class Main extends Application {
 
     @Override
     public void init() {
-        // Inicializa o sistema
+        // Inicializa o sistema sem acessar o banco (o catálogo carrega em segundo plano)
         teatro = Teatro.getInstance();
-        
-        // Verifica a conexão com o banco de dados
-        try {
-            DatabaseConnection.getInstance().getConnection();
-            System.out.println("Conexão com o banco de dados estabelecida com sucesso.");
-            
-            // Executa migração de senhas se necessário
-            try {
-                boolean migracaoExecutada = PasswordMigration.executarMigracaoSeNecessario();
-                if (migracaoExecutada) {
-                    System.out.println("Migração de senhas executada com sucesso.");
-                }
-            } catch (Exception e) {
-                System.err.println("Aviso: Erro durante a migração de senhas: " + e.getMessage());
-                // Não interrompe a execução do sistema se a migração falhar
-            }
-            
-        } catch (Exception e) {
-            System.err.println("Erro ao conectar ao banco de dados: " + e.getMessage());
-            Platform.exit();
-        }
     }
 
     @Override
@@ -61,6 +43,61 @@ public class Main extends Application {
         
         // Inicia com a tela de login modernizada
         new LoginView(teatro, primaryStage).show();
+        
+        iniciarBancoDeDados();
+    }
+
+    /**
+     * Prepara o banco em segundo plano, com a tela de login já aberta: o pool de conexões
+     * aplica as migrações e cria as tabelas de resumo (reconstruídas na primeira execução) e
+     * as estatísticas de vendas são carregadas. Quem usar o banco antes disso aguarda a
+     * inicialização do pool. A migração de senhas começa depois que o banco está pronto.
+     */
+    private void iniciarBancoDeDados() {
+        TarefasSegundoPlano.executar(() -> {
+                DatabaseConnection.getInstance().getConnection().close();
+                // Carrega as estatísticas de vendas antes das primeiras vendas
+                EstatisticasService.getInstance();
+                return null;
+            },
+            pronto -> {
+                System.out.println("Conexão com o banco de dados estabelecida com sucesso.");
+                iniciarMigracaoSenhas();
+            },
+            erro -> {
+                System.err.println("Erro ao conectar ao banco de dados: " + erro.getMessage());
+                Platform.exit();
+            });
+    }
+
+    /**
+     * Migra as senhas em texto plano em segundo plano, depois que a tela de login já está aberta.
+     * Até a migração terminar, o login desses usuários confere a senha em texto plano e a regrava.
+     * O progresso de cada lote é registrado no log pela própria migração.
+     */
+    private void iniciarMigracaoSenhas() {
+        System.out.println("Verificando senhas em texto plano em segundo plano...");
+        TarefasSegundoPlano.executar(PasswordMigration::executarMigracaoSeNecessario,
+            migracaoExecutada -> {
+                if (migracaoExecutada) {
+                    System.out.println("Migração de senhas executada com sucesso.");
+                }
+            },
+            // Não interrompe a execução do sistema se a migração falhar; ela é retomada do
+            // checkpoint na próxima inicialização
+            erro -> System.err.println("Aviso: Erro durante a migração de senhas: " + erro.getMessage()));
+    }
+
+    @Override
+    public void stop() {
+        // Entrega as notificações de venda ainda na fila antes de encerrar
+        try {
+            IngressoService.getInstance().encerrarNotificacoes();
+        } catch (Exception e) {
+            System.err.println("Aviso: Erro ao encerrar notificações de venda: " + e.getMessage());
+        }
+        // Interrompe os carregamentos das telas ainda em andamento
+        TarefasSegundoPlano.encerrar();
     }
 
 }
\ No newline at end of file
@@ -6,8 +6,7 @@ import com.teatro.model.TipoSessao;
 import com.teatro.util.TeatroLogger;
 import com.teatro.exception.TeatroException;
 import com.teatro.exception.SessaoNaoEncontradaException;
-import com.teatro.database.DatabaseConnection;
-import java.sql.SQLException;
+import com.teatro.database.UnidadeDeTrabalho;
 
 import java.sql.Date;
 import java.util.List;
@@ -17,16 +16,19 @@ public class SessaoController {
     private final SessaoDAO sessaoDAO;
     private final TeatroLogger logger;
 
-    public SessaoController() throws SQLException {
-        this.sessaoDAO = new SessaoDAO(DatabaseConnection.getInstance().getConnection());
+    public SessaoController() {
+        // O DAO usa a conexão da unidade de trabalho aberta em cada operação
+        this.sessaoDAO = new SessaoDAO();
         this.logger = TeatroLogger.getInstance();
     }
 
     public boolean criarSessao(String eventoNome, TipoSessao tipoSessao, Date dataSessao) {
         try {
-            Sessao sessao = new Sessao(eventoNome, tipoSessao, new java.sql.Timestamp(dataSessao.getTime()));
-            sessaoDAO.salvar(sessao);
-            return true;
+            return UnidadeDeTrabalho.executar(() -> {
+                Sessao sessao = new Sessao(eventoNome, tipoSessao, new java.sql.Timestamp(dataSessao.getTime()));
+                sessaoDAO.salvar(sessao);
+                return true;
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao criar sessão: " + e.getMessage());
             throw e;
@@ -38,7 +40,9 @@ public class SessaoController {
 
     public Optional<Sessao> buscarSessao(Long id) {
         try {
-            return sessaoDAO.buscarPorId(id);
+            return UnidadeDeTrabalho.executar(() -> {
+                return sessaoDAO.buscarPorId(id);
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao buscar sessão: " + e.getMessage());
             throw e;
@@ -50,7 +54,9 @@ public class SessaoController {
 
     public List<Sessao> listarSessoes() {
         try {
-            return sessaoDAO.listarTodos();
+            return UnidadeDeTrabalho.executar(() -> {
+                return sessaoDAO.listarTodos();
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao listar sessões: " + e.getMessage());
             throw e;
@@ -62,7 +68,9 @@ public class SessaoController {
 
     public List<Sessao> buscarSessoesPorEvento(Long eventoId) {
         try {
-            return sessaoDAO.buscarPorEvento(eventoId);
+            return UnidadeDeTrabalho.executar(() -> {
+                return sessaoDAO.buscarPorEvento(eventoId);
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao buscar sessões por evento: " + e.getMessage());
             throw e;
@@ -74,7 +82,9 @@ public class SessaoController {
 
     public void atualizarSessao(Sessao sessao) {
         try {
-            sessaoDAO.atualizar(sessao);
+            UnidadeDeTrabalho.executar(() -> {
+                sessaoDAO.atualizar(sessao);
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao atualizar sessão: " + e.getMessage());
             throw e;
@@ -86,7 +96,9 @@ public class SessaoController {
 
     public void removerSessao(Long id) {
         try {
-            sessaoDAO.remover(id);
+            UnidadeDeTrabalho.executar(() -> {
+                sessaoDAO.remover(id);
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao remover sessão: " + e.getMessage());
             throw e;
@@ -98,7 +110,9 @@ public class SessaoController {
 
     public boolean existeSessao(Long id) {
         try {
-            return sessaoDAO.existe(id);
+            return UnidadeDeTrabalho.executar(() -> {
+                return sessaoDAO.existe(id);
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao verificar existência da sessão: " + e.getMessage());
             throw e;
@@ -3,24 +3,45 @@ package com.teatro.dao;
 import com.teatro.model.Area;
 import com.teatro.exception.TeatroException;
 import com.teatro.exception.AreaException;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.util.TeatroLogger;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class AreaDAO implements DAO<Area, Long> {
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final Connection connection;
+    private final CacheEntidades<Area> cache = CacheCatalogo.getInstance().getAreas();
     
+    /**
+     * Cria o DAO sobre a conexão da unidade de trabalho aberta na thread que o usa.
+     * @see UnidadeDeTrabalho
+     */
+    public AreaDAO() {
+        this(null);
+    }
+    
+    /**
+     * Cria o DAO preso à conexão informada, que continua sob responsabilidade de quem a obteve.
+     */
     public AreaDAO(Connection connection) {
         this.connection = connection;
     }
     
+    /**
+     * Conexão da operação: a informada no construtor ou a da unidade de trabalho atual.
+     */
+    private Connection conexao() {
+        return connection != null ? connection : UnidadeDeTrabalho.conexaoAtual();
+    }
+    
     @Override
     public void salvar(Area area) {
         String sql = "INSERT INTO areas (nome, preco, capacidade_total) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, area.getNome());
             stmt.setDouble(2, area.getPreco());
             stmt.setInt(3, area.getCapacidadeTotal());
@@ -33,6 +54,7 @@ public class AreaDAO implements DAO<Area, Long> {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     area.setId(generatedKeys.getLong(1));
+                    invalidarAposConfirmar(area.getId());
                 } else {
                     throw new AreaException("Erro ao salvar área: ID não gerado");
                 }
@@ -46,13 +68,14 @@ public class AreaDAO implements DAO<Area, Long> {
     @Override
     public void atualizar(Area area) {
         String sql = "UPDATE areas SET nome = ?, preco = ?, capacidade_total = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setString(1, area.getNome());
             stmt.setDouble(2, area.getPreco());
             stmt.setInt(3, area.getCapacidadeTotal());
             stmt.setLong(4, area.getId());
             
             int affectedRows = stmt.executeUpdate();
+            invalidarAposConfirmar(area.getId());
             if (affectedRows == 0) {
                 throw new AreaException("Área com ID " + area.getId() + " não encontrada");
             }
@@ -65,10 +88,11 @@ public class AreaDAO implements DAO<Area, Long> {
     @Override
     public void remover(Long id) {
         String sql = "DELETE FROM areas WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             int affectedRows = stmt.executeUpdate();
+            invalidarAposConfirmar(id);
             if (affectedRows == 0) {
                 throw new AreaException("Área com ID " + id + " não encontrada");
             }
@@ -78,10 +102,22 @@ public class AreaDAO implements DAO<Area, Long> {
         }
     }
     
+    /**
+     * Remove a entidade do cache compartilhado só depois do commit: invalidar antes deixaria
+     * outra thread recarregar o valor antigo, ainda visível no banco, até a transação terminar.
+     */
+    private void invalidarAposConfirmar(Long id) {
+        UnidadeDeTrabalho.aposConfirmar(() -> cache.invalidar(id));
+    }
+    
     @Override
     public Optional<Area> buscarPorId(Long id) {
+        return cache.buscar(id, this::buscarNoBanco);
+    }
+    
+    private Optional<Area> buscarNoBanco(Long id) {
         String sql = "SELECT * FROM areas WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -100,12 +136,15 @@ public class AreaDAO implements DAO<Area, Long> {
     public List<Area> listarTodos() {
         String sql = "SELECT * FROM areas ORDER BY nome";
         List<Area> areas = new ArrayList<>();
+        long geracao = cache.getGeracao();
         
-        try (Statement stmt = connection.createStatement();
+        try (Statement stmt = conexao().createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                areas.add(montarArea(rs));
+                Area area = montarArea(rs);
+                cache.colocar(area.getId(), area, geracao);
+                areas.add(area);
             }
             return areas;
         } catch (SQLException e) {
@@ -114,10 +153,36 @@ public class AreaDAO implements DAO<Area, Long> {
         }
     }
     
+    @Override
+    public List<Area> listarPagina(Long aposId, int limite) {
+        String sql = "SELECT * FROM areas WHERE id > ? ORDER BY id LIMIT ?";
+        List<Area> areas = new ArrayList<>(Math.max(limite, 0));
+        
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            stmt.setLong(1, aposId != null ? aposId : 0L);
+            stmt.setInt(2, limite);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    areas.add(montarArea(rs));
+                }
+                return areas;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao listar página de áreas: " + e.getMessage());
+            throw new TeatroException("Erro ao listar página de áreas", e);
+        }
+    }
+    
+    @Override
+    public Stream<Area> listarEmFluxo() {
+        return ConsultaEmFluxo.abrir(connection, "SELECT * FROM areas ORDER BY id", stmt -> { }, this::montarArea);
+    }
+    
     @Override
     public boolean existe(Long id) {
         String sql = "SELECT COUNT(*) FROM areas WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -138,7 +203,7 @@ public class AreaDAO implements DAO<Area, Long> {
                     "WHERE sa.sessao_id = ? ORDER BY a.nome";
         List<Area> areas = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, sessaoId);
             
             try (ResultSet rs = stmt.executeQuery()) {
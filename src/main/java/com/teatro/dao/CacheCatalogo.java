@@ -0,0 +1,80 @@
+package com.teatro.dao;
+
+import com.teatro.database.DatabaseConfig;
+import com.teatro.model.Area;
+import com.teatro.model.Evento;
+import com.teatro.model.Sessao;
+
+/**
+ * Caches dos dados de referência (áreas, eventos e sessões), que quase nunca mudam
+ * mas são consultados a cada compra e a cada ingresso montado.
+ * Os DAOs consultam estes caches antes de ir ao banco e os invalidam ao salvar,
+ * atualizar ou remover.
+ */
+public class CacheCatalogo {
+    private static CacheCatalogo instance;
+
+    private final CacheEntidades<Area> areas;
+    private final CacheEntidades<Evento> eventos;
+    private final CacheEntidades<Sessao> sessoes;
+
+    private CacheCatalogo(int capacidade) {
+        this.areas = new CacheEntidades<>("areas", capacidade, CacheCatalogo::copiarArea);
+        this.eventos = new CacheEntidades<>("eventos", capacidade, CacheCatalogo::copiarEvento);
+        this.sessoes = new CacheEntidades<>("sessoes", capacidade, CacheCatalogo::copiarSessao);
+    }
+
+    public static synchronized CacheCatalogo getInstance() {
+        if (instance == null) {
+            instance = new CacheCatalogo(DatabaseConfig.getInstance().getCatalogoCacheSize());
+        }
+        return instance;
+    }
+
+    public CacheEntidades<Area> getAreas() {
+        return areas;
+    }
+
+    public CacheEntidades<Evento> getEventos() {
+        return eventos;
+    }
+
+    public CacheEntidades<Sessao> getSessoes() {
+        return sessoes;
+    }
+
+    /**
+     * Esvazia todos os caches (por exemplo, após alterações feitas fora da aplicação).
+     */
+    public void limpar() {
+        areas.limpar();
+        eventos.limpar();
+        sessoes.limpar();
+    }
+
+    /**
+     * Resumo dos acertos e falhas de cada cache, para registro em log.
+     * @return O resumo formatado
+     */
+    public String resumo() {
+        return areas.resumo() + "; " + eventos.resumo() + "; " + sessoes.resumo();
+    }
+
+    private static Area copiarArea(Area area) {
+        return new Area(area.getId(), area.getNome(), area.getPreco(), area.getCapacidadeTotal(), area.getSessaoId());
+    }
+
+    private static Evento copiarEvento(Evento evento) {
+        return new Evento(evento.getId(), evento.getNome(), evento.getPoster());
+    }
+
+    private static Sessao copiarSessao(Sessao sessao) {
+        Sessao copia = new Sessao();
+        copia.setId(sessao.getId());
+        copia.setNome(sessao.getNome());
+        copia.setEventoId(sessao.getEventoId());
+        copia.setTipoSessao(sessao.getTipoSessao());
+        copia.setData(sessao.getData());
+        return copia;
+    }
+}
@@ -0,0 +1,174 @@
+package com.teatro.dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de leitura (read-through) de entidades por ID, com tamanho máximo e descarte
+ * das entradas menos usadas (LRU).
+ * Guarda e devolve cópias das entidades, para que alterações feitas por quem as recebe
+ * (por exemplo, carregar a ocupação em uma Area) não vazem para o cache.
+ * @param <T> Tipo da entidade
+ */
+public class CacheEntidades<T> {
+    private final String nome;
+    private final int capacidade;
+    private final UnaryOperator<T> copiador;
+    private final Map<Long, T> entradas;
+    private final AtomicLong geracao = new AtomicLong();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+
+    /**
+     * @param nome Nome do cache, usado nos resumos
+     * @param capacidade Quantidade máxima de entidades mantidas
+     * @param copiador Função que cria uma cópia independente da entidade
+     */
+    public CacheEntidades(String nome, int capacidade, UnaryOperator<T> copiador) {
+        this.nome = nome;
+        this.capacidade = Math.max(capacidade, 1);
+        this.copiador = copiador;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, T> maisAntiga) {
+                if (size() > CacheEntidades.this.capacidade) {
+                    descartes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca a entidade no cache e, se ausente, carrega-a com a função informada.
+     * @param id O ID da entidade
+     * @param carregador Consulta ao banco usada quando a entidade não está no cache
+     * @return A entidade, se existir
+     */
+    public Optional<T> buscar(Long id, Function<Long, Optional<T>> carregador) {
+        if (id == null) {
+            return carregador.apply(id);
+        }
+        T valor;
+        synchronized (entradas) {
+            valor = entradas.get(id);
+        }
+        if (valor != null) {
+            acertos.increment();
+            return Optional.of(copiador.apply(valor));
+        }
+        falhas.increment();
+        long geracaoInicial = geracao.get();
+        Optional<T> carregado = carregador.apply(id);
+        carregado.ifPresent(entidade -> colocar(id, entidade, geracaoInicial));
+        return carregado;
+    }
+
+    /**
+     * Geração atual das invalidações. Quem preenche o cache a partir de uma listagem lê a
+     * geração antes de executar a consulta e a informa em colocar.
+     * @return A geração atual
+     */
+    public long getGeracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Guarda uma entidade já carregada (por exemplo, de uma listagem). A entidade é descartada
+     * se houve alguma invalidação desde a geração informada: ela pode ter sido lida antes de
+     * uma escrita concorrente ser confirmada.
+     * @param id O ID da entidade
+     * @param entidade A entidade
+     * @param geracaoEsperada A geração lida (getGeracao) antes da consulta que carregou a entidade
+     */
+    public void colocar(Long id, T entidade, long geracaoEsperada) {
+        if (id == null || entidade == null) {
+            return;
+        }
+        T copia = copiador.apply(entidade);
+        synchronized (entradas) {
+            // Uma invalidação durante a consulta torna o valor lido possivelmente obsoleto
+            if (geracao.get() == geracaoEsperada) {
+                entradas.put(id, copia);
+            }
+        }
+    }
+
+    public boolean contem(Long id) {
+        synchronized (entradas) {
+            return entradas.containsKey(id);
+        }
+    }
+
+    /**
+     * Remove uma entidade do cache; chamado pelos caminhos de escrita.
+     * @param id O ID da entidade alterada
+     */
+    public void invalidar(Long id) {
+        synchronized (entradas) {
+            geracao.incrementAndGet();
+            entradas.remove(id);
+        }
+    }
+
+    public void limpar() {
+        synchronized (entradas) {
+            geracao.incrementAndGet();
+            entradas.clear();
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public int getTamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getDescartes() {
+        return descartes.sum();
+    }
+
+    /**
+     * Proporção de buscas atendidas pelo cache.
+     * @return Valor entre 0 e 1
+     */
+    public double getTaxaAcerto() {
+        long a = acertos.sum();
+        long total = a + falhas.sum();
+        return total == 0 ? 0.0 : (double) a / total;
+    }
+
+    /**
+     * Resumo das métricas em uma linha, para registro em log.
+     * @return O resumo formatado
+     */
+    public String resumo() {
+        return nome + ": tamanho=" + getTamanho() + "/" + capacidade +
+               ", acertos=" + getAcertos() +
+               ", falhas=" + getFalhas() +
+               ", descartes=" + getDescartes();
+    }
+}
@@ -0,0 +1,138 @@
+package com.teatro.dao;
+
+import com.teatro.database.DatabaseConfig;
+import com.teatro.util.Validator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache negativo do login: CPFs e e-mails consultados recentemente que não pertencem a nenhum
+ * usuário. Enquanto a entrada é válida, novas tentativas com o mesmo identificador são
+ * recusadas sem consultar o banco, o que protege o banco de rajadas de tentativas com
+ * identificadores inventados (credential stuffing).
+ * Só guarda identificadores inexistentes, nunca senhas erradas. As entradas expiram após
+ * db.cache.loginNegativo.ttl milissegundos, e o cadastro ou a alteração de um usuário remove
+ * seus identificadores do cache.
+ * Implementa o padrão Singleton, compartilhado por todas as instâncias de UsuarioDAOImpl.
+ */
+public class CacheIdentificadoresDesconhecidos {
+    private static CacheIdentificadoresDesconhecidos instance;
+
+    private final int capacidade;
+    private final long validadeNanos;
+    private final LongSupplier relogio;
+    private final Map<String, Long> expiracoes;
+    private final LongAdder recusas = new LongAdder();
+
+    /**
+     * @param capacidade Quantidade máxima de identificadores mantidos (os mais antigos são descartados)
+     * @param validadeMillis Tempo de validade de cada entrada
+     * @param relogio Fonte do tempo atual em nanossegundos
+     */
+    CacheIdentificadoresDesconhecidos(int capacidade, long validadeMillis, LongSupplier relogio) {
+        this.capacidade = Math.max(capacidade, 1);
+        this.validadeNanos = TimeUnit.MILLISECONDS.toNanos(validadeMillis);
+        this.relogio = relogio;
+        this.expiracoes = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> maisAntiga) {
+                return size() > CacheIdentificadoresDesconhecidos.this.capacidade;
+            }
+        };
+    }
+
+    public static synchronized CacheIdentificadoresDesconhecidos getInstance() {
+        if (instance == null) {
+            DatabaseConfig config = DatabaseConfig.getInstance();
+            instance = new CacheIdentificadoresDesconhecidos(
+                config.getLoginNegativoCacheSize(), config.getLoginNegativoTtl(), System::nanoTime);
+        }
+        return instance;
+    }
+
+    /**
+     * Verifica se o identificador foi consultado recentemente e não existe.
+     * @param identificador CPF ou e-mail
+     * @return true se a consulta ao banco pode ser evitada
+     */
+    public boolean desconhecido(String identificador) {
+        String chave = normalizar(identificador);
+        synchronized (expiracoes) {
+            Long expiraEm = expiracoes.get(chave);
+            if (expiraEm == null) {
+                return false;
+            }
+            if (relogio.getAsLong() - expiraEm >= 0) {
+                expiracoes.remove(chave);
+                return false;
+            }
+        }
+        recusas.increment();
+        return true;
+    }
+
+    /**
+     * Registra um identificador que não pertence a nenhum usuário.
+     * @param identificador CPF ou e-mail
+     */
+    public void registrar(String identificador) {
+        String chave = normalizar(identificador);
+        synchronized (expiracoes) {
+            // Reinsere para que a entrada renovada seja a última a ser descartada
+            expiracoes.remove(chave);
+            expiracoes.put(chave, relogio.getAsLong() + validadeNanos);
+        }
+    }
+
+    /**
+     * Remove identificadores que passaram a existir (cadastro ou alteração de usuário).
+     * @param identificadores CPFs e e-mails; valores nulos são ignorados
+     */
+    public void remover(String... identificadores) {
+        synchronized (expiracoes) {
+            for (String identificador : identificadores) {
+                if (identificador != null) {
+                    expiracoes.remove(normalizar(identificador));
+                }
+            }
+        }
+    }
+
+    public void limpar() {
+        synchronized (expiracoes) {
+            expiracoes.clear();
+        }
+    }
+
+    public int getTamanho() {
+        synchronized (expiracoes) {
+            return expiracoes.size();
+        }
+    }
+
+    /**
+     * Quantidade de tentativas recusadas sem consultar o banco.
+     */
+    public long getRecusas() {
+        return recusas.sum();
+    }
+
+    /**
+     * CPFs viram a forma numérica usada na coluna cpf_numerico, de modo que qualquer formatação
+     * do mesmo CPF cai na mesma entrada. O banco compara e-mails sem diferenciar maiúsculas;
+     * a chave do cache faz o mesmo.
+     */
+    private static String normalizar(String identificador) {
+        if (identificador.indexOf('@') < 0) {
+            long cpfNumerico = Validator.normalizarCpf(identificador);
+            if (cpfNumerico >= 0) {
+                return Long.toString(cpfNumerico);
+            }
+        }
+        return identificador.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,120 @@
+package com.teatro.dao;
+
+import com.teatro.database.DatabaseConfig;
+import com.teatro.database.DatabaseConnection;
+import com.teatro.exception.TeatroException;
+import com.teatro.util.TeatroLogger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Expõe o resultado de uma consulta como Stream lido sob demanda, sem materializar todas as linhas.
+ * O ResultSet é somente-leitura e de avanço único, e o driver busca as linhas em blocos
+ * do tamanho configurado em db.stream.fetchSize (cursor no servidor, useCursorFetch).
+ * O Stream mantém statement e cursor abertos até ser fechado: use sempre try-with-resources.
+ */
+final class ConsultaEmFluxo {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    /** Preenche os parâmetros da consulta. */
+    @FunctionalInterface
+    interface Parametros {
+        void preencher(PreparedStatement stmt) throws SQLException;
+    }
+
+    /** Converte a linha atual do ResultSet em uma entidade. */
+    @FunctionalInterface
+    interface MapeadorLinha<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private ConsultaEmFluxo() {
+    }
+
+    /**
+     * Abre a consulta na conexão do DAO ou, se o DAO não tiver conexão própria (usa a unidade
+     * de trabalho da thread), em uma conexão emprestada do pool só para o Stream. O Stream
+     * pode ser consumido depois que a unidade de trabalho terminar, por isso não usa a conexão dela.
+     * @param connection A conexão do DAO; null para emprestar uma do pool
+     * @param sql A consulta
+     * @param parametros Preenchimento dos parâmetros
+     * @param mapeador Conversão de cada linha
+     * @return Stream que deve ser fechado após o uso; a conexão emprestada volta ao pool junto com ele
+     */
+    static <T> Stream<T> abrir(Connection connection, String sql, Parametros parametros, MapeadorLinha<T> mapeador) {
+        if (connection != null) {
+            return abrir(connection, sql, parametros, mapeador, null);
+        }
+        Connection emprestada;
+        try {
+            emprestada = DatabaseConnection.getInstance().getConnection();
+        } catch (SQLException e) {
+            logger.error("Erro ao abrir consulta em fluxo: " + e.getMessage());
+            throw new TeatroException("Erro ao abrir consulta em fluxo", e);
+        }
+        return abrir(emprestada, sql, parametros, mapeador, emprestada);
+    }
+
+    /**
+     * Abre a consulta e devolve um Stream sobre suas linhas.
+     * @param connection A conexão usada pela consulta
+     * @param sql A consulta
+     * @param parametros Preenchimento dos parâmetros
+     * @param mapeador Conversão de cada linha
+     * @param recursoExtra Recurso fechado junto com o Stream (por exemplo, a conexão emprestada do pool); pode ser null
+     * @return Stream que deve ser fechado após o uso
+     */
+    static <T> Stream<T> abrir(Connection connection, String sql, Parametros parametros,
+                               MapeadorLinha<T> mapeador, AutoCloseable recursoExtra) {
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(DatabaseConfig.getInstance().getStreamFetchSize());
+            parametros.preencher(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            fechar(rs, stmt, recursoExtra);
+            logger.error("Erro ao abrir consulta em fluxo: " + e.getMessage());
+            throw new TeatroException("Erro ao abrir consulta em fluxo", e);
+        }
+
+        final ResultSet cursor = rs;
+        final PreparedStatement statement = stmt;
+        Spliterator<T> linhas = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> acao) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    acao.accept(mapeador.mapear(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    logger.error("Erro ao ler consulta em fluxo: " + e.getMessage());
+                    throw new TeatroException("Erro ao ler consulta em fluxo", e);
+                }
+            }
+        };
+        return StreamSupport.stream(linhas, false).onClose(() -> fechar(cursor, statement, recursoExtra));
+    }
+
+    private static void fechar(ResultSet rs, PreparedStatement stmt, AutoCloseable recursoExtra) {
+        for (AutoCloseable recurso : new AutoCloseable[] {rs, stmt, recursoExtra}) {
+            if (recurso != null) {
+                try {
+                    recurso.close();
+                } catch (Exception e) {
+                    logger.error("Erro ao fechar consulta em fluxo: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
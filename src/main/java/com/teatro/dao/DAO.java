@@ -2,6 +2,7 @@ package com.teatro.dao;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface genérica para operações de acesso a dados.
@@ -40,6 +41,22 @@ public interface DAO<T, ID> {
      */
     List<T> listarTodos();
 
+    /**
+     * Lista uma página de entidades em ordem de ID, usando paginação por chave
+     * ({@code WHERE id > ? ORDER BY id LIMIT ?}), cujo custo não cresce com o número da página.
+     * @param aposId ID da última entidade da página anterior (null para a primeira página)
+     * @param limite Quantidade máxima de entidades na página
+     * @return As entidades da página; uma lista menor que o limite indica a última página
+     */
+    List<T> listarPagina(ID aposId, int limite);
+
+    /**
+     * Percorre todas as entidades em ordem de ID sem carregá-las de uma vez na memória.
+     * O Stream mantém um cursor aberto no banco e deve ser fechado (try-with-resources).
+     * @return Stream de entidades
+     */
+    Stream<T> listarEmFluxo();
+
     /**
      * Verifica se uma entidade existe pelo ID.
      * @param id ID da entidade
@@ -1,30 +1,75 @@
 package com.teatro.dao;
 
+import com.teatro.model.Area;
 import com.teatro.model.Evento;
+import com.teatro.model.Sessao;
+import com.teatro.model.TipoSessao;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.util.TeatroLogger;
 import com.teatro.exception.TeatroException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class EventoDAO {
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final Connection connection;
+    private final CacheEntidades<Evento> cache = CacheCatalogo.getInstance().getEventos();
+    private final CacheEntidades<Sessao> cacheSessoes = CacheCatalogo.getInstance().getSessoes();
 
+    /**
+     * Catálogo completo: eventos, suas sessões e as áreas de cada sessão, em uma única consulta.
+     * A ordem é a mesma de listarTodos (eventos por nome) e de SessaoDAO.buscarPorEvento.
+     */
+    private static final String SQL_CATALOGO = """
+        SELECT e.id AS evento_id, e.nome AS evento_nome, e.poster,
+            s.id AS sessao_id, s.horario, s.data_sessao,
+            a.id AS area_id, a.nome AS area_nome, a.preco, a.capacidade_total
+        FROM eventos e
+            LEFT JOIN sessoes s ON s.evento_id = e.id
+            LEFT JOIN sessoes_areas sa ON sa.sessao_id = s.id
+            LEFT JOIN areas a ON a.id = sa.area_id
+        ORDER BY e.nome, e.id, s.data_sessao, s.horario, s.id, a.nome
+        """;
+
+    /**
+     * Cria o DAO sobre a conexão da unidade de trabalho aberta na thread que o usa.
+     * @see UnidadeDeTrabalho
+     */
+    public EventoDAO() {
+        this(null);
+    }
+    
+    /**
+     * Cria o DAO preso à conexão informada, que continua sob responsabilidade de quem a obteve.
+     */
     public EventoDAO(Connection connection) {
         this.connection = connection;
     }
+    
+    /**
+     * Conexão da operação: a informada no construtor ou a da unidade de trabalho atual.
+     */
+    private Connection conexao() {
+        return connection != null ? connection : UnidadeDeTrabalho.conexaoAtual();
+    }
 
     public List<Evento> listarTodos() {
         List<Evento> eventos = new ArrayList<>();
         String sql = "SELECT id, nome, poster FROM eventos ORDER BY nome";
-        try (Statement stmt = connection.createStatement();
+        long geracao = cache.getGeracao();
+        try (Statement stmt = conexao().createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 Long id = rs.getLong("id");
                 String nome = rs.getString("nome");
                 String poster = rs.getString("poster");
-                eventos.add(new Evento(id, nome, poster));
+                Evento evento = new Evento(id, nome, poster);
+                cache.colocar(id, evento, geracao);
+                eventos.add(evento);
             }
         } catch (SQLException e) {
             logger.error("Erro ao listar eventos: " + e.getMessage());
@@ -33,19 +78,73 @@ public class EventoDAO {
         return eventos;
     }
 
+    /**
+     * Lista os eventos com suas sessões e, em cada sessão, as áreas vendidas nela
+     * (tabela sessoes_areas), em uma única ida ao banco.
+     * @return Os eventos em ordem de nome, com as sessões em ordem de data e horário
+     */
+    public List<Evento> listarComSessoes() {
+        Map<Long, Evento> eventos = new LinkedHashMap<>();
+        Map<Long, Sessao> sessoes = new LinkedHashMap<>();
+        long geracaoEventos = cache.getGeracao();
+        long geracaoSessoes = cacheSessoes.getGeracao();
+        try (Statement stmt = conexao().createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_CATALOGO)) {
+            while (rs.next()) {
+                Long eventoId = rs.getLong("evento_id");
+                Evento evento = eventos.get(eventoId);
+                if (evento == null) {
+                    evento = new Evento(eventoId, rs.getString("evento_nome"), rs.getString("poster"));
+                    eventos.put(eventoId, evento);
+                    cache.colocar(eventoId, evento, geracaoEventos);
+                }
+
+                long sessaoId = rs.getLong("sessao_id");
+                if (rs.wasNull()) {
+                    continue; // Evento sem sessões
+                }
+                Sessao sessao = sessoes.get(sessaoId);
+                if (sessao == null) {
+                    sessao = new Sessao(evento.getNome(),
+                        TipoSessao.fromDescricao(rs.getString("horario")), rs.getTimestamp("data_sessao"));
+                    sessao.setId(sessaoId);
+                    sessao.setEventoId(eventoId);
+                    sessao.setEvento(evento);
+                    sessoes.put(sessaoId, sessao);
+                    cacheSessoes.colocar(sessaoId, sessao, geracaoSessoes);
+                    evento.addSessao(sessao);
+                }
+
+                long areaId = rs.getLong("area_id");
+                if (!rs.wasNull()) {
+                    sessao.getAreas().add(new Area(areaId, rs.getString("area_nome"), rs.getDouble("preco"),
+                        rs.getInt("capacidade_total"), sessaoId));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao carregar catálogo de eventos: " + e.getMessage());
+            throw new TeatroException("Erro ao carregar catálogo de eventos", e);
+        }
+        return new ArrayList<>(eventos.values());
+    }
+
     public Evento buscarPorId(Long id) {
+        return cache.buscar(id, this::buscarNoBanco).orElse(null);
+    }
+
+    private Optional<Evento> buscarNoBanco(Long id) {
         String sql = "SELECT id, nome, poster FROM eventos WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Evento(rs.getLong("id"), rs.getString("nome"), rs.getString("poster"));
+                    return Optional.of(new Evento(rs.getLong("id"), rs.getString("nome"), rs.getString("poster")));
                 }
             }
         } catch (SQLException e) {
             logger.error("Erro ao buscar evento por id: " + e.getMessage());
             throw new TeatroException("Erro ao buscar evento por id", e);
         }
-        return null;
+        return Optional.empty();
     }
 } 
\ No newline at end of file
@@ -4,82 +4,271 @@ import com.teatro.model.Ingresso;
 import com.teatro.exception.TeatroException;
 import com.teatro.exception.IngressoException;
 import com.teatro.exception.PoltronaOcupadaException;
+import com.teatro.database.OutboxVendas;
+import com.teatro.database.ResumosEstatisticas;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.util.TeatroLogger;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import com.teatro.dao.SessaoDAO;
-import com.teatro.database.DatabaseConnection;
-import com.teatro.model.Sessao;
-import com.teatro.dao.EventoDAO;
-import com.teatro.model.Evento;
-import com.teatro.dao.AreaDAO;
-import com.teatro.model.Area;
+import java.util.stream.Stream;
+import com.teatro.model.TipoSessao;
 
 /**
  * Implementação do DAO para a entidade Ingresso.
  */
 public class IngressoDAO implements DAO<Ingresso, Long> {
     
+    /** Chave única (sessao_id, area_id, numero_poltrona), criada pela migração 4. */
+    private static final String UK_POLTRONA = "uk_ingressos_poltrona";
+    
+    /**
+     * Projeção completa do ingresso: traz em uma única consulta os dados de exibição
+     * (evento, área, horário e data da sessão) que antes eram buscados linha a linha.
+     */
+    private static final String SELECT_INGRESSO_COMPLETO =
+        "SELECT i.id, i.usuario_id, i.sessao_id, i.area_id, i.numero_poltrona, i.valor, i.data_compra, i.codigo, " +
+        "s.horario, s.data_sessao, e.nome AS evento_nome, a.nome AS area_nome " +
+        "FROM ingressos i " +
+        "INNER JOIN sessoes s ON s.id = i.sessao_id " +
+        "INNER JOIN eventos e ON e.id = s.evento_id " +
+        "INNER JOIN areas a ON a.id = i.area_id ";
+    
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final Connection connection;
     
+    /**
+     * Cria o DAO sobre a conexão da unidade de trabalho aberta na thread que o usa.
+     * @see UnidadeDeTrabalho
+     */
+    public IngressoDAO() {
+        this(null);
+    }
+    
+    /**
+     * Cria o DAO preso à conexão informada, que continua sob responsabilidade de quem a obteve.
+     */
     public IngressoDAO(Connection connection) {
         this.connection = connection;
     }
     
+    /**
+     * Conexão da operação: a informada no construtor ou a da unidade de trabalho atual.
+     */
+    private Connection conexao() {
+        return connection != null ? connection : UnidadeDeTrabalho.conexaoAtual();
+    }
+    
+    /**
+     * Salva o ingresso e, na mesma transação, atualiza as tabelas de resumo de estatísticas
+     * e registra a venda na outbox de notificações.
+     */
     @Override
     public void salvar(Ingresso ingresso) {
         String sql = "INSERT INTO ingressos (usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra, codigo) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            preencherStatement(stmt, ingresso);
-            
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new IngressoException("Erro ao salvar ingresso: nenhuma linha afetada");
-            }
-            
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    ingresso.setId(generatedKeys.getLong(1));
-                } else {
-                    throw new IngressoException("Erro ao salvar ingresso: ID não gerado");
+        try {
+            executarEmTransacao(() -> {
+                try (PreparedStatement stmt = conexao().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    preencherStatement(stmt, ingresso);
+                    
+                    int affectedRows = stmt.executeUpdate();
+                    if (affectedRows == 0) {
+                        throw new IngressoException("Erro ao salvar ingresso: nenhuma linha afetada");
+                    }
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            ingresso.setId(generatedKeys.getLong(1));
+                        } else {
+                            throw new IngressoException("Erro ao salvar ingresso: ID não gerado");
+                        }
+                    }
                 }
+                new ResumosEstatisticas(conexao()).registrar(List.of(ingresso), 1);
+                new OutboxVendas(conexao()).registrar(List.of(ingresso), OutboxVendas.TIPO_VENDA);
+            });
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (violouPoltronaUnica(e)) {
+                // Outro comprador gravou a mesma poltrona primeiro
+                throw new PoltronaOcupadaException("A poltrona " + ingresso.getNumeroPoltrona() + " já está ocupada", e);
             }
+            logger.error("Erro ao salvar ingresso: " + e.getMessage());
+            throw new TeatroException("Erro ao salvar ingresso", e);
         } catch (SQLException e) {
             logger.error("Erro ao salvar ingresso: " + e.getMessage());
             throw new TeatroException("Erro ao salvar ingresso", e);
         }
     }
     
+    /**
+     * Salva vários ingressos em uma única transação, usando lote JDBC (addBatch).
+     * Ou todos os ingressos são gravados, ou nenhum: se alguma poltrona já estiver vendida,
+     * a transação é desfeita e é lançada PoltronaOcupadaException.
+     * As tabelas de resumo de estatísticas e a outbox de notificações são atualizadas na mesma transação.
+     * @param ingressos Os ingressos a serem salvos (os IDs gerados são preenchidos)
+     */
+    public void salvarEmLote(List<Ingresso> ingressos) {
+        String sql = "INSERT INTO ingressos (usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra, codigo) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try {
+            executarEmTransacao(() -> {
+                try (PreparedStatement stmt = conexao().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Ingresso ingresso : ingressos) {
+                        preencherStatement(stmt, ingresso);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (Ingresso ingresso : ingressos) {
+                            if (!generatedKeys.next()) {
+                                throw new IngressoException("Erro ao salvar ingressos: ID não gerado");
+                            }
+                            ingresso.setId(generatedKeys.getLong(1));
+                        }
+                    }
+                }
+                new ResumosEstatisticas(conexao()).registrar(ingressos, 1);
+                new OutboxVendas(conexao()).registrar(ingressos, OutboxVendas.TIPO_VENDA);
+            });
+        } catch (SQLException e) {
+            if (violouPoltronaUnica(e)) {
+                throw new PoltronaOcupadaException("Uma ou mais poltronas já estão ocupadas", e);
+            }
+            logger.error("Erro ao salvar ingressos em lote: " + e.getMessage());
+            throw new TeatroException("Erro ao salvar ingressos", e);
+        }
+    }
+    
+    /**
+     * Operação executada dentro de uma transação de ingressos.
+     */
+    @FunctionalInterface
+    private interface OperacaoTransacional {
+        void executar() throws SQLException;
+    }
+    
+    /**
+     * Executa a operação em uma transação: confirma ao final ou desfaz em caso de erro.
+     * O modo auto-commit original da conexão é restaurado. Se a conexão já estiver em uma
+     * transação aberta pelo chamador (auto-commit desligado), a operação participa dela e
+     * a confirmação fica a cargo do chamador.
+     */
+    private void executarEmTransacao(OperacaoTransacional operacao) throws SQLException {
+        Connection connection = conexao();
+        boolean autoCommitOriginal = connection.getAutoCommit();
+        if (!autoCommitOriginal) {
+            operacao.executar();
+            return;
+        }
+        connection.setAutoCommit(false);
+        try {
+            operacao.executar();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            desfazer(connection);
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommitOriginal);
+            } catch (SQLException e) {
+                logger.error("Erro ao restaurar auto-commit: " + e.getMessage());
+            }
+        }
+    }
+    
+    private void desfazer(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("Erro ao desfazer transação de ingressos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Atualiza o ingresso. Sessão, área, valor e data da compra não podem ser alterados:
+     * eles compõem as tabelas de resumo e as estatísticas em memória, que só acompanham
+     * vendas e cancelamentos. Para trocar esses dados, cancele o ingresso e faça uma nova compra.
+     */
     @Override
     public void atualizar(Ingresso ingresso) {
         String sql = "UPDATE ingressos SET usuario_id = ?, sessao_id = ?, area_id = ?, numero_poltrona = ?, valor = ?, data_compra = ?, codigo = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            preencherStatement(stmt, ingresso);
-            stmt.setLong(8, ingresso.getId());
-            
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new IngressoException("Ingresso com ID " + ingresso.getId() + " não encontrado");
-            }
+        try {
+            executarEmTransacao(() -> {
+                Ingresso atual = buscarParaAlteracao(ingresso.getId());
+                if (!Objects.equals(atual.getSessaoId(), ingresso.getSessaoId())
+                        || !Objects.equals(atual.getAreaId(), ingresso.getAreaId())
+                        || Double.compare(atual.getValor(), ingresso.getValor()) != 0
+                        || !Objects.equals(atual.getDataCompra(), ingresso.getDataCompra())) {
+                    throw new IngressoException("Sessão, área, valor e data da compra do ingresso " + ingresso.getId() +
+                                                " não podem ser alterados; cancele o ingresso e faça uma nova compra");
+                }
+                try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+                    preencherStatement(stmt, ingresso);
+                    stmt.setLong(8, ingresso.getId());
+                    stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
+            if (violouPoltronaUnica(e)) {
+                throw new PoltronaOcupadaException("A poltrona " + ingresso.getNumeroPoltrona() + " já está ocupada", e);
+            }
             logger.error("Erro ao atualizar ingresso: " + e.getMessage());
             throw new TeatroException("Erro ao atualizar ingresso", e);
         }
     }
     
+    /**
+     * Lê e bloqueia (FOR UPDATE) a linha do ingresso até o fim da transação em andamento.
+     */
+    private Ingresso buscarParaAlteracao(Long id) throws SQLException {
+        String sql = "SELECT id, usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra, codigo " +
+                     "FROM ingressos WHERE id = ? FOR UPDATE";
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IngressoException("Ingresso com ID " + id + " não encontrado");
+                }
+                Ingresso ingresso = new Ingresso();
+                ingresso.setId(rs.getLong("id"));
+                ingresso.setUsuarioId(rs.getLong("usuario_id"));
+                ingresso.setSessaoId(rs.getLong("sessao_id"));
+                ingresso.setAreaId(rs.getLong("area_id"));
+                ingresso.setNumeroPoltrona(rs.getInt("numero_poltrona"));
+                ingresso.setValor(rs.getDouble("valor"));
+                ingresso.setDataCompra(rs.getTimestamp("data_compra"));
+                ingresso.setCodigo(rs.getString("codigo"));
+                return ingresso;
+            }
+        }
+    }
+    
+    /**
+     * Remove o ingresso e, na mesma transação, desconta a venda das tabelas de resumo
+     * e registra o cancelamento na outbox de notificações.
+     */
     @Override
     public void remover(Long id) {
         String sql = "DELETE FROM ingressos WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, id);
-            
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new IngressoException("Ingresso com ID " + id + " não encontrado");
-            }
+        try {
+            executarEmTransacao(() -> {
+                Ingresso removido = buscarParaAlteracao(id);
+                try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+                    stmt.setLong(1, id);
+                    
+                    int affectedRows = stmt.executeUpdate();
+                    if (affectedRows == 0) {
+                        throw new IngressoException("Ingresso com ID " + id + " não encontrado");
+                    }
+                }
+                new ResumosEstatisticas(conexao()).registrar(List.of(removido), -1);
+                new OutboxVendas(conexao()).registrar(List.of(removido), OutboxVendas.TIPO_CANCELAMENTO);
+            });
         } catch (SQLException e) {
             logger.error("Erro ao remover ingresso: " + e.getMessage());
             throw new TeatroException("Erro ao remover ingresso", e);
@@ -88,8 +277,8 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
     
     @Override
     public Optional<Ingresso> buscarPorId(Long id) {
-        String sql = "SELECT * FROM ingressos WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.id = ?";
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -106,10 +295,10 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
     
     @Override
     public List<Ingresso> listarTodos() {
-        String sql = "SELECT * FROM ingressos ORDER BY data_compra";
+        String sql = SELECT_INGRESSO_COMPLETO + "ORDER BY i.data_compra";
         List<Ingresso> ingressos = new ArrayList<>();
         
-        try (Statement stmt = connection.createStatement();
+        try (Statement stmt = conexao().createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
@@ -122,11 +311,89 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
         }
     }
     
+    @Override
+    public List<Ingresso> listarPagina(Long aposId, int limite) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.id > ? ORDER BY i.id LIMIT ?";
+        return listarPagina(sql, null, aposId, limite);
+    }
+    
+    @Override
+    public Stream<Ingresso> listarEmFluxo() {
+        String sql = SELECT_INGRESSO_COMPLETO + "ORDER BY i.id";
+        return ConsultaEmFluxo.abrir(connection, sql, stmt -> { }, this::montarIngresso);
+    }
+    
+    /**
+     * Lista uma página dos ingressos de um usuário, em ordem de ID.
+     * @param usuarioId O ID do usuário
+     * @param aposId ID do último ingresso da página anterior (null para a primeira página)
+     * @param limite Quantidade máxima de ingressos
+     * @return Os ingressos da página
+     */
+    public List<Ingresso> listarPaginaPorUsuario(Long usuarioId, Long aposId, int limite) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.usuario_id = ? AND i.id > ? ORDER BY i.id LIMIT ?";
+        return listarPagina(sql, usuarioId, aposId, limite);
+    }
+    
+    /**
+     * Lista uma página dos ingressos de uma sessão, em ordem de ID.
+     * @param sessaoId O ID da sessão
+     * @param aposId ID do último ingresso da página anterior (null para a primeira página)
+     * @param limite Quantidade máxima de ingressos
+     * @return Os ingressos da página
+     */
+    public List<Ingresso> listarPaginaPorSessao(Long sessaoId, Long aposId, int limite) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.sessao_id = ? AND i.id > ? ORDER BY i.id LIMIT ?";
+        return listarPagina(sql, sessaoId, aposId, limite);
+    }
+    
+    /**
+     * Percorre os ingressos de um usuário sem carregá-los de uma vez. O Stream deve ser fechado.
+     * @param usuarioId O ID do usuário
+     * @return Stream de ingressos em ordem de ID
+     */
+    public Stream<Ingresso> buscarPorUsuarioEmFluxo(Long usuarioId) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.usuario_id = ? ORDER BY i.id";
+        return ConsultaEmFluxo.abrir(connection, sql, stmt -> stmt.setLong(1, usuarioId), this::montarIngresso);
+    }
+    
+    /**
+     * Percorre os ingressos de uma sessão sem carregá-los de uma vez. O Stream deve ser fechado.
+     * @param sessaoId O ID da sessão
+     * @return Stream de ingressos em ordem de ID
+     */
+    public Stream<Ingresso> buscarPorSessaoEmFluxo(Long sessaoId) {
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.sessao_id = ? ORDER BY i.id";
+        return ConsultaEmFluxo.abrir(connection, sql, stmt -> stmt.setLong(1, sessaoId), this::montarIngresso);
+    }
+    
+    private List<Ingresso> listarPagina(String sql, Long filtroId, Long aposId, int limite) {
+        List<Ingresso> ingressos = new ArrayList<>(Math.max(limite, 0));
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            int indice = 1;
+            if (filtroId != null) {
+                stmt.setLong(indice++, filtroId);
+            }
+            stmt.setLong(indice++, aposId != null ? aposId : 0L);
+            stmt.setInt(indice, limite);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ingressos.add(montarIngresso(rs));
+                }
+                return ingressos;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao listar página de ingressos: " + e.getMessage());
+            throw new TeatroException("Erro ao listar página de ingressos", e);
+        }
+    }
+    
     @Override
     public boolean existe(Long id) {
         String sql = "SELECT COUNT(*) FROM ingressos WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -146,10 +413,10 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
      * @return Lista de ingressos do usuário
      */
     public List<Ingresso> buscarPorUsuario(Long usuarioId) {
-        String sql = "SELECT * FROM ingressos WHERE usuario_id = ? ORDER BY data_compra";
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.usuario_id = ? ORDER BY i.data_compra";
         List<Ingresso> ingressos = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, usuarioId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -170,10 +437,10 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
      * @return Lista de ingressos da sessão
      */
     public List<Ingresso> buscarPorSessao(Long sessaoId) {
-        String sql = "SELECT * FROM ingressos WHERE sessao_id = ? ORDER BY data_compra";
+        String sql = SELECT_INGRESSO_COMPLETO + "WHERE i.sessao_id = ? ORDER BY i.data_compra";
         List<Ingresso> ingressos = new ArrayList<>();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, sessaoId);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -197,7 +464,7 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
      */
     public boolean poltronaOcupada(Long sessaoId, Long areaId, int numeroPoltrona) {
         String sql = "SELECT COUNT(*) FROM ingressos WHERE sessao_id = ? AND area_id = ? AND numero_poltrona = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, sessaoId);
             stmt.setLong(2, areaId);
             stmt.setInt(3, numeroPoltrona);
@@ -214,6 +481,81 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
         }
     }
     
+    /**
+     * Busca apenas os números das poltronas ocupadas de uma área.
+     * @param sessaoId O ID da sessão (null para considerar todas as sessões)
+     * @param areaId O ID da área
+     * @return BitSet com o bit n ligado para cada poltrona n ocupada
+     */
+    public BitSet buscarPoltronasOcupadas(Long sessaoId, Long areaId) {
+        String sql = sessaoId != null
+            ? "SELECT numero_poltrona FROM ingressos WHERE sessao_id = ? AND area_id = ?"
+            : "SELECT numero_poltrona FROM ingressos WHERE area_id = ?";
+        BitSet ocupadas = new BitSet();
+        
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            if (sessaoId != null) {
+                stmt.setLong(1, sessaoId);
+                stmt.setLong(2, areaId);
+            } else {
+                stmt.setLong(1, areaId);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int numero = rs.getInt(1);
+                    if (numero > 0) {
+                        ocupadas.set(numero);
+                    }
+                }
+                return ocupadas;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar poltronas ocupadas: " + e.getMessage());
+            throw new TeatroException("Erro ao buscar poltronas ocupadas", e);
+        }
+    }
+    
+    /**
+     * Busca as poltronas ocupadas de todas as áreas de uma sessão em uma única consulta.
+     * @param sessaoId O ID da sessão
+     * @return Mapa do ID da área para o BitSet de poltronas ocupadas
+     */
+    public Map<Long, BitSet> buscarPoltronasOcupadasPorArea(Long sessaoId) {
+        String sql = "SELECT area_id, numero_poltrona FROM ingressos WHERE sessao_id = ?";
+        Map<Long, BitSet> ocupadasPorArea = new HashMap<>();
+        
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            stmt.setLong(1, sessaoId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int numero = rs.getInt(2);
+                    if (numero > 0) {
+                        ocupadasPorArea.computeIfAbsent(rs.getLong(1), id -> new BitSet()).set(numero);
+                    }
+                }
+                return ocupadasPorArea;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar poltronas ocupadas da sessão: " + e.getMessage());
+            throw new TeatroException("Erro ao buscar poltronas ocupadas da sessão", e);
+        }
+    }
+    
+    /**
+     * Verifica se a violação de integridade veio da chave única de poltronas.
+     */
+    private boolean violouPoltronaUnica(SQLException e) {
+        // Em lotes o driver embrulha a violação em BatchUpdateException; percorre a cadeia
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(UK_POLTRONA)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private void preencherStatement(PreparedStatement stmt, Ingresso ingresso) throws SQLException {
         stmt.setLong(1, ingresso.getUsuarioId());
         stmt.setLong(2, ingresso.getSessaoId());
@@ -234,31 +576,15 @@ public class IngressoDAO implements DAO<Ingresso, Long> {
         ingresso.setValor(rs.getDouble("valor"));
         ingresso.setDataCompra(rs.getTimestamp("data_compra"));
         ingresso.setCodigo(rs.getString("codigo"));
-        // Preencher tipoSessao buscando a sessão
-        try {
-            SessaoDAO sessaoDAO = new SessaoDAO(DatabaseConnection.getInstance().getConnection());
-            Long sessaoId = rs.getLong("sessao_id");
-            Optional<Sessao> sessaoOpt = sessaoDAO.buscarPorId(sessaoId);
-            if (sessaoOpt.isPresent()) {
-                Sessao sessao = sessaoOpt.get();
-                ingresso.setTipoSessao(sessao.getTipoSessao());
-                // Buscar evento e preencher nome
-                Long eventoId = sessao.getEventoId();
-                if (eventoId != null) {
-                    EventoDAO eventoDAO = new EventoDAO(DatabaseConnection.getInstance().getConnection());
-                    Evento evento = eventoDAO.buscarPorId(eventoId);
-                    if (evento != null) {
-                        ingresso.setEventoNome(evento.getNome());
-                    }
-                }
-            }
-            // Buscar área e preencher nome da área
-            AreaDAO areaDAO = new AreaDAO(DatabaseConnection.getInstance().getConnection());
-            Optional<Area> areaOpt = areaDAO.buscarPorId(ingresso.getAreaId());
-            areaOpt.ifPresent(area -> ingresso.setAreaNome(area.getNome()));
-        } catch (Exception e) {
-            logger.error("Erro ao preencher tipoSessao/nome do evento/nome da área do ingresso: " + e.getMessage());
+        // Dados de exibição vindos do JOIN com sessoes, eventos e areas
+        TipoSessao tipoSessao = TipoSessao.fromDescricao(rs.getString("horario"));
+        ingresso.setTipoSessao(tipoSessao);
+        if (tipoSessao != null) {
+            ingresso.setHorario(tipoSessao.getDescricao());
         }
+        ingresso.setDataSessao(rs.getTimestamp("data_sessao"));
+        ingresso.setEventoNome(rs.getString("evento_nome"));
+        ingresso.setAreaNome(rs.getString("area_nome"));
         return ingresso;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
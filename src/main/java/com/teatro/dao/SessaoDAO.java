@@ -4,11 +4,13 @@ import com.teatro.model.Sessao;
 import com.teatro.model.TipoSessao;
 import com.teatro.exception.TeatroException;
 import com.teatro.exception.SessaoNaoEncontradaException;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.util.TeatroLogger;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Classe responsável por operações de acesso a dados relacionados às sessões.
@@ -16,15 +18,34 @@ import java.util.Optional;
 public class SessaoDAO implements DAO<Sessao, Long> {
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final Connection connection;
+    private final CacheEntidades<Sessao> cache = CacheCatalogo.getInstance().getSessoes();
     
+    /**
+     * Cria o DAO sobre a conexão da unidade de trabalho aberta na thread que o usa.
+     * @see UnidadeDeTrabalho
+     */
+    public SessaoDAO() {
+        this(null);
+    }
+    
+    /**
+     * Cria o DAO preso à conexão informada, que continua sob responsabilidade de quem a obteve.
+     */
     public SessaoDAO(Connection connection) {
         this.connection = connection;
     }
     
+    /**
+     * Conexão da operação: a informada no construtor ou a da unidade de trabalho atual.
+     */
+    private Connection conexao() {
+        return connection != null ? connection : UnidadeDeTrabalho.conexaoAtual();
+    }
+    
     @Override
     public void salvar(Sessao sessao) {
         String sql = "INSERT INTO sessoes (nome, tipo_sessao, data) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, sessao.getNome());
             stmt.setString(2, sessao.getTipoSessao().name());
             stmt.setTimestamp(3, sessao.getData());
@@ -37,6 +58,7 @@ public class SessaoDAO implements DAO<Sessao, Long> {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     sessao.setId(generatedKeys.getLong(1));
+                    invalidarAposConfirmar(sessao.getId());
                 } else {
                     throw new TeatroException("Erro ao salvar sessão: ID não gerado");
                 }
@@ -50,13 +72,14 @@ public class SessaoDAO implements DAO<Sessao, Long> {
     @Override
     public void atualizar(Sessao sessao) {
         String sql = "UPDATE sessoes SET nome = ?, tipo_sessao = ?, data = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setString(1, sessao.getNome());
             stmt.setString(2, sessao.getTipoSessao().name());
             stmt.setTimestamp(3, sessao.getData());
             stmt.setLong(4, sessao.getId());
             
             int affectedRows = stmt.executeUpdate();
+            invalidarAposConfirmar(sessao.getId());
             if (affectedRows == 0) {
                 throw new SessaoNaoEncontradaException("Sessão com ID " + sessao.getId() + " não encontrada");
             }
@@ -69,10 +92,11 @@ public class SessaoDAO implements DAO<Sessao, Long> {
     @Override
     public void remover(Long id) {
         String sql = "DELETE FROM sessoes WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             int affectedRows = stmt.executeUpdate();
+            invalidarAposConfirmar(id);
             if (affectedRows == 0) {
                 throw new SessaoNaoEncontradaException("Sessão com ID " + id + " não encontrada");
             }
@@ -82,10 +106,22 @@ public class SessaoDAO implements DAO<Sessao, Long> {
         }
     }
     
+    /**
+     * Remove a entidade do cache compartilhado só depois do commit: invalidar antes deixaria
+     * outra thread recarregar o valor antigo, ainda visível no banco, até a transação terminar.
+     */
+    private void invalidarAposConfirmar(Long id) {
+        UnidadeDeTrabalho.aposConfirmar(() -> cache.invalidar(id));
+    }
+    
     @Override
     public Optional<Sessao> buscarPorId(Long id) {
+        return cache.buscar(id, this::buscarNoBanco);
+    }
+    
+    private Optional<Sessao> buscarNoBanco(Long id) {
         String sql = "SELECT * FROM sessoes WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -105,7 +141,7 @@ public class SessaoDAO implements DAO<Sessao, Long> {
         String sql = "SELECT * FROM sessoes ORDER BY data";
         List<Sessao> sessoes = new ArrayList<>();
         
-        try (Statement stmt = connection.createStatement();
+        try (Statement stmt = conexao().createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
@@ -118,26 +154,44 @@ public class SessaoDAO implements DAO<Sessao, Long> {
         }
     }
     
+    @Override
+    public List<Sessao> listarPagina(Long aposId, int limite) {
+        String sql = "SELECT * FROM sessoes WHERE id > ? ORDER BY id LIMIT ?";
+        List<Sessao> sessoes = new ArrayList<>(Math.max(limite, 0));
+        
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
+            stmt.setLong(1, aposId != null ? aposId : 0L);
+            stmt.setInt(2, limite);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sessoes.add(montarSessao(rs));
+                }
+                return sessoes;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao listar página de sessões: " + e.getMessage());
+            throw new TeatroException("Erro ao listar página de sessões", e);
+        }
+    }
+    
+    @Override
+    public Stream<Sessao> listarEmFluxo() {
+        return ConsultaEmFluxo.abrir(connection, "SELECT * FROM sessoes ORDER BY id", stmt -> { }, this::montarSessao);
+    }
+    
     private Sessao montarSessao(ResultSet rs) throws SQLException {
         Sessao sessao = new Sessao();
         sessao.setId(rs.getLong("id"));
         sessao.setEventoId(rs.getLong("evento_id"));
-        String horarioStr = rs.getString("horario");
-        TipoSessao tipoSessao = null;
-        for (TipoSessao ts : TipoSessao.values()) {
-            if (ts.getDescricao().equalsIgnoreCase(horarioStr)) {
-                tipoSessao = ts;
-                break;
-            }
-        }
-        sessao.setTipoSessao(tipoSessao);
+        sessao.setTipoSessao(TipoSessao.fromDescricao(rs.getString("horario")));
         sessao.setData(rs.getTimestamp("data_sessao"));
         return sessao;
     }
     
     public boolean existe(Long id) {
         String sql = "SELECT COUNT(*) FROM sessoes WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
@@ -155,13 +209,16 @@ public class SessaoDAO implements DAO<Sessao, Long> {
     public List<Sessao> buscarPorEvento(Long eventoId) {
         String sql = "SELECT * FROM sessoes WHERE evento_id = ? ORDER BY data_sessao, horario";
         List<Sessao> sessoes = new ArrayList<>();
+        long geracao = cache.getGeracao();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conexao().prepareStatement(sql)) {
             stmt.setLong(1, eventoId);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    sessoes.add(montarSessao(rs));
+                    Sessao sessao = montarSessao(rs);
+                    cache.colocar(sessao.getId(), sessao, geracao);
+                    sessoes.add(sessao);
                 }
             }
             return sessoes;
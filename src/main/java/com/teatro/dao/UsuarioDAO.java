@@ -14,6 +14,15 @@ public interface UsuarioDAO extends DAO<Usuario, Long> {
      */
     Optional<Usuario> buscarPorCpf(String cpf);
 
+    /**
+     * Busca apenas o ID do usuário pelo CPF, em qualquer formatação.
+     * O resultado é mantido em cache, pois compras e consultas de ingressos resolvem o
+     * comprador pelo CPF a cada chamada.
+     * @param cpf CPF do usuário
+     * @return Optional contendo o ID se encontrado
+     */
+    Optional<Long> buscarIdPorCpf(String cpf);
+
     /**
      * Busca um usuário pelo email.
      * @param email Email do usuário
@@ -29,6 +38,14 @@ public interface UsuarioDAO extends DAO<Usuario, Long> {
      */
     Optional<Usuario> autenticar(String identificador, String senha);
 
+    /**
+     * Autentica um usuário pelo CPF e senha.
+     * @param cpf CPF do usuário
+     * @param senha Senha do usuário
+     * @return Optional contendo o usuário se autenticado com sucesso
+     */
+    Optional<Usuario> autenticarPorCpf(String cpf, String senha);
+
     /**
      * Autentica um usuário pelo email e senha.
      * @param email Email do usuário
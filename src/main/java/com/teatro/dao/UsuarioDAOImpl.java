@@ -2,33 +2,55 @@ package com.teatro.dao;
 
 import com.teatro.model.Usuario;
 import com.teatro.util.TeatroLogger;
+import com.teatro.util.Validator;
 import com.teatro.util.PasswordHasher;
-import com.teatro.database.DatabaseConnection;
+import com.teatro.util.VerificacaoSenhas;
+import com.teatro.database.DatabaseConfig;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.exception.TeatroException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementação do DAO para a entidade Usuario.
+ * As buscas por CPF usam a coluna cpf_numerico (os 11 dígitos como número, com índice único),
+ * de modo que qualquer formatação do mesmo CPF encontra o mesmo usuário.
  */
 public class UsuarioDAOImpl implements UsuarioDAO {
+    /** Colunas usadas no login: a consulta não traz endereço, telefone nem data de cadastro. */
+    private static final String SQL_CREDENCIAIS =
+        "SELECT id, nome, cpf, email, tipo_usuario, senha FROM usuarios ";
+    private static final String SQL_CREDENCIAIS_POR_CPF = SQL_CREDENCIAIS + "WHERE cpf_numerico = ?";
+    private static final String SQL_CREDENCIAIS_POR_EMAIL = SQL_CREDENCIAIS + "WHERE email = ?";
+
     private final TeatroLogger logger = TeatroLogger.getInstance();
-    private final DatabaseConnection dbConnection;
+    private final CacheIdentificadoresDesconhecidos desconhecidos = CacheIdentificadoresDesconhecidos.getInstance();
+    /** CPF numérico → ID do usuário, compartilhado por todas as instâncias. */
+    private static final CacheEntidades<Long> idsPorCpf = new CacheEntidades<>(
+        "ids por CPF", DatabaseConfig.getInstance().getUsuariosPorCpfCacheSize(), id -> id);
 
+    /**
+     * Cada operação usa a conexão da unidade de trabalho aberta na thread ou, fora de uma,
+     * empresta uma conexão do pool só durante a operação.
+     */
     public UsuarioDAOImpl() {
-        this.dbConnection = DatabaseConnection.getInstance();
     }
 
     // Métodos específicos do UsuarioDAO
     @Override
     public Optional<Usuario> buscarPorCpf(String cpf) {
-        String sql = "SELECT * FROM usuarios WHERE cpf = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
+            return Optional.empty();
+        }
+        String sql = "SELECT * FROM usuarios WHERE cpf_numerico = ?";
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
-            stmt.setString(1, cpf);
+            stmt.setLong(1, cpfNumerico);
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
@@ -41,11 +63,36 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
     }
 
+    @Override
+    public Optional<Long> buscarIdPorCpf(String cpf) {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
+            return Optional.empty();
+        }
+        return idsPorCpf.buscar(cpfNumerico, this::consultarIdPorCpf);
+    }
+
+    private Optional<Long> consultarIdPorCpf(Long cpfNumerico) {
+        // Lê apenas o índice único de cpf_numerico
+        String sql = "SELECT id FROM usuarios WHERE cpf_numerico = ?";
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
+            
+            stmt.setLong(1, cpfNumerico);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(rs.getLong(1)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar ID do usuário por CPF: " + e.getMessage());
+            throw new RuntimeException("Erro ao buscar ID do usuário por CPF", e);
+        }
+    }
+
     @Override
     public Optional<Usuario> buscarPorEmail(String email) {
         String sql = "SELECT * FROM usuarios WHERE email = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
@@ -60,65 +107,127 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
     }
 
+    /**
+     * Autentica pelo e-mail quando o identificador contém "@" e, caso contrário, pelo CPF.
+     * Cada caminho consulta uma única coluna indexada (a condição "cpf = ? OR email = ?"
+     * impedia o uso de um índice só).
+     */
     @Override
     public Optional<Usuario> autenticar(String identificador, String senha) {
-        // Primeiro, buscar o usuário pelo identificador
-        String sql = "SELECT * FROM usuarios WHERE cpf = ? OR email = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, identificador);
-            stmt.setString(2, identificador);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                Usuario usuario = montarUsuario(rs);
-                String storedPassword = rs.getString("senha");
-                
-                // Verificar a senha usando o PasswordHasher
-                if (PasswordHasher.verifyPassword(senha, storedPassword)) {
-                    return Optional.of(usuario);
-                }
-            }
+        return identificador.contains("@")
+            ? autenticarPorEmail(identificador, senha)
+            : autenticarPorCpf(identificador, senha);
+    }
+
+    @Override
+    public Optional<Usuario> autenticarPorCpf(String cpf, String senha) {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
             return Optional.empty();
-        } catch (SQLException e) {
-            logger.error("Erro ao autenticar usuário: " + e.getMessage());
-            throw new RuntimeException("Erro ao autenticar usuário", e);
         }
+        return autenticarPor(SQL_CREDENCIAIS_POR_CPF, cpf, cpfNumerico, senha);
     }
 
     @Override
     public Optional<Usuario> autenticarPorEmail(String email, String senha) {
-        String sql = "SELECT * FROM usuarios WHERE email = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
+        return autenticarPor(SQL_CREDENCIAIS_POR_EMAIL, email, email, senha);
+    }
+
+    /**
+     * Busca as credenciais pelo identificador e confere a senha.
+     * A verificação roda no executor limitado de VerificacaoSenhas, depois que a conexão já
+     * voltou ao pool. Senhas em formato antigo são regravadas no formato atual.
+     * O usuário devolvido não traz o hash da senha. Identificadores desconhecidos (inclusive
+     * os recusados pelo cache negativo, sem ir ao banco) pagam uma verificação contra um hash
+     * fictício, para que o tempo de resposta não revele quais contas existem.
+     */
+    private Optional<Usuario> autenticarPor(String sql, String identificador, Object chave, String senha) {
+        Optional<Credenciais> credenciais = buscarCredenciais(sql, identificador, chave);
+        if (credenciais.isEmpty()) {
+            VerificacaoSenhas.verificarFicticia(senha);
+            return Optional.empty();
+        }
+        Usuario usuario = credenciais.get().usuario();
+        String senhaArmazenada = credenciais.get().senhaArmazenada();
+        
+        if (!VerificacaoSenhas.verificar(senha, senhaArmazenada)) {
+            return Optional.empty();
+        }
+        if (PasswordHasher.needsRehash(senhaArmazenada)) {
+            try {
+                atualizarSenha(usuario.getId(), senha);
+                logger.info("Senha do usuário {} regravada no formato atual", usuario.getId());
+            } catch (RuntimeException e) {
+                // O login continua válido; a senha é regravada numa próxima tentativa
+                logger.warn("Não foi possível regravar a senha do usuário {}: {}", usuario.getId(), e.getMessage());
+            }
+        }
+        return Optional.of(usuario);
+    }
+
+    /**
+     * Busca as credenciais de login pelo CPF, em qualquer formatação.
+     */
+    Optional<Credenciais> buscarCredenciaisPorCpf(String cpf) {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
+            return Optional.empty();
+        }
+        return buscarCredenciais(SQL_CREDENCIAIS_POR_CPF, cpf, cpfNumerico);
+    }
+
+    /**
+     * Busca as credenciais de login pelo e-mail.
+     */
+    Optional<Credenciais> buscarCredenciaisPorEmail(String email) {
+        return buscarCredenciais(SQL_CREDENCIAIS_POR_EMAIL, email, email);
+    }
+
+    /**
+     * Lê as colunas do login pelo identificador.
+     * Identificadores inexistentes vão para o cache negativo e, enquanto lá estiverem,
+     * são recusados sem consultar o banco.
+     * @param identificador CPF ou e-mail como digitado; o cache negativo o normaliza
+     * @param chave Valor da coluna consultada (CPF numérico ou e-mail)
+     */
+    private Optional<Credenciais> buscarCredenciais(String sql, String identificador, Object chave) {
+        if (desconhecidos.desconhecido(identificador)) {
+            return Optional.empty();
+        }
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
-            if (rs.next()) {
-                Usuario usuario = montarUsuario(rs);
-                String storedPassword = rs.getString("senha");
-                
-                // Verificar a senha usando o PasswordHasher
-                if (PasswordHasher.verifyPassword(senha, storedPassword)) {
-                    return Optional.of(usuario);
+            stmt.setObject(1, chave);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    desconhecidos.registrar(identificador);
+                    return Optional.empty();
                 }
+                Usuario usuario = new Usuario();
+                usuario.setId(rs.getLong("id"));
+                usuario.setNome(rs.getString("nome"));
+                usuario.setCpf(rs.getString("cpf"));
+                usuario.setEmail(rs.getString("email"));
+                usuario.setTipoUsuario(rs.getString("tipo_usuario"));
+                return Optional.of(new Credenciais(usuario, rs.getString("senha")));
             }
-            return Optional.empty();
         } catch (SQLException e) {
-            logger.error("Erro ao autenticar usuário por email: " + e.getMessage());
-            throw new RuntimeException("Erro ao autenticar usuário por email", e);
+            logger.error("Erro ao autenticar usuário: " + e.getMessage());
+            throw new RuntimeException("Erro ao autenticar usuário", e);
         }
     }
 
     @Override
     public Optional<Usuario> buscarPorCpfEEmail(String cpf, String email) {
-        String sql = "SELECT * FROM usuarios WHERE cpf = ? AND email = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
+            return Optional.empty();
+        }
+        String sql = "SELECT * FROM usuarios WHERE cpf_numerico = ? AND email = ?";
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
-            stmt.setString(1, cpf);
+            stmt.setLong(1, cpfNumerico);
             stmt.setString(2, email);
             ResultSet rs = stmt.executeQuery();
             
@@ -138,8 +247,8 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         String senhaHasheada = PasswordHasher.hashPassword(novaSenha);
         
         String sql = "UPDATE usuarios SET senha = ? WHERE id = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setString(1, senhaHasheada);
             stmt.setLong(2, id);
@@ -156,10 +265,10 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         // Hash da senha antes de salvar
         String senhaHasheada = PasswordHasher.hashPassword(usuario.getSenha());
         
-        String sql = "INSERT INTO usuarios (nome, cpf, endereco, telefone, email, senha, tipo_usuario) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        String sql = "INSERT INTO usuarios (nome, cpf, endereco, telefone, email, senha, tipo_usuario, cpf_numerico) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, usuario.getNome());
             stmt.setString(2, usuario.getCpf());
@@ -168,6 +277,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             stmt.setString(5, usuario.getEmail());
             stmt.setString(6, senhaHasheada);
             stmt.setString(7, usuario.getTipoUsuario());
+            definirCpfNumerico(stmt, 8, usuario.getCpf());
             
             stmt.executeUpdate();
             
@@ -175,6 +285,7 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             if (rs.next()) {
                 usuario.setId(rs.getLong(1));
             }
+            desconhecidos.remover(usuario.getCpf(), usuario.getEmail());
         } catch (SQLException e) {
             logger.error("Erro ao salvar usuário: " + e.getMessage());
             throw new TeatroException("Erro ao salvar usuário", e);
@@ -190,9 +301,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
         
         String sql = "UPDATE usuarios SET nome = ?, cpf = ?, endereco = ?, telefone = ?, " +
-                    "email = ?, senha = ?, tipo_usuario = ? WHERE id = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    "email = ?, senha = ?, tipo_usuario = ?, cpf_numerico = ? WHERE id = ?";
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setString(1, usuario.getNome());
             stmt.setString(2, usuario.getCpf());
@@ -201,9 +312,13 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             stmt.setString(5, usuario.getEmail());
             stmt.setString(6, senhaParaSalvar);
             stmt.setString(7, usuario.getTipoUsuario());
-            stmt.setLong(8, usuario.getId());
+            definirCpfNumerico(stmt, 8, usuario.getCpf());
+            stmt.setLong(9, usuario.getId());
             
             stmt.executeUpdate();
+            desconhecidos.remover(usuario.getCpf(), usuario.getEmail());
+            // O CPF anterior do usuário não é conhecido aqui; alterações de cadastro são raras
+            idsPorCpf.limpar();
         } catch (SQLException e) {
             logger.error("Erro ao atualizar usuário: " + e.getMessage());
             throw new TeatroException("Erro ao atualizar usuário", e);
@@ -213,11 +328,12 @@ public class UsuarioDAOImpl implements UsuarioDAO {
     @Override
     public void remover(Long id) {
         String sql = "DELETE FROM usuarios WHERE id = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setLong(1, id);
             stmt.executeUpdate();
+            idsPorCpf.limpar();
         } catch (SQLException e) {
             logger.error("Erro ao remover usuário: " + e.getMessage());
             throw new TeatroException("Erro ao remover usuário", e);
@@ -227,8 +343,8 @@ public class UsuarioDAOImpl implements UsuarioDAO {
     @Override
     public Optional<Usuario> buscarPorId(Long id) {
         String sql = "SELECT * FROM usuarios WHERE id = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
@@ -248,8 +364,8 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         String sql = "SELECT * FROM usuarios";
         List<Usuario> usuarios = new ArrayList<>();
         
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -262,11 +378,39 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
     }
 
+    @Override
+    public List<Usuario> listarPagina(Long aposId, int limite) {
+        String sql = "SELECT * FROM usuarios WHERE id > ? ORDER BY id LIMIT ?";
+        List<Usuario> usuarios = new ArrayList<>(Math.max(limite, 0));
+        
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
+            
+            stmt.setLong(1, aposId != null ? aposId : 0L);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    usuarios.add(montarUsuario(rs));
+                }
+            }
+            return usuarios;
+        } catch (SQLException e) {
+            logger.error("Erro ao listar página de usuários: " + e.getMessage());
+            throw new TeatroException("Erro ao listar página de usuários", e);
+        }
+    }
+
+    @Override
+    public Stream<Usuario> listarEmFluxo() {
+        // A conexão emprestada volta ao pool quando o Stream é fechado
+        return ConsultaEmFluxo.abrir(null, "SELECT * FROM usuarios ORDER BY id", stmt -> { }, this::montarUsuario);
+    }
+
     @Override
     public boolean existe(Long id) {
         String sql = "SELECT COUNT(*) FROM usuarios WHERE id = ?";
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(sql)) {
             
             stmt.setLong(1, id);
             ResultSet rs = stmt.executeQuery();
@@ -281,6 +425,15 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
     }
 
+    private static void definirCpfNumerico(PreparedStatement stmt, int indice, String cpf) throws SQLException {
+        long cpfNumerico = Validator.normalizarCpf(cpf);
+        if (cpfNumerico < 0) {
+            stmt.setNull(indice, Types.BIGINT);
+        } else {
+            stmt.setLong(indice, cpfNumerico);
+        }
+    }
+
     private Usuario montarUsuario(ResultSet rs) throws SQLException {
         Usuario usuario = new Usuario();
         usuario.setId(rs.getLong("id"));
@@ -293,4 +446,10 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         usuario.setTipoUsuario(rs.getString("tipo_usuario"));
         return usuario;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Colunas lidas no login: o usuário sem a senha e o hash armazenado.
+     */
+    record Credenciais(Usuario usuario, String senhaArmazenada) {
+    }
+}
@@ -38,6 +38,8 @@ public class DatabaseConfig {
                 throw new RuntimeException("Não foi possível encontrar o arquivo " + CONFIG_FILE);
             }
             properties.load(input);
+            // Espaços no fim de uma linha fazem parte do valor ("true " seria lido como false)
+            properties.replaceAll((chave, valor) -> valor.toString().trim());
         } catch (IOException e) {
             throw new RuntimeException("Erro ao carregar configurações do banco de dados", e);
         }
@@ -91,6 +93,22 @@ public class DatabaseConfig {
         return Integer.parseInt(properties.getProperty("db.pool.maxWait", "5000"));
     }
     
+    /**
+     * Obtém o tempo máximo para validar uma conexão antes de entregá-la (em milissegundos).
+     * @return O tempo de validação
+     */
+    public int getValidationTimeout() {
+        return Integer.parseInt(properties.getProperty("db.pool.validationTimeout", "3000"));
+    }
+    
+    /**
+     * Obtém o tempo após o qual uma conexão não devolvida é reportada como vazamento (em milissegundos).
+     * @return O limite de detecção de vazamento (0 desativa)
+     */
+    public int getLeakDetectionThreshold() {
+        return Integer.parseInt(properties.getProperty("db.pool.leakDetectionThreshold", "30000"));
+    }
+    
     public int getMinIdle() {
         return Integer.parseInt(properties.getProperty("db.pool.minIdle", "5"));
     }
@@ -114,4 +132,83 @@ public class DatabaseConfig {
     public boolean getUseServerPrepStmts() {
         return Boolean.parseBoolean(properties.getProperty("db.pool.useServerPrepStmts", "true"));
     }
-} 
\ No newline at end of file
+    
+    public boolean getCacheResultSetMetadata() {
+        return Boolean.parseBoolean(properties.getProperty("db.pool.cacheResultSetMetadata", "true"));
+    }
+    
+    /**
+     * Propriedades do driver MySQL aplicadas a cada conexão do pool: prepared statements
+     * preparados no servidor e mantidos em cache por conexão (fechar a declaração a devolve
+     * ao cache em vez de descartá-la), metadados dos resultados em cache e leitura por
+     * cursor nas consultas em fluxo.
+     * @return As propriedades do driver
+     */
+    public Properties getPropriedadesDriver() {
+        Properties driver = new Properties();
+        driver.setProperty("cachePrepStmts", String.valueOf(getCachePrepStmts()));
+        driver.setProperty("prepStmtCacheSize", String.valueOf(getPrepStmtCacheSize()));
+        driver.setProperty("prepStmtCacheSqlLimit", String.valueOf(getPrepStmtCacheSqlLimit()));
+        driver.setProperty("useServerPrepStmts", String.valueOf(getUseServerPrepStmts()));
+        driver.setProperty("cacheResultSetMetadata", String.valueOf(getCacheResultSetMetadata()));
+        // Com fetch size positivo, as listagens em fluxo leem em blocos por um cursor no servidor
+        driver.setProperty("useCursorFetch", "true");
+        return driver;
+    }
+    
+    /**
+     * Quantidade de linhas buscadas por vez nas consultas em fluxo (cursor no servidor).
+     * @return O tamanho do bloco de leitura
+     */
+    public int getStreamFetchSize() {
+        return Integer.parseInt(properties.getProperty("db.stream.fetchSize", "500"));
+    }
+    
+    /**
+     * Quantidade máxima de entidades em cada cache de catálogo (áreas, eventos, sessões).
+     * @return O tamanho máximo de cada cache
+     */
+    public int getCatalogoCacheSize() {
+        return Integer.parseInt(properties.getProperty("db.cache.catalogo.maxSize", "500"));
+    }
+    
+    /**
+     * Tempo de validade do snapshot de estatísticas; ao vencer, os totais são recarregados do banco.
+     * @return O tempo de validade em milissegundos
+     */
+    public long getEstatisticasTtl() {
+        return Long.parseLong(properties.getProperty("db.estatisticas.snapshotTtl", "60000"));
+    }
+    
+    /**
+     * Quantidade máxima de identificadores inexistentes mantidos no cache negativo do login.
+     * @return O tamanho máximo do cache
+     */
+    public int getLoginNegativoCacheSize() {
+        return Integer.parseInt(properties.getProperty("db.cache.loginNegativo.maxSize", "10000"));
+    }
+    
+    /**
+     * Tempo durante o qual um identificador inexistente é recusado sem consultar o banco.
+     * @return O tempo de validade em milissegundos
+     */
+    public long getLoginNegativoTtl() {
+        return Long.parseLong(properties.getProperty("db.cache.loginNegativo.ttl", "60000"));
+    }
+    
+    /**
+     * Quantidade máxima de CPFs mantidos no cache CPF → ID de usuário.
+     * @return O tamanho máximo do cache
+     */
+    public int getUsuariosPorCpfCacheSize() {
+        return Integer.parseInt(properties.getProperty("db.cache.usuariosPorCpf.maxSize", "10000"));
+    }
+    
+    /**
+     * Quantidade de usuários lidos, hasheados e gravados por transação na migração de senhas.
+     * @return O tamanho do lote
+     */
+    public int getMigracaoSenhasTamanhoLote() {
+        return Integer.parseInt(properties.getProperty("db.migracaoSenhas.tamanhoLote", "200"));
+    }
+}
@@ -1,120 +1,163 @@
-package com.teatro.database;
-
-import com.teatro.util.TeatroLogger;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-
-/**
- * Classe responsável por gerenciar a conexão com o banco de dados.
- * Implementa o padrão Singleton para garantir uma única instância de conexão.
- * Implementa um pool de conexões simples usando BlockingQueue.
- */
-public class DatabaseConnection {
-    private static DatabaseConnection instance;
-    private final String url;
-    private final String user;
-    private final String password;
-    private final BlockingQueue<Connection> connectionPool;
-    private final int poolSize;
-    private final TeatroLogger logger = TeatroLogger.getInstance();
-    
-    private DatabaseConnection() {
-        DatabaseConfig config = DatabaseConfig.getInstance();
-        this.url = config.getUrl();
-        this.user = config.getUsuario();
-        this.password = config.getSenha();
-        this.poolSize = config.getMaxPoolSize();
-        this.connectionPool = new ArrayBlockingQueue<>(poolSize);
-        
-        try {
-            Class.forName(config.getDriver());
-            logger.info("Driver JDBC carregado com sucesso");
-            
-            // Inicializa o pool com conexões
-            for (int i = 0; i < poolSize; i++) {
-                Connection conn = DriverManager.getConnection(url, user, password);
-                connectionPool.offer(conn);
-            }
-            logger.info("Pool de conexões inicializado com {} conexões", poolSize);
-            
-            // Criar views de estatísticas ao inicializar
-            criarViewsEstatisticas();
-        } catch (ClassNotFoundException e) {
-            logger.error("Erro ao carregar driver JDBC: {}", e.getMessage());
-            throw new RuntimeException("Driver JDBC não encontrado", e);
-        } catch (SQLException e) {
-            logger.error("Erro ao inicializar pool de conexões: {}", e.getMessage());
-            throw new RuntimeException("Erro ao inicializar pool de conexões", e);
-        }
-    }
-    
-    public static synchronized DatabaseConnection getInstance() {
-        if (instance == null) {
-            instance = new DatabaseConnection();
-        }
-        return instance;
-    }
-    
-    public Connection getConnection() throws SQLException {
-        try {
-            Connection conn = connectionPool.poll();
-            if (conn == null || conn.isClosed()) {
-                // Se não houver conexão disponível ou estiver fechada, cria uma nova
-                conn = DriverManager.getConnection(url, user, password);
-            }
-            return conn;
-        } catch (SQLException e) {
-            logger.error("Erro ao obter conexão do pool: {}", e.getMessage());
-            throw e;
-        }
-    }
-    
-    public void releaseConnection(Connection conn) {
-        if (conn != null) {
-            try {
-                if (!conn.isClosed()) {
-                    connectionPool.offer(conn);
-                }
-            } catch (SQLException e) {
-                logger.error("Erro ao liberar conexão: {}", e.getMessage());
-            }
-        }
-    }
-    
-    public void closeConnection() {
-        Connection conn;
-        while ((conn = connectionPool.poll()) != null) {
-            try {
-                if (!conn.isClosed()) {
-                    conn.close();
-                }
-            } catch (SQLException e) {
-                logger.error("Erro ao fechar conexão: {}", e.getMessage());
-            }
-        }
-        logger.info("Pool de conexões fechado");
-    }
-    
-    /**
-     * Cria ou atualiza as views de estatísticas no banco de dados.
-     */
-    private void criarViewsEstatisticas() {
-        Connection conn = null;
-        try {
-            conn = getConnection();
-            ViewsEstatisticas views = new ViewsEstatisticas(conn);
-            views.criarViews();
-            logger.info("Views de estatísticas criadas/atualizadas com sucesso");
-        } catch (SQLException e) {
-            logger.error("Erro ao criar views de estatísticas: {}", e.getMessage());
-            throw new RuntimeException("Erro ao criar views de estatísticas", e);
-        } finally {
-            if (conn != null) {
-                releaseConnection(conn);
-            }
-        }
-    }
-} 
\ No newline at end of file
+package com.teatro.database;
+
+import com.teatro.util.TeatroLogger;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Classe responsável por gerenciar a conexão com o banco de dados.
+ * Implementa o padrão Singleton para garantir uma única instância do pool.
+ * O pool é o HikariCP, configurado a partir de database.properties: espera limitada
+ * por conexões, validação, detecção de vazamentos e cache de prepared statements.
+ * As conexões obtidas devem ser fechadas (close) para voltarem ao pool.
+ */
+public class DatabaseConnection {
+    private static DatabaseConnection instance;
+    private final HikariDataSource dataSource;
+    private final MetricasPool metricas;
+    private final TeatroLogger logger = TeatroLogger.getInstance();
+
+    private DatabaseConnection() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        this.metricas = new MetricasPool();
+
+        try {
+            this.dataSource = new HikariDataSource(criarConfiguracao(config));
+            logger.info("Pool de conexões inicializado com até {} conexões", config.getMaxPoolSize());
+        } catch (RuntimeException e) {
+            logger.error("Erro ao inicializar pool de conexões: {}", e.getMessage());
+            throw new RuntimeException("Erro ao inicializar pool de conexões", e);
+        }
+
+        // Criar tabelas de resumo e views de estatísticas ao inicializar
+        criarResumosEstatisticas();
+        aplicarMigracoes();
+        criarViewsEstatisticas();
+        criarOutboxVendas();
+    }
+
+    public static synchronized DatabaseConnection getInstance() {
+        if (instance == null) {
+            instance = new DatabaseConnection();
+        }
+        return instance;
+    }
+
+    /**
+     * Monta a configuração do HikariCP a partir das propriedades do banco.
+     */
+    private HikariConfig criarConfiguracao(DatabaseConfig config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("teatro-pool");
+        hikari.setDriverClassName(config.getDriver());
+        hikari.setJdbcUrl(config.getUrl());
+        hikari.setUsername(config.getUsuario());
+        hikari.setPassword(config.getSenha());
+
+        hikari.setMaximumPoolSize(config.getMaxPoolSize());
+        hikari.setMinimumIdle(Math.min(config.getMinIdle(), config.getMaxPoolSize()));
+        hikari.setIdleTimeout(config.getIdleTimeout());
+        hikari.setConnectionTimeout(config.getMaxWait());
+        hikari.setValidationTimeout(config.getValidationTimeout());
+        hikari.setLeakDetectionThreshold(config.getLeakDetectionThreshold());
+        hikari.setMetricsTrackerFactory(metricas);
+
+        // Cache de prepared statements por conexão e leitura por cursor (MySQL Connector/J)
+        config.getPropriedadesDriver().forEach((chave, valor) -> hikari.addDataSourceProperty((String) chave, valor));
+        return hikari;
+    }
+
+    /**
+     * Obtém uma conexão do pool, aguardando no máximo db.pool.maxWait milissegundos.
+     * @return Uma conexão que deve ser fechada após o uso
+     * @throws SQLException Se não houver conexão disponível dentro do tempo limite
+     */
+    public Connection getConnection() throws SQLException {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            logger.error("Erro ao obter conexão do pool: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Devolve uma conexão ao pool.
+     * @param conn A conexão obtida por getConnection
+     */
+    public void releaseConnection(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                logger.error("Erro ao liberar conexão: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void closeConnection() {
+        logger.info("Métricas do pool ao encerrar: {}", metricas.resumo());
+        dataSource.close();
+        logger.info("Pool de conexões fechado");
+    }
+
+    /**
+     * Obtém as métricas do pool (ativas, ociosas, aguardando e histograma de aquisição).
+     * @return As métricas do pool
+     */
+    public MetricasPool getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Cria a outbox em que a compra de ingressos registra as vendas a notificar.
+     */
+    private void criarOutboxVendas() {
+        try (Connection conn = getConnection()) {
+            new OutboxVendas(conn).criarTabela();
+        } catch (SQLException e) {
+            logger.error("Erro ao criar outbox de vendas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria as tabelas de resumo lidas pelas views de estatísticas.
+     */
+    private void criarResumosEstatisticas() {
+        try (Connection conn = getConnection()) {
+            new ResumosEstatisticas(conn).criarTabelas();
+        } catch (SQLException e) {
+            logger.error("Erro ao criar tabelas de resumo: {}", e.getMessage());
+            throw new RuntimeException("Erro ao criar tabelas de resumo", e);
+        }
+    }
+
+    /**
+     * Aplica as migrações de schema pendentes (índices das consultas mais frequentes e a chave
+     * única de poltronas). Uma migração que falha impede a inicialização.
+     */
+    private void aplicarMigracoes() {
+        try (Connection conn = getConnection()) {
+            new MigracoesSchema(conn).aplicar();
+        } catch (SQLException e) {
+            logger.error("Erro ao aplicar migrações de schema: {}", e.getMessage());
+            throw new RuntimeException("Erro ao aplicar migrações de schema", e);
+        }
+    }
+
+    /**
+     * Cria ou atualiza as views de estatísticas no banco de dados.
+     */
+    private void criarViewsEstatisticas() {
+        try (Connection conn = getConnection()) {
+            ViewsEstatisticas views = new ViewsEstatisticas(conn);
+            views.criarViews();
+            logger.info("Views de estatísticas criadas/atualizadas com sucesso");
+        } catch (SQLException e) {
+            logger.error("Erro ao criar views de estatísticas: {}", e.getMessage());
+            throw new RuntimeException("Erro ao criar views de estatísticas", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.teatro.database;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coleta as métricas do pool de conexões para dimensionamento sob carga:
+ * conexões ativas, ociosas, threads aguardando e o histograma do tempo de aquisição.
+ * É registrada no HikariCP como MetricsTrackerFactory.
+ */
+public class MetricasPool implements MetricsTrackerFactory {
+
+    /** Limites superiores (em ms) de cada faixa do histograma de aquisição. */
+    private static final long[] FAIXAS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final AtomicLongArray histograma = new AtomicLongArray(FAIXAS_MS.length + 1);
+    private final LongAdder totalAquisicoes = new LongAdder();
+    private final LongAdder somaAquisicaoNanos = new LongAdder();
+    private final LongAdder totalTimeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                registrarAquisicao(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                totalTimeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Registra o tempo gasto para obter uma conexão do pool.
+     * @param nanos O tempo de aquisição em nanossegundos
+     */
+    void registrarAquisicao(long nanos) {
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int faixa = 0;
+        while (faixa < FAIXAS_MS.length && ms >= FAIXAS_MS[faixa]) {
+            faixa++;
+        }
+        histograma.incrementAndGet(faixa);
+        totalAquisicoes.increment();
+        somaAquisicaoNanos.add(nanos);
+    }
+
+    public int getConexoesAtivas() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getActiveConnections() : 0;
+    }
+
+    public int getConexoesOciosas() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getIdleConnections() : 0;
+    }
+
+    public int getTotalConexoes() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getTotalConnections() : 0;
+    }
+
+    public int getThreadsAguardando() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getPendingThreads() : 0;
+    }
+
+    public long getTotalAquisicoes() {
+        return totalAquisicoes.sum();
+    }
+
+    public long getTotalTimeouts() {
+        return totalTimeouts.sum();
+    }
+
+    /**
+     * Tempo médio de aquisição de conexão.
+     * @return A média em milissegundos
+     */
+    public double getTempoMedioAquisicaoMs() {
+        long total = totalAquisicoes.sum();
+        return total == 0 ? 0.0 : somaAquisicaoNanos.sum() / (double) total / 1_000_000.0;
+    }
+
+    /**
+     * Histograma do tempo de aquisição de conexões.
+     * @return Mapa ordenado da faixa ("< 1 ms", ..., ">= 1000 ms") para a quantidade de aquisições
+     */
+    public Map<String, Long> getHistogramaAquisicao() {
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < FAIXAS_MS.length; i++) {
+            resultado.put("< " + FAIXAS_MS[i] + " ms", histograma.get(i));
+        }
+        resultado.put(">= " + FAIXAS_MS[FAIXAS_MS.length - 1] + " ms", histograma.get(FAIXAS_MS.length));
+        return resultado;
+    }
+
+    /**
+     * Resumo das métricas em uma linha, para registro em log.
+     * @return O resumo formatado
+     */
+    public String resumo() {
+        return "ativas=" + getConexoesAtivas() +
+               ", ociosas=" + getConexoesOciosas() +
+               ", aguardando=" + getThreadsAguardando() +
+               ", aquisicoes=" + getTotalAquisicoes() +
+               ", timeouts=" + getTotalTimeouts() +
+               ", histograma=" + getHistogramaAquisicao();
+    }
+}
@@ -0,0 +1,209 @@
+package com.teatro.database;
+
+import com.teatro.util.TeatroLogger;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica as migrações versionadas do schema (scripts em /db/migracoes) que ainda não foram
+ * aplicadas ao banco. As versões aplicadas ficam registradas na tabela schema_migracoes.
+ * Um bloqueio nomeado (GET_LOCK) impede que duas instâncias da aplicação migrem ao mesmo tempo.
+ * Comandos DDL fazem commit implícito no MySQL; por isso uma migração interrompida é refeita
+ * por inteiro na próxima execução, e índices e colunas que já existem são ignorados.
+ */
+public class MigracoesSchema {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    /** Migrações conhecidas, em ordem de versão. */
+    static final List<Migracao> MIGRACOES = List.of(
+        new Migracao(1, "Índices das consultas de ingressos, sessões e usuários", "/db/migracoes/V1__indices_consultas.sql", null),
+        new Migracao(2, "Senhas maiores e checkpoint da migração de senhas", "/db/migracoes/V2__checkpoint_migracao_senhas.sql", null),
+        new Migracao(3, "CPF numérico normalizado com índice único", "/db/migracoes/V3__cpf_numerico.sql",
+            MigracoesSchema::registrarCpfsDuplicados),
+        new Migracao(4, "Chave única de poltronas vendidas", "/db/migracoes/V4__poltrona_unica.sql", null)
+    );
+
+    /**
+     * Cadastros cujo CPF tem 11 dígitos mas ficou sem cpf_numerico porque outro cadastro,
+     * mais antigo, tem o mesmo CPF com outra formatação.
+     */
+    private static final String SQL_CPFS_DUPLICADOS =
+        "SELECT u.id, u.cpf, d.id AS mantido FROM usuarios u " +
+        "JOIN usuarios d ON d.cpf_numerico = CAST(REGEXP_REPLACE(u.cpf, '[^0-9]', '') AS UNSIGNED) " +
+        "WHERE u.cpf_numerico IS NULL AND REGEXP_REPLACE(u.cpf, '[^0-9]', '') REGEXP '^[0-9]{11}$' " +
+        "ORDER BY u.id";
+
+    private static final String BLOQUEIO = "teatro_migracoes";
+    private static final int ESPERA_BLOQUEIO_SEGUNDOS = 30;
+    /** ER_DUP_KEYNAME: o índice já existe (criado por database.sql ou manualmente). */
+    private static final int ERRO_INDICE_DUPLICADO = 1061;
+    /** ER_DUP_FIELDNAME: a coluna já existe. */
+    private static final int ERRO_COLUNA_DUPLICADA = 1060;
+
+    private final Connection connection;
+
+    public MigracoesSchema(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Aplica as migrações pendentes, em ordem de versão.
+     * @return A quantidade de migrações aplicadas nesta chamada
+     */
+    public int aplicar() {
+        try {
+            criarTabelaVersoes();
+            if (!bloquear()) {
+                logger.warn("Migrações não aplicadas: outra instância mantém o bloqueio {}", BLOQUEIO);
+                return 0;
+            }
+            try {
+                Set<Integer> aplicadas = buscarVersoesAplicadas();
+                int total = 0;
+                for (Migracao migracao : MIGRACOES) {
+                    if (!aplicadas.contains(migracao.versao())) {
+                        aplicar(migracao);
+                        total++;
+                    }
+                }
+                if (total > 0) {
+                    logger.info("{} migração(ões) de schema aplicada(s)", total);
+                }
+                return total;
+            } finally {
+                desbloquear();
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao aplicar migrações de schema: {}", e.getMessage());
+            throw new RuntimeException("Erro ao aplicar migrações de schema", e);
+        }
+    }
+
+    private void aplicar(Migracao migracao) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String comando : carregarScriptSQL(migracao.recurso()).split(";")) {
+                if (comando.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    stmt.execute(comando);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != ERRO_INDICE_DUPLICADO && e.getErrorCode() != ERRO_COLUNA_DUPLICADA) {
+                        throw e;
+                    }
+                    logger.debug("Migração {}: índice ou coluna já existente ignorado", migracao.versao());
+                }
+            }
+        }
+        if (migracao.verificacao() != null) {
+            migracao.verificacao().verificar(connection);
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO schema_migracoes (versao, descricao) VALUES (?, ?)")) {
+            stmt.setInt(1, migracao.versao());
+            stmt.setString(2, migracao.descricao());
+            stmt.executeUpdate();
+        }
+        logger.info("Migração {} aplicada: {}", migracao.versao(), migracao.descricao());
+    }
+
+    private void criarTabelaVersoes() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_migracoes (" +
+                         "versao INT NOT NULL PRIMARY KEY, " +
+                         "descricao VARCHAR(200) NOT NULL, " +
+                         "aplicada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Set<Integer> buscarVersoesAplicadas() throws SQLException {
+        Set<Integer> versoes = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT versao FROM schema_migracoes")) {
+            while (rs.next()) {
+                versoes.add(rs.getInt(1));
+            }
+        }
+        return versoes;
+    }
+
+    private boolean bloquear() throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, BLOQUEIO);
+            stmt.setInt(2, ESPERA_BLOQUEIO_SEGUNDOS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void desbloquear() {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, BLOQUEIO);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.error("Erro ao liberar bloqueio das migrações", e);
+        }
+    }
+
+    /**
+     * Registra no log os cadastros que a migração 3 deixou sem CPF numérico por colidirem com
+     * outro cadastro do mesmo CPF. Esses usuários não são encontrados pelo CPF (o login por
+     * e-mail continua funcionando) até o cadastro duplicado ser corrigido.
+     * @return A quantidade de cadastros duplicados
+     */
+    static int registrarCpfsDuplicados(Connection connection) throws SQLException {
+        int duplicados = 0;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_CPFS_DUPLICADOS)) {
+            while (rs.next()) {
+                duplicados++;
+                logger.warn("Usuário {} tem o CPF {} já usado pelo usuário {}; ficou sem cpf_numerico",
+                    rs.getLong("id"), rs.getString("cpf"), rs.getLong("mantido"));
+            }
+        }
+        if (duplicados > 0) {
+            logger.warn("{} cadastro(s) com CPF duplicado não são encontrados pelo CPF até serem corrigidos",
+                duplicados);
+        }
+        return duplicados;
+    }
+
+    /**
+     * Carrega o script da migração do arquivo de recursos.
+     */
+    private String carregarScriptSQL(String recurso) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(
+                    getClass().getResourceAsStream(recurso)))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (Exception e) {
+            logger.error("Erro ao carregar script SQL: {}", e.getMessage());
+            throw new RuntimeException("Erro ao carregar script SQL", e);
+        }
+    }
+
+    /**
+     * Migração de schema.
+     * @param versao Número da versão, crescente
+     * @param descricao Descrição registrada em schema_migracoes
+     * @param recurso Caminho do script no classpath
+     * @param verificacao Conferência dos dados executada depois do script, ou null
+     */
+    record Migracao(int versao, String descricao, String recurso, Verificacao verificacao) {
+    }
+
+    @FunctionalInterface
+    interface Verificacao {
+        void verificar(Connection connection) throws SQLException;
+    }
+}
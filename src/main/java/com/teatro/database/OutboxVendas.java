@@ -0,0 +1,220 @@
+package com.teatro.database;
+
+import com.teatro.model.Ingresso;
+import com.teatro.util.TeatroLogger;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox das notificações de venda e cancelamento (tabela outbox_vendas).
+ * Cada venda ou cancelamento grava aqui, na mesma transação que altera a tabela de ingressos,
+ * um registro que será entregue aos observadores pelo RelayOutboxVendas. Assim nenhuma
+ * notificação se perde se a aplicação cair entre a gravação e a entrega.
+ * A chave única (codigo, tipo) impede registrar duas vezes o mesmo evento de um ingresso.
+ */
+public class OutboxVendas {
+    public static final String TIPO_VENDA = "VENDA";
+    public static final String TIPO_CANCELAMENTO = "CANCELAMENTO";
+
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    private static final String INSERIR = """
+        INSERT IGNORE INTO outbox_vendas
+            (tipo, codigo, ingresso_id, usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    /**
+     * Próximos registros pendentes, com os dados de exibição da sessão e da área.
+     * SKIP LOCKED deixa outra instância da aplicação drenar registros diferentes em paralelo.
+     */
+    private static final String BUSCAR_PENDENTES = """
+        SELECT o.id, o.tipo, o.codigo, o.ingresso_id, o.usuario_id, o.sessao_id, o.area_id,
+            o.numero_poltrona, o.valor, o.data_compra,
+            s.horario, s.data_sessao, e.nome AS evento_nome, a.nome AS area_nome
+        FROM outbox_vendas o
+            LEFT JOIN sessoes s ON s.id = o.sessao_id
+            LEFT JOIN eventos e ON e.id = s.evento_id
+            LEFT JOIN areas a ON a.id = o.area_id
+        ORDER BY o.id
+        LIMIT ?
+        FOR UPDATE OF o SKIP LOCKED
+        """;
+
+    private static final String REMOVER = "DELETE FROM outbox_vendas WHERE id = ?";
+
+    private final Connection connection;
+
+    public OutboxVendas(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Cria a tabela da outbox caso ainda não exista.
+     */
+    public void criarTabela() {
+        try (Statement stmt = connection.createStatement()) {
+            for (String comando : carregarScriptSQL().split(";")) {
+                if (!comando.trim().isEmpty()) {
+                    stmt.execute(comando);
+                }
+            }
+            logger.info("Tabela outbox_vendas verificada");
+        } catch (SQLException e) {
+            logger.error("Erro ao criar tabela outbox_vendas: " + e.getMessage());
+            throw new RuntimeException("Erro ao criar tabela outbox_vendas", e);
+        }
+    }
+
+    /**
+     * Registra a venda ou o cancelamento dos ingressos na outbox.
+     * Não faz commit: deve ser chamado na transação que grava ou remove os ingressos.
+     * @param ingressos Os ingressos vendidos ou cancelados (com ID e código)
+     * @param tipo TIPO_VENDA ou TIPO_CANCELAMENTO
+     * @throws SQLException Se a gravação falhar
+     */
+    public void registrar(List<Ingresso> ingressos, String tipo) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(INSERIR)) {
+            for (Ingresso ingresso : ingressos) {
+                stmt.setString(1, tipo);
+                stmt.setString(2, ingresso.getCodigo());
+                stmt.setLong(3, ingresso.getId());
+                stmt.setLong(4, ingresso.getUsuarioId());
+                stmt.setLong(5, ingresso.getSessaoId());
+                stmt.setLong(6, ingresso.getAreaId());
+                stmt.setInt(7, ingresso.getNumeroPoltrona());
+                stmt.setDouble(8, ingresso.getValor());
+                stmt.setTimestamp(9, ingresso.getDataCompra());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Busca e bloqueia os próximos registros pendentes, em ordem de gravação.
+     * Deve ser chamado com auto-commit desligado; os registros ficam bloqueados até o
+     * commit da transação em que forem removidos.
+     * @param limite Quantidade máxima de registros
+     * @return Os registros pendentes
+     * @throws SQLException Se a consulta falhar
+     */
+    public List<Registro> buscarPendentes(int limite) throws SQLException {
+        List<Registro> registros = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(BUSCAR_PENDENTES)) {
+            stmt.setInt(1, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Ingresso ingresso = new Ingresso();
+                    ingresso.setId(rs.getLong("ingresso_id"));
+                    ingresso.setUsuarioId(rs.getLong("usuario_id"));
+                    ingresso.setSessaoId(rs.getLong("sessao_id"));
+                    ingresso.setAreaId(rs.getLong("area_id"));
+                    ingresso.setNumeroPoltrona(rs.getInt("numero_poltrona"));
+                    ingresso.setValor(rs.getDouble("valor"));
+                    ingresso.setDataCompra(rs.getTimestamp("data_compra"));
+                    ingresso.setCodigo(rs.getString("codigo"));
+                    ingresso.setHorario(rs.getString("horario"));
+                    ingresso.setEventoNome(rs.getString("evento_nome"));
+                    ingresso.setAreaNome(rs.getString("area_nome"));
+                    ingresso.setDataSessao(rs.getTimestamp("data_sessao"));
+                    registros.add(new Registro(rs.getLong("id"), rs.getString("tipo"), ingresso));
+                }
+            }
+        }
+        return registros;
+    }
+
+    /**
+     * Remove da outbox os registros já entregues.
+     * @param registros Os registros entregues
+     * @throws SQLException Se a remoção falhar
+     */
+    public void remover(List<Registro> registros) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(REMOVER)) {
+            for (Registro registro : registros) {
+                stmt.setLong(1, registro.id());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Chaves (chave(tipo, codigo)) de todos os registros aguardando entrega.
+     * @return As chaves pendentes
+     * @throws SQLException Se a consulta falhar
+     */
+    public Set<String> buscarChavesPendentes() throws SQLException {
+        Set<String> chaves = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT tipo, codigo FROM outbox_vendas")) {
+            while (rs.next()) {
+                chaves.add(chave(rs.getString("tipo"), rs.getString("codigo")));
+            }
+        }
+        return chaves;
+    }
+
+    /**
+     * Identifica a venda ou o cancelamento de um ingresso, como a chave única da tabela.
+     * @param tipo TIPO_VENDA ou TIPO_CANCELAMENTO
+     * @param codigo O código do ingresso
+     * @return A chave "tipo:codigo"
+     */
+    public static String chave(String tipo, String codigo) {
+        return tipo + ":" + codigo;
+    }
+
+    /**
+     * Quantidade de registros aguardando entrega.
+     * @return O total de pendentes
+     * @throws SQLException Se a consulta falhar
+     */
+    public long contarPendentes() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM outbox_vendas")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Carrega o script da tabela da outbox do arquivo de recursos.
+     */
+    private String carregarScriptSQL() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(
+                    getClass().getResourceAsStream("/db/outbox_vendas.sql")))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (Exception e) {
+            logger.error("Erro ao carregar script SQL: " + e.getMessage());
+            throw new RuntimeException("Erro ao carregar script SQL", e);
+        }
+    }
+
+    /**
+     * Registro pendente da outbox: a venda ou o cancelamento de um ingresso.
+     * @param id O ID do registro na outbox
+     * @param tipo TIPO_VENDA ou TIPO_CANCELAMENTO
+     * @param ingresso O ingresso, com os dados de exibição da sessão e da área
+     */
+    public record Registro(long id, String tipo, Ingresso ingresso) {
+        public boolean isCancelamento() {
+            return TIPO_CANCELAMENTO.equals(tipo);
+        }
+
+        public String chave() {
+            return OutboxVendas.chave(tipo, ingresso.getCodigo());
+        }
+    }
+}
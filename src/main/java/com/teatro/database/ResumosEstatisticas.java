@@ -0,0 +1,380 @@
+package com.teatro.database;
+
+import com.teatro.model.Ingresso;
+import com.teatro.util.TeatroLogger;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tabelas de resumo das estatísticas (vendas por peça, por sessão, por área e peça e por mês).
+ * São atualizadas com incrementos a cada venda e cancelamento, dentro da mesma transação
+ * que grava ou remove os ingressos, e podem ser reconstruídas a partir da tabela de ingressos.
+ * As views estatisticas_* leem essas tabelas em vez de agregar os ingressos a cada consulta.
+ */
+public class ResumosEstatisticas {
+    /** Quantidade padrão de ingressos processados por transação na reconstrução. */
+    public static final int TAMANHO_LOTE_PADRAO = 5000;
+
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String[] TABELAS = {
+        "resumo_vendas_evento", "resumo_ocupacao_sessao", "resumo_faturamento_area_evento", "resumo_vendas_mes"
+    };
+    /** Sufixos das cópias usadas na reconstrução: a nova, preenchida aos poucos, e a antiga, trocada por ela. */
+    private static final String SUFIXO_NOVA = "_nova";
+    private static final String SUFIXO_ANTIGA = "_antiga";
+
+    private static final String INCREMENTAR_EVENTO = """
+        INSERT INTO resumo_vendas_evento (evento_id, total_ingressos, faturamento)
+        SELECT s.evento_id, ?, ? FROM sessoes s WHERE s.id = ?
+        ON DUPLICATE KEY UPDATE total_ingressos = total_ingressos + ?, faturamento = faturamento + ?
+        """;
+    private static final String INCREMENTAR_SESSAO = """
+        INSERT INTO resumo_ocupacao_sessao (sessao_id, total_ingressos, faturamento)
+        VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE total_ingressos = total_ingressos + ?, faturamento = faturamento + ?
+        """;
+    private static final String INCREMENTAR_AREA = """
+        INSERT INTO resumo_faturamento_area_evento (evento_id, area_id, total_ingressos, faturamento)
+        SELECT s.evento_id, ?, ?, ? FROM sessoes s WHERE s.id = ?
+        ON DUPLICATE KEY UPDATE total_ingressos = total_ingressos + ?, faturamento = faturamento + ?
+        """;
+    private static final String INCREMENTAR_MES = """
+        INSERT INTO resumo_vendas_mes (mes, evento_id, total_ingressos, faturamento)
+        SELECT ?, s.evento_id, ?, ? FROM sessoes s WHERE s.id = ?
+        ON DUPLICATE KEY UPDATE total_ingressos = total_ingressos + ?, faturamento = faturamento + ?
+        """;
+
+    /**
+     * Agregação de uma faixa de IDs de ingressos, somada ao que já existe em cada tabela.
+     * {tabela} é a cópia que está sendo reconstruída, na mesma ordem de TABELAS.
+     */
+    private static final String[] RECONSTRUIR_FAIXA = {
+        """
+        INSERT INTO {tabela} (evento_id, total_ingressos, faturamento)
+        SELECT * FROM (
+            SELECT s.evento_id, COUNT(*) AS total_ingressos, SUM(i.valor) AS faturamento
+            FROM ingressos i JOIN sessoes s ON s.id = i.sessao_id
+            WHERE i.id BETWEEN ? AND ?
+            GROUP BY s.evento_id) AS novo
+        ON DUPLICATE KEY UPDATE total_ingressos = {tabela}.total_ingressos + novo.total_ingressos,
+            faturamento = {tabela}.faturamento + novo.faturamento
+        """,
+        """
+        INSERT INTO {tabela} (sessao_id, total_ingressos, faturamento)
+        SELECT * FROM (
+            SELECT i.sessao_id, COUNT(*) AS total_ingressos, SUM(i.valor) AS faturamento
+            FROM ingressos i
+            WHERE i.id BETWEEN ? AND ?
+            GROUP BY i.sessao_id) AS novo
+        ON DUPLICATE KEY UPDATE total_ingressos = {tabela}.total_ingressos + novo.total_ingressos,
+            faturamento = {tabela}.faturamento + novo.faturamento
+        """,
+        """
+        INSERT INTO {tabela} (evento_id, area_id, total_ingressos, faturamento)
+        SELECT * FROM (
+            SELECT s.evento_id, i.area_id, COUNT(*) AS total_ingressos, SUM(i.valor) AS faturamento
+            FROM ingressos i JOIN sessoes s ON s.id = i.sessao_id
+            WHERE i.id BETWEEN ? AND ?
+            GROUP BY s.evento_id, i.area_id) AS novo
+        ON DUPLICATE KEY UPDATE total_ingressos = {tabela}.total_ingressos + novo.total_ingressos,
+            faturamento = {tabela}.faturamento + novo.faturamento
+        """,
+        """
+        INSERT INTO {tabela} (mes, evento_id, total_ingressos, faturamento)
+        SELECT * FROM (
+            SELECT DATE_FORMAT(i.data_compra, '%Y-%m') AS mes, s.evento_id,
+                COUNT(*) AS total_ingressos, SUM(i.valor) AS faturamento
+            FROM ingressos i JOIN sessoes s ON s.id = i.sessao_id
+            WHERE i.id BETWEEN ? AND ?
+            GROUP BY DATE_FORMAT(i.data_compra, '%Y-%m'), s.evento_id) AS novo
+        ON DUPLICATE KEY UPDATE total_ingressos = {tabela}.total_ingressos + novo.total_ingressos,
+            faturamento = {tabela}.faturamento + novo.faturamento
+        """
+    };
+
+    private final Connection connection;
+
+    public ResumosEstatisticas(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Cria as tabelas de resumo que ainda não existem. Se elas estiverem vazias enquanto
+     * já houver ingressos vendidos (primeira execução), são preenchidas por reconstruir.
+     */
+    public void criarTabelas() {
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                for (String comando : carregarScriptSQL().split(";")) {
+                    if (!comando.trim().isEmpty()) {
+                        stmt.execute(comando);
+                    }
+                }
+            }
+            logger.info("Tabelas de resumo de estatísticas verificadas");
+            if (precisaReconstruir()) {
+                reconstruir(TAMANHO_LOTE_PADRAO);
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao criar tabelas de resumo: {}", e.getMessage());
+            throw new RuntimeException("Erro ao criar tabelas de resumo", e);
+        }
+    }
+
+    private boolean precisaReconstruir() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT EXISTS (SELECT 1 FROM ingressos) AND NOT EXISTS (SELECT 1 FROM resumo_ocupacao_sessao)")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * Aplica uma venda (sinal 1) ou um cancelamento (sinal -1) às tabelas de resumo.
+     * Não faz commit: deve ser chamado na transação que grava ou remove os ingressos.
+     * Os ingressos são agrupados antes, então uma compra de várias poltronas da mesma
+     * sessão e área gera um único incremento por tabela.
+     * @param ingressos Os ingressos vendidos ou cancelados
+     * @param sinal 1 para venda, -1 para cancelamento
+     * @throws SQLException Se alguma atualização falhar
+     */
+    public void registrar(List<Ingresso> ingressos, int sinal) throws SQLException {
+        Map<Long, Delta> porSessao = new HashMap<>();
+        Map<List<Object>, Delta> porArea = new HashMap<>();
+        Map<List<Object>, Delta> porMes = new HashMap<>();
+        for (Ingresso ingresso : ingressos) {
+            porSessao.computeIfAbsent(ingresso.getSessaoId(), k -> new Delta()).somar(ingresso, sinal);
+            porArea.computeIfAbsent(List.of(ingresso.getSessaoId(), ingresso.getAreaId()), k -> new Delta())
+                .somar(ingresso, sinal);
+            porMes.computeIfAbsent(List.of(ingresso.getSessaoId(), mesDaCompra(ingresso)), k -> new Delta())
+                .somar(ingresso, sinal);
+        }
+
+        try (PreparedStatement evento = connection.prepareStatement(INCREMENTAR_EVENTO);
+             PreparedStatement sessao = connection.prepareStatement(INCREMENTAR_SESSAO)) {
+            for (Map.Entry<Long, Delta> entrada : porSessao.entrySet()) {
+                Delta delta = entrada.getValue();
+                evento.setInt(1, delta.ingressos);
+                evento.setDouble(2, delta.valor);
+                evento.setLong(3, entrada.getKey());
+                evento.setInt(4, delta.ingressos);
+                evento.setDouble(5, delta.valor);
+                evento.addBatch();
+
+                sessao.setLong(1, entrada.getKey());
+                sessao.setInt(2, delta.ingressos);
+                sessao.setDouble(3, delta.valor);
+                sessao.setInt(4, delta.ingressos);
+                sessao.setDouble(5, delta.valor);
+                sessao.addBatch();
+            }
+            evento.executeBatch();
+            sessao.executeBatch();
+        }
+
+        try (PreparedStatement area = connection.prepareStatement(INCREMENTAR_AREA)) {
+            for (Map.Entry<List<Object>, Delta> entrada : porArea.entrySet()) {
+                Delta delta = entrada.getValue();
+                area.setLong(1, (Long) entrada.getKey().get(1));
+                area.setInt(2, delta.ingressos);
+                area.setDouble(3, delta.valor);
+                area.setLong(4, (Long) entrada.getKey().get(0));
+                area.setInt(5, delta.ingressos);
+                area.setDouble(6, delta.valor);
+                area.addBatch();
+            }
+            area.executeBatch();
+        }
+
+        try (PreparedStatement mes = connection.prepareStatement(INCREMENTAR_MES)) {
+            for (Map.Entry<List<Object>, Delta> entrada : porMes.entrySet()) {
+                Delta delta = entrada.getValue();
+                mes.setString(1, (String) entrada.getKey().get(1));
+                mes.setInt(2, delta.ingressos);
+                mes.setDouble(3, delta.valor);
+                mes.setLong(4, (Long) entrada.getKey().get(0));
+                mes.setInt(5, delta.ingressos);
+                mes.setDouble(6, delta.valor);
+                mes.addBatch();
+            }
+            mes.executeBatch();
+        }
+    }
+
+    /**
+     * Reconstrói as tabelas de resumo a partir da tabela de ingressos.
+     * Os resumos são recalculados em cópias vazias das tabelas, lendo os ingressos em faixas
+     * de IDs, cada uma em sua própria transação, para não manter locks longos em bancos grandes.
+     * Enquanto isso as views continuam lendo os resumos atuais; ao final, um único RENAME TABLE
+     * troca as quatro tabelas de uma vez. Se a reconstrução falhar, os resumos atuais ficam intactos.
+     * Deve ser executado sem vendas ou cancelamentos simultâneos: os incrementos feitos nas
+     * tabelas atuais durante a reconstrução se perdem na troca.
+     * @param tamanhoLote Quantidade de IDs de ingressos por transação
+     * @return A quantidade de ingressos processados
+     */
+    public long reconstruir(int tamanhoLote) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo");
+        }
+        boolean autoCommitOriginal = true;
+        try {
+            autoCommitOriginal = connection.getAutoCommit();
+            // Cópias deixadas por uma reconstrução interrompida são descartadas
+            try (Statement stmt = connection.createStatement()) {
+                for (String tabela : TABELAS) {
+                    stmt.execute("DROP TABLE IF EXISTS " + tabela + SUFIXO_NOVA + ", " + tabela + SUFIXO_ANTIGA);
+                    stmt.execute("CREATE TABLE " + tabela + SUFIXO_NOVA + " LIKE " + tabela);
+                }
+            }
+            connection.setAutoCommit(false);
+
+            long processados = 0;
+            long inicioNanos = System.nanoTime();
+            long minimo;
+            long maximo;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MIN(id), MAX(id) FROM ingressos")) {
+                rs.next();
+                minimo = rs.getLong(1);
+                maximo = rs.getLong(2);
+                if (rs.wasNull()) {
+                    logger.info("Reconstrução dos resumos: nenhum ingresso vendido");
+                    minimo = 1;
+                    maximo = 0;
+                }
+            }
+
+            for (long inicio = minimo; inicio <= maximo; inicio += tamanhoLote) {
+                long fim = Math.min(inicio + tamanhoLote - 1, maximo);
+                for (int i = 0; i < RECONSTRUIR_FAIXA.length; i++) {
+                    String sql = RECONSTRUIR_FAIXA[i].replace("{tabela}", TABELAS[i] + SUFIXO_NOVA);
+                    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                        stmt.setLong(1, inicio);
+                        stmt.setLong(2, fim);
+                        stmt.executeUpdate();
+                    }
+                }
+                processados += contarIngressos(inicio, fim);
+                connection.commit();
+                logger.info("Reconstrução dos resumos: IDs até {} de {} ({} ingressos)", fim, maximo, processados);
+            }
+
+            trocarTabelas();
+            logger.info("Resumos de estatísticas reconstruídos: {} ingressos em {} ms",
+                        processados, (System.nanoTime() - inicioNanos) / 1_000_000);
+            return processados;
+        } catch (SQLException e) {
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+            } catch (SQLException ex) {
+                logger.error("Erro ao desfazer reconstrução dos resumos", ex);
+            }
+            logger.error("Erro ao reconstruir resumos de estatísticas: {}", e.getMessage());
+            throw new RuntimeException("Erro ao reconstruir resumos de estatísticas", e);
+        } finally {
+            try {
+                connection.setAutoCommit(autoCommitOriginal);
+            } catch (SQLException e) {
+                logger.error("Erro ao restaurar auto-commit", e);
+            }
+        }
+    }
+
+    /**
+     * Troca as tabelas de resumo pelas cópias reconstruídas em um único RENAME TABLE, que é
+     * atômico: as views nunca veem uma combinação de resumos antigos e novos nem tabelas vazias.
+     */
+    private void trocarTabelas() throws SQLException {
+        StringBuilder renomear = new StringBuilder("RENAME TABLE ");
+        for (int i = 0; i < TABELAS.length; i++) {
+            if (i > 0) {
+                renomear.append(", ");
+            }
+            String tabela = TABELAS[i];
+            renomear.append(tabela).append(" TO ").append(tabela).append(SUFIXO_ANTIGA).append(", ")
+                    .append(tabela).append(SUFIXO_NOVA).append(" TO ").append(tabela);
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(renomear.toString());
+            for (String tabela : TABELAS) {
+                stmt.execute("DROP TABLE " + tabela + SUFIXO_ANTIGA);
+            }
+        }
+    }
+
+    private long contarIngressos(long inicio, long fim) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT COUNT(*) FROM ingressos WHERE id BETWEEN ? AND ?")) {
+            stmt.setLong(1, inicio);
+            stmt.setLong(2, fim);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static String mesDaCompra(Ingresso ingresso) {
+        LocalDateTime data = ingresso.getDataCompra() != null
+            ? ingresso.getDataCompra().toLocalDateTime()
+            : LocalDateTime.now();
+        return data.format(FORMATO_MES);
+    }
+
+    /**
+     * Carrega o script das tabelas de resumo do arquivo de recursos.
+     */
+    private String carregarScriptSQL() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(
+                    getClass().getResourceAsStream("/db/resumos_estatisticas.sql")))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (Exception e) {
+            logger.error("Erro ao carregar script SQL: {}", e.getMessage());
+            throw new RuntimeException("Erro ao carregar script SQL", e);
+        }
+    }
+
+    /**
+     * Quantidade de ingressos e valor a somar em uma linha de resumo.
+     */
+    private static final class Delta {
+        private int ingressos;
+        private double valor;
+
+        private void somar(Ingresso ingresso, int sinal) {
+            ingressos += sinal;
+            valor += sinal * ingresso.getValor();
+        }
+    }
+
+    /**
+     * Reconstrói as tabelas de resumo do banco configurado em database.properties.
+     * Uso: ResumosEstatisticas [tamanhoLote]
+     */
+    public static void main(String[] args) {
+        int tamanhoLote = args.length > 0 ? Integer.parseInt(args[0]) : TAMANHO_LOTE_PADRAO;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            long processados = new ResumosEstatisticas(conn).reconstruir(tamanhoLote);
+            System.out.println("Resumos reconstruídos: " + processados + " ingressos processados.");
+        } catch (SQLException e) {
+            System.err.println("Erro ao reconstruir resumos: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.teatro.database;
+
+import com.teatro.util.TeatroLogger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unidade de trabalho: escopo em que uma conexão do pool fica associada à thread atual.
+ * Os DAOs criados sem conexão explícita usam a conexão do escopo aberto na thread
+ * (conexaoAtual), de modo que várias chamadas a DAOs dentro de uma mesma operação
+ * compartilham uma única conexão, que volta ao pool assim que o escopo é fechado.
+ * Escopos abertos dentro de outro escopo na mesma thread participam do escopo externo;
+ * apenas o escopo mais externo devolve a conexão.
+ *
+ * Uso típico:
+ * <pre>
+ * try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrirTransacao()) {
+ *     ingressoDAO.salvar(ingresso);
+ *     areaDAO.atualizar(area);
+ *     uow.confirmar();
+ * }
+ * </pre>
+ * Operações que só precisam compartilhar a conexão, sem usar o escopo diretamente, usam
+ * executar:
+ * <pre>
+ * return UnidadeDeTrabalho.executar(() -> dao.buscarPorId(id));
+ * </pre>
+ * Efeitos que só podem acontecer depois que a escrita estiver visível para as outras
+ * conexões (como invalidar caches compartilhados) são registrados com aposConfirmar.
+ * Escopos que ficam abertos além do limite de detecção de vazamentos
+ * (db.pool.leakDetectionThreshold) são registrados no log com a pilha de onde o escopo foi
+ * aberto; com a detecção desligada (limite 0) a pilha não é capturada.
+ */
+public final class UnidadeDeTrabalho implements AutoCloseable {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    private static final ThreadLocal<Escopo> escopoAtual = new ThreadLocal<>();
+    private static final Set<Escopo> escoposAbertos = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService detector;
+
+    private final Escopo escopo;
+    private final boolean dono;
+    private final boolean iniciouTransacao;
+    private boolean confirmada;
+    private boolean fechada;
+
+    private UnidadeDeTrabalho(Escopo escopo, boolean dono, boolean iniciouTransacao) {
+        this.escopo = escopo;
+        this.dono = dono;
+        this.iniciouTransacao = iniciouTransacao;
+    }
+
+    /**
+     * Abre um escopo sem transação explícita (auto-commit), ou participa do escopo
+     * já aberto na thread atual.
+     * @return A unidade de trabalho, que deve ser fechada (try-with-resources)
+     * @throws SQLException Se não for possível obter uma conexão do pool
+     */
+    public static UnidadeDeTrabalho abrir() throws SQLException {
+        return abrir(UnidadeDeTrabalho::conexaoDoPool, false);
+    }
+
+    /**
+     * Abre um escopo com transação. Se a thread já estiver em uma transação, participa dela
+     * e o commit fica a cargo de quem a iniciou.
+     * Se confirmar() não for chamado antes de close(), a transação é desfeita.
+     * @return A unidade de trabalho, que deve ser fechada (try-with-resources)
+     * @throws SQLException Se não for possível obter uma conexão ou iniciar a transação
+     */
+    public static UnidadeDeTrabalho abrirTransacao() throws SQLException {
+        return abrir(UnidadeDeTrabalho::conexaoDoPool, true);
+    }
+
+    /**
+     * Executa a operação em um escopo sem transação explícita (ou no escopo já aberto na
+     * thread): as chamadas aos DAOs feitas pela operação compartilham uma conexão.
+     * @param operacao A operação
+     * @return O resultado da operação
+     * @throws Exception O erro da operação, ou o erro ao obter ou devolver a conexão
+     */
+    @SuppressWarnings("try") // o escopo só precisa ficar aberto durante a operação
+    public static <T> T executar(Operacao<T> operacao) throws Exception {
+        try (UnidadeDeTrabalho uow = abrir()) {
+            return operacao.executar();
+        }
+    }
+
+    /**
+     * Executa a ação em um escopo sem transação explícita (ou no escopo já aberto na thread).
+     * @param acao A ação
+     * @throws Exception O erro da ação, ou o erro ao obter ou devolver a conexão
+     */
+    public static void executar(Acao acao) throws Exception {
+        executar(() -> {
+            acao.executar();
+            return null;
+        });
+    }
+
+    static UnidadeDeTrabalho abrir(FonteConexoes fonte, boolean transacao) throws SQLException {
+        Escopo escopo = escopoAtual.get();
+        boolean dono = escopo == null;
+        if (dono) {
+            escopo = new Escopo(fonte.obter());
+        }
+
+        boolean iniciouTransacao = false;
+        try {
+            if (transacao && escopo.conexao.getAutoCommit()) {
+                escopo.conexao.setAutoCommit(false);
+                iniciouTransacao = true;
+            }
+        } catch (SQLException e) {
+            if (dono) {
+                escopo.conexao.close();
+            }
+            throw e;
+        }
+
+        if (iniciouTransacao) {
+            escopo.emTransacao = true;
+        }
+        if (dono) {
+            escopoAtual.set(escopo);
+            escoposAbertos.add(escopo);
+            iniciarDetector();
+        }
+        return new UnidadeDeTrabalho(escopo, dono, iniciouTransacao);
+    }
+
+    /**
+     * Obtém a conexão do escopo aberto na thread atual.
+     * @return A conexão do escopo; não deve ser fechada por quem a usa
+     * @throws IllegalStateException Se não houver escopo aberto na thread
+     */
+    public static Connection conexaoAtual() {
+        Escopo escopo = escopoAtual.get();
+        if (escopo == null) {
+            throw new IllegalStateException(
+                "Nenhuma unidade de trabalho aberta na thread " + Thread.currentThread().getName());
+        }
+        return escopo.conexao;
+    }
+
+    /**
+     * Executa a ação depois do commit da transação em andamento na thread atual.
+     * Sem transação (auto-commit ou nenhum escopo aberto), a escrita já está confirmada e a
+     * ação é executada imediatamente. Se a transação for desfeita, a ação é descartada.
+     * @param acao A ação a executar após o commit
+     */
+    public static void aposConfirmar(Runnable acao) {
+        Escopo escopo = escopoAtual.get();
+        if (escopo != null && escopo.emTransacao) {
+            escopo.aposConfirmacao.add(acao);
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Indica se há um escopo aberto na thread atual.
+     */
+    public static boolean emAndamento() {
+        return escopoAtual.get() != null;
+    }
+
+    /**
+     * Obtém a conexão deste escopo.
+     * @return A conexão; não deve ser fechada por quem a usa
+     */
+    public Connection getConnection() {
+        return escopo.conexao;
+    }
+
+    /**
+     * Confirma a transação iniciada por este escopo. Em escopos que participam de uma
+     * transação externa, apenas marca o trabalho como concluído.
+     * @throws SQLException Se o commit falhar
+     */
+    public void confirmar() throws SQLException {
+        if (iniciouTransacao) {
+            escopo.conexao.commit();
+            escopo.emTransacao = false;
+            executarAposConfirmacao();
+        }
+        confirmada = true;
+    }
+
+    private void executarAposConfirmacao() {
+        List<Runnable> acoes = new ArrayList<>(escopo.aposConfirmacao);
+        escopo.aposConfirmacao.clear();
+        for (Runnable acao : acoes) {
+            try {
+                acao.run();
+            } catch (RuntimeException e) {
+                // O commit já aconteceu: uma ação com erro não impede as demais
+                logger.error("Erro ao executar ação após o commit: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fecha o escopo. Desfaz a transação iniciada aqui se ela não foi confirmada e,
+     * no escopo mais externo, devolve a conexão ao pool.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (fechada) {
+            return;
+        }
+        fechada = true;
+
+        SQLException erro = null;
+        if (iniciouTransacao) {
+            escopo.emTransacao = false;
+            escopo.aposConfirmacao.clear();
+            try {
+                if (!confirmada) {
+                    escopo.conexao.rollback();
+                }
+            } catch (SQLException e) {
+                erro = e;
+            } finally {
+                try {
+                    escopo.conexao.setAutoCommit(true);
+                } catch (SQLException e) {
+                    if (erro == null) {
+                        erro = e;
+                    }
+                }
+            }
+        }
+
+        if (dono) {
+            escopoAtual.remove();
+            escoposAbertos.remove(escopo);
+            try {
+                escopo.conexao.close();
+            } catch (SQLException e) {
+                if (erro == null) {
+                    erro = e;
+                }
+            }
+        }
+
+        if (erro != null) {
+            logger.error("Erro ao fechar unidade de trabalho: {}", erro.getMessage());
+            throw erro;
+        }
+    }
+
+    /**
+     * Registra no log os escopos abertos há mais tempo que o limite informado,
+     * com a pilha de onde cada um foi aberto. Cada escopo é reportado uma única vez.
+     * @param limiteMillis Tempo máximo esperado de um escopo aberto
+     * @return A quantidade de escopos reportados nesta verificação
+     */
+    static int verificarVazamentos(long limiteMillis) {
+        long agora = System.nanoTime();
+        List<Escopo> suspeitos = new ArrayList<>();
+        for (Escopo escopo : escoposAbertos) {
+            if (!escopo.reportado && TimeUnit.NANOSECONDS.toMillis(agora - escopo.abertoEm) >= limiteMillis) {
+                escopo.reportado = true;
+                suspeitos.add(escopo);
+            }
+        }
+        for (Escopo escopo : suspeitos) {
+            logger.warn("Unidade de trabalho aberta há mais de {} ms na thread {} (possível vazamento de conexão)",
+                limiteMillis, escopo.thread, escopo.origem);
+        }
+        return suspeitos.size();
+    }
+
+    /**
+     * Quantidade de escopos abertos em todas as threads.
+     */
+    static int getEscoposAbertos() {
+        return escoposAbertos.size();
+    }
+
+    private static synchronized void iniciarDetector() {
+        if (detector != null) {
+            return;
+        }
+        long limite = Deteccao.LIMITE_MILLIS;
+        if (limite <= 0) {
+            return;
+        }
+        detector = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vazamentos-unidade-de-trabalho");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = Math.max(1000, limite / 2);
+        detector.scheduleWithFixedDelay(() -> verificarVazamentos(limite), intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    private static Connection conexaoDoPool() throws SQLException {
+        return DatabaseConnection.getInstance().getConnection();
+    }
+
+    /**
+     * Operação executada dentro de uma unidade de trabalho.
+     */
+    @FunctionalInterface
+    public interface Operacao<T> {
+        T executar() throws Exception;
+    }
+
+    /**
+     * Operação sem resultado executada dentro de uma unidade de trabalho.
+     */
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Origem das conexões de um escopo; permite testar a unidade de trabalho sem o pool.
+     */
+    @FunctionalInterface
+    interface FonteConexoes {
+        Connection obter() throws SQLException;
+    }
+
+    /**
+     * Limite da detecção de vazamentos, lido da configuração uma única vez.
+     */
+    private static final class Deteccao {
+        static final long LIMITE_MILLIS = DatabaseConfig.getInstance().getLeakDetectionThreshold();
+    }
+
+    /**
+     * Estado compartilhado pelos escopos aninhados de uma thread.
+     */
+    private static final class Escopo {
+        final Connection conexao;
+        final String thread = Thread.currentThread().getName();
+        final long abertoEm = System.nanoTime();
+        // Capturar a pilha custa caro em todo escopo; só é feito com a detecção de vazamentos ligada
+        final Throwable origem = Deteccao.LIMITE_MILLIS > 0 ? new Throwable("Unidade de trabalho aberta aqui") : null;
+        volatile boolean reportado;
+        // Usados apenas pela thread dona do escopo
+        boolean emTransacao;
+        final List<Runnable> aposConfirmacao = new ArrayList<>();
+
+        Escopo(Connection conexao) {
+            this.conexao = conexao;
+        }
+    }
+}
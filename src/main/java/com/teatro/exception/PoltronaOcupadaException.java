@@ -14,6 +14,16 @@ public class PoltronaOcupadaException extends TeatroException {
         super(String.format("A poltrona %d da área %s já está ocupada", numeroPoltrona, areaNome));
     }
 
+    /**
+     * Constrói uma nova exceção com a mensagem especificada e a causa original.
+     * @param numeroPoltrona O número da poltrona que está ocupada
+     * @param areaNome O nome da área onde a poltrona está
+     * @param cause A falha que revelou a ocupação
+     */
+    public PoltronaOcupadaException(int numeroPoltrona, String areaNome, Throwable cause) {
+        super(String.format("A poltrona %d da área %s já está ocupada", numeroPoltrona, areaNome), cause);
+    }
+
     public PoltronaOcupadaException(String message) {
         super(message);
     }
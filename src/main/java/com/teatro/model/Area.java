@@ -1,6 +1,5 @@
 package com.teatro.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class Area implements Comparable<Area> {
@@ -8,7 +7,7 @@ public class Area implements Comparable<Area> {
     private String nome;
     private double preco;
     private int capacidadeTotal;
-    private List<Boolean> poltronas;
+    private MapaPoltronas poltronas;
     private double faturamento;
     private Long sessaoId;
 
@@ -21,13 +20,8 @@ public class Area implements Comparable<Area> {
         this.nome = nome;
         this.preco = preco;
         this.capacidadeTotal = capacidadeTotal;
-        this.poltronas = new ArrayList<>();
+        this.poltronas = new MapaPoltronas(capacidadeTotal);
         this.faturamento = 0.0;
-        
-        // Inicializa todas as poltronas como disponíveis
-        for (int i = 0; i < capacidadeTotal; i++) {
-            poltronas.add(false);
-        }
     }
 
     public Area(Long id, String nome, double preco, int capacidadeTotal, Long sessaoId) {
@@ -36,17 +30,22 @@ public class Area implements Comparable<Area> {
     }
 
     public void carregarPoltronasOcupadas(List<Integer> poltronasOcupadas) {
-        // Reseta todas as poltronas para disponíveis
-        for (int i = 0; i < poltronas.size(); i++) {
-            poltronas.set(i, false);
-        }
-        
-        // Marca as poltronas ocupadas
-        for (Integer numeroPoltrona : poltronasOcupadas) {
-            if (numeroPoltrona > 0 && numeroPoltrona <= poltronas.size()) {
-                poltronas.set(numeroPoltrona - 1, true);
-            }
+        this.poltronas = MapaPoltronas.deLista(capacidadeTotal, poltronasOcupadas);
+    }
+
+    /**
+     * Substitui a ocupação da área pelo mapa de poltronas informado.
+     * @param mapaPoltronas O mapa de ocupação da área na sessão
+     */
+    public void carregarMapaPoltronas(MapaPoltronas mapaPoltronas) {
+        this.poltronas = mapaPoltronas;
+    }
+
+    public MapaPoltronas getMapaPoltronas() {
+        if (poltronas == null) {
+            poltronas = new MapaPoltronas(capacidadeTotal);
         }
+        return poltronas;
     }
 
     public Long getId() {
@@ -90,36 +89,19 @@ public class Area implements Comparable<Area> {
     }
 
     public int getPoltronasDisponiveis() {
-        int disponiveis = 0;
-        for (Boolean ocupada : poltronas) {
-            if (!ocupada) disponiveis++;
-        }
-        return disponiveis;
+        return getMapaPoltronas().getTotalDisponiveis();
     }
 
     public List<Integer> getPoltronasDisponiveisList() {
-        List<Integer> disponiveisList = new ArrayList<>();
-        for (int i = 0; i < poltronas.size(); i++) {
-            if (!poltronas.get(i)) {
-                disponiveisList.add(i + 1);
-            }
-        }
-        return disponiveisList;
+        return getMapaPoltronas().getPoltronasDisponiveis();
     }
 
     public int getPrimeiraPoltrona() {
-        for (int i = 0; i < poltronas.size(); i++) {
-            if (!poltronas.get(i)) {
-                return i + 1; // Retorna o número da poltrona (1-indexed)
-            }
-        }
-        return -1; // Não há poltronas disponíveis
+        return getMapaPoltronas().getPrimeiraDisponivel();
     }
 
     public boolean ocuparPoltrona(int numeroPoltrona) {
-        int index = numeroPoltrona - 1; // Converte para 0-indexed
-        if (index >= 0 && index < poltronas.size() && !poltronas.get(index)) {
-            poltronas.set(index, true);
+        if (getMapaPoltronas().ocupar(numeroPoltrona)) {
             faturamento += preco;
             return true;
         }
@@ -0,0 +1,33 @@
+package com.teatro.model;
+
+import com.teatro.util.Validator;
+
+/**
+ * Contexto do usuário autenticado: o ID e o papel resolvidos no login, que acompanham o
+ * usuário pelas telas durante a sessão. Compras e listagens recebem este contexto e não
+ * precisam buscar o usuário pelo CPF no banco a cada operação.
+ * @param usuarioId ID do usuário
+ * @param cpf CPF como cadastrado (identifica as reservas temporárias de poltronas)
+ * @param tipoUsuario Papel do usuário (COMUM ou ADMIN)
+ */
+public record ContextoUsuario(Long usuarioId, String cpf, String tipoUsuario) {
+
+    public ContextoUsuario {
+        Validator.validarNaoNulo(usuarioId, "ID do Usuário");
+        Validator.validarStringNaoVazia(cpf, "CPF");
+    }
+
+    /**
+     * Cria o contexto a partir do usuário devolvido pela autenticação.
+     * @param usuario O usuário autenticado
+     * @return O contexto da sessão
+     */
+    public static ContextoUsuario de(Usuario usuario) {
+        Validator.validarNaoNulo(usuario, "Usuário");
+        return new ContextoUsuario(usuario.getId(), usuario.getCpf(), usuario.getTipoUsuario());
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(tipoUsuario);
+    }
+}
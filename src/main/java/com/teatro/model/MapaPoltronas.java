@@ -0,0 +1,129 @@
+package com.teatro.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Mapa compacto de ocupação das poltronas de uma área em uma sessão.
+ * Cada poltrona ocupa um bit de um BitSet (indexado pelo número da poltrona, a partir de 1),
+ * o que permite consultar a ocupação em O(1) e contar as livres sem percorrer listas.
+ */
+public class MapaPoltronas {
+    private final int capacidade;
+    private final BitSet ocupadas;
+
+    /**
+     * Cria um mapa com todas as poltronas disponíveis.
+     * @param capacidade A quantidade de poltronas da área
+     */
+    public MapaPoltronas(int capacidade) {
+        this(capacidade, new BitSet(capacidade + 1));
+    }
+
+    /**
+     * Cria um mapa a partir dos bits de poltronas ocupadas.
+     * Números fora do intervalo 1..capacidade são descartados.
+     * @param capacidade A quantidade de poltronas da área
+     * @param ocupadas Bits das poltronas ocupadas (bit n = poltrona n)
+     */
+    public MapaPoltronas(int capacidade, BitSet ocupadas) {
+        this.capacidade = Math.max(capacidade, 0);
+        this.ocupadas = (BitSet) ocupadas.clone();
+        this.ocupadas.clear(0);
+        if (this.ocupadas.length() > this.capacidade + 1) {
+            this.ocupadas.clear(this.capacidade + 1, this.ocupadas.length());
+        }
+    }
+
+    /**
+     * Cria um mapa a partir de uma lista de números de poltronas ocupadas.
+     * @param capacidade A quantidade de poltronas da área
+     * @param poltronasOcupadas Os números das poltronas ocupadas
+     * @return O mapa de poltronas
+     */
+    public static MapaPoltronas deLista(int capacidade, List<Integer> poltronasOcupadas) {
+        MapaPoltronas mapa = new MapaPoltronas(capacidade);
+        for (Integer numero : poltronasOcupadas) {
+            mapa.ocupar(numero);
+        }
+        return mapa;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Verifica se o número pertence à área.
+     * @param numero O número da poltrona
+     * @return true se estiver entre 1 e a capacidade
+     */
+    public boolean isValida(int numero) {
+        return numero > 0 && numero <= capacidade;
+    }
+
+    public boolean isOcupada(int numero) {
+        return isValida(numero) && ocupadas.get(numero);
+    }
+
+    public boolean isDisponivel(int numero) {
+        return isValida(numero) && !ocupadas.get(numero);
+    }
+
+    /**
+     * Marca uma poltrona como ocupada.
+     * @param numero O número da poltrona
+     * @return true se a poltrona estava disponível e foi ocupada
+     */
+    public boolean ocupar(int numero) {
+        if (!isDisponivel(numero)) {
+            return false;
+        }
+        ocupadas.set(numero);
+        return true;
+    }
+
+    /**
+     * Marca uma poltrona como disponível.
+     * @param numero O número da poltrona
+     */
+    public void liberar(int numero) {
+        if (isValida(numero)) {
+            ocupadas.clear(numero);
+        }
+    }
+
+    public int getTotalOcupadas() {
+        return ocupadas.cardinality();
+    }
+
+    public int getTotalDisponiveis() {
+        return capacidade - ocupadas.cardinality();
+    }
+
+    /**
+     * Retorna a primeira poltrona livre.
+     * @return O número da poltrona ou -1 se a área estiver lotada
+     */
+    public int getPrimeiraDisponivel() {
+        int numero = ocupadas.nextClearBit(1);
+        return numero <= capacidade ? numero : -1;
+    }
+
+    public List<Integer> getPoltronasDisponiveis() {
+        List<Integer> disponiveis = new ArrayList<>(getTotalDisponiveis());
+        for (int numero = ocupadas.nextClearBit(1); numero <= capacidade; numero = ocupadas.nextClearBit(numero + 1)) {
+            disponiveis.add(numero);
+        }
+        return disponiveis;
+    }
+
+    public List<Integer> getPoltronasOcupadas() {
+        List<Integer> lista = new ArrayList<>(getTotalOcupadas());
+        for (int numero = ocupadas.nextSetBit(1); numero >= 0; numero = ocupadas.nextSetBit(numero + 1)) {
+            lista.add(numero);
+        }
+        return lista;
+    }
+}
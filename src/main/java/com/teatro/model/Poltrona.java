@@ -2,6 +2,7 @@ package com.teatro.model;
 
 import com.teatro.model.state.PoltronaState;
 import com.teatro.model.state.DisponivelState;
+import com.teatro.model.state.ReservaPoltronas;
 
 public class Poltrona {
     private int numero;
@@ -64,6 +65,9 @@ public class Poltrona {
     public void selecionar() {
         state.selecionar(this);
     }
+    public void selecionar(ReservaPoltronas.Reserva reserva) {
+        state.selecionar(this, reserva);
+    }
     public String getNomeEstado() {
         return state.getNomeEstado();
     }
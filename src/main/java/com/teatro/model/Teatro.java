@@ -4,37 +4,48 @@ import com.teatro.service.IngressoService;
 import com.teatro.service.UsuarioService;
 import com.teatro.util.TeatroLogger;
 import com.teatro.util.Validator;
+import com.teatro.model.state.ReservaPoltronas;
 import com.teatro.exception.TeatroException;
 import com.teatro.exception.UsuarioNaoEncontradoException;
 import com.teatro.exception.SessaoNaoEncontradaException;
-import com.teatro.exception.PoltronaOcupadaException;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Map;
 import java.util.Optional;
 import com.teatro.dao.EventoDAO;
 import com.teatro.database.DatabaseConnection;
+import com.teatro.database.UnidadeDeTrabalho;
 import java.sql.Connection;
-import com.teatro.dao.SessaoDAO;
 import com.teatro.dao.AreaDAO;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Classe principal do sistema, implementando o padrão Façade.
+ * O catálogo (áreas e eventos com sessões) é carregado em segundo plano a partir da construção:
+ * as duas cargas são independentes e rodam em paralelo, cada uma com uma única consulta.
+ * getAreas e getEventos aguardam o fim da carga se ela ainda estiver em andamento.
  */
 public class Teatro {
     private static Teatro instance;
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final UsuarioService usuarioService;
     private final IngressoService ingressoService;
-    private List<Area> areas;
-    private List<Evento> eventos;
+    private final CompletableFuture<List<Area>> areas;
+    private final CompletableFuture<List<Evento>> eventos;
     
     private Teatro() {
         this.usuarioService = UsuarioService.getInstance();
         this.ingressoService = IngressoService.getInstance();
-        this.areas = new ArrayList<>();
-        this.eventos = new ArrayList<>();
-        carregarAreasDoBanco();
-        carregarEventosDoBanco();
+        // Cada carga usa sua própria conexão do pool, em uma virtual thread
+        ExecutorService carregamento = Executors.newVirtualThreadPerTaskExecutor();
+        this.areas = CompletableFuture.supplyAsync(this::carregarAreasDoBanco, carregamento);
+        this.eventos = CompletableFuture.supplyAsync(this::carregarEventosDoBanco, carregamento);
+        // Não aceita novas tarefas; as duas cargas seguem até o fim
+        carregamento.shutdown();
     }
     
     public static synchronized Teatro getInstance() {
@@ -52,14 +63,22 @@ public class Teatro {
         return ingressoService;
     }
     
+    /**
+     * Busca os ingressos do usuário logado, sem buscá-lo pelo CPF.
+     * @param contexto O contexto do usuário autenticado
+     * @return Os ingressos do usuário
+     */
+    public List<Ingresso> buscarIngressos(ContextoUsuario contexto) {
+        Validator.validarNaoNulo(contexto, "Usuário logado");
+        return ingressoService.buscarIngressosPorUsuario(contexto.usuarioId());
+    }
+    
     public List<Ingresso> buscarIngressosPorCpf(String cpf) {
         try {
             Validator.validarCpf(cpf);
-            Optional<Usuario> usuario = usuarioService.buscarPorCpf(cpf);
-            if (usuario.isPresent()) {
-                return ingressoService.buscarIngressosPorUsuario(usuario.get().getId());
-            }
-            return new ArrayList<>();
+            return usuarioService.buscarContextoPorCpf(cpf)
+                .map(this::buscarIngressos)
+                .orElseGet(ArrayList::new);
         } catch (TeatroException e) {
             logger.error("Erro ao buscar ingressos por CPF: " + e.getMessage());
             throw e;
@@ -108,35 +127,57 @@ public class Teatro {
         }
     }
 
-    private void carregarAreasDoBanco() {
-        try {
-            java.sql.Connection conn = com.teatro.database.DatabaseConnection.getInstance().getConnection();
-            AreaDAO areaDAO = new AreaDAO(conn);
-            this.areas = areaDAO.listarTodos();
+    private List<Area> carregarAreasDoBanco() {
+        long inicio = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            List<Area> carregadas = new AreaDAO(conn).listarTodos();
+            logger.info("{} áreas carregadas em {} ms", carregadas.size(), (System.nanoTime() - inicio) / 1_000_000);
+            return carregadas;
         } catch (Exception e) {
             logger.error("Erro ao carregar áreas do banco: " + e.getMessage());
+            return new ArrayList<>();
         }
     }
 
-    private void carregarEventosDoBanco() {
-        try {
-            Connection conn = DatabaseConnection.getInstance().getConnection();
-            EventoDAO eventoDAO = new EventoDAO(conn);
-            SessaoDAO sessaoDAO = new SessaoDAO(conn);
-            this.eventos = eventoDAO.listarTodos();
-            for (Evento evento : this.eventos) {
-                List<Sessao> sessoes = sessaoDAO.buscarPorEvento(evento.getId());
-                for (Sessao sessao : sessoes) {
-                    evento.addSessao(sessao);
-                }
-            }
+    private List<Evento> carregarEventosDoBanco() {
+        long inicio = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            // Eventos, sessões e áreas de cada sessão em uma única consulta
+            List<Evento> carregados = new EventoDAO(conn).listarComSessoes();
+            logger.info("{} eventos carregados em {} ms", carregados.size(), (System.nanoTime() - inicio) / 1_000_000);
+            return carregados;
         } catch (Exception e) {
             logger.error("Erro ao carregar eventos e sessões do banco: " + e.getMessage());
+            return new ArrayList<>();
         }
     }
 
+    /**
+     * Indica se o catálogo (áreas e eventos) já terminou de carregar.
+     * @return true se getAreas e getEventos não vão aguardar
+     */
+    public boolean isCatalogoCarregado() {
+        return areas.isDone() && eventos.isDone();
+    }
+
+    /**
+     * Permite aguardar o catálogo sem bloquear (por exemplo, para exibir um indicador de carregamento).
+     * @return Future concluído quando áreas e eventos estiverem carregados
+     */
+    public CompletableFuture<Void> getCarregamentoCatalogo() {
+        return CompletableFuture.allOf(areas, eventos);
+    }
+
     public List<Area> getAreas() {
-        return areas;
+        return aguardar(areas);
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            throw new TeatroException("Erro ao carregar catálogo", e.getCause());
+        }
     }
 
     public Optional<Usuario> autenticarUsuario(String identificador, String senha) {
@@ -144,15 +185,14 @@ public class Teatro {
             Validator.validarStringNaoVazia(identificador, "Identificador (CPF ou Email)");
             Validator.validarStringNaoVazia(senha, "Senha");
             
-            // Se o identificador parece ser um email, valida como email
+            // Se o identificador parece ser um email, valida e autentica pelo email
             if (identificador.contains("@")) {
                 Validator.validarEmail(identificador);
-            } else {
-                // Caso contrário, valida como CPF
-                Validator.validarCpf(identificador);
+                return usuarioService.autenticarPorEmail(identificador, senha);
             }
-            
-            return usuarioService.autenticar(identificador, senha);
+            // Caso contrário, pelo CPF
+            Validator.validarCpf(identificador);
+            return usuarioService.autenticarPorCpf(identificador, senha);
         } catch (TeatroException e) {
             logger.error("Erro ao autenticar usuário: " + e.getMessage());
             throw e;
@@ -177,28 +217,34 @@ public class Teatro {
     }
 
     public List<Evento> getEventos() {
-        return eventos;
+        return aguardar(eventos);
     }
 
     public List<Area> getAreasDisponiveis(Sessao sessao) {
+        Validator.validarNaoNulo(sessao, "Sessão");
+        // A consulta das áreas e a da ocupação compartilham a conexão da unidade de trabalho
         try {
-            Validator.validarNaoNulo(sessao, "Sessão");
-            java.sql.Connection conn = DatabaseConnection.getInstance().getConnection();
-            AreaDAO areaDAO = new AreaDAO(conn);
-            List<Area> areasDaSessao = areaDAO.buscarPorSessao(sessao.getId());
-            List<Area> areasDisponiveis = new ArrayList<>();
-            for (Area area : areasDaSessao) {
-                // Busca as poltronas ocupadas para esta área na sessão
-                List<Integer> poltronasOcupadas = ingressoService.getPoltronasOcupadas(sessao.getId(), area.getId());
-                // Cria uma cópia da área com as poltronas ocupadas
-                Area areaAtualizada = new Area(area.getId(), area.getNome(), area.getPreco(), area.getCapacidadeTotal());
-                areaAtualizada.carregarPoltronasOcupadas(poltronasOcupadas);
-                // Adiciona apenas se houver poltronas disponíveis
-                if (areaAtualizada.getPoltronasDisponiveis() > 0) {
-                    areasDisponiveis.add(areaAtualizada);
+            return UnidadeDeTrabalho.executar(() -> {
+                // As áreas de cada sessão vêm no catálogo; sessões de fora dele são consultadas
+                List<Area> areasDaSessao = sessao.getAreas();
+                if (areasDaSessao.isEmpty()) {
+                    areasDaSessao = new AreaDAO().buscarPorSessao(sessao.getId());
                 }
-            }
-            return areasDisponiveis;
+                // Uma única consulta traz a ocupação de todas as áreas da sessão
+                Map<Long, BitSet> ocupadasPorArea = ingressoService.getPoltronasOcupadasPorArea(sessao.getId());
+                List<Area> areasDisponiveis = new ArrayList<>();
+                for (Area area : areasDaSessao) {
+                    // Cria uma cópia da área com as poltronas ocupadas
+                    Area areaAtualizada = new Area(area.getId(), area.getNome(), area.getPreco(), area.getCapacidadeTotal());
+                    BitSet ocupadas = ocupadasPorArea.getOrDefault(area.getId(), new BitSet());
+                    areaAtualizada.carregarMapaPoltronas(new MapaPoltronas(area.getCapacidadeTotal(), ocupadas));
+                    // Adiciona apenas se houver poltronas disponíveis
+                    if (areaAtualizada.getPoltronasDisponiveis() > 0) {
+                        areasDisponiveis.add(areaAtualizada);
+                    }
+                }
+                return areasDisponiveis;
+            });
         } catch (TeatroException e) {
             logger.error("Erro ao buscar áreas disponíveis: " + e.getMessage());
             throw e;
@@ -213,22 +259,20 @@ public class Teatro {
             Validator.validarNaoNulo(areaId, "ID da Área");
             Validator.validarNaoNulo(sessaoId, "ID da Sessão");
             // Busca a área original
-            Optional<Area> areaOriginal = areas.stream()
+            Optional<Area> areaOriginal = getAreas().stream()
                 .filter(a -> a.getId().equals(areaId))
                 .findFirst();
             if (areaOriginal.isEmpty()) {
                 throw new TeatroException("Área não encontrada");
             }
-            // Busca as poltronas ocupadas para esta área NA SESSÃO CORRETA
-            List<Integer> poltronasOcupadas = ingressoService.getPoltronasOcupadas(sessaoId, areaId);
-            // Cria uma cópia da área com as poltronas ocupadas
+            // Cria uma cópia da área com as poltronas ocupadas NA SESSÃO CORRETA
             Area areaAtualizada = new Area(
                 areaOriginal.get().getId(),
                 areaOriginal.get().getNome(),
                 areaOriginal.get().getPreco(),
                 areaOriginal.get().getCapacidadeTotal()
             );
-            areaAtualizada.carregarPoltronasOcupadas(poltronasOcupadas);
+            areaAtualizada.carregarMapaPoltronas(ingressoService.getMapaPoltronas(sessaoId, areaOriginal.get()));
             return areaAtualizada;
         } catch (TeatroException e) {
             logger.error("Erro ao buscar área atualizada: " + e.getMessage());
@@ -240,22 +284,20 @@ public class Teatro {
     }
     
     public List<Integer> getPoltronasDisponiveis(Sessao sessao, Area area) {
+        return getMapaPoltronas(sessao, area).getPoltronasDisponiveis();
+    }
+    
+    /**
+     * Obtém o mapa de ocupação de uma área na sessão com uma única consulta.
+     * @param sessao A sessão
+     * @param area A área
+     * @return O mapa de poltronas ocupadas/disponíveis
+     */
+    public MapaPoltronas getMapaPoltronas(Sessao sessao, Area area) {
         try {
             Validator.validarNaoNulo(sessao, "Sessão");
             Validator.validarNaoNulo(area, "Área");
-            
-            // Busca as poltronas ocupadas para esta área na sessão
-            List<Integer> poltronasOcupadas = ingressoService.getPoltronasOcupadas(sessao.getId(), area.getId());
-            
-            // Cria uma lista com todas as poltronas disponíveis
-            List<Integer> poltronasDisponiveis = new ArrayList<>();
-            for (int i = 1; i <= area.getCapacidadeTotal(); i++) {
-                if (!poltronasOcupadas.contains(i)) {
-                    poltronasDisponiveis.add(i);
-                }
-            }
-            
-            return poltronasDisponiveis;
+            return ingressoService.getMapaPoltronas(sessao.getId(), area);
         } catch (TeatroException e) {
             logger.error("Erro ao buscar poltronas disponíveis: " + e.getMessage());
             throw e;
@@ -286,42 +328,74 @@ public class Teatro {
         }
     }
 
-    public Optional<IngressoModerno> comprarIngresso(String cpf, Evento evento, Sessao sessao, Area area, int numeroPoltrona) {
+    /**
+     * Reserva uma poltrona para o usuário enquanto ele conclui a seleção.
+     * @param cpf O CPF do usuário
+     * @param sessao A sessão
+     * @param area A área da poltrona
+     * @param numeroPoltrona O número da poltrona
+     * @return A reserva, ou vazio se outro usuário já reservou a poltrona
+     */
+    public Optional<ReservaPoltronas.Reserva> reservarPoltrona(String cpf, Sessao sessao, Area area, int numeroPoltrona) {
         try {
-            Validator.validarCpf(cpf);
-            Validator.validarNaoNulo(evento, "Evento");
             Validator.validarNaoNulo(sessao, "Sessão");
             Validator.validarNaoNulo(area, "Área");
-            Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
-
-            Optional<Usuario> usuario = usuarioService.buscarPorCpf(cpf);
-            if (usuario.isEmpty()) {
-                throw new UsuarioNaoEncontradoException(cpf);
+            if (numeroPoltrona > area.getCapacidadeTotal()) {
+                throw new TeatroException("Número da poltrona inválido para esta área");
             }
+            return ingressoService.reservarPoltrona(cpf, sessao.getId(), area.getId(), numeroPoltrona);
+        } catch (TeatroException e) {
+            logger.error("Erro ao reservar poltrona: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro inesperado ao reservar poltrona: " + e.getMessage());
+            throw new TeatroException("Erro ao reservar poltrona", e);
+        }
+    }
 
-            if (!eventos.contains(evento)) {
-                throw new TeatroException("Evento não encontrado");
-            }
+    /**
+     * Busca as poltronas de uma área que estão reservadas por outros usuários.
+     * @param cpf O CPF de quem consulta
+     * @param sessao A sessão
+     * @param area A área
+     * @return Bits das poltronas reservadas (bit n = poltrona n)
+     */
+    public BitSet getPoltronasReservadas(String cpf, Sessao sessao, Area area) {
+        Validator.validarNaoNulo(sessao, "Sessão");
+        Validator.validarNaoNulo(area, "Área");
+        return ingressoService.getPoltronasReservadas(cpf, sessao.getId(), area.getId());
+    }
 
-            if (!evento.getSessoes().contains(sessao)) {
-                throw new SessaoNaoEncontradaException(evento.getNome(), sessao.getHorario().toString());
-            }
+    /**
+     * Compra um ingresso para o usuário do CPF, resolvido uma única vez.
+     * Telas com usuário logado usam a versão com ContextoUsuario.
+     */
+    public Optional<IngressoModerno> comprarIngresso(String cpf, Evento evento, Sessao sessao, Area area, int numeroPoltrona) {
+        return comprarIngresso(resolverContexto(cpf), evento, sessao, area, numeroPoltrona);
+    }
 
-            if (!areas.contains(area)) {
-                throw new TeatroException("Área não encontrada");
-            }
+    /**
+     * Compra um ingresso para o usuário logado. O usuário já foi resolvido no login:
+     * nenhuma busca pelo CPF é feita.
+     * @param contexto O contexto do usuário autenticado
+     * @param evento O evento
+     * @param sessao A sessão do evento
+     * @param area A área da poltrona
+     * @param numeroPoltrona O número da poltrona
+     * @return O ingresso comprado
+     */
+    public Optional<IngressoModerno> comprarIngresso(ContextoUsuario contexto, Evento evento, Sessao sessao, Area area, int numeroPoltrona) {
+        try {
+            Validator.validarNaoNulo(contexto, "Usuário logado");
+            validarCompra(evento, sessao, area);
+            Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
 
             if (numeroPoltrona > area.getCapacidadeTotal()) {
                 throw new TeatroException("Número da poltrona inválido para esta área");
             }
 
-            if (ingressoService.poltronaOcupada(sessao.getId(), area.getId(), numeroPoltrona)) {
-                throw new PoltronaOcupadaException(numeroPoltrona, area.getNome());
-            }
-
-            Ingresso ingresso = ingressoService.comprarIngresso(cpf, sessao.getId(), area.getId(), numeroPoltrona);
-            IngressoModerno ingressoModerno = new IngressoModerno(ingresso, evento, sessao, area);
-            return Optional.ofNullable(ingressoModerno);
+            Ingresso ingresso = ingressoService.comprarIngresso(contexto, sessao.getId(), area.getId(), numeroPoltrona);
+            return Optional.of(new IngressoModerno(ingresso, evento, sessao, area));
         } catch (TeatroException e) {
             logger.error("Erro ao comprar ingresso: " + e.getMessage());
             throw e;
@@ -331,6 +405,88 @@ public class Teatro {
         }
     }
 
+    /**
+     * Compra várias poltronas de uma área em uma sessão numa única operação atômica.
+     * @param cpf O CPF do usuário
+     * @param evento O evento
+     * @param sessao A sessão do evento
+     * @param area A área das poltronas
+     * @param poltronas Os números das poltronas
+     * @return Os ingressos comprados
+     */
+    public List<IngressoModerno> comprarIngressos(String cpf, Evento evento, Sessao sessao, Area area, List<Integer> poltronas) {
+        return comprarIngressos(resolverContexto(cpf), evento, sessao, area, poltronas);
+    }
+
+    /**
+     * Compra várias poltronas para o usuário logado numa única operação atômica,
+     * sem buscar o usuário pelo CPF.
+     * @param contexto O contexto do usuário autenticado
+     * @param evento O evento
+     * @param sessao A sessão do evento
+     * @param area A área das poltronas
+     * @param poltronas Os números das poltronas
+     * @return Os ingressos comprados
+     */
+    public List<IngressoModerno> comprarIngressos(ContextoUsuario contexto, Evento evento, Sessao sessao, Area area, List<Integer> poltronas) {
+        try {
+            Validator.validarNaoNulo(contexto, "Usuário logado");
+            validarCompra(evento, sessao, area);
+
+            List<Ingresso> ingressos = ingressoService.comprarIngressos(contexto, sessao.getId(), area.getId(), poltronas);
+            return montarIngressosModernos(ingressos, evento, sessao, area);
+        } catch (TeatroException e) {
+            logger.error("Erro ao comprar ingressos: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro inesperado ao comprar ingressos: " + e.getMessage());
+            throw new TeatroException("Erro ao comprar ingressos", e);
+        }
+    }
+
+    /**
+     * Resolve o usuário do CPF para as compras que recebem só o CPF.
+     */
+    private ContextoUsuario resolverContexto(String cpf) {
+        try {
+            Validator.validarCpf(cpf);
+            return usuarioService.buscarContextoPorCpf(cpf)
+                .orElseThrow(() -> new UsuarioNaoEncontradoException(cpf));
+        } catch (TeatroException e) {
+            logger.error("Erro ao resolver usuário por CPF: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Confere se o evento, a sessão e a área existem e pertencem uns aos outros.
+     */
+    private void validarCompra(Evento evento, Sessao sessao, Area area) {
+        Validator.validarNaoNulo(evento, "Evento");
+        Validator.validarNaoNulo(sessao, "Sessão");
+        Validator.validarNaoNulo(area, "Área");
+
+        if (!getEventos().contains(evento)) {
+            throw new TeatroException("Evento não encontrado");
+        }
+
+        if (!evento.getSessoes().contains(sessao)) {
+            throw new SessaoNaoEncontradaException(evento.getNome(), sessao.getHorario().toString());
+        }
+
+        if (!getAreas().contains(area)) {
+            throw new TeatroException("Área não encontrada");
+        }
+    }
+
+    private List<IngressoModerno> montarIngressosModernos(List<Ingresso> ingressos, Evento evento, Sessao sessao, Area area) {
+        List<IngressoModerno> ingressosModernos = new ArrayList<>(ingressos.size());
+        for (Ingresso ingresso : ingressos) {
+            ingressosModernos.add(new IngressoModerno(ingresso, evento, sessao, area));
+        }
+        return ingressosModernos;
+    }
+
     private String gerarCodigoIngresso() {
         return String.format("%06d", (int)(Math.random() * 1000000));
     }
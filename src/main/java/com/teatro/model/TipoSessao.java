@@ -15,6 +15,20 @@ public enum TipoSessao {
         return descricao;
     }
     
+    /**
+     * Converte a descrição gravada na coluna horario para o tipo de sessão.
+     * @param descricao A descrição do horário ("Manhã", "Tarde" ou "Noite")
+     * @return O tipo de sessão correspondente ou null se não reconhecido
+     */
+    public static TipoSessao fromDescricao(String descricao) {
+        for (TipoSessao ts : values()) {
+            if (ts.descricao.equalsIgnoreCase(descricao)) {
+                return ts;
+            }
+        }
+        return null;
+    }
+    
     @Override
     public String toString() {
         return descricao;
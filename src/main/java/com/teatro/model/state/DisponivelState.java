@@ -16,6 +16,10 @@ public class DisponivelState implements PoltronaState {
         poltrona.setState(new SelecionadaState());
     }
     @Override
+    public void selecionar(Poltrona poltrona, ReservaPoltronas.Reserva reserva) {
+        poltrona.setState(new SelecionadaState(reserva));
+    }
+    @Override
     public String getNomeEstado() {
         return "Disponível";
     }
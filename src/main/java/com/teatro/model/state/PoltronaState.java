@@ -6,5 +6,12 @@ public interface PoltronaState {
     void ocupar(Poltrona poltrona);
     void liberar(Poltrona poltrona);
     void selecionar(Poltrona poltrona);
+    /**
+     * Seleciona a poltrona mantendo uma reserva em nome do usuário.
+     * Por padrão equivale a selecionar sem reserva.
+     */
+    default void selecionar(Poltrona poltrona, ReservaPoltronas.Reserva reserva) {
+        selecionar(poltrona);
+    }
     String getNomeEstado();
 } 
\ No newline at end of file
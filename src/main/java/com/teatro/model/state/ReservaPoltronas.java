@@ -0,0 +1,232 @@
+package com.teatro.model.state;
+
+import com.teatro.util.TeatroLogger;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Reservas temporárias de poltronas (estado "selecionada" compartilhado entre usuários).
+ * Enquanto um usuário decide, a poltrona fica reservada em seu nome por um tempo limitado;
+ * os demais a veem como indisponível. Reservas vencidas são descartadas por uma varredura
+ * periódica e também podem ser tomadas por outro usuário assim que expiram.
+ * As operações de reservar e liberar não usam locks: são feitas com putIfAbsent,
+ * replace e remove condicionais do ConcurrentHashMap.
+ */
+public class ReservaPoltronas {
+
+    /** Tempo padrão que uma poltrona fica reservada. */
+    public static final Duration DURACAO_PADRAO = Duration.ofMinutes(5);
+    private static final long INTERVALO_VARREDURA_SEGUNDOS = 30;
+
+    private static ReservaPoltronas instance;
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    private final ConcurrentMap<ChavePoltrona, Reserva> reservas = new ConcurrentHashMap<>();
+    private final long duracaoMillis;
+    private final LongSupplier relogio;
+
+    /**
+     * Cria um gerenciador sem varredura automática.
+     * @param duracao O tempo de vida de cada reserva
+     * @param relogio Fonte do tempo atual, em milissegundos
+     */
+    ReservaPoltronas(Duration duracao, LongSupplier relogio) {
+        this.duracaoMillis = duracao.toMillis();
+        this.relogio = relogio;
+    }
+
+    public static synchronized ReservaPoltronas getInstance() {
+        if (instance == null) {
+            instance = new ReservaPoltronas(DURACAO_PADRAO, System::currentTimeMillis);
+            instance.iniciarVarredura();
+        }
+        return instance;
+    }
+
+    private void iniciarVarredura() {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservas-poltronas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            int removidas = removerExpiradas();
+            if (removidas > 0) {
+                logger.info("{} reserva(s) de poltrona expirada(s) removida(s)", removidas);
+            }
+        }, INTERVALO_VARREDURA_SEGUNDOS, INTERVALO_VARREDURA_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reserva uma poltrona para um usuário. Se o próprio usuário já a reservou, a reserva é renovada.
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numero O número da poltrona
+     * @param dono Identificação de quem reserva (CPF do usuário)
+     * @return A reserva, ou vazio se a poltrona estiver reservada por outro usuário
+     */
+    public Optional<Reserva> reservar(Long sessaoId, Long areaId, int numero, String dono) {
+        Objects.requireNonNull(dono, "dono");
+        ChavePoltrona chave = new ChavePoltrona(sessaoId, areaId, numero);
+        while (true) {
+            long agora = relogio.getAsLong();
+            Reserva nova = new Reserva(chave, dono, agora + duracaoMillis);
+            Reserva atual = reservas.get(chave);
+            if (atual == null) {
+                if (reservas.putIfAbsent(chave, nova) == null) {
+                    return Optional.of(nova);
+                }
+            } else if (atual.dono.equals(dono) || atual.expirou(agora)) {
+                if (reservas.replace(chave, atual, nova)) {
+                    return Optional.of(nova);
+                }
+            } else {
+                return Optional.empty();
+            }
+            // Outra thread alterou a reserva entre a leitura e a escrita: tenta de novo
+        }
+    }
+
+    /**
+     * Libera uma reserva. Não tem efeito se ela já tiver sido substituída ou removida.
+     * @param reserva A reserva obtida em reservar
+     * @return true se a reserva ainda estava ativa e foi removida
+     */
+    public boolean liberar(Reserva reserva) {
+        return reserva != null && reservas.remove(reserva.chave, reserva);
+    }
+
+    /**
+     * Libera a reserva de uma poltrona, se ela pertencer ao usuário.
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numero O número da poltrona
+     * @param dono Identificação de quem reservou
+     * @return true se havia uma reserva do usuário e ela foi removida
+     */
+    public boolean liberar(Long sessaoId, Long areaId, int numero, String dono) {
+        ChavePoltrona chave = new ChavePoltrona(sessaoId, areaId, numero);
+        Reserva atual = reservas.get(chave);
+        return atual != null && atual.dono.equals(dono) && reservas.remove(chave, atual);
+    }
+
+    /**
+     * Busca a reserva ainda válida que um usuário detém sobre uma poltrona.
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numero O número da poltrona
+     * @param dono Identificação de quem reservou
+     * @return A reserva do usuário, ou vazio se ele não detém a poltrona
+     */
+    public Optional<Reserva> buscarReserva(Long sessaoId, Long areaId, int numero, String dono) {
+        Reserva atual = reservas.get(new ChavePoltrona(sessaoId, areaId, numero));
+        if (atual == null || !atual.dono.equals(dono) || atual.expirou(relogio.getAsLong())) {
+            return Optional.empty();
+        }
+        return Optional.of(atual);
+    }
+
+    /**
+     * Verifica se a poltrona está reservada (e a reserva ainda vale) por outro usuário.
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numero O número da poltrona
+     * @param dono Identificação de quem consulta
+     * @return true se outro usuário detém a poltrona
+     */
+    public boolean isReservadaPorOutro(Long sessaoId, Long areaId, int numero, String dono) {
+        Reserva atual = reservas.get(new ChavePoltrona(sessaoId, areaId, numero));
+        return atual != null && !atual.dono.equals(dono) && !atual.expirou(relogio.getAsLong());
+    }
+
+    /**
+     * Poltronas de uma área reservadas por outros usuários.
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param dono Identificação de quem consulta (suas reservas não entram no resultado)
+     * @return Bits das poltronas reservadas (bit n = poltrona n)
+     */
+    public BitSet getReservadasPorOutros(Long sessaoId, Long areaId, String dono) {
+        long agora = relogio.getAsLong();
+        BitSet reservadas = new BitSet();
+        for (Reserva reserva : reservas.values()) {
+            ChavePoltrona chave = reserva.chave;
+            if (Objects.equals(chave.sessaoId(), sessaoId) && Objects.equals(chave.areaId(), areaId)
+                    && !reserva.dono.equals(dono) && !reserva.expirou(agora)) {
+                reservadas.set(chave.numero());
+            }
+        }
+        return reservadas;
+    }
+
+    /**
+     * Remove as reservas vencidas.
+     * @return A quantidade de reservas removidas
+     */
+    public int removerExpiradas() {
+        long agora = relogio.getAsLong();
+        int removidas = 0;
+        for (Reserva reserva : reservas.values()) {
+            // Remoção condicional: uma renovação concorrente não é descartada
+            if (reserva.expirou(agora) && reservas.remove(reserva.chave, reserva)) {
+                removidas++;
+            }
+        }
+        return removidas;
+    }
+
+    public int getTotalReservas() {
+        return reservas.size();
+    }
+
+    private record ChavePoltrona(Long sessaoId, Long areaId, int numero) {
+    }
+
+    /**
+     * Reserva de uma poltrona por um usuário até um instante de expiração.
+     * A identidade do objeto distingue uma reserva de sua renovação.
+     */
+    public static final class Reserva {
+        private final ChavePoltrona chave;
+        private final String dono;
+        private final long expiraEm;
+
+        private Reserva(ChavePoltrona chave, String dono, long expiraEm) {
+            this.chave = chave;
+            this.dono = dono;
+            this.expiraEm = expiraEm;
+        }
+
+        public Long getSessaoId() {
+            return chave.sessaoId();
+        }
+
+        public Long getAreaId() {
+            return chave.areaId();
+        }
+
+        public int getNumero() {
+            return chave.numero();
+        }
+
+        public String getDono() {
+            return dono;
+        }
+
+        public long getExpiraEm() {
+            return expiraEm;
+        }
+
+        boolean expirou(long agora) {
+            return agora >= expiraEm;
+        }
+    }
+}
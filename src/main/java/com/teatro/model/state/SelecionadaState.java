@@ -2,13 +2,30 @@ package com.teatro.model.state;
 
 import com.teatro.model.Poltrona;
 
+/**
+ * Poltrona escolhida pelo usuário e ainda não comprada.
+ * Quando associada a uma reserva de ReservaPoltronas, a poltrona fica bloqueada para os
+ * demais usuários até ser ocupada, liberada ou a reserva expirar.
+ */
 public class SelecionadaState implements PoltronaState {
+    private final ReservaPoltronas.Reserva reserva;
+
+    public SelecionadaState() {
+        this(null);
+    }
+
+    public SelecionadaState(ReservaPoltronas.Reserva reserva) {
+        this.reserva = reserva;
+    }
+
     @Override
     public void ocupar(Poltrona poltrona) {
+        liberarReserva();
         poltrona.setState(new OcupadaState());
     }
     @Override
     public void liberar(Poltrona poltrona) {
+        liberarReserva();
         poltrona.setState(new DisponivelState());
     }
     @Override
@@ -16,7 +33,22 @@ public class SelecionadaState implements PoltronaState {
         // Já está selecionada
     }
     @Override
+    public void selecionar(Poltrona poltrona, ReservaPoltronas.Reserva reserva) {
+        // Renovação: a poltrona passa a guardar a reserva mais recente
+        poltrona.setState(new SelecionadaState(reserva));
+    }
+    @Override
     public String getNomeEstado() {
         return "Selecionada";
     }
-} 
\ No newline at end of file
+
+    public ReservaPoltronas.Reserva getReserva() {
+        return reserva;
+    }
+
+    private void liberarReserva() {
+        if (reserva != null) {
+            ReservaPoltronas.getInstance().liberar(reserva);
+        }
+    }
+}
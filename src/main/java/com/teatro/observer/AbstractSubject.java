@@ -1,14 +1,25 @@
 package com.teatro.observer;
 
-import java.util.ArrayList;
+import com.teatro.util.TeatroLogger;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementação base abstrata do padrão Subject.
+ * Os observadores são notificados na thread de quem chama notifyObservers; as notificações
+ * de venda já chegam fora da compra, pela thread do RelayOutboxVendas.
+ * O tempo gasto por cada observador é medido (getMetricasObservadores) e a falha de
+ * um observador não impede a entrega aos demais.
  * @param <T> O tipo de dados que será notificado aos observadores
  */
 public abstract class AbstractSubject<T> implements Subject<T> {
-    private final List<Observer<T>> observers = new ArrayList<>();
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    private final List<Observer<T>> observers = new CopyOnWriteArrayList<>();
+    private final Map<Observer<T>, MetricasObservador> metricas = new ConcurrentHashMap<>();
     
     @Override
     public void registerObserver(Observer<T> observer) {
@@ -24,9 +35,56 @@ public abstract class AbstractSubject<T> implements Subject<T> {
     
     @Override
     public void notifyObservers(T data) {
+        entregar(data);
+    }
+    
+    /**
+     * Notifica todos os observadores e informa se todos processaram a notificação.
+     * Para quem repete a entrega em caso de falha (RelayOutboxVendas): como a falha de um
+     * observador não interrompe a entrega aos demais, na repetição os que já processaram
+     * a notificação a recebem de novo.
+     * @param data Os dados a serem notificados
+     * @return true se nenhum observador falhou
+     */
+    public boolean notificarConfirmando(T data) {
+        return entregar(data);
+    }
+    
+    /**
+     * Entrega a notificação a cada observador, medindo o tempo de cada um.
+     * @param data Os dados a serem notificados
+     * @return true se nenhum observador falhou
+     */
+    private boolean entregar(T data) {
+        boolean todosEntregues = true;
         for (Observer<T> observer : observers) {
-            observer.update(data);
+            long inicio = System.nanoTime();
+            boolean falhou = false;
+            try {
+                observer.update(data);
+            } catch (RuntimeException e) {
+                falhou = true;
+                logger.error("Erro no observador " + nomeDe(observer) + ": " + e.getMessage());
+            }
+            metricas.computeIfAbsent(observer, o -> new MetricasObservador(nomeDe(o)))
+                .registrar(System.nanoTime() - inicio, falhou);
+            todosEntregues &= !falhou;
         }
+        return todosEntregues;
+    }
+    
+    private static String nomeDe(Observer<?> observer) {
+        return observer.getClass().getSimpleName().isEmpty()
+            ? observer.getClass().getName()
+            : observer.getClass().getSimpleName();
+    }
+    
+    /**
+     * Latência de entrega de cada observador que já recebeu notificações.
+     * @return As métricas por observador
+     */
+    public Collection<MetricasObservador> getMetricasObservadores() {
+        return List.copyOf(metricas.values());
     }
     
     /**
@@ -43,4 +101,4 @@ public abstract class AbstractSubject<T> implements Subject<T> {
     public void clearObservers() {
         observers.clear();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.teatro.observer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência de entrega das notificações a um observador: quantidade, falhas,
+ * tempo médio e máximo gasto em update.
+ */
+public class MetricasObservador {
+    private final String nome;
+    private final LongAdder entregas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder somaNanos = new LongAdder();
+    private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+
+    MetricasObservador(String nome) {
+        this.nome = nome;
+    }
+
+    void registrar(long nanos, boolean falhou) {
+        entregas.increment();
+        somaNanos.add(nanos);
+        maximoNanos.accumulate(nanos);
+        if (falhou) {
+            falhas.increment();
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getEntregas() {
+        return entregas.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * Tempo médio gasto pelo observador em cada notificação.
+     * @return A média em milissegundos
+     */
+    public double getLatenciaMediaMs() {
+        long total = entregas.sum();
+        return total == 0 ? 0.0 : somaNanos.sum() / (double) total / 1_000_000.0;
+    }
+
+    /**
+     * Maior tempo gasto pelo observador em uma notificação.
+     * @return O máximo em milissegundos
+     */
+    public double getLatenciaMaximaMs() {
+        return maximoNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return nome + ": entregas=" + getEntregas() +
+               ", falhas=" + getFalhas() +
+               String.format(", media=%.3f ms, max=%.3f ms", getLatenciaMediaMs(), getLatenciaMaximaMs());
+    }
+}
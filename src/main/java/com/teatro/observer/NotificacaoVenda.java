@@ -2,15 +2,23 @@ package com.teatro.observer;
 
 import com.teatro.model.Ingresso;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Representa uma notificação de venda de ingresso.
+ * Uma compra de várias poltronas gera uma única notificação agregada.
+ * O cancelamento de ingressos também é notificado, com isCancelamento() verdadeiro.
+ * A mensagem só é montada na primeira chamada a getMensagem, já na thread do relay
+ * que entrega as notificações, fora da compra.
  */
 public class NotificacaoVenda {
     
     private final Ingresso ingresso;
-    private final String mensagem;
-    private final String dataHora;
+    private final List<Ingresso> ingressos;
+    private final boolean cancelamento;
+    private volatile String mensagem;
+    private volatile String dataHora;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
     
     /**
@@ -18,9 +26,42 @@ public class NotificacaoVenda {
      * @param ingresso O ingresso vendido
      */
     public NotificacaoVenda(Ingresso ingresso) {
-        this.ingresso = ingresso;
-        this.dataHora = ingresso.getDataCompra().toLocalDateTime().format(FORMATTER);
-        this.mensagem = gerarMensagem();
+        this(List.of(ingresso));
+    }
+    
+    /**
+     * Cria uma notificação agregada para os ingressos de uma mesma compra.
+     * @param ingressos Os ingressos vendidos (não pode ser vazia)
+     */
+    public NotificacaoVenda(List<Ingresso> ingressos) {
+        this(ingressos, false);
+    }
+    
+    private NotificacaoVenda(List<Ingresso> ingressos, boolean cancelamento) {
+        if (ingressos.isEmpty()) {
+            throw new IllegalArgumentException("A notificação de venda precisa de ao menos um ingresso");
+        }
+        this.ingressos = List.copyOf(ingressos);
+        this.ingresso = this.ingressos.get(0);
+        this.cancelamento = cancelamento;
+    }
+    
+    /**
+     * Cria uma notificação de cancelamento de ingresso.
+     * @param ingresso O ingresso cancelado
+     * @return A notificação de cancelamento
+     */
+    public static NotificacaoVenda cancelamento(Ingresso ingresso) {
+        return new NotificacaoVenda(List.of(ingresso), true);
+    }
+    
+    /**
+     * Cria uma notificação agregada de cancelamento.
+     * @param ingressos Os ingressos cancelados (não pode ser vazia)
+     * @return A notificação de cancelamento
+     */
+    public static NotificacaoVenda cancelamento(List<Ingresso> ingressos) {
+        return new NotificacaoVenda(ingressos, true);
     }
     
     /**
@@ -29,31 +70,75 @@ public class NotificacaoVenda {
      */
     private String gerarMensagem() {
         StringBuilder sb = new StringBuilder();
-        sb.append("Nova venda de ingresso:\n");
+        sb.append(cancelamento ? "Cancelamento de ingresso:\n" : "Nova venda de ingresso:\n");
         sb.append("Evento: ").append(ingresso.getEventoNome()).append("\n");
         sb.append("Horário: ").append(ingresso.getHorario()).append("\n");
         sb.append("Área: ").append(ingresso.getAreaNome()).append("\n");
         sb.append("Poltrona: ").append(ingresso.getNumeroPoltrona()).append("\n");
         sb.append("Valor: R$ ").append(String.format("%.2f", ingresso.getValor())).append("\n");
-        sb.append("Data/Hora: ").append(dataHora).append("\n");
+        sb.append("Data/Hora: ").append(getDataHora()).append("\n");
         sb.append("Código: ").append(ingresso.getCodigo());
         return sb.toString();
     }
     
+    /**
+     * Gera a mensagem de uma compra com várias poltronas.
+     * @return A mensagem formatada
+     */
+    private String gerarMensagemAgregada() {
+        double valorTotal = ingressos.stream().mapToDouble(Ingresso::getValor).sum();
+        StringBuilder sb = new StringBuilder();
+        sb.append(cancelamento ? "Cancelamento de " : "Nova venda de ").append(ingressos.size()).append(" ingressos:\n");
+        sb.append("Evento: ").append(ingresso.getEventoNome()).append("\n");
+        sb.append("Horário: ").append(ingresso.getHorario()).append("\n");
+        sb.append("Área: ").append(ingresso.getAreaNome()).append("\n");
+        sb.append("Poltronas: ").append(ingressos.stream()
+            .map(i -> String.valueOf(i.getNumeroPoltrona()))
+            .collect(Collectors.joining(", "))).append("\n");
+        sb.append("Valor total: R$ ").append(String.format("%.2f", valorTotal)).append("\n");
+        sb.append("Data/Hora: ").append(getDataHora()).append("\n");
+        sb.append("Códigos: ").append(ingressos.stream()
+            .map(Ingresso::getCodigo)
+            .collect(Collectors.joining(", ")));
+        return sb.toString();
+    }
+    
     /**
      * Obtém o ingresso da notificação.
-     * @return O ingresso vendido
+     * @return O ingresso vendido (o primeiro, em compras de várias poltronas)
      */
     public Ingresso getIngresso() {
         return ingresso;
     }
     
+    /**
+     * Obtém todos os ingressos da compra notificada.
+     * @return Lista imutável com os ingressos vendidos
+     */
+    public List<Ingresso> getIngressos() {
+        return ingressos;
+    }
+    
+    /**
+     * Indica se a notificação é de cancelamento (e não de venda).
+     * @return true para cancelamentos
+     */
+    public boolean isCancelamento() {
+        return cancelamento;
+    }
+    
     /**
      * Obtém a mensagem da notificação.
      * @return A mensagem formatada
      */
     public String getMensagem() {
-        return mensagem;
+        String atual = mensagem;
+        if (atual == null) {
+            // Corrida benigna: duas threads podem montar a mesma mensagem
+            atual = ingressos.size() == 1 ? gerarMensagem() : gerarMensagemAgregada();
+            mensagem = atual;
+        }
+        return atual;
     }
     
     /**
@@ -61,11 +146,16 @@ public class NotificacaoVenda {
      * @return A data e hora formatada
      */
     public String getDataHora() {
-        return dataHora;
+        String atual = dataHora;
+        if (atual == null) {
+            atual = ingresso.getDataCompra().toLocalDateTime().format(FORMATTER);
+            dataHora = atual;
+        }
+        return atual;
     }
     
     @Override
     public String toString() {
-        return mensagem;
+        return getMensagem();
     }
 } 
\ No newline at end of file
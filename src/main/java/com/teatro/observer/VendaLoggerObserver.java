@@ -1,8 +1,15 @@
 package com.teatro.observer;
 
+import com.teatro.util.TeatroLogger;
+
+/**
+ * Registra cada venda no log da aplicação.
+ */
 public class VendaLoggerObserver implements Observer<NotificacaoVenda> {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
     @Override
     public void update(NotificacaoVenda notificacao) {
-        System.out.println("[LOG - VENDA] " + notificacao.getMensagem());
+        logger.info(() -> "[LOG - VENDA] " + notificacao.getMensagem());
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.teatro.service;
 
 import com.teatro.dao.DAO;
+import com.teatro.database.UnidadeDeTrabalho;
 import com.teatro.exception.TeatroException;
 import com.teatro.util.TeatroLogger;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementação base abstrata para serviços.
+ * Cada operação roda em uma unidade de trabalho: as chamadas ao DAO (e às validações)
+ * compartilham uma conexão do pool, devolvida ao final da operação.
  * @param <T> O tipo da entidade que o serviço manipula
  * @param <ID> O tipo do identificador da entidade
  * @param <D> O tipo do DAO utilizado pelo serviço
@@ -25,10 +29,12 @@ public abstract class AbstractService<T, ID, D extends DAO<T, ID>> implements Se
     @Override
     public T salvar(T entity) {
         try {
-            validarAntesSalvar(entity);
-            dao.salvar(entity);
-            logger.info("Entidade salva com sucesso: {}", entity);
-            return entity;
+            return UnidadeDeTrabalho.executar(() -> {
+                validarAntesSalvar(entity);
+                dao.salvar(entity);
+                logger.info("Entidade salva com sucesso: {}", entity);
+                return entity;
+            });
         } catch (Exception e) {
             logger.error("Erro ao salvar entidade: {}", e.getMessage());
             throw new TeatroException("Erro ao salvar entidade", e);
@@ -38,10 +44,12 @@ public abstract class AbstractService<T, ID, D extends DAO<T, ID>> implements Se
     @Override
     public T atualizar(T entity) {
         try {
-            validarAntesAtualizar(entity);
-            dao.atualizar(entity);
-            logger.info("Entidade atualizada com sucesso: {}", entity);
-            return entity;
+            return UnidadeDeTrabalho.executar(() -> {
+                validarAntesAtualizar(entity);
+                dao.atualizar(entity);
+                logger.info("Entidade atualizada com sucesso: {}", entity);
+                return entity;
+            });
         } catch (Exception e) {
             logger.error("Erro ao atualizar entidade: {}", e.getMessage());
             throw new TeatroException("Erro ao atualizar entidade", e);
@@ -51,9 +59,11 @@ public abstract class AbstractService<T, ID, D extends DAO<T, ID>> implements Se
     @Override
     public void remover(ID id) {
         try {
-            validarAntesRemover(id);
-            dao.remover(id);
-            logger.info("Entidade removida com sucesso: {}", id);
+            UnidadeDeTrabalho.executar(() -> {
+                validarAntesRemover(id);
+                dao.remover(id);
+                logger.info("Entidade removida com sucesso: {}", id);
+            });
         } catch (Exception e) {
             logger.error("Erro ao remover entidade: {}", e.getMessage());
             throw new TeatroException("Erro ao remover entidade", e);
@@ -63,7 +73,9 @@ public abstract class AbstractService<T, ID, D extends DAO<T, ID>> implements Se
     @Override
     public Optional<T> buscarPorId(ID id) {
         try {
-            return dao.buscarPorId(id);
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.buscarPorId(id);
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar entidade por ID: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar entidade por ID", e);
@@ -73,17 +85,43 @@ public abstract class AbstractService<T, ID, D extends DAO<T, ID>> implements Se
     @Override
     public List<T> listarTodos() {
         try {
-            return dao.listarTodos();
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.listarTodos();
+            });
         } catch (Exception e) {
             logger.error("Erro ao listar entidades: {}", e.getMessage());
             throw new TeatroException("Erro ao listar entidades", e);
         }
     }
     
+    @Override
+    public List<T> listarPagina(ID aposId, int limite) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.listarPagina(aposId, limite);
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao listar página de entidades: {}", e.getMessage());
+            throw new TeatroException("Erro ao listar página de entidades", e);
+        }
+    }
+    
+    @Override
+    public Stream<T> listarEmFluxo() {
+        try {
+            return dao.listarEmFluxo();
+        } catch (Exception e) {
+            logger.error("Erro ao listar entidades em fluxo: {}", e.getMessage());
+            throw new TeatroException("Erro ao listar entidades em fluxo", e);
+        }
+    }
+    
     @Override
     public boolean existe(ID id) {
         try {
-            return dao.existe(id);
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.existe(id);
+            });
         } catch (Exception e) {
             logger.error("Erro ao verificar existência da entidade: {}", e.getMessage());
             throw new TeatroException("Erro ao verificar existência da entidade", e);
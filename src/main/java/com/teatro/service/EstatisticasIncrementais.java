@@ -0,0 +1,395 @@
+package com.teatro.service;
+
+import com.teatro.database.DatabaseConnection;
+import com.teatro.database.OutboxVendas;
+import com.teatro.model.Ingresso;
+import com.teatro.observer.NotificacaoVenda;
+import com.teatro.observer.Observer;
+import com.teatro.util.TeatroLogger;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados de vendas mantidos em memória por evento, sessão e área:
+ * ingressos vendidos, faturamento, capacidade e ocupação.
+ * São carregados do banco em uma única consulta (semear) e depois atualizados a cada venda
+ * e cancelamento, como observador das notificações do IngressoService. Assim as
+ * estatísticas do painel não precisam reagregar a tabela de ingressos a cada abertura.
+ * As notificações chegam pela outbox, pelo menos uma vez e depois do commit da venda: cada
+ * venda ou cancelamento (tipo e código do ingresso) é contado uma única vez, e os que já
+ * estavam nas tabelas de resumo no momento da carga, mas ainda na outbox, são ignorados.
+ */
+public class EstatisticasIncrementais implements Observer<NotificacaoVenda> {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+
+    /**
+     * Carga consolidada em uma única ida ao banco, a partir das tabelas de resumo
+     * (ResumosEstatisticas): linhas de evento ('E'), sessão ('S') e área ('A').
+     */
+    private static final String SQL_CARGA = """
+        SELECT 'E' AS tipo, e.id, NULL AS evento_id, e.nome, NULL AS data_sessao, NULL AS horario,
+            0 AS capacidade, 0 AS vendidos, 0 AS faturamento
+        FROM eventos e
+        UNION ALL
+        SELECT 'S', s.id, s.evento_id, e.nome, s.data_sessao, s.horario,
+            COALESCE(c.capacidade, 0), COALESCE(r.total_ingressos, 0), COALESCE(r.faturamento, 0)
+        FROM sessoes s
+            JOIN eventos e ON e.id = s.evento_id
+            LEFT JOIN (SELECT sa.sessao_id, SUM(a.capacidade_total) AS capacidade
+                       FROM sessoes_areas sa JOIN areas a ON a.id = sa.area_id
+                       GROUP BY sa.sessao_id) c ON c.sessao_id = s.id
+            LEFT JOIN resumo_ocupacao_sessao r ON r.sessao_id = s.id
+        UNION ALL
+        SELECT 'A', a.id, NULL, a.nome, NULL, NULL,
+            a.capacidade_total * COALESCE(n.sessoes, 0), COALESCE(v.vendidos, 0), COALESCE(v.faturamento, 0)
+        FROM areas a
+            LEFT JOIN (SELECT area_id, COUNT(*) AS sessoes FROM sessoes_areas GROUP BY area_id) n
+                ON n.area_id = a.id
+            LEFT JOIN (SELECT area_id, SUM(total_ingressos) AS vendidos, SUM(faturamento) AS faturamento
+                       FROM resumo_faturamento_area_evento GROUP BY area_id) v ON v.area_id = a.id
+        """;
+
+    /** Consulta de uma sessão criada depois da carga (as vendas chegam por notificação). */
+    private static final String SQL_SESSAO = """
+        SELECT s.id, s.evento_id, e.nome, s.data_sessao, s.horario,
+            (SELECT COALESCE(SUM(a.capacidade_total), 0)
+               FROM sessoes_areas sa JOIN areas a ON a.id = sa.area_id
+              WHERE sa.sessao_id = s.id) AS capacidade
+        FROM sessoes s
+            JOIN eventos e ON e.id = s.evento_id
+        WHERE s.id = ?
+        """;
+
+    private static final int MAXIMO_CHAVES_CONTABILIZADAS = 10_000;
+
+    private volatile Map<Long, Agregado> eventos = new ConcurrentHashMap<>();
+    private volatile Map<Long, Agregado> sessoes = new ConcurrentHashMap<>();
+    private volatile Map<Long, Agregado> areas = new ConcurrentHashMap<>();
+    private final AtomicLong versao = new AtomicLong();
+    private volatile boolean semeado;
+    // Chaves da outbox (tipo:codigo) já contadas; acessado sob o monitor desta instância
+    private Set<String> contabilizados = conjuntoLimitado(MAXIMO_CHAVES_CONTABILIZADAS);
+
+    /**
+     * Carrega os agregados a partir do banco, substituindo os valores atuais.
+     * Feito na inicialização e repetido para reconciliar com o banco.
+     * As tabelas de resumo e a outbox são lidas no mesmo snapshot: as vendas e cancelamentos
+     * ainda pendentes na outbox já estão nos resumos e serão ignorados quando entregues.
+     * As notificações esperam o fim da carga, para que nenhuma seja aplicada aos agregados
+     * que estão sendo substituídos.
+     * @param connection A conexão usada na consulta de carga
+     * @throws SQLException Se a consulta falhar
+     */
+    public synchronized void semear(Connection connection) throws SQLException {
+        Map<Long, Agregado> novosEventos = new ConcurrentHashMap<>();
+        Map<Long, Agregado> novasSessoes = new ConcurrentHashMap<>();
+        Map<Long, Agregado> novasAreas = new ConcurrentHashMap<>();
+        Set<String> pendentes;
+
+        boolean autoCommit = connection.getAutoCommit();
+        int isolamento = connection.getTransactionIsolation();
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setAutoCommit(false);
+        // A primeira leitura da transação fixa o snapshot usado também pela carga
+        try (Statement stmt = connection.createStatement()) {
+            pendentes = new OutboxVendas(connection).buscarChavesPendentes();
+            try (ResultSet rs = stmt.executeQuery(SQL_CARGA)) {
+                lerCarga(rs, novosEventos, novasSessoes, novasAreas);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            connection.setTransactionIsolation(isolamento);
+        }
+
+        // Totais do evento = soma dos totais de suas sessões
+        for (Agregado sessao : novasSessoes.values()) {
+            Agregado evento = novosEventos.get(sessao.getEventoId());
+            if (evento != null) {
+                evento.adicionarCapacidade(sessao.getCapacidade());
+                evento.somar(sessao.getVendidos(), sessao.faturamentoCentavos.sum());
+            }
+        }
+
+        eventos = novosEventos;
+        sessoes = novasSessoes;
+        areas = novasAreas;
+        contabilizados = conjuntoLimitado(MAXIMO_CHAVES_CONTABILIZADAS + pendentes.size());
+        contabilizados.addAll(pendentes);
+        semeado = true;
+        versao.incrementAndGet();
+        logger.info("Estatísticas carregadas: " + novosEventos.size() + " eventos, " +
+                    novasSessoes.size() + " sessões, " + novasAreas.size() + " áreas" +
+                    (pendentes.isEmpty() ? "" : ", " + pendentes.size() + " notificação(ões) pendente(s) já contada(s)"));
+    }
+
+    private void lerCarga(ResultSet rs, Map<Long, Agregado> novosEventos, Map<Long, Agregado> novasSessoes,
+                          Map<Long, Agregado> novasAreas) throws SQLException {
+        while (rs.next()) {
+            switch (rs.getString("tipo")) {
+                case "E" -> novosEventos.put(rs.getLong("id"),
+                    new Agregado(rs.getLong("id"), rs.getString("nome"), 0));
+                case "S" -> {
+                    Agregado sessao = montarSessao(rs);
+                    sessao.somar(rs.getLong("vendidos"), centavos(rs.getDouble("faturamento")));
+                    novasSessoes.put(sessao.getId(), sessao);
+                }
+                default -> {
+                    Agregado area = new Agregado(rs.getLong("id"), rs.getString("nome"), rs.getInt("capacidade"));
+                    area.somar(rs.getLong("vendidos"), centavos(rs.getDouble("faturamento")));
+                    novasAreas.put(area.getId(), area);
+                }
+            }
+        }
+    }
+
+    public boolean isSemeado() {
+        return semeado;
+    }
+
+    /**
+     * Contador incrementado a cada carga e a cada notificação aplicada.
+     * Permite saber se um resultado calculado a partir dos agregados ainda é atual.
+     * @return A versão atual dos agregados
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    @Override
+    public synchronized void update(NotificacaoVenda notificacao) {
+        int sinal = notificacao.isCancelamento() ? -1 : 1;
+        String tipo = notificacao.isCancelamento() ? OutboxVendas.TIPO_CANCELAMENTO : OutboxVendas.TIPO_VENDA;
+        for (Ingresso ingresso : notificacao.getIngressos()) {
+            // Entrega repetida pela outbox, ou venda que já estava nos resumos da carga
+            if (ingresso.getCodigo() == null || contabilizados.add(OutboxVendas.chave(tipo, ingresso.getCodigo()))) {
+                registrar(ingresso, sinal);
+            }
+        }
+        versao.incrementAndGet();
+    }
+
+    /**
+     * Aplica uma venda (sinal 1) ou um cancelamento (sinal -1) aos agregados.
+     */
+    private void registrar(Ingresso ingresso, int sinal) {
+        long valor = sinal * centavos(ingresso.getValor());
+        Agregado sessao = ingresso.getSessaoId() != null ? buscarSessao(ingresso.getSessaoId()) : null;
+        if (sessao != null) {
+            sessao.somar(sinal, valor);
+            Agregado evento = eventos.get(sessao.getEventoId());
+            if (evento != null) {
+                evento.somar(sinal, valor);
+            }
+        }
+        Agregado area = ingresso.getAreaId() != null ? areas.get(ingresso.getAreaId()) : null;
+        if (area != null) {
+            area.somar(sinal, valor);
+        }
+    }
+
+    /**
+     * Obtém o agregado da sessão, carregando do banco sessões criadas depois da carga inicial.
+     */
+    private Agregado buscarSessao(Long sessaoId) {
+        Agregado sessao = sessoes.get(sessaoId);
+        if (sessao != null || !semeado) {
+            return sessao;
+        }
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_SESSAO)) {
+            stmt.setLong(1, sessaoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    // Sessão criada após a carga: todas as suas vendas chegam por notificação,
+                    // então os contadores começam em zero
+                    Agregado nova = montarSessao(rs);
+                    eventos.putIfAbsent(nova.getEventoId(), new Agregado(nova.getEventoId(), nova.getNome(), 0));
+                    Agregado existente = sessoes.putIfAbsent(sessaoId, nova);
+                    if (existente != null) {
+                        return existente;
+                    }
+                    eventos.get(nova.getEventoId()).adicionarCapacidade(nova.getCapacidade());
+                    return nova;
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao carregar estatísticas da sessão " + sessaoId + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private Agregado montarSessao(ResultSet rs) throws SQLException {
+        Agregado sessao = new Agregado(rs.getLong("id"), rs.getString("nome"), rs.getInt("capacidade"));
+        sessao.eventoId = rs.getLong("evento_id");
+        sessao.dataSessao = rs.getDate("data_sessao");
+        sessao.horario = rs.getString("horario");
+        return sessao;
+    }
+
+    /**
+     * Registra diretamente um agregado de evento (usado na carga e em testes).
+     */
+    void registrarEvento(Long id, String nome) {
+        eventos.put(id, new Agregado(id, nome, 0));
+    }
+
+    /**
+     * Registra diretamente um agregado de sessão (usado na carga e em testes).
+     */
+    void registrarSessao(Long id, Long eventoId, String nomePeca, Date data, String horario, int capacidade) {
+        Agregado sessao = new Agregado(id, nomePeca, capacidade);
+        sessao.eventoId = eventoId;
+        sessao.dataSessao = data;
+        sessao.horario = horario;
+        sessoes.put(id, sessao);
+        Agregado evento = eventos.get(eventoId);
+        if (evento != null) {
+            evento.adicionarCapacidade(capacidade);
+        }
+    }
+
+    /**
+     * Registra diretamente um agregado de área (usado na carga e em testes).
+     */
+    void registrarArea(Long id, String nome, int capacidade) {
+        areas.put(id, new Agregado(id, nome, capacidade));
+    }
+
+    public Collection<Agregado> getEventos() {
+        return List.copyOf(eventos.values());
+    }
+
+    public Collection<Agregado> getSessoes() {
+        return List.copyOf(sessoes.values());
+    }
+
+    public Collection<Agregado> getAreas() {
+        return List.copyOf(areas.values());
+    }
+
+    public Agregado getEvento(Long id) {
+        return eventos.get(id);
+    }
+
+    public Agregado getSessao(Long id) {
+        return sessoes.get(id);
+    }
+
+    public Agregado getArea(Long id) {
+        return areas.get(id);
+    }
+
+    private static Set<String> conjuntoLimitado(int capacidade) {
+        return Collections.newSetFromMap(new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> maisAntiga) {
+                return size() > capacidade;
+            }
+        });
+    }
+
+    private static long centavos(double valor) {
+        return Math.round(valor * 100);
+    }
+
+    /**
+     * Totais de vendas de um evento, sessão ou área. Os contadores são atualizados sem locks.
+     * O faturamento é acumulado em centavos para não acumular erro de arredondamento.
+     */
+    public static final class Agregado {
+        private final Long id;
+        private final String nome;
+        private final AtomicInteger capacidade;
+        private final LongAdder vendidos = new LongAdder();
+        private final LongAdder faturamentoCentavos = new LongAdder();
+        // Campos preenchidos apenas nos agregados de sessão
+        private volatile Long eventoId;
+        private volatile Date dataSessao;
+        private volatile String horario;
+
+        private Agregado(Long id, String nome, int capacidade) {
+            this.id = id;
+            this.nome = nome;
+            this.capacidade = new AtomicInteger(capacidade);
+        }
+
+        private void adicionarCapacidade(int poltronas) {
+            capacidade.addAndGet(poltronas);
+        }
+
+        private void somar(long ingressos, long centavos) {
+            vendidos.add(ingressos);
+            faturamentoCentavos.add(centavos);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        /**
+         * Nome do evento, da área ou, para sessões, o nome da peça.
+         */
+        public String getNome() {
+            return nome;
+        }
+
+        public int getCapacidade() {
+            return capacidade.get();
+        }
+
+        public long getVendidos() {
+            return vendidos.sum();
+        }
+
+        public double getFaturamento() {
+            return faturamentoCentavos.sum() / 100.0;
+        }
+
+        /**
+         * Valor médio dos ingressos vendidos.
+         * @return A média, ou 0 se não houver vendas
+         */
+        public double getValorMedio() {
+            long total = vendidos.sum();
+            return total == 0 ? 0.0 : getFaturamento() / total;
+        }
+
+        /**
+         * Percentual de poltronas vendidas em relação à capacidade.
+         * @return Valor entre 0 e 100 (0 se a capacidade for desconhecida)
+         */
+        public double getPercentualOcupacao() {
+            int total = capacidade.get();
+            return total == 0 ? 0.0 : vendidos.sum() * 100.0 / total;
+        }
+
+        public Long getEventoId() {
+            return eventoId;
+        }
+
+        public Date getDataSessao() {
+            return dataSessao;
+        }
+
+        public String getHorario() {
+            return horario;
+        }
+    }}
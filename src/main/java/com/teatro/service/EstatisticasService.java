@@ -1,20 +1,40 @@
 package com.teatro.service;
 
+import com.teatro.database.DatabaseConfig;
 import com.teatro.database.DatabaseConnection;
+import com.teatro.service.EstatisticasIncrementais.Agregado;
 import com.teatro.util.TeatroLogger;
 import java.sql.*;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 /**
- * Serviço para buscar estatísticas do sistema usando as views SQL.
+ * Serviço para buscar estatísticas do sistema.
+ * Os totais por peça, sessão e área são carregados do banco em uma única consulta e mantidos
+ * em memória por EstatisticasIncrementais, que observa as vendas e cancelamentos do
+ * IngressoService. O resultado fica em um snapshot imutável: é recalculado da memória quando
+ * há novas vendas e recarregado do banco quando passa do tempo de validade
+ * (db.estatisticas.snapshotTtl), para reconciliar alterações feitas fora da aplicação.
  */
 public class EstatisticasService {
     private static EstatisticasService instance;
     private final TeatroLogger logger = TeatroLogger.getInstance();
-    private final DatabaseConnection dbConnection;
+    private final EstatisticasIncrementais incrementais;
+    private final Duration ttl;
+    private volatile EstatisticasSnapshot snapshot;
+    // Instante da última recarga do banco que falhou; null depois de uma recarga bem-sucedida
+    private volatile Instant recargaFalhouEm;
 
     private EstatisticasService() {
-        this.dbConnection = DatabaseConnection.getInstance();
+        this.incrementais = new EstatisticasIncrementais();
+        this.ttl = Duration.ofMillis(DatabaseConfig.getInstance().getEstatisticasTtl());
+        try {
+            IngressoService.getInstance().registerObserver(incrementais);
+        } catch (RuntimeException e) {
+            logger.error("Estatísticas não serão atualizadas pelas vendas: " + e.getMessage());
+        }
+        obterSnapshot();
     }
 
     public static synchronized EstatisticasService getInstance() {
@@ -25,235 +45,157 @@ public class EstatisticasService {
     }
 
     /**
-     * Busca todas as estatísticas do sistema.
-     * @return Map com todas as estatísticas
+     * Recarrega os agregados a partir do banco.
+     * @return true se a carga foi concluída
      */
-    public Map<String, Object> buscarEstatisticas() {
-        Map<String, Object> estatisticas = new HashMap<>();
-        
-        try {
-            estatisticas.put("pecaMaisVendida", buscarPecaMaisVendida());
-            estatisticas.put("pecaMenosVendida", buscarPecaMenosVendida());
-            estatisticas.put("sessaoMaiorOcupacao", buscarSessaoMaiorOcupacao());
-            estatisticas.put("sessaoMenorOcupacao", buscarSessaoMenorOcupacao());
-            estatisticas.put("pecaMaisLucrativa", buscarPecaMaisLucrativa());
-            estatisticas.put("pecaMenosLucrativa", buscarPecaMenosLucrativa());
-            estatisticas.put("lucroMedioPorPeca", buscarLucroMedioPorPeca());
-            
-        } catch (Exception e) {
-            logger.error("Erro ao buscar estatísticas: " + e.getMessage());
-            // Retorna estatísticas vazias em caso de erro
-            return criarEstatisticasVazias();
+    private boolean recarregar() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            incrementais.semear(conn);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Erro ao carregar estatísticas: {}", e.getMessage());
+            return false;
         }
-        
-        return estatisticas;
     }
 
     /**
-     * Busca a peça mais vendida.
+     * Obtém os agregados mantidos em memória.
+     * @return Os agregados por evento, sessão e área
      */
-    private Map<String, Object> buscarPecaMaisVendida() {
-        String sql = """
-            SELECT nome_peca, total_ingressos_vendidos 
-            FROM estatisticas_vendas_peca 
-            WHERE total_ingressos_vendidos > 0 
-            ORDER BY total_ingressos_vendidos DESC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "totalVendas", rs.getInt("total_ingressos_vendidos")
-                );
-            }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar peça mais vendida: " + e.getMessage());
-        }
-        
-        return Map.of("nome", "N/A", "totalVendas", 0);
+    public EstatisticasIncrementais getIncrementais() {
+        return incrementais;
     }
 
     /**
-     * Busca a peça menos vendida.
+     * Busca todas as estatísticas do sistema.
+     * @return Map com todas as estatísticas
      */
-    private Map<String, Object> buscarPecaMenosVendida() {
-        String sql = """
-            SELECT nome_peca, total_ingressos_vendidos 
-            FROM estatisticas_vendas_peca 
-            WHERE total_ingressos_vendidos > 0 
-            ORDER BY total_ingressos_vendidos ASC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "totalVendas", rs.getInt("total_ingressos_vendidos")
-                );
-            }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar peça menos vendida: " + e.getMessage());
-        }
-        
-        return Map.of("nome", "N/A", "totalVendas", 0);
+    public Map<String, Object> buscarEstatisticas() {
+        return obterSnapshot().getEstatisticas();
     }
 
     /**
-     * Busca a sessão com maior ocupação.
+     * Obtém o snapshot atual das estatísticas, recalculando-o se houve vendas desde o último
+     * cálculo ou se ele passou do tempo de validade.
+     * @return O snapshot, com o instante e a duração do cálculo
      */
-    private Map<String, Object> buscarSessaoMaiorOcupacao() {
-        String sql = """
-            SELECT nome_peca, data_sessao, horario, percentual_ocupacao 
-            FROM estatisticas_ocupacao_sessao 
-            WHERE percentual_ocupacao > 0 
-            ORDER BY percentual_ocupacao DESC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "data", rs.getDate("data_sessao").toString(),
-                    "horario", rs.getString("horario"),
-                    "ocupacao", String.format("%.1f%%", rs.getDouble("percentual_ocupacao"))
-                );
+    public EstatisticasSnapshot obterSnapshot() {
+        EstatisticasSnapshot atual = snapshot;
+        if (atual != null && atual.getVersao() == incrementais.getVersao()
+                && !precisaRecarregar(atual, Instant.now())) {
+            return atual;
+        }
+        synchronized (this) {
+            atual = snapshot;
+            boolean expirado = precisaRecarregar(atual, Instant.now());
+            if (atual != null && !expirado && atual.getVersao() == incrementais.getVersao()) {
+                return atual;
+            }
+
+            long inicio = System.nanoTime();
+            // Se o banco estiver indisponível, segue com os agregados já em memória
+            boolean consultouBanco = expirado && recarregar();
+            if (expirado) {
+                recargaFalhouEm = consultouBanco ? null : Instant.now();
+            }
+            if (!incrementais.isSemeado()) {
+                return new EstatisticasSnapshot(criarEstatisticasVazias(), Instant.now(),
+                    Duration.ofNanos(System.nanoTime() - inicio), false, -1);
             }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar sessão com maior ocupação: " + e.getMessage());
+            long versao = incrementais.getVersao();
+            Map<String, Object> estatisticas = calcular();
+            Instant calculadoEm = consultouBanco || atual == null ? Instant.now() : atual.getCalculadoEm();
+            snapshot = new EstatisticasSnapshot(estatisticas, calculadoEm,
+                Duration.ofNanos(System.nanoTime() - inicio), consultouBanco, versao);
+            return snapshot;
         }
-        
-        return Map.of("nome", "N/A", "data", "N/A", "horario", "N/A", "ocupacao", "0%");
     }
 
     /**
-     * Busca a sessão com menor ocupação.
+     * Indica se os agregados devem ser recarregados do banco: não há snapshot ou ele passou do
+     * tempo de validade. Depois de uma recarga com falha, o banco só é consultado de novo após
+     * outro tempo de validade; até lá os agregados em memória são servidos sem esperar pelo pool.
      */
-    private Map<String, Object> buscarSessaoMenorOcupacao() {
-        String sql = """
-            SELECT nome_peca, data_sessao, horario, percentual_ocupacao 
-            FROM estatisticas_ocupacao_sessao 
-            WHERE percentual_ocupacao > 0 
-            ORDER BY percentual_ocupacao ASC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "data", rs.getDate("data_sessao").toString(),
-                    "horario", rs.getString("horario"),
-                    "ocupacao", String.format("%.1f%%", rs.getDouble("percentual_ocupacao"))
-                );
-            }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar sessão com menor ocupação: " + e.getMessage());
+    private boolean precisaRecarregar(EstatisticasSnapshot atual, Instant agora) {
+        Instant falha = recargaFalhouEm;
+        if (falha != null && Duration.between(falha, agora).compareTo(ttl) < 0) {
+            return false;
         }
-        
-        return Map.of("nome", "N/A", "data", "N/A", "horario", "N/A", "ocupacao", "0%");
+        return atual == null || atual.isExpirado(ttl, agora);
     }
 
     /**
-     * Busca a peça mais lucrativa.
+     * Monta as sete estatísticas a partir dos agregados em memória.
      */
-    private Map<String, Object> buscarPecaMaisLucrativa() {
-        String sql = """
-            SELECT nome_peca, faturamento_total 
-            FROM estatisticas_vendas_peca 
-            WHERE faturamento_total > 0 
-            ORDER BY faturamento_total DESC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "faturamento", String.format("R$ %.2f", rs.getDouble("faturamento_total"))
-                );
-            }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar peça mais lucrativa: " + e.getMessage());
-        }
-        
-        return Map.of("nome", "N/A", "faturamento", "R$ 0,00");
+    private Map<String, Object> calcular() {
+        Map<String, Object> estatisticas = new HashMap<>();
+        List<Agregado> pecas = comVendas(incrementais.getEventos());
+        List<Agregado> sessoes = comVendas(incrementais.getSessoes());
+
+        Comparator<Agregado> porVendas = Comparator.comparingLong(Agregado::getVendidos);
+        Comparator<Agregado> porOcupacao = Comparator.comparingDouble(Agregado::getPercentualOcupacao);
+        Comparator<Agregado> porFaturamento = Comparator.comparingDouble(Agregado::getFaturamento);
+
+        estatisticas.put("pecaMaisVendida", formatarVendas(pecas.stream().max(porVendas)));
+        estatisticas.put("pecaMenosVendida", formatarVendas(pecas.stream().min(porVendas)));
+        estatisticas.put("sessaoMaiorOcupacao", formatarOcupacao(sessoes.stream().max(porOcupacao)));
+        estatisticas.put("sessaoMenorOcupacao", formatarOcupacao(sessoes.stream().min(porOcupacao)));
+        estatisticas.put("pecaMaisLucrativa", formatarFaturamento(pecas.stream().max(porFaturamento)));
+        estatisticas.put("pecaMenosLucrativa", formatarFaturamento(pecas.stream().min(porFaturamento)));
+        estatisticas.put("lucroMedioPorPeca", List.copyOf(formatarLucroMedio(pecas)));
+        return estatisticas;
     }
 
     /**
-     * Busca a peça menos lucrativa.
+     * Filtra os agregados com ao menos um ingresso vendido.
      */
-    private Map<String, Object> buscarPecaMenosLucrativa() {
-        String sql = """
-            SELECT nome_peca, faturamento_total 
-            FROM estatisticas_vendas_peca 
-            WHERE faturamento_total > 0 
-            ORDER BY faturamento_total ASC 
-            LIMIT 1
-            """;
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                return Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "faturamento", String.format("R$ %.2f", rs.getDouble("faturamento_total"))
-                );
+    private List<Agregado> comVendas(Collection<Agregado> agregados) {
+        List<Agregado> resultado = new ArrayList<>();
+        for (Agregado agregado : agregados) {
+            if (agregado.getVendidos() > 0) {
+                resultado.add(agregado);
             }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar peça menos lucrativa: " + e.getMessage());
         }
-        
-        return Map.of("nome", "N/A", "faturamento", "R$ 0,00");
+        return resultado;
+    }
+
+    private Map<String, Object> formatarVendas(Optional<Agregado> peca) {
+        return peca.<Map<String, Object>>map(p -> Map.of(
+                "nome", p.getNome(),
+                "totalVendas", (int) p.getVendidos()))
+            .orElseGet(() -> Map.of("nome", "N/A", "totalVendas", 0));
+    }
+
+    private Map<String, Object> formatarOcupacao(Optional<Agregado> sessao) {
+        return sessao.<Map<String, Object>>map(s -> Map.of(
+                "nome", s.getNome(),
+                "data", s.getDataSessao() != null ? s.getDataSessao().toString() : "N/A",
+                "horario", s.getHorario() != null ? s.getHorario() : "N/A",
+                "ocupacao", String.format("%.1f%%", s.getPercentualOcupacao())))
+            .orElseGet(() -> Map.of("nome", "N/A", "data", "N/A", "horario", "N/A", "ocupacao", "0%"));
+    }
+
+    private Map<String, Object> formatarFaturamento(Optional<Agregado> peca) {
+        return peca.<Map<String, Object>>map(p -> Map.of(
+                "nome", p.getNome(),
+                "faturamento", String.format("R$ %.2f", p.getFaturamento())))
+            .orElseGet(() -> Map.of("nome", "N/A", "faturamento", "R$ 0,00"));
     }
 
     /**
-     * Busca o lucro médio por peça.
+     * Valor médio do ingresso por peça, do maior para o menor.
      */
-    private List<Map<String, Object>> buscarLucroMedioPorPeca() {
-        String sql = """
-            SELECT nome_peca, valor_medio_ingresso 
-            FROM estatisticas_vendas_peca 
-            WHERE valor_medio_ingresso > 0 
-            ORDER BY valor_medio_ingresso DESC
-            """;
-        
+    private List<Map<String, Object>> formatarLucroMedio(List<Agregado> pecas) {
+        List<Agregado> ordenadas = new ArrayList<>(pecas);
+        ordenadas.sort(Comparator.comparingDouble(Agregado::getValorMedio).reversed());
+
         List<Map<String, Object>> resultados = new ArrayList<>();
-        
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                resultados.add(Map.of(
-                    "nome", rs.getString("nome_peca"),
-                    "mediaFaturamento", String.format("R$ %.2f", rs.getDouble("valor_medio_ingresso"))
-                ));
-            }
-        } catch (SQLException e) {
-            logger.error("Erro ao buscar lucro médio por peça: " + e.getMessage());
+        for (Agregado peca : ordenadas) {
+            resultados.add(Map.of(
+                "nome", peca.getNome(),
+                "mediaFaturamento", String.format("R$ %.2f", peca.getValorMedio())
+            ));
         }
-        
         return resultados;
     }
 
@@ -271,4 +213,4 @@ public class EstatisticasService {
             "lucroMedioPorPeca", List.of()
         );
     }
-} 
\ No newline at end of file
+}
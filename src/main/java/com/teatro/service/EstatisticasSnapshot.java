@@ -0,0 +1,83 @@
+package com.teatro.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resultado imutável de um cálculo das estatísticas, com o instante da leitura do banco
+ * em que se baseia e quanto tempo o cálculo levou. Permite à tela de administração
+ * mostrar a idade dos dados exibidos. Vendas feitas depois dessa leitura já estão
+ * incluídas, pois chegam aos agregados por notificação.
+ */
+public final class EstatisticasSnapshot {
+    private final Map<String, Object> estatisticas;
+    private final Instant calculadoEm;
+    private final Duration duracaoCalculo;
+    private final boolean consultouBanco;
+    private final long versao;
+
+    EstatisticasSnapshot(Map<String, Object> estatisticas, Instant calculadoEm, Duration duracaoCalculo,
+                         boolean consultouBanco, long versao) {
+        this.estatisticas = Map.copyOf(estatisticas);
+        this.calculadoEm = calculadoEm;
+        this.duracaoCalculo = duracaoCalculo;
+        this.consultouBanco = consultouBanco;
+        this.versao = versao;
+    }
+
+    /**
+     * Estatísticas no formato de EstatisticasService.buscarEstatisticas.
+     * @return Mapa imutável com as estatísticas
+     */
+    public Map<String, Object> getEstatisticas() {
+        return estatisticas;
+    }
+
+    /**
+     * Instante em que os agregados foram lidos do banco.
+     * @return O instante da última carga
+     */
+    public Instant getCalculadoEm() {
+        return calculadoEm;
+    }
+
+    public Duration getDuracaoCalculo() {
+        return duracaoCalculo;
+    }
+
+    /**
+     * Indica se o cálculo recarregou os agregados do banco ou apenas usou os da memória.
+     * @return true se houve consulta ao banco
+     */
+    public boolean isConsultouBanco() {
+        return consultouBanco;
+    }
+
+    /**
+     * Versão dos agregados usada no cálculo (ver EstatisticasIncrementais.getVersao).
+     * @return A versão dos agregados
+     */
+    long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Tempo decorrido desde a leitura do banco.
+     * @param agora O instante de referência
+     * @return A idade do snapshot
+     */
+    public Duration getIdade(Instant agora) {
+        return Duration.between(calculadoEm, agora);
+    }
+
+    /**
+     * Verifica se o snapshot passou do tempo de validade.
+     * @param ttl O tempo de validade
+     * @param agora O instante de referência
+     * @return true se o snapshot está vencido
+     */
+    public boolean isExpirado(Duration ttl, Instant agora) {
+        return getIdade(agora).compareTo(ttl) >= 0;
+    }
+}
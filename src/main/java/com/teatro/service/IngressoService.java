@@ -4,23 +4,28 @@ import com.teatro.dao.IngressoDAO;
 import com.teatro.exception.IngressoException;
 import com.teatro.exception.TeatroException;
 import com.teatro.model.Ingresso;
-import com.teatro.model.Usuario;
 import com.teatro.observer.Observer;
 import com.teatro.observer.NotificacaoVenda;
 import com.teatro.util.TeatroLogger;
 import com.teatro.util.Validator;
-import com.teatro.database.DatabaseConnection;
+import com.teatro.database.UnidadeDeTrabalho;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.sql.SQLException;
+import java.util.stream.Stream;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Map;
 import com.teatro.exception.PoltronaOcupadaException;
 import com.teatro.exception.UsuarioNaoEncontradoException;
 import com.teatro.dao.AreaDAO;
 import com.teatro.model.Area;
+import com.teatro.model.ContextoUsuario;
+import com.teatro.model.MapaPoltronas;
+import com.teatro.model.state.ReservaPoltronas;
 import com.teatro.observer.VendaLoggerObserver;
+import com.teatro.observer.NotificacaoSubject;
 import com.teatro.dao.SessaoDAO;
 import com.teatro.model.Sessao;
 import com.teatro.dao.EventoDAO;
@@ -32,20 +37,26 @@ import com.teatro.model.Evento;
 public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO> {
     
     private static IngressoService instance;
+    private static final long TEMPO_ENCERRAMENTO_NOTIFICACOES_MS = 5000;
     private final TeatroLogger logger = TeatroLogger.getInstance();
     private final UsuarioService usuarioService;
-    private final List<Observer<NotificacaoVenda>> observers;
+    private final NotificacaoSubject notificacoes = new NotificacaoSubject();
+    private final RelayOutboxVendas relay = new RelayOutboxVendas(notificacoes);
     private final IngressoDAO dao;
     private final AreaDAO areaDAO;
+    private final ReservaPoltronas reservas = ReservaPoltronas.getInstance();
     
-    private IngressoService() throws SQLException {
-        super(new IngressoDAO(DatabaseConnection.getInstance().getConnection()));
+    private IngressoService() {
+        // Os DAOs não prendem conexões: cada operação do serviço abre uma unidade de trabalho
+        super(new IngressoDAO());
         this.dao = (IngressoDAO) super.dao;
         this.usuarioService = UsuarioService.getInstance();
-        this.observers = new ArrayList<>();
-        this.areaDAO = new AreaDAO(DatabaseConnection.getInstance().getConnection());
+        this.areaDAO = new AreaDAO();
         // Registrar observer de log de venda
         this.registerObserver(new VendaLoggerObserver());
+        // Vendas e cancelamentos são gravados na outbox pelo DAO; o relay os entrega aos
+        // observadores fora da thread da compra (a thread do JavaFX)
+        relay.iniciar();
     }
     
     /**
@@ -54,12 +65,7 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      */
     public static synchronized IngressoService getInstance() {
         if (instance == null) {
-            try {
-                instance = new IngressoService();
-            } catch (SQLException e) {
-                TeatroLogger.getInstance().error("Erro ao inicializar IngressoService: " + e.getMessage());
-                throw new TeatroException("Erro ao inicializar serviço de ingressos", e);
-            }
+            instance = new IngressoService();
         }
         return instance;
     }
@@ -69,7 +75,7 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      * @param observer O observador a ser registrado
      */
     public void registerObserver(Observer<NotificacaoVenda> observer) {
-        observers.add(observer);
+        notificacoes.registerObserver(observer);
     }
     
     /**
@@ -77,17 +83,32 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      * @param observer O observador a ser removido
      */
     public void removeObserver(Observer<NotificacaoVenda> observer) {
-        observers.remove(observer);
+        notificacoes.removeObserver(observer);
     }
     
     /**
-     * Notifica todos os observadores sobre uma venda.
-     * @param notificacao A notificação a ser enviada
+     * Drena a outbox uma última vez e encerra o relay (encerramento da aplicação).
+     * Registros não entregues continuam na outbox e são entregues na próxima execução.
+     * @return true se o relay terminou no prazo
      */
-    private void notifyObservers(NotificacaoVenda notificacao) {
-        for (Observer<NotificacaoVenda> observer : observers) {
-            observer.update(notificacao);
-        }
+    public boolean encerrarNotificacoes() {
+        return relay.encerrar(TEMPO_ENCERRAMENTO_NOTIFICACOES_MS);
+    }
+    
+    /**
+     * Obtém o relay da outbox de vendas, com os totais de registros entregues.
+     * @return O relay
+     */
+    public RelayOutboxVendas getRelay() {
+        return relay;
+    }
+    
+    /**
+     * Obtém o sujeito das notificações de venda, com as métricas de fila e de latência por observador.
+     * @return O sujeito das notificações
+     */
+    public NotificacaoSubject getNotificacoes() {
+        return notificacoes;
     }
     
     /**
@@ -99,86 +120,309 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      * @return O ingresso comprado
      */
     public Ingresso comprarIngresso(String cpf, Long sessaoId, Long areaId, int numeroPoltrona) {
+        return comprarIngresso(resolverContexto(cpf), sessaoId, areaId, numeroPoltrona);
+    }
+    
+    /**
+     * Compra um ingresso para o usuário logado, sem buscá-lo no banco pelo CPF.
+     * @param contexto O contexto do usuário autenticado
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numeroPoltrona O número da poltrona
+     * @return O ingresso comprado
+     */
+    public Ingresso comprarIngresso(ContextoUsuario contexto, Long sessaoId, Long areaId, int numeroPoltrona) {
         try {
-            Validator.validarCpf(cpf);
-            Validator.validarNaoNulo(sessaoId, "ID da Sessão");
-            Validator.validarNaoNulo(areaId, "ID da Área");
-            Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
-            
-            Optional<Usuario> usuario = usuarioService.buscarPorCpf(cpf);
-            if (usuario.isEmpty()) {
-                throw new UsuarioNaoEncontradoException(cpf);
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(contexto, "Usuário logado");
+                return registrarCompra(contexto.usuarioId(), contexto.cpf(), sessaoId, areaId, numeroPoltrona);
+            });
+        } catch (TeatroException e) {
+            logger.error("Erro ao comprar ingresso: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro inesperado ao comprar ingresso: " + e.getMessage());
+            throw new TeatroException("Erro ao comprar ingresso", e);
+        }
+    }
+    
+    /**
+     * Grava a compra de um ingresso para um usuário já resolvido.
+     */
+    private Ingresso registrarCompra(Long usuarioId, String cpf, Long sessaoId, Long areaId, int numeroPoltrona) {
+        Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+        Validator.validarNaoNulo(areaId, "ID da Área");
+        Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
+        
+        Ingresso ingresso = new Ingresso();
+        ingresso.setUsuarioId(usuarioId);
+        ingresso.setSessaoId(sessaoId);
+        ingresso.setAreaId(areaId);
+        ingresso.setNumeroPoltrona(numeroPoltrona);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        ingresso.setCodigo(gerarCodigoIngresso());
+        // Buscar o valor da área e setar no ingresso
+        Optional<Area> areaOpt = areaDAO.buscarPorId(areaId);
+        if (areaOpt.isPresent()) {
+            ingresso.setValor(areaOpt.get().getPreco());
+        } else {
+            ingresso.setValor(0.0); // fallback, mas ideal lançar exceção
+        }
+        
+        // A poltrona fica reservada para o comprador durante a gravação; a chave única
+        // (sessao_id, area_id, numero_poltrona) decide a disputa com vendas já gravadas.
+        // Uma reserva que o comprador já detinha (feita na tela de seleção) só é liberada
+        // se a compra for gravada; se falhar, ele continua com a poltrona
+        String nomeArea = areaOpt.map(Area::getNome).orElse("Área desconhecida");
+        Optional<ReservaPoltronas.Reserva> doComprador = reservas.buscarReserva(sessaoId, areaId, numeroPoltrona, cpf);
+        ReservaPoltronas.Reserva reserva = doComprador.isPresent() ? doComprador.get()
+            : reservas.reservar(sessaoId, areaId, numeroPoltrona, cpf)
+                .orElseThrow(() -> new PoltronaOcupadaException(
+                    "A poltrona " + numeroPoltrona + " da área " + nomeArea + " está reservada por outro usuário"));
+        boolean gravada = false;
+        try {
+            dao.salvar(ingresso);
+            gravada = true;
+        } catch (PoltronaOcupadaException e) {
+            throw new PoltronaOcupadaException(numeroPoltrona, nomeArea, e);
+        } finally {
+            if (gravada || doComprador.isEmpty()) {
+                reservas.liberar(reserva);
             }
-            
+        }
+        relay.acordar();
+        // Preencher campos de exibição
+        preencherDadosExibicao(List.of(ingresso), areaOpt.orElse(null));
+        return ingresso;
+    }
+    
+    /**
+     * Compra várias poltronas de uma área em uma sessão numa única operação.
+     * O usuário e a área são resolvidos uma vez, os ingressos são gravados em um lote
+     * transacional (todos ou nenhum) e o relay da outbox entrega aos observadores uma notificação
+     * agregada.
+     * @param cpf O CPF do usuário
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param poltronas Os números das poltronas
+     * @return Os ingressos comprados, na ordem das poltronas informadas
+     */
+    public List<Ingresso> comprarIngressos(String cpf, Long sessaoId, Long areaId, List<Integer> poltronas) {
+        return comprarIngressos(resolverContexto(cpf), sessaoId, areaId, poltronas);
+    }
+    
+    /**
+     * Compra várias poltronas para o usuário logado, sem buscá-lo no banco pelo CPF.
+     * @param contexto O contexto do usuário autenticado
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param poltronas Os números das poltronas
+     * @return Os ingressos comprados, na ordem das poltronas informadas
+     */
+    public List<Ingresso> comprarIngressos(ContextoUsuario contexto, Long sessaoId, Long areaId, List<Integer> poltronas) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(contexto, "Usuário logado");
+                return registrarCompras(contexto.usuarioId(), contexto.cpf(), sessaoId, areaId, poltronas);
+            });
+        } catch (TeatroException e) {
+            logger.error("Erro ao comprar ingressos: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro inesperado ao comprar ingressos: " + e.getMessage());
+            throw new TeatroException("Erro ao comprar ingressos", e);
+        }
+    }
+    
+    /**
+     * Grava a compra de várias poltronas para um usuário já resolvido.
+     */
+    private List<Ingresso> registrarCompras(Long usuarioId, String cpf, Long sessaoId, Long areaId, List<Integer> poltronas) {
+        Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+        Validator.validarNaoNulo(areaId, "ID da Área");
+        Validator.validarNaoNulo(poltronas, "Poltronas");
+        if (poltronas.isEmpty()) {
+            throw new IngressoException("Nenhuma poltrona selecionada");
+        }
+        
+        Area area = areaDAO.buscarPorId(areaId)
+            .orElseThrow(() -> new TeatroException("Área não encontrada"));
+        
+        BitSet selecionadas = new BitSet();
+        for (Integer numero : poltronas) {
+            Validator.validarNaoNulo(numero, "Número da Poltrona");
+            Validator.validarNumeroPositivo(numero, "Número da Poltrona");
+            if (numero > area.getCapacidadeTotal()) {
+                throw new TeatroException("Número da poltrona inválido para esta área");
+            }
+            if (selecionadas.get(numero)) {
+                throw new IngressoException("Poltrona " + numero + " selecionada mais de uma vez");
+            }
+            selecionadas.set(numero);
+        }
+        
+        Timestamp dataCompra = new Timestamp(System.currentTimeMillis());
+        List<Ingresso> ingressos = new ArrayList<>(poltronas.size());
+        for (Integer numero : poltronas) {
             Ingresso ingresso = new Ingresso();
-            ingresso.setUsuarioId(usuario.get().getId());
+            ingresso.setUsuarioId(usuarioId);
             ingresso.setSessaoId(sessaoId);
             ingresso.setAreaId(areaId);
-            ingresso.setNumeroPoltrona(numeroPoltrona);
-            ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+            ingresso.setNumeroPoltrona(numero);
+            ingresso.setValor(area.getPreco());
+            ingresso.setDataCompra(dataCompra);
             ingresso.setCodigo(gerarCodigoIngresso());
-            // Buscar o valor da área e setar no ingresso
-            Optional<Area> areaOpt = areaDAO.buscarPorId(areaId);
-            if (areaOpt.isPresent()) {
-                ingresso.setValor(areaOpt.get().getPreco());
-            } else {
-                ingresso.setValor(0.0); // fallback, mas ideal lançar exceção
+            ingressos.add(ingresso);
+        }
+        
+        // Reserva todas as poltronas para o comprador; o lote é atômico:
+        // se alguma poltrona já foi vendida, nenhuma é gravada. Reservas que o comprador
+        // já detinha só são liberadas se o lote for gravado
+        List<ReservaPoltronas.Reserva> adquiridas = new ArrayList<>(poltronas.size());
+        List<ReservaPoltronas.Reserva> doComprador = new ArrayList<>(poltronas.size());
+        boolean gravadas = false;
+        try {
+            for (Integer numero : poltronas) {
+                Optional<ReservaPoltronas.Reserva> existente = reservas.buscarReserva(sessaoId, areaId, numero, cpf);
+                if (existente.isPresent()) {
+                    doComprador.add(existente.get());
+                    continue;
+                }
+                Optional<ReservaPoltronas.Reserva> reserva = reservas.reservar(sessaoId, areaId, numero, cpf);
+                if (reserva.isEmpty()) {
+                    throw new PoltronaOcupadaException(
+                        "A poltrona " + numero + " da área " + area.getNome() + " está reservada por outro usuário");
+                }
+                adquiridas.add(reserva.get());
             }
-            
-            if (dao.poltronaOcupada(sessaoId, areaId, numeroPoltrona)) {
-                Optional<Area> area = areaDAO.buscarPorId(areaId);
-                String nomeArea = area.map(Area::getNome).orElse("Área desconhecida");
-                throw new PoltronaOcupadaException(numeroPoltrona, nomeArea);
+            dao.salvarEmLote(ingressos);
+            gravadas = true;
+        } catch (PoltronaOcupadaException e) {
+            BitSet ocupadas = dao.buscarPoltronasOcupadas(sessaoId, areaId);
+            ocupadas.and(selecionadas);
+            int primeiraOcupada = ocupadas.nextSetBit(0);
+            if (primeiraOcupada < 0) {
+                throw e;
             }
-            
-            dao.salvar(ingresso);
-            // Preencher campos de exibição para notificação
-            try {
-                SessaoDAO sessaoDAO = new SessaoDAO(DatabaseConnection.getInstance().getConnection());
-                Optional<Sessao> sessaoOpt = sessaoDAO.buscarPorId(ingresso.getSessaoId());
+            throw new PoltronaOcupadaException(primeiraOcupada, area.getNome(), e);
+        } finally {
+            adquiridas.forEach(reservas::liberar);
+            if (gravadas) {
+                doComprador.forEach(reservas::liberar);
+            }
+        }
+        
+        relay.acordar();
+        preencherDadosExibicao(ingressos, area);
+        return ingressos;
+    }
+    
+    /**
+     * Preenche os campos de exibição (evento, horário, data e área) dos ingressos comprados.
+     * Todos os ingressos devem ser da mesma sessão e área; sessão e evento são buscados uma única vez.
+     * @param ingressos Os ingressos recém-comprados
+     * @param area A área dos ingressos, se já conhecida (pode ser null)
+     */
+    private void preencherDadosExibicao(List<Ingresso> ingressos, Area area) {
+        Ingresso primeiro = ingressos.get(0);
+        try {
+            UnidadeDeTrabalho.executar(() -> {
+                String horario = null;
+                Timestamp dataSessao = null;
+                String eventoNome = null;
+                SessaoDAO sessaoDAO = new SessaoDAO();
+                Optional<Sessao> sessaoOpt = sessaoDAO.buscarPorId(primeiro.getSessaoId());
                 if (sessaoOpt.isPresent()) {
                     Sessao sessao = sessaoOpt.get();
-                    ingresso.setHorario(sessao.getTipoSessao().getDescricao());
-                    ingresso.setDataSessao(sessao.getData());
+                    horario = sessao.getTipoSessao().getDescricao();
+                    dataSessao = sessao.getData();
                     Long eventoId = sessao.getEventoId();
                     if (eventoId != null) {
-                        EventoDAO eventoDAO = new EventoDAO(DatabaseConnection.getInstance().getConnection());
+                        EventoDAO eventoDAO = new EventoDAO();
                         Evento evento = eventoDAO.buscarPorId(eventoId);
                         if (evento != null) {
-                            ingresso.setEventoNome(evento.getNome());
+                            eventoNome = evento.getNome();
                         }
                     }
                 }
-                AreaDAO areaDAO = new AreaDAO(DatabaseConnection.getInstance().getConnection());
-                Optional<Area> areaOptNotificacao = areaDAO.buscarPorId(ingresso.getAreaId());
-                areaOptNotificacao.ifPresent(area -> ingresso.setAreaNome(area.getNome()));
-            } catch (Exception e) {
-                logger.error("Erro ao preencher dados de exibição do ingresso para notificação: " + e.getMessage());
-            }
-            notifyObservers(new NotificacaoVenda(ingresso));
-            return ingresso;
-        } catch (TeatroException e) {
-            logger.error("Erro ao comprar ingresso: " + e.getMessage());
-            throw e;
+                Area areaDosIngressos = area != null
+                    ? area
+                    : new AreaDAO().buscarPorId(primeiro.getAreaId()).orElse(null);
+                for (Ingresso ingresso : ingressos) {
+                    ingresso.setHorario(horario);
+                    ingresso.setDataSessao(dataSessao);
+                    ingresso.setEventoNome(eventoNome);
+                    if (areaDosIngressos != null) {
+                        ingresso.setAreaNome(areaDosIngressos.getNome());
+                    }
+                }
+            });
         } catch (Exception e) {
-            logger.error("Erro inesperado ao comprar ingresso: " + e.getMessage());
-            throw new TeatroException("Erro ao comprar ingresso", e);
+            logger.error("Erro ao preencher dados de exibição do ingresso: " + e.getMessage());
         }
     }
     
+    /**
+     * Reserva temporariamente uma poltrona para o usuário enquanto ele decide a compra.
+     * @param cpf O CPF do usuário
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @param numeroPoltrona O número da poltrona
+     * @return A reserva, ou vazio se outro usuário já reservou a poltrona
+     */
+    public Optional<ReservaPoltronas.Reserva> reservarPoltrona(String cpf, Long sessaoId, Long areaId, int numeroPoltrona) {
+        Validator.validarCpf(cpf);
+        Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+        Validator.validarNaoNulo(areaId, "ID da Área");
+        Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
+        return reservas.reservar(sessaoId, areaId, numeroPoltrona, cpf);
+    }
+    
+    /**
+     * Busca as poltronas de uma área reservadas por outros usuários.
+     * @param cpf O CPF de quem consulta (suas próprias reservas não entram no resultado)
+     * @param sessaoId O ID da sessão
+     * @param areaId O ID da área
+     * @return Bits das poltronas reservadas (bit n = poltrona n)
+     */
+    public BitSet getPoltronasReservadas(String cpf, Long sessaoId, Long areaId) {
+        return reservas.getReservadasPorOutros(sessaoId, areaId, cpf);
+    }
+    
     /**
      * Busca ingressos por usuário.
      * @param cpf O CPF do usuário
      * @return Lista de ingressos do usuário
      */
     public List<Ingresso> buscarPorUsuario(String cpf) {
+        return buscarPorUsuario(resolverContexto(cpf));
+    }
+    
+    /**
+     * Resolve o usuário do CPF uma única vez para as operações que recebem só o CPF.
+     */
+    private ContextoUsuario resolverContexto(String cpf) {
         try {
             Validator.validarCpf(cpf);
-            Optional<Usuario> usuario = usuarioService.buscarPorCpf(cpf);
-            if (usuario.isEmpty()) {
-                throw new TeatroException("Usuário não encontrado");
-            }
-            return dao.buscarPorUsuario(usuario.get().getId());
+            return usuarioService.buscarContextoPorCpf(cpf)
+                .orElseThrow(() -> new UsuarioNaoEncontradoException(cpf));
+        } catch (TeatroException e) {
+            logger.error("Erro ao resolver usuário por CPF: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Busca os ingressos do usuário logado, sem buscá-lo no banco pelo CPF.
+     * @param contexto O contexto do usuário autenticado
+     * @return Lista de ingressos do usuário
+     */
+    public List<Ingresso> buscarPorUsuario(ContextoUsuario contexto) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(contexto, "Usuário logado");
+                return dao.buscarPorUsuario(contexto.usuarioId());
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar ingressos do usuário: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar ingressos do usuário", e);
@@ -192,14 +436,88 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      */
     public List<Ingresso> buscarPorSessao(Long sessaoId) {
         try {
-            Validator.validarNaoNulo(sessaoId, "ID da Sessão");
-            return dao.buscarPorSessao(sessaoId);
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+                return dao.buscarPorSessao(sessaoId);
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar ingressos da sessão: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar ingressos da sessão", e);
         }
     }
     
+    /**
+     * Lista uma página dos ingressos de um usuário, em ordem de ID.
+     * @param usuarioId O ID do usuário
+     * @param aposId O ID do último ingresso da página anterior (null para a primeira página)
+     * @param limite A quantidade máxima de ingressos
+     * @return Os ingressos da página
+     */
+    public List<Ingresso> listarPaginaPorUsuario(Long usuarioId, Long aposId, int limite) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(usuarioId, "ID do Usuário");
+                Validator.validarNumeroPositivo(limite, "Limite");
+                return dao.listarPaginaPorUsuario(usuarioId, aposId, limite);
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao listar página de ingressos do usuário: {}", e.getMessage());
+            throw new TeatroException("Erro ao listar página de ingressos do usuário", e);
+        }
+    }
+    
+    /**
+     * Lista uma página dos ingressos de uma sessão, em ordem de ID.
+     * @param sessaoId O ID da sessão
+     * @param aposId O ID do último ingresso da página anterior (null para a primeira página)
+     * @param limite A quantidade máxima de ingressos
+     * @return Os ingressos da página
+     */
+    public List<Ingresso> listarPaginaPorSessao(Long sessaoId, Long aposId, int limite) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+                Validator.validarNumeroPositivo(limite, "Limite");
+                return dao.listarPaginaPorSessao(sessaoId, aposId, limite);
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao listar página de ingressos da sessão: {}", e.getMessage());
+            throw new TeatroException("Erro ao listar página de ingressos da sessão", e);
+        }
+    }
+    
+    /**
+     * Percorre os ingressos de uma sessão sem carregá-los de uma vez.
+     * O Stream mantém um cursor aberto no banco e deve ser fechado (try-with-resources).
+     * @param sessaoId O ID da sessão
+     * @return Stream de ingressos em ordem de ID
+     */
+    public Stream<Ingresso> buscarPorSessaoEmFluxo(Long sessaoId) {
+        try {
+            Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+            return dao.buscarPorSessaoEmFluxo(sessaoId);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar ingressos da sessão em fluxo: {}", e.getMessage());
+            throw new TeatroException("Erro ao buscar ingressos da sessão em fluxo", e);
+        }
+    }
+    
+    /**
+     * Percorre os ingressos de um usuário sem carregá-los de uma vez.
+     * O Stream mantém um cursor aberto no banco e deve ser fechado (try-with-resources).
+     * @param usuarioId O ID do usuário
+     * @return Stream de ingressos em ordem de ID
+     */
+    public Stream<Ingresso> buscarPorUsuarioEmFluxo(Long usuarioId) {
+        try {
+            Validator.validarNaoNulo(usuarioId, "ID do Usuário");
+            return dao.buscarPorUsuarioEmFluxo(usuarioId);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar ingressos do usuário em fluxo: {}", e.getMessage());
+            throw new TeatroException("Erro ao buscar ingressos do usuário em fluxo", e);
+        }
+    }
+    
     /**
      * Verifica se uma poltrona está ocupada.
      * @param sessaoId O ID da sessão
@@ -209,12 +527,14 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      */
     public boolean poltronaOcupada(Long sessaoId, Long areaId, int numeroPoltrona) {
         try {
-            Validator.validarNaoNulo(areaId, "ID da Área");
-            Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
-            if (sessaoId != null) {
-                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
-            }
-            return dao.poltronaOcupada(sessaoId, areaId, numeroPoltrona);
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(areaId, "ID da Área");
+                Validator.validarNumeroPositivo(numeroPoltrona, "Número da Poltrona");
+                if (sessaoId != null) {
+                    Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+                }
+                return dao.poltronaOcupada(sessaoId, areaId, numeroPoltrona);
+            });
         } catch (Exception e) {
             logger.error("Erro ao verificar ocupação da poltrona: {}", e.getMessage());
             throw new TeatroException("Erro ao verificar ocupação da poltrona", e);
@@ -229,25 +549,53 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
      */
     public List<Integer> getPoltronasOcupadas(Long sessaoId, Long areaId) {
         try {
-            Validator.validarNaoNulo(areaId, "ID da Área");
-            if (sessaoId != null) {
-                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
-            }
-            
-            List<Ingresso> ingressos = sessaoId != null ? 
-                dao.buscarPorSessao(sessaoId) : 
-                dao.listarTodos();
-                
-            return ingressos.stream()
-                .filter(i -> i.getAreaId().equals(areaId))
-                .map(Ingresso::getNumeroPoltrona)
-                .toList();
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(areaId, "ID da Área");
+                BitSet ocupadas = dao.buscarPoltronasOcupadas(sessaoId, areaId);
+                return ocupadas.stream().boxed().toList();
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar poltronas ocupadas: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar poltronas ocupadas", e);
         }
     }
     
+    /**
+     * Monta o mapa de ocupação de uma área em uma sessão.
+     * @param sessaoId O ID da sessão
+     * @param area A área (a capacidade define o tamanho do mapa)
+     * @return O mapa de poltronas da área
+     */
+    public MapaPoltronas getMapaPoltronas(Long sessaoId, Area area) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+                Validator.validarNaoNulo(area, "Área");
+                return new MapaPoltronas(area.getCapacidadeTotal(), dao.buscarPoltronasOcupadas(sessaoId, area.getId()));
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao montar mapa de poltronas: {}", e.getMessage());
+            throw new TeatroException("Erro ao montar mapa de poltronas", e);
+        }
+    }
+    
+    /**
+     * Busca a ocupação de todas as áreas de uma sessão em uma única consulta.
+     * @param sessaoId O ID da sessão
+     * @return Mapa do ID da área para os bits das poltronas ocupadas (áreas sem vendas não aparecem)
+     */
+    public Map<Long, BitSet> getPoltronasOcupadasPorArea(Long sessaoId) {
+        try {
+            return UnidadeDeTrabalho.executar(() -> {
+                Validator.validarNaoNulo(sessaoId, "ID da Sessão");
+                return dao.buscarPoltronasOcupadasPorArea(sessaoId);
+            });
+        } catch (Exception e) {
+            logger.error("Erro ao buscar ocupação da sessão: {}", e.getMessage());
+            throw new TeatroException("Erro ao buscar ocupação da sessão", e);
+        }
+    }
+    
     @Override
     protected void validarAntesSalvar(Ingresso ingresso) {
         Validator.validarNaoNulo(ingresso.getUsuarioId(), "ID do Usuário");
@@ -288,7 +636,9 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
     
     public List<Ingresso> buscarIngressosPorUsuario(Long usuarioId) {
         try {
-            return dao.buscarPorUsuario(usuarioId);
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.buscarPorUsuario(usuarioId);
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar ingressos do usuário: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar ingressos do usuário", e);
@@ -297,7 +647,9 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
 
     public List<Ingresso> buscarIngressosPorSessao(Long sessaoId) {
         try {
-            return dao.buscarPorSessao(sessaoId);
+            return UnidadeDeTrabalho.executar(() -> {
+                return dao.buscarPorSessao(sessaoId);
+            });
         } catch (Exception e) {
             logger.error("Erro ao buscar ingressos da sessão: {}", e.getMessage());
             throw new TeatroException("Erro ao buscar ingressos da sessão", e);
@@ -306,7 +658,11 @@ public class IngressoService extends AbstractService<Ingresso, Long, IngressoDAO
 
     public void cancelarIngresso(Long ingressoId) {
         try {
-            dao.remover(ingressoId);
+            UnidadeDeTrabalho.executar(() -> {
+                // O DAO grava o cancelamento na outbox, na mesma transação da remoção
+                dao.remover(ingressoId);
+                relay.acordar();
+            });
         } catch (Exception e) {
             logger.error("Erro ao cancelar ingresso: {}", e.getMessage());
             throw new TeatroException("Erro ao cancelar ingresso", e);
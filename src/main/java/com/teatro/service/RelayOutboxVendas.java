@@ -0,0 +1,234 @@
+package com.teatro.service;
+
+import com.teatro.database.DatabaseConnection;
+import com.teatro.database.OutboxVendas;
+import com.teatro.database.OutboxVendas.Registro;
+import com.teatro.model.Ingresso;
+import com.teatro.observer.AbstractSubject;
+import com.teatro.observer.NotificacaoVenda;
+import com.teatro.util.TeatroLogger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drena a outbox de vendas (OutboxVendas) em lotes e entrega as notificações aos observadores.
+ * Roda em uma thread própria, fora da compra: periodicamente e sempre que acordar é chamado
+ * após uma venda ou cancelamento.
+ * A entrega é pelo menos uma vez: um registro só é removido da outbox, na mesma transação que
+ * o bloqueou, depois que todos os observadores o processaram sem erro. Se um observador falhar,
+ * o lote para nesse registro (para manter a ordem) e ele é entregue de novo na próxima
+ * tentativa, com espera crescente entre as tentativas. Se a aplicação cair no meio, o lote é
+ * entregue de novo na próxima execução. Registros já entregues por esta instância (pelo
+ * código do ingresso) não são repetidos.
+ */
+public class RelayOutboxVendas {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+    private static final int TAMANHO_LOTE = 200;
+    private static final long INTERVALO_MS = 500;
+    private static final long ESPERA_MAXIMA_MS = 60_000;
+    private static final int MAXIMO_CODIGOS_ENTREGUES = 10_000;
+
+    private final AbstractSubject<NotificacaoVenda> destino;
+    private final ScheduledExecutorService executor;
+    // Chaves "tipo:codigo" já entregues a todos os observadores, para não repetir uma entrega cuja remoção falhou
+    private final Set<String> entregues = Collections.newSetFromMap(
+        new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> maisAntigo) {
+                return size() > MAXIMO_CODIGOS_ENTREGUES;
+            }
+        });
+    private final LongAdder totalEntregues = new LongAdder();
+    private final LongAdder totalLotes = new LongAdder();
+    private final LongAdder totalRepetidos = new LongAdder();
+    // Acessados apenas pela thread do relay
+    private int falhasSeguidas;
+    private long proximaTentativaNanos;
+
+    /**
+     * @param destino Quem recebe as notificações (os observadores de venda)
+     */
+    public RelayOutboxVendas(AbstractSubject<NotificacaoVenda> destino) {
+        this.destino = destino;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "relay-outbox-vendas");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia a drenagem periódica da outbox.
+     */
+    public void iniciar() {
+        executor.scheduleWithFixedDelay(this::drenar, 0, INTERVALO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pede uma drenagem imediata (chamado após gravar uma venda ou cancelamento).
+     */
+    public void acordar() {
+        try {
+            executor.execute(this::drenar);
+        } catch (RejectedExecutionException e) {
+            // Relay encerrado: os registros ficam na outbox para a próxima execução
+        }
+    }
+
+    /**
+     * Drena a outbox uma última vez e encerra a thread do relay.
+     * @param timeoutMillis Tempo máximo de espera
+     * @return true se o relay terminou no prazo
+     */
+    public boolean encerrar(long timeoutMillis) {
+        acordar();
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Entrega todos os registros pendentes, um lote por transação.
+     * Depois de uma falha de entrega, não faz nada até o fim da espera.
+     */
+    void drenar() {
+        if (falhasSeguidas > 0 && System.nanoTime() - proximaTentativaNanos < 0) {
+            return;
+        }
+        try {
+            while (drenarLote() == TAMANHO_LOTE) {
+                // Lote cheio e todo entregue: pode haver mais registros pendentes
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro inesperado no relay da outbox de vendas", e);
+        }
+    }
+
+    /**
+     * @return A quantidade de registros entregues, ou 0 se algum ficou para a próxima tentativa
+     */
+    private int drenarLote() {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                OutboxVendas outbox = new OutboxVendas(conn);
+                List<Registro> registros = outbox.buscarPendentes(TAMANHO_LOTE);
+                List<Registro> concluidos = entregar(registros);
+                if (!concluidos.isEmpty()) {
+                    outbox.remover(concluidos);
+                    totalLotes.increment();
+                }
+                conn.commit();
+                if (concluidos.size() < registros.size()) {
+                    adiar(registros.size() - concluidos.size());
+                    return 0;
+                }
+                falhasSeguidas = 0;
+                return registros.size();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao drenar outbox de vendas", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Espera antes da próxima tentativa, dobrando a cada falha seguida até ESPERA_MAXIMA_MS.
+     */
+    private void adiar(int pendentes) {
+        falhasSeguidas++;
+        long esperaMs = Math.min(INTERVALO_MS << Math.min(falhasSeguidas, 10), ESPERA_MAXIMA_MS);
+        proximaTentativaNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        logger.warn("Relay da outbox: {} registro(s) não entregue(s) por falha de observador, nova tentativa em {} ms",
+            pendentes, esperaMs);
+    }
+
+    /**
+     * Entrega os registros agrupando em uma notificação os consecutivos do mesmo tipo,
+     * sessão e área, para que os observadores processem vendas em bloco.
+     * Para no primeiro grupo que algum observador não processar.
+     * @return Os registros entregues (ou já entregues antes), que podem sair da outbox
+     */
+    List<Registro> entregar(List<Registro> registros) {
+        List<Registro> concluidos = new ArrayList<>(registros.size());
+        List<Registro> grupo = new ArrayList<>();
+        for (Registro registro : registros) {
+            if (entregues.contains(registro.chave())) {
+                totalRepetidos.increment();
+                concluidos.add(registro);
+                continue;
+            }
+            if (!grupo.isEmpty() && !mesmoGrupo(grupo.get(0), registro)) {
+                if (!notificar(grupo)) {
+                    return concluidos;
+                }
+                concluidos.addAll(grupo);
+                grupo = new ArrayList<>();
+            }
+            grupo.add(registro);
+        }
+        if (!grupo.isEmpty() && notificar(grupo)) {
+            concluidos.addAll(grupo);
+        }
+        return concluidos;
+    }
+
+    private boolean mesmoGrupo(Registro a, Registro b) {
+        return a.tipo().equals(b.tipo())
+            && Objects.equals(a.ingresso().getSessaoId(), b.ingresso().getSessaoId())
+            && Objects.equals(a.ingresso().getAreaId(), b.ingresso().getAreaId());
+    }
+
+    private boolean notificar(List<Registro> grupo) {
+        List<Ingresso> ingressos = new ArrayList<>(grupo.size());
+        for (Registro registro : grupo) {
+            ingressos.add(registro.ingresso());
+        }
+        NotificacaoVenda notificacao = grupo.get(0).isCancelamento()
+            ? NotificacaoVenda.cancelamento(ingressos)
+            : new NotificacaoVenda(ingressos);
+        if (!destino.notificarConfirmando(notificacao)) {
+            return false;
+        }
+        for (Registro registro : grupo) {
+            entregues.add(registro.chave());
+        }
+        totalEntregues.add(grupo.size());
+        return true;
+    }
+
+    public long getTotalEntregues() {
+        return totalEntregues.sum();
+    }
+
+    public long getTotalLotes() {
+        return totalLotes.sum();
+    }
+
+    /**
+     * Registros ignorados por já terem sido entregues por esta instância.
+     * @return O total de repetições evitadas
+     */
+    public long getTotalRepetidos() {
+        return totalRepetidos.sum();
+    }
+}
@@ -2,6 +2,7 @@ package com.teatro.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface base para serviços do sistema.
@@ -46,6 +47,20 @@ public interface Service<T, ID> {
      */
     List<T> listarTodos();
     
+    /**
+     * Lista uma página de entidades em ordem de ID (paginação por chave).
+     * @param aposId O ID da última entidade da página anterior (null para a primeira página)
+     * @param limite A quantidade máxima de entidades
+     * @return As entidades da página
+     */
+    List<T> listarPagina(ID aposId, int limite);
+    
+    /**
+     * Percorre todas as entidades sem carregá-las de uma vez; o Stream deve ser fechado.
+     * @return Um Stream com as entidades
+     */
+    Stream<T> listarEmFluxo();
+    
     /**
      * Verifica se uma entidade existe.
      * @param id O identificador da entidade
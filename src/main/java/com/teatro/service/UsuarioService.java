@@ -3,6 +3,7 @@ package com.teatro.service;
 import com.teatro.dao.UsuarioDAO;
 import com.teatro.dao.UsuarioDAOImpl;
 import com.teatro.exception.TeatroException;
+import com.teatro.model.ContextoUsuario;
 import com.teatro.model.Usuario;
 import com.teatro.util.TeatroLogger;
 import com.teatro.util.Validator;
@@ -54,6 +55,20 @@ public class UsuarioService extends AbstractService<Usuario, Long, UsuarioDAO> {
         return usuarioDAO.buscarPorCpf(cpf);
     }
 
+    public Optional<Long> buscarIdPorCpf(String cpf) {
+        return usuarioDAO.buscarIdPorCpf(cpf);
+    }
+
+    /**
+     * Resolve o usuário pelo CPF uma única vez, para as operações que recebem só o CPF.
+     * O papel do usuário não é lido: o contexto serve para compras e listagens.
+     * @param cpf O CPF, em qualquer formatação
+     * @return O contexto do usuário, ou vazio se o CPF não pertencer a nenhum usuário
+     */
+    public Optional<ContextoUsuario> buscarContextoPorCpf(String cpf) {
+        return usuarioDAO.buscarIdPorCpf(cpf).map(id -> new ContextoUsuario(id, cpf, null));
+    }
+
     public Optional<Usuario> buscarPorEmail(String email) {
         return usuarioDAO.buscarPorEmail(email);
     }
@@ -62,6 +77,10 @@ public class UsuarioService extends AbstractService<Usuario, Long, UsuarioDAO> {
         return usuarioDAO.autenticar(identificador, senha);
     }
 
+    public Optional<Usuario> autenticarPorCpf(String cpf, String senha) {
+        return usuarioDAO.autenticarPorCpf(cpf, senha);
+    }
+
     public Optional<Usuario> autenticarPorEmail(String email, String senha) {
         return usuarioDAO.autenticarPorEmail(email, senha);
     }
@@ -1,84 +1,148 @@
 package com.teatro.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
 
 /**
- * Utilitário para hashing seguro de senhas usando SHA-256 com salt.
- * Implementa o padrão de segurança recomendado para armazenamento de senhas.
+ * Utilitário para hashing seguro de senhas.
+ * O formato atual é "pbkdf2-sha256:iteracoes:salt:hash" (PBKDF2 com HMAC-SHA256 do JDK).
+ * O número de iterações fica gravado em cada hash, então pode ser aumentado sem invalidar
+ * as senhas existentes: needsRehash indica quais devem ser regravadas no próximo login.
+ * Ainda são aceitos, apenas para verificação, o formato antigo "salt:hash" (uma passada de
+ * SHA-256) e senhas em texto plano. Todas as comparações levam tempo constante.
  */
 public class PasswordHasher {
-    
-    private static final String ALGORITHM = "SHA-256";
+
+    private static final String PBKDF2_PREFIX = "pbkdf2-sha256";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int KEY_LENGTH_BITS = 256;
+    /** Iterações padrão (recomendação OWASP para PBKDF2-HMAC-SHA256); ajustável por teatro.senha.iteracoes. */
+    private static final int DEFAULT_ITERATIONS = 600_000;
+    /** Limite para hashes adulterados no banco não travarem a verificação. */
+    private static final int MAX_ITERATIONS = 10_000_000;
+    private static final String LEGACY_ALGORITHM = "SHA-256";
     private static final int SALT_LENGTH = 16;
     private static final String SEPARATOR = ":";
-    
+    /** SecureRandom é thread-safe; uma instância compartilhada evita semear uma nova a cada salt. */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Número de iterações usado nos novos hashes.
+     * @return O valor da propriedade de sistema teatro.senha.iteracoes, ou o padrão
+     */
+    public static int getIterations() {
+        return Integer.getInteger("teatro.senha.iteracoes", DEFAULT_ITERATIONS);
+    }
+
     /**
      * Gera um salt aleatório.
      * @return Salt em formato Base64
      */
     public static String generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
+        RANDOM.nextBytes(salt);
         return Base64.getEncoder().encodeToString(salt);
     }
-    
+
     /**
-     * Faz o hash de uma senha com salt.
+     * Faz o hash de uma senha com salt no formato antigo (uma passada de SHA-256).
+     * Mantido apenas para verificar senhas gravadas como "salt:hash".
      * @param password Senha em texto plano
      * @param salt Salt para a senha
      * @return Hash da senha em formato Base64
      */
     public static String hashPassword(String password, String salt) {
         try {
-            MessageDigest md = MessageDigest.getInstance(ALGORITHM);
+            MessageDigest md = MessageDigest.getInstance(LEGACY_ALGORITHM);
             md.update(salt.getBytes());
             byte[] hashedPassword = md.digest(password.getBytes());
             return Base64.getEncoder().encodeToString(hashedPassword);
         } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Algoritmo de hash não disponível: " + ALGORITHM, e);
+            throw new RuntimeException("Algoritmo de hash não disponível: " + LEGACY_ALGORITHM, e);
         }
     }
-    
+
     /**
-     * Faz o hash de uma senha gerando um salt automaticamente.
+     * Faz o hash de uma senha no formato atual, gerando um salt automaticamente.
      * @param password Senha em texto plano
-     * @return String no formato "salt:hash"
+     * @return String no formato "pbkdf2-sha256:iteracoes:salt:hash"
      */
     public static String hashPassword(String password) {
-        String salt = generateSalt();
-        String hash = hashPassword(password, salt);
-        return salt + SEPARATOR + hash;
+        return hashPassword(password, getIterations());
     }
-    
+
+    /**
+     * Faz o hash de uma senha no formato atual com o número de iterações informado.
+     * @param password Senha em texto plano
+     * @param iterations Número de iterações do PBKDF2
+     * @return String no formato "pbkdf2-sha256:iteracoes:salt:hash"
+     */
+    public static String hashPassword(String password, int iterations) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations, KEY_LENGTH_BITS);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PBKDF2_PREFIX + SEPARATOR + iterations + SEPARATOR
+            + base64.encodeToString(salt) + SEPARATOR + base64.encodeToString(hash);
+    }
+
     /**
      * Verifica se uma senha corresponde ao hash armazenado.
      * @param password Senha em texto plano para verificar
-     * @param storedHash Hash armazenado no formato "salt:hash"
+     * @param storedHash Hash armazenado (formato atual, "salt:hash" antigo ou texto plano)
      * @return true se a senha corresponder ao hash
      */
     public static boolean verifyPassword(String password, String storedHash) {
-        if (storedHash == null || !storedHash.contains(SEPARATOR)) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+        if (storedHash.startsWith(PBKDF2_PREFIX + SEPARATOR)) {
+            return verifyPbkdf2(password, storedHash);
+        }
+        if (!storedHash.contains(SEPARATOR)) {
             // Se não tem separador, provavelmente é uma senha antiga em texto plano
             // Para compatibilidade, comparar diretamente
-            return password.equals(storedHash);
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                                         storedHash.getBytes(StandardCharsets.UTF_8));
         }
-        
+
         String[] parts = storedHash.split(SEPARATOR, 2);
         if (parts.length != 2) {
             return false;
         }
-        
+
         String salt = parts[0];
         String hash = parts[1];
-        
+
         String computedHash = hashPassword(password, salt);
-        return hash.equals(computedHash);
+        return MessageDigest.isEqual(hash.getBytes(StandardCharsets.UTF_8),
+                                     computedHash.getBytes(StandardCharsets.UTF_8));
     }
-    
+
+    /**
+     * Indica se o hash armazenado deve ser regravado no formato atual: senhas em texto plano,
+     * no formato SHA-256 antigo ou com menos iterações que as configuradas.
+     * @param storedHash Hash armazenado
+     * @return true se a senha deve ser regravada após um login bem-sucedido
+     */
+    public static boolean needsRehash(String storedHash) {
+        if (storedHash == null || !storedHash.startsWith(PBKDF2_PREFIX + SEPARATOR)) {
+            return true;
+        }
+        String[] parts = storedHash.split(SEPARATOR);
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < getIterations();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
     /**
      * Verifica se uma senha está em formato hasheado.
      * @param storedHash Hash armazenado
@@ -87,4 +151,36 @@ public class PasswordHasher {
     public static boolean isHashed(String storedHash) {
         return storedHash != null && storedHash.contains(SEPARATOR);
     }
-} 
\ No newline at end of file
+
+    private static boolean verifyPbkdf2(String password, String storedHash) {
+        String[] parts = storedHash.split(SEPARATOR);
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            if (iterations < 1 || iterations > MAX_ITERATIONS) {
+                return false;
+            }
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] salt = base64.decode(parts[2]);
+            byte[] expected = base64.decode(parts[3]);
+            byte[] computed = pbkdf2(password, salt, iterations, expected.length * 8);
+            return MessageDigest.isEqual(expected, computed);
+        } catch (IllegalArgumentException e) {
+            // Número de iterações ou Base64 inválidos
+            return false;
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int keyLengthBits) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, keyLengthBits);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Algoritmo de hash não disponível: " + PBKDF2_ALGORITHM, e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
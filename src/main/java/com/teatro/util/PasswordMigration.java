@@ -1,96 +1,130 @@
 package com.teatro.util;
 
-import com.teatro.database.DatabaseConnection;
-import com.teatro.util.TeatroLogger;
+import com.teatro.database.DatabaseConfig;
+import com.teatro.database.UnidadeDeTrabalho;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utilitário para migrar senhas existentes em texto plano para formato hasheado.
- * Esta classe deve ser executada uma única vez para atualizar senhas antigas.
+ * A migração percorre a tabela de usuários em lotes, em ordem de id (paginação por chave):
+ * cada lote é lido, hasheado em paralelo sem conexão emprestada e gravado em uma única
+ * transação junto com o checkpoint (último id processado). Se a aplicação cair no meio,
+ * a próxima execução retoma do checkpoint. Ao chegar ao fim da tabela o checkpoint é apagado,
+ * de modo que a execução seguinte percorre a tabela desde o início e encontra senhas em texto
+ * plano gravadas depois (ids abaixo do checkpoint, senhas redefinidas manualmente).
+ * Enquanto a migração não termina, o login continua aceitando senhas em texto plano e as
+ * regrava no formato atual (UsuarioDAOImpl).
  */
 public class PasswordMigration {
-    
+
     private static final TeatroLogger logger = TeatroLogger.getInstance();
-    
+
+    private static final String CHECKPOINT = "senhas_texto_plano";
+    private static final String SQL_LOTE =
+        "SELECT id, senha FROM usuarios WHERE id > ? AND senha NOT LIKE '%:%' ORDER BY id LIMIT ?";
+    /** Só grava se a senha não mudou desde a leitura (ex.: usuário trocou a senha no meio do lote). */
+    private static final String SQL_ATUALIZAR = "UPDATE usuarios SET senha = ? WHERE id = ? AND senha = ?";
+
     /**
-     * Migra todas as senhas em texto plano para formato hasheado.
+     * Migra todas as senhas em texto plano para formato hasheado, a partir do checkpoint.
      * @return Número de senhas migradas
      */
     public static int migrarSenhas() {
+        return migrarSenhas(DatabaseConfig.getInstance().getMigracaoSenhasTamanhoLote(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Migra até limiteLotes lotes de senhas em texto plano.
+     * @param tamanhoLote Usuários por lote
+     * @param limiteLotes Quantidade máxima de lotes nesta chamada
+     * @return Número de senhas migradas
+     */
+    static int migrarSenhas(int tamanhoLote, int limiteLotes) {
+        ForkJoinPool hashing = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long inicio = System.nanoTime();
+        long ultimoId = lerCheckpoint();
         int senhasMigradas = 0;
-        
-        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
-            // Buscar todos os usuários
-            String selectSql = "SELECT id, senha FROM usuarios";
-            try (PreparedStatement selectStmt = conn.prepareStatement(selectSql);
-                 ResultSet rs = selectStmt.executeQuery()) {
-                
-                while (rs.next()) {
-                    Long id = rs.getLong("id");
-                    String senhaAtual = rs.getString("senha");
-                    
-                    // Verificar se a senha já está hasheada
-                    if (!PasswordHasher.isHashed(senhaAtual)) {
-                        // Hash da senha em texto plano
-                        String senhaHasheada = PasswordHasher.hashPassword(senhaAtual);
-                        
-                        // Atualizar no banco
-                        String updateSql = "UPDATE usuarios SET senha = ? WHERE id = ?";
-                        try (PreparedStatement updateStmt = conn.prepareStatement(updateSql)) {
-                            updateStmt.setString(1, senhaHasheada);
-                            updateStmt.setLong(2, id);
-                            updateStmt.executeUpdate();
-                            senhasMigradas++;
-                            
-                            logger.info("Senha migrada para usuário ID: " + id);
-                        }
-                    }
+        int lotes = 0;
+        boolean chegouAoFim = false;
+
+        try {
+            while (lotes < limiteLotes) {
+                List<SenhaPendente> lote = buscarLote(ultimoId, tamanhoLote);
+                if (lote.isEmpty()) {
+                    chegouAoFim = true;
+                    break;
+                }
+                List<SenhaMigrada> migradas = hashear(hashing, lote);
+                ultimoId = lote.get(lote.size() - 1).id();
+                senhasMigradas += gravarLote(migradas, ultimoId);
+                lotes++;
+
+                double segundos = (System.nanoTime() - inicio) / (double) TimeUnit.SECONDS.toNanos(1);
+                logger.info("Migração de senhas: {} migradas em {} lote(s), último id {}, {} senhas/s",
+                    senhasMigradas, lotes, ultimoId, String.format("%.1f", senhasMigradas / segundos));
+                if (lote.size() < tamanhoLote) {
+                    chegouAoFim = true;
+                    break;
                 }
             }
-            
-            logger.info("Migração concluída. " + senhasMigradas + " senhas foram migradas.");
-            return senhasMigradas;
-            
-        } catch (SQLException e) {
-            logger.error("Erro durante a migração de senhas: " + e.getMessage());
-            throw new RuntimeException("Erro durante a migração de senhas", e);
+        } finally {
+            hashing.shutdown();
         }
+        if (chegouAoFim) {
+            apagarCheckpoint();
+        }
+
+        logger.info("Migração concluída. " + senhasMigradas + " senhas foram migradas.");
+        return senhasMigradas;
     }
-    
+
     /**
      * Verifica quantas senhas ainda estão em texto plano.
+     * Lê a tabela inteira; para saber apenas se há pendências use existemSenhasEmTextoPlano.
      * @return Número de senhas em texto plano
      */
     public static int contarSenhasEmTextoPlano() {
         int senhasEmTextoPlano = 0;
-        
-        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir()) {
             String sql = "SELECT COUNT(*) FROM usuarios WHERE senha NOT LIKE '%:%'";
-            try (PreparedStatement stmt = conn.prepareStatement(sql);
+            try (PreparedStatement stmt = uow.getConnection().prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
-                
+
                 if (rs.next()) {
                     senhasEmTextoPlano = rs.getInt(1);
                 }
             }
-            
+
         } catch (SQLException e) {
             logger.error("Erro ao contar senhas em texto plano: " + e.getMessage());
             throw new RuntimeException("Erro ao contar senhas em texto plano", e);
         }
-        
+
         return senhasEmTextoPlano;
     }
-    
+
+    /**
+     * Verifica se há alguma senha em texto plano depois do checkpoint.
+     * Percorre a chave primária a partir do último id migrado e para na primeira encontrada.
+     * @return true se a migração tem trabalho a fazer
+     */
+    public static boolean existemSenhasEmTextoPlano() {
+        return !buscarLote(lerCheckpoint(), 1).isEmpty();
+    }
+
     /**
      * Executa a migração se necessário.
      * @return true se a migração foi executada, false se não era necessária
      */
     public static boolean executarMigracaoSeNecessario() {
-        int senhasEmTextoPlano = contarSenhasEmTextoPlano();
-        
-        if (senhasEmTextoPlano > 0) {
-            logger.info("Encontradas " + senhasEmTextoPlano + " senhas em texto plano. Iniciando migração...");
+        if (existemSenhasEmTextoPlano()) {
+            logger.info("Encontradas senhas em texto plano. Iniciando migração...");
             migrarSenhas();
             return true;
         } else {
@@ -98,4 +132,116 @@ public class PasswordMigration {
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    private static List<SenhaPendente> buscarLote(long ultimoId, int tamanhoLote) {
+        List<SenhaPendente> lote = new ArrayList<>(tamanhoLote);
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(SQL_LOTE)) {
+
+            stmt.setLong(1, ultimoId);
+            stmt.setInt(2, tamanhoLote);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lote.add(new SenhaPendente(rs.getLong("id"), rs.getString("senha")));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao buscar senhas em texto plano: " + e.getMessage());
+            throw new RuntimeException("Erro ao buscar senhas em texto plano", e);
+        }
+        return lote;
+    }
+
+    /**
+     * Faz o hash do lote em paralelo. Nenhuma conexão fica emprestada durante o cálculo.
+     */
+    private static List<SenhaMigrada> hashear(ForkJoinPool hashing, List<SenhaPendente> lote) {
+        try {
+            return hashing.submit(() -> lote.parallelStream()
+                .map(p -> new SenhaMigrada(p.id(), p.senha(), PasswordHasher.hashPassword(p.senha())))
+                .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Migração de senhas interrompida", e);
+        } catch (ExecutionException e) {
+            logger.error("Erro ao calcular hash das senhas: " + e.getCause().getMessage());
+            throw new RuntimeException("Erro ao calcular hash das senhas", e.getCause());
+        }
+    }
+
+    /**
+     * Grava o lote e o checkpoint na mesma transação.
+     * @return Quantidade de senhas efetivamente atualizadas
+     */
+    private static int gravarLote(List<SenhaMigrada> migradas, long ultimoId) {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrirTransacao()) {
+            Connection conn = uow.getConnection();
+            int atualizadas = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_ATUALIZAR)) {
+                for (SenhaMigrada migrada : migradas) {
+                    stmt.setString(1, migrada.hash());
+                    stmt.setLong(2, migrada.id());
+                    stmt.setString(3, migrada.senhaOriginal());
+                    stmt.addBatch();
+                }
+                for (int resultado : stmt.executeBatch()) {
+                    if (resultado > 0 || resultado == Statement.SUCCESS_NO_INFO) {
+                        atualizadas++;
+                    }
+                }
+            }
+            gravarCheckpoint(conn, ultimoId, migradas.size());
+            uow.confirmar();
+            return atualizadas;
+        } catch (SQLException e) {
+            logger.error("Erro durante a migração de senhas: " + e.getMessage());
+            throw new RuntimeException("Erro durante a migração de senhas", e);
+        }
+    }
+
+    private static long lerCheckpoint() {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(
+                 "SELECT ultimo_id FROM checkpoints_migracao WHERE nome = ?")) {
+
+            stmt.setString(1, CHECKPOINT);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            logger.error("Erro ao ler checkpoint da migração de senhas: " + e.getMessage());
+            throw new RuntimeException("Erro ao ler checkpoint da migração de senhas", e);
+        }
+    }
+
+    private static void apagarCheckpoint() {
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir();
+             PreparedStatement stmt = uow.getConnection().prepareStatement(
+                 "DELETE FROM checkpoints_migracao WHERE nome = ?")) {
+
+            stmt.setString(1, CHECKPOINT);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Erro ao apagar checkpoint da migração de senhas: " + e.getMessage());
+            throw new RuntimeException("Erro ao apagar checkpoint da migração de senhas", e);
+        }
+    }
+
+    private static void gravarCheckpoint(Connection conn, long ultimoId, int processados) throws SQLException {
+        String sql = "INSERT INTO checkpoints_migracao (nome, ultimo_id, processados) VALUES (?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE ultimo_id = VALUES(ultimo_id), " +
+                     "processados = processados + VALUES(processados)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, CHECKPOINT);
+            stmt.setLong(2, ultimoId);
+            stmt.setInt(3, processados);
+            stmt.executeUpdate();
+        }
+    }
+
+    private record SenhaPendente(long id, String senha) {
+    }
+
+    private record SenhaMigrada(long id, String senhaOriginal, String hash) {
+    }
+}
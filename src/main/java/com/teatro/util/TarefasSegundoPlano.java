@@ -0,0 +1,53 @@
+package com.teatro.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.concurrent.Task;
+
+/**
+ * Executor compartilhado para o trabalho das telas fora da thread do JavaFX.
+ * Cada tarefa roda em uma virtual thread, de modo que esperas pelo banco não ocupam threads
+ * de plataforma; o resultado ou o erro é entregue na thread do JavaFX (pelo próprio Task).
+ * Tarefas canceladas não entregam nada. As telas normalmente submetem pelo ViewManager,
+ * que cancela as tarefas pendentes quando o usuário troca de tela.
+ */
+public final class TarefasSegundoPlano {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+    private static final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tarefa-tela-", 0).factory());
+
+    private TarefasSegundoPlano() {}
+
+    /**
+     * Executa um trabalho em segundo plano.
+     * Deve ser chamado na thread do JavaFX.
+     * @param trabalho O trabalho (consultas ao banco, chamadas aos serviços)
+     * @param aoConcluir Recebe o resultado na thread do JavaFX
+     * @param aoFalhar Recebe o erro na thread do JavaFX
+     * @return A tarefa, que pode ser cancelada
+     */
+    public static <T> Task<T> executar(Callable<T> trabalho, Consumer<T> aoConcluir, Consumer<Throwable> aoFalhar) {
+        Task<T> tarefa = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return trabalho.call();
+            }
+        };
+        tarefa.setOnSucceeded(e -> aoConcluir.accept(tarefa.getValue()));
+        tarefa.setOnFailed(e -> {
+            logger.error("Erro em tarefa de segundo plano", tarefa.getException());
+            aoFalhar.accept(tarefa.getException());
+        });
+        executor.execute(tarefa);
+        return tarefa;
+    }
+
+    /**
+     * Interrompe as tarefas em andamento (encerramento da aplicação).
+     */
+    public static void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -1,120 +1,147 @@
 package com.teatro.util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Classe utilitária para logging.
  * Implementa o padrão Singleton para garantir uma única instância do logger.
+ * As mensagens são encaminhadas ao SLF4J/logback (configuração em logback.xml), que filtra
+ * por nível e grava de forma assíncrona. Mensagens com parâmetros usam marcadores {} e só
+ * são formatadas se o nível estiver habilitado; para mensagens caras de montar, use as
+ * versões que recebem um Supplier.
  */
 public class TeatroLogger {
     private static TeatroLogger instance;
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
-    private TeatroLogger() {}
-    
+
+    private final Logger logger;
+
+    TeatroLogger(Logger logger) {
+        this.logger = logger;
+    }
+
     /**
      * Obtém a instância única da classe TeatroLogger.
      * @return A instância de TeatroLogger
      */
     public static synchronized TeatroLogger getInstance() {
         if (instance == null) {
-            instance = new TeatroLogger();
+            instance = new TeatroLogger(LoggerFactory.getLogger("com.teatro"));
         }
         return instance;
     }
-    
-    private String formatMessage(String level, String message) {
-        return String.format("[%s] [%s] %s", 
-            LocalDateTime.now().format(formatter),
-            level,
-            message);
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
     }
-    
+
     /**
      * Registra uma mensagem de debug.
      * @param message A mensagem a ser registrada
      */
     public void debug(String message) {
-        System.out.println(formatMessage("DEBUG", message));
+        logger.debug(message);
     }
-    
+
     /**
      * Registra uma mensagem de debug com parâmetros.
-     * @param format O formato da mensagem
+     * @param format O formato da mensagem, com marcadores {}
      * @param args Os argumentos da mensagem
      */
     public void debug(String format, Object... args) {
-        debug(String.format(format, args));
+        logger.debug(format, args);
+    }
+
+    /**
+     * Registra uma mensagem de debug montada apenas se o nível estiver habilitado.
+     * @param message Fornece a mensagem a ser registrada
+     */
+    public void debug(Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
     }
-    
+
     /**
      * Registra uma mensagem de informação.
      * @param message A mensagem a ser registrada
      */
     public void info(String message) {
-        System.out.println(formatMessage("INFO", message));
+        logger.info(message);
     }
-    
+
     /**
      * Registra uma mensagem de informação com parâmetros.
-     * @param format O formato da mensagem
+     * @param format O formato da mensagem, com marcadores {}
      * @param args Os argumentos da mensagem
      */
     public void info(String format, Object... args) {
-        info(String.format(format, args));
+        logger.info(format, args);
+    }
+
+    /**
+     * Registra uma mensagem de informação montada apenas se o nível estiver habilitado.
+     * @param message Fornece a mensagem a ser registrada
+     */
+    public void info(Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
     }
-    
+
     /**
      * Registra uma mensagem de aviso.
      * @param message A mensagem a ser registrada
      */
     public void warn(String message) {
-        System.err.println(formatMessage("WARN", message));
+        logger.warn(message);
     }
-    
+
     /**
      * Registra uma mensagem de aviso com parâmetros.
-     * @param format O formato da mensagem
+     * @param format O formato da mensagem, com marcadores {}
      * @param args Os argumentos da mensagem
      */
     public void warn(String format, Object... args) {
-        warn(String.format(format, args));
+        logger.warn(format, args);
     }
-    
+
     /**
      * Registra uma mensagem de erro.
      * @param message A mensagem a ser registrada
      */
     public void error(String message) {
-        System.err.println(formatMessage("ERROR", message));
+        logger.error(message);
     }
-    
+
     /**
      * Registra uma mensagem de erro com parâmetros.
-     * @param format O formato da mensagem
+     * @param format O formato da mensagem, com marcadores {}
      * @param args Os argumentos da mensagem
      */
     public void error(String format, Object... args) {
-        error(String.format(format, args));
+        logger.error(format, args);
     }
-    
+
     /**
      * Registra uma mensagem de erro com uma exceção.
+     * O stack trace é formatado e gravado pelo appender assíncrono, fora da thread que registrou o erro.
      * @param message A mensagem a ser registrada
      * @param throwable A exceção a ser registrada
      */
     public void error(String message, Throwable throwable) {
-        error(message + "\n" + throwable.toString());
-        for (StackTraceElement element : throwable.getStackTrace()) {
-            System.err.println("\tat " + element);
-        }
+        logger.error(message, throwable);
     }
-    
+
     /**
      * Log para limpeza de recursos do JavaFX
      */
     public static void logLimpezaRecursos(String operacao) {
-        getInstance().info("Limpeza de recursos: " + operacao);
+        getInstance().info("Limpeza de recursos: {}", operacao);
     }
-} 
\ No newline at end of file
+}
@@ -1,32 +1,22 @@
 package com.teatro.util;
 
 import com.teatro.exception.TeatroException;
-import java.util.regex.Pattern;
 
 /**
  * Classe utilitária para validações comuns do sistema.
  */
 public class Validator {
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[A-Za-z0-9+_.-]+@(.+)$"
-    );
-    
-    // Aceita CPF nos formatos: 12345678901, 123.456.789-01, 123456789-01
-    private static final Pattern CPF_PATTERN = Pattern.compile(
-        "^(\\d{3}[.-]?\\d{3}[.-]?\\d{3}[.-]?\\d{2}|\\d{11})$"
-    );
-    
-    private static final Pattern TELEFONE_PATTERN = Pattern.compile(
-        "^\\(?\\d{2}\\)?[\\s-]?\\d{4,5}[\\s-]?\\d{4}$"
-    );
+    /** Quantidade de dígitos de um CPF. */
+    private static final int DIGITOS_CPF = 11;
     
     /**
-     * Valida um endereço de e-mail.
+     * Valida um endereço de e-mail: parte local com letras, dígitos e os símbolos + _ . -,
+     * seguida de "@" e de um domínio não vazio.
      * @param email O e-mail a ser validado
      * @throws TeatroException Se o e-mail for inválido
      */
     public static void validarEmail(String email) {
-        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+        if (!emailValido(email)) {
             throw new TeatroException("E-mail inválido: " + email);
         }
     }
@@ -37,61 +27,194 @@ public class Validator {
      * @throws TeatroException Se o CPF for inválido
      */
     public static void validarCpf(String cpf) {
-        if (cpf == null || cpf.trim().isEmpty()) {
+        cpfNumerico(cpf);
+    }
+    
+    /**
+     * Valida um CPF e devolve seus 11 dígitos como número (o "000.000.001-91" vira 191).
+     * Percorre os caracteres uma única vez, sem expressões regulares e sem criar objetos;
+     * caracteres que não são dígitos (pontos, hífen, espaços) são ignorados.
+     * @param cpf O CPF, formatado ou não
+     * @return O CPF em forma numérica, adequada como chave
+     * @throws TeatroException Se o CPF for inválido
+     */
+    public static long cpfNumerico(CharSequence cpf) {
+        if (cpf == null || vazio(cpf)) {
             throw new TeatroException("CPF não pode ser nulo ou vazio");
         }
         
-        // Remove caracteres não numéricos
-        String cpfNumerico = cpf.replaceAll("[^0-9]", "");
+        long numero = 0;
+        int digitos = 0;
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int primeiroInformado = 0;
+        int segundoInformado = 0;
+        boolean todosIguais = true;
+        int anterior = -1;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            int digito = c - '0';
+            if (digitos < 9) {
+                somaPrimeiro += digito * (10 - digitos);
+            } else if (digitos == 9) {
+                primeiroInformado = digito;
+            } else if (digitos == 10) {
+                segundoInformado = digito;
+            }
+            if (digitos < 10) {
+                somaSegundo += digito * (11 - digitos);
+            }
+            if (anterior >= 0 && digito != anterior) {
+                todosIguais = false;
+            }
+            anterior = digito;
+            numero = numero * 10 + digito;
+            // Com mais de 11 dígitos o CPF já é inválido; não é preciso ler o resto
+            if (++digitos > DIGITOS_CPF) {
+                throw new TeatroException("CPF deve conter 11 dígitos");
+            }
+        }
         
         // Verifica se tem 11 dígitos
-        if (cpfNumerico.length() != 11) {
+        if (digitos != DIGITOS_CPF) {
             throw new TeatroException("CPF deve conter 11 dígitos");
         }
         
         // Verifica se todos os dígitos são iguais
-        if (cpfNumerico.matches("(\\d)\\1{10}")) {
+        if (todosIguais) {
             throw new TeatroException("CPF não pode ter todos os dígitos iguais");
         }
         
-        try {
-            // Calcula primeiro dígito verificador
-            int soma = 0;
-            for (int i = 0; i < 9; i++) {
-                soma += Character.getNumericValue(cpfNumerico.charAt(i)) * (10 - i);
-            }
-            int primeiroDigito = 11 - (soma % 11);
-            if (primeiroDigito > 9) primeiroDigito = 0;
-            
-            // Calcula segundo dígito verificador
-            soma = 0;
-            for (int i = 0; i < 10; i++) {
-                soma += Character.getNumericValue(cpfNumerico.charAt(i)) * (11 - i);
+        // Verifica se os dígitos calculados são iguais aos dígitos informados
+        if (primeiroInformado != digitoVerificador(somaPrimeiro) ||
+            segundoInformado != digitoVerificador(somaSegundo)) {
+            throw new TeatroException("CPF inválido (dígitos verificadores incorretos)");
+        }
+        return numero;
+    }
+    
+    /**
+     * Converte o CPF para a forma numérica sem conferir os dígitos verificadores, para uso
+     * como chave de busca: CPFs gravados antes da validação continuam sendo encontrados.
+     * @param cpf O CPF, formatado ou não
+     * @return Os 11 dígitos como número, ou -1 se o CPF for nulo ou não tiver 11 dígitos
+     */
+    public static long normalizarCpf(CharSequence cpf) {
+        if (cpf == null) {
+            return -1;
+        }
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > DIGITOS_CPF) {
+                    return -1;
+                }
+                numero = numero * 10 + (c - '0');
             }
-            int segundoDigito = 11 - (soma % 11);
-            if (segundoDigito > 9) segundoDigito = 0;
-            
-            // Verifica se os dígitos calculados são iguais aos dígitos informados
-            if (Character.getNumericValue(cpfNumerico.charAt(9)) != primeiroDigito ||
-                Character.getNumericValue(cpfNumerico.charAt(10)) != segundoDigito) {
-                throw new TeatroException("CPF inválido (dígitos verificadores incorretos)");
+        }
+        return digitos == DIGITOS_CPF ? numero : -1;
+    }
+    
+    /**
+     * Formata um CPF numérico no formato gravado no banco (000.000.000-00).
+     * @param cpf O CPF em forma numérica
+     * @return O CPF formatado
+     */
+    public static String formatarCpf(long cpf) {
+        if (cpf < 0 || cpf > 99_999_999_999L) {
+            throw new TeatroException("CPF deve conter 11 dígitos");
+        }
+        char[] formatado = "000.000.000-00".toCharArray();
+        for (int i = formatado.length - 1; i >= 0 && cpf > 0; i--) {
+            if (formatado[i] == '0') {
+                formatado[i] = (char) ('0' + cpf % 10);
+                cpf /= 10;
             }
-        } catch (NumberFormatException e) {
-            throw new TeatroException("CPF contém caracteres inválidos");
         }
+        return new String(formatado);
     }
     
     /**
-     * Valida um número de telefone.
+     * Valida um número de telefone: DDD com dois dígitos (parênteses opcionais) e número com
+     * 8 ou 9 dígitos, separados opcionalmente por espaço ou hífen, como "(11) 98765-4321".
      * @param telefone O telefone a ser validado
      * @throws TeatroException Se o telefone for inválido
      */
     public static void validarTelefone(String telefone) {
-        if (telefone == null || !TELEFONE_PATTERN.matcher(telefone).matches()) {
+        if (!telefoneValido(telefone)) {
             throw new TeatroException("Telefone inválido: " + telefone);
         }
     }
     
+    /**
+     * Verifica o formato do e-mail sem lançar exceção.
+     * @param email O e-mail a ser verificado
+     * @return true se o e-mail for válido
+     */
+    public static boolean emailValido(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int tamanho = email.length();
+        int arroba = 0;
+        while (arroba < tamanho && caractereLocalEmail(email.charAt(arroba))) {
+            arroba++;
+        }
+        if (arroba == 0 || arroba >= tamanho - 1 || email.charAt(arroba) != '@') {
+            return false;
+        }
+        for (int i = arroba + 1; i < tamanho; i++) {
+            if (quebraDeLinha(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Verifica o formato do telefone sem lançar exceção.
+     * @param telefone O telefone a ser verificado
+     * @return true se o telefone for válido
+     */
+    public static boolean telefoneValido(CharSequence telefone) {
+        if (telefone == null) {
+            return false;
+        }
+        int tamanho = telefone.length();
+        int i = 0;
+        if (i < tamanho && telefone.charAt(i) == '(') {
+            i++;
+        }
+        int ddd = contarDigitos(telefone, i);
+        if (ddd < 2) {
+            return false;
+        }
+        i += 2;
+        if (i < tamanho && telefone.charAt(i) == ')') {
+            i++;
+        }
+        if (i < tamanho && separadorTelefone(telefone.charAt(i))) {
+            i++;
+        }
+        
+        int inicio = contarDigitos(telefone, i);
+        i += inicio;
+        if (i == tamanho) {
+            // Número sem separador: prefixo e final juntos
+            return inicio == 8 || inicio == 9;
+        }
+        if ((inicio != 4 && inicio != 5) || !separadorTelefone(telefone.charAt(i))) {
+            return false;
+        }
+        i++;
+        return contarDigitos(telefone, i) == 4 && i + 4 == tamanho;
+    }
+    
     /**
      * Valida se um objeto não é nulo.
      * @param valor O objeto a ser validado
@@ -167,4 +290,40 @@ public class Validator {
             throw new TeatroException(nomeCampo + " deve estar entre " + min + " e " + max);
         }
     }
-} 
\ No newline at end of file
+    
+    private static int digitoVerificador(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito > 9 ? 0 : digito;
+    }
+    
+    private static boolean vazio(CharSequence valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int contarDigitos(CharSequence valor, int inicio) {
+        int fim = inicio;
+        while (fim < valor.length() && valor.charAt(fim) >= '0' && valor.charAt(fim) <= '9') {
+            fim++;
+        }
+        return fim - inicio;
+    }
+    
+    private static boolean caractereLocalEmail(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+            || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+    
+    /** Caracteres que terminam uma linha (não aceitos no domínio do e-mail). */
+    private static boolean quebraDeLinha(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+    
+    private static boolean separadorTelefone(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r' || c == '-';
+    }
+}
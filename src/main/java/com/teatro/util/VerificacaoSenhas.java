@@ -0,0 +1,100 @@
+package com.teatro.util;
+
+import com.teatro.exception.TeatroException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor limitado para a verificação de senhas.
+ * A verificação é cara de propósito (PasswordHasher); para que uma rajada de logins não ocupe
+ * todos os núcleos, as verificações rodam em no máximo metade dos processadores, com uma fila
+ * de tamanho fixo (teatro.senha.filaVerificacao). Com a fila cheia a tentativa é recusada
+ * com TeatroException em vez de esperar.
+ * Quem chama fica bloqueado até o resultado: não deve ser chamado na thread do JavaFX.
+ */
+public final class VerificacaoSenhas {
+    private static final TeatroLogger logger = TeatroLogger.getInstance();
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int CAPACIDADE_FILA = Integer.getInteger("teatro.senha.filaVerificacao", 64);
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(CAPACIDADE_FILA), criarThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+    private VerificacaoSenhas() {}
+
+    /**
+     * Verifica a senha no executor limitado.
+     * @param senha Senha em texto plano
+     * @param hashArmazenado Hash armazenado
+     * @return true se a senha corresponder ao hash
+     * @throws TeatroException Se houver verificações demais em andamento ou a espera for interrompida
+     */
+    public static boolean verificar(String senha, String hashArmazenado) {
+        Future<Boolean> verificacao;
+        try {
+            verificacao = executor.submit(() -> PasswordHasher.verifyPassword(senha, hashArmazenado));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Verificação de senha recusada: {} em andamento e {} na fila",
+                executor.getActiveCount(), executor.getQueue().size());
+            throw new TeatroException("Muitas tentativas de login simultâneas. Tente novamente em instantes.", e);
+        }
+        try {
+            return verificacao.get();
+        } catch (InterruptedException e) {
+            verificacao.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TeatroException("Verificação de senha interrompida", e);
+        } catch (ExecutionException e) {
+            logger.error("Erro ao verificar senha: " + e.getCause().getMessage());
+            throw new TeatroException("Erro ao verificar senha", e.getCause());
+        }
+    }
+
+    /**
+     * Faz uma verificação com o mesmo custo de uma senha real contra um hash fictício.
+     * Usada quando o identificador do login não existe, para que o tempo de resposta não
+     * revele quais contas existem.
+     * @param senha Senha em texto plano informada no login
+     * @throws TeatroException Nas mesmas condições de verificar
+     */
+    public static void verificarFicticia(String senha) {
+        verificar(senha != null ? senha : "", HashFicticio.HASH);
+    }
+
+    /**
+     * Quantidade de verificações aguardando na fila.
+     */
+    public static int getNaFila() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Quantidade máxima de verificações simultâneas.
+     */
+    public static int getThreads() {
+        return THREADS;
+    }
+
+    /**
+     * Hash fictício, com as iterações atuais, gerado só no primeiro login com identificador desconhecido.
+     */
+    private static final class HashFicticio {
+        private static final String HASH = PasswordHasher.hashPassword(PasswordHasher.generateSalt());
+    }
+
+    private static ThreadFactory criarThreads() {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "verificacao-senha-" + contador.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -1,15 +1,137 @@
 package com.teatro.util;
 
+import com.teatro.exception.TeatroException;
+import com.teatro.model.ContextoUsuario;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 /**
  * Gerenciador de transições de tela para evitar problemas de recursos do JavaFX
  * 
  * ATENÇÃO: Esta classe está temporariamente desabilitada para resolver problemas de estabilidade.
  * Para reativar, descomente as linhas nas views que chamam ViewManager.prepararStageParaNovaCena(stage)
+ * 
+ * O carregamento em segundo plano (executarEmSegundoPlano) está ativo: as tarefas de uma tela
+ * são canceladas quando o stage troca de cena ou é fechado.
+ * 
+ * O contexto do usuário autenticado é criado uma vez no login (iniciarSessao) e lido pelas
+ * telas do mesmo stage (getContexto) até a volta à tela de login.
  */
 public class ViewManager {
     
+    // Tarefas pendentes da cena atual de cada stage (acessado apenas na thread do JavaFX)
+    private static final Map<Stage, List<Task<?>>> tarefasPorStage = new WeakHashMap<>();
+    
+    // Usuário autenticado em cada stage (acessado apenas na thread do JavaFX)
+    private static final Map<Stage, ContextoUsuario> contextosPorStage = new WeakHashMap<>();
+    
+    /**
+     * Registra o usuário que acabou de se autenticar no stage.
+     * @param stage O stage da aplicação
+     * @param contexto O contexto criado a partir do usuário autenticado
+     */
+    public static void iniciarSessao(Stage stage, ContextoUsuario contexto) {
+        Validator.validarNaoNulo(contexto, "Usuário logado");
+        contextosPorStage.put(stage, contexto);
+    }
+    
+    /**
+     * Devolve o contexto do usuário autenticado no stage.
+     * @param stage O stage da tela
+     * @return O contexto registrado no login
+     * @throws TeatroException se nenhum usuário estiver logado no stage
+     */
+    public static ContextoUsuario getContexto(Stage stage) {
+        ContextoUsuario contexto = contextosPorStage.get(stage);
+        if (contexto == null) {
+            throw new TeatroException("Nenhum usuário logado");
+        }
+        return contexto;
+    }
+    
+    /**
+     * Remove o usuário autenticado do stage (saída ou volta à tela de login).
+     * @param stage O stage da aplicação
+     */
+    public static void encerrarSessao(Stage stage) {
+        contextosPorStage.remove(stage);
+    }
+    
+    /**
+     * Executa um trabalho fora da thread do JavaFX em nome da tela exibida no stage.
+     * Deve ser chamado na thread do JavaFX, depois de stage.setScene: se o usuário sair da tela
+     * antes do fim, a tarefa é cancelada e os callbacks não são chamados.
+     * @param stage O stage da tela
+     * @param trabalho O trabalho (consultas ao banco, chamadas aos serviços)
+     * @param aoConcluir Recebe o resultado na thread do JavaFX
+     * @param aoFalhar Recebe o erro na thread do JavaFX
+     * @return A tarefa
+     */
+    public static <T> Task<T> executarEmSegundoPlano(Stage stage, Callable<T> trabalho,
+            Consumer<T> aoConcluir, Consumer<Throwable> aoFalhar) {
+        List<Task<?>> tarefas = tarefasPorStage.computeIfAbsent(stage, ViewManager::observarStage);
+        Task<T> tarefa = TarefasSegundoPlano.executar(trabalho, aoConcluir, aoFalhar);
+        tarefas.add(tarefa);
+        // Os eventos de estado chegam pela thread do JavaFX, depois deste registro
+        tarefa.stateProperty().addListener((obs, anterior, estado) -> {
+            if (estado == Worker.State.SUCCEEDED || estado == Worker.State.FAILED
+                    || estado == Worker.State.CANCELLED) {
+                tarefas.remove(tarefa);
+            }
+        });
+        return tarefa;
+    }
+    
+    /**
+     * Cancela as tarefas em segundo plano pendentes da tela exibida no stage.
+     * @param stage O stage da tela
+     */
+    public static void cancelarTarefas(Stage stage) {
+        List<Task<?>> tarefas = tarefasPorStage.get(stage);
+        if (tarefas != null && !tarefas.isEmpty()) {
+            List<Task<?>> pendentes = new ArrayList<>(tarefas);
+            tarefas.clear();
+            // Sem interromper: uma thread interrompida no meio de uma consulta deixaria a
+            // conexão do pool inutilizável; o resultado de uma tarefa cancelada é descartado
+            pendentes.forEach(tarefa -> tarefa.cancel(false));
+            TeatroLogger.logLimpezaRecursos(pendentes.size() + " tarefa(s) de segundo plano cancelada(s)");
+        }
+    }
+    
+    private static List<Task<?>> observarStage(Stage stage) {
+        stage.sceneProperty().addListener((obs, anterior, nova) -> cancelarTarefas(stage));
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> cancelarTarefas(stage));
+        return new ArrayList<>();
+    }
+    
+    /**
+     * Cria o indicador exibido no lugar do conteúdo enquanto ele é carregado.
+     * @param mensagem O texto exibido abaixo do indicador
+     * @return O indicador de carregamento
+     */
+    public static VBox criarIndicadorCarregamento(String mensagem) {
+        ProgressIndicator indicador = new ProgressIndicator();
+        indicador.setMaxSize(40, 40);
+        Label texto = new Label(mensagem);
+        texto.setStyle("-fx-font-size: 14; -fx-text-fill: #7f8c8d;");
+        VBox carregando = new VBox(10, indicador, texto);
+        carregando.setAlignment(Pos.CENTER);
+        carregando.setMinHeight(120);
+        return carregando;
+    }
+    
     /**
      * Limpa recursos do JavaFX de forma segura
      * ATENÇÃO: Método temporariamente simplificado para evitar problemas
@@ -55,4 +177,4 @@ public class ViewManager {
             TeatroLogger.getInstance().warn("Erro ao resetar propriedades do stage: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.teatro.view;
 
 import com.teatro.model.*;
+import com.teatro.util.ViewManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -25,6 +26,7 @@ public class CompraIngressoView {
     private Sessao sessao;
     private Area areaSelecionada;
     private List<Area> areasDisponiveis;
+    private ComboBox<Area> areaComboBox;
     
     private static final double WINDOW_WIDTH = 1024;
     private static final double WINDOW_HEIGHT = 768;
@@ -43,27 +45,7 @@ public class CompraIngressoView {
         this.stage = stage;
         this.sessao = sessao;
         this.areasDisponiveis = new ArrayList<>();
-        try {
-            // Busca as áreas disponíveis para a sessão
-            this.areasDisponiveis = teatro.getAreasDisponiveis(sessao);
-            if (this.areasDisponiveis.isEmpty()) {
-                Alert alert = new Alert(Alert.AlertType.WARNING);
-                alert.setTitle("Atenção");
-                alert.setHeaderText("Nenhuma área disponível");
-                alert.setContentText("Não há áreas disponíveis para esta sessão.");
-                alert.showAndWait();
-                new SessoesView(teatro, usuario, stage).show();
-                return;
-            }
-        } catch (Exception e) {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Erro");
-            alert.setHeaderText("Erro ao buscar áreas disponíveis");
-            alert.setContentText("Ocorreu um erro ao buscar as áreas disponíveis. Por favor, tente novamente.");
-            alert.showAndWait();
-            new SessoesView(teatro, usuario, stage).show();
-            return;
-        }
+        // As áreas disponíveis são carregadas em segundo plano quando a tela é exibida (show)
     }
 
     public void show() {
@@ -102,6 +84,42 @@ public class CompraIngressoView {
 
         Scene scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
         stage.setScene(scene);
+        
+        carregarAreas();
+    }
+    
+    /**
+     * Busca as áreas disponíveis da sessão fora da thread do JavaFX e preenche a lista de seleção.
+     * Sem áreas disponíveis, ou em caso de erro, volta para a lista de sessões.
+     */
+    private void carregarAreas() {
+        ViewManager.executarEmSegundoPlano(stage, () -> teatro.getAreasDisponiveis(sessao),
+            areas -> {
+                if (areas.isEmpty()) {
+                    Alert alert = new Alert(Alert.AlertType.WARNING);
+                    alert.setTitle("Atenção");
+                    alert.setHeaderText("Nenhuma área disponível");
+                    alert.setContentText("Não há áreas disponíveis para esta sessão.");
+                    alert.showAndWait();
+                    new SessoesView(teatro, usuario, stage).show();
+                    return;
+                }
+                areasDisponiveis = areas;
+                // Cria uma lista ordenada das áreas
+                List<Area> areasOrdenadas = new ArrayList<>(areasDisponiveis);
+                Collections.sort(areasOrdenadas);
+                areaComboBox.getItems().setAll(areasOrdenadas);
+                areaComboBox.setPromptText("Selecione uma área");
+                areaComboBox.setDisable(false);
+            },
+            erro -> {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Erro");
+                alert.setHeaderText("Erro ao buscar áreas disponíveis");
+                alert.setContentText("Ocorreu um erro ao buscar as áreas disponíveis. Por favor, tente novamente.");
+                alert.showAndWait();
+                new SessoesView(teatro, usuario, stage).show();
+            });
     }
     
     private HBox createTopBar() {
@@ -214,8 +232,9 @@ public class CompraIngressoView {
         
         areaInfoBox.getChildren().addAll(precoLabel, precoValor, disponibilidadeLabel, disponibilidadeValor);
         
-        ComboBox<Area> areaComboBox = new ComboBox<>();
-        areaComboBox.setPromptText("Selecione uma área");
+        areaComboBox = new ComboBox<>();
+        areaComboBox.setPromptText("Carregando áreas...");
+        areaComboBox.setDisable(true);
         areaComboBox.setStyle("""
             -fx-pref-width: 300;
             -fx-background-color: white;
@@ -223,56 +242,43 @@ public class CompraIngressoView {
             -fx-border-radius: 4;
             """);
         
-        // Cria uma lista ordenada das áreas
-        List<Area> areasOrdenadas = new ArrayList<>(areasDisponiveis);
-        Collections.sort(areasOrdenadas);
-        areaComboBox.getItems().addAll(areasOrdenadas);
         
         areaComboBox.setOnAction(e -> {
             areaSelecionada = areaComboBox.getValue();
-            if (areaSelecionada != null) {
-                try {
-                    // Atualiza as informações da área
-                    Area areaAtualizada = teatro.getAreaAtualizada(sessao.getId(), areaSelecionada.getId());
-                    if (areaAtualizada != null) {
-                        precoValor.setText(String.format("R$ %.2f", areaAtualizada.getPreco()));
-                        disponibilidadeValor.setText(areaAtualizada.getPoltronasDisponiveis() + " de " + areaAtualizada.getCapacidadeTotal());
-                        areaInfoBox.setVisible(true);
-                        
-                        // Verifica se ainda há poltronas disponíveis
-                        if (areaAtualizada.getPoltronasDisponiveis() == 0) {
-                            Alert alert = new Alert(Alert.AlertType.WARNING);
-                            alert.setTitle("Atenção");
-                            alert.setHeaderText("Área lotada");
-                            alert.setContentText("Esta área não possui mais poltronas disponíveis. Por favor, selecione outra área.");
-                            alert.showAndWait();
-                            areaComboBox.setValue(null);
-                            areaSelecionada = null;
-                            areaInfoBox.setVisible(false);
-                        }
-                    } else {
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Erro");
-                        alert.setHeaderText("Erro ao atualizar informações da área");
-                        alert.setContentText("Não foi possível atualizar as informações da área. Por favor, tente novamente.");
-                        alert.showAndWait();
-                        areaComboBox.setValue(null);
-                        areaSelecionada = null;
-                        areaInfoBox.setVisible(false);
-                    }
-                } catch (Exception ex) {
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("Erro");
-                    alert.setHeaderText("Erro ao atualizar informações da área");
-                    alert.setContentText("Ocorreu um erro ao atualizar as informações da área. Por favor, tente novamente.");
-                    alert.showAndWait();
-                    areaComboBox.setValue(null);
-                    areaSelecionada = null;
-                    areaInfoBox.setVisible(false);
-                }
-            } else {
+            if (areaSelecionada == null) {
                 areaInfoBox.setVisible(false);
+                return;
             }
+            // Atualiza as informações da área fora da thread do JavaFX
+            Long areaId = areaSelecionada.getId();
+            areaComboBox.setDisable(true);
+            ViewManager.executarEmSegundoPlano(stage, () -> teatro.getAreaAtualizada(sessao.getId(), areaId),
+                areaAtualizada -> {
+                    areaComboBox.setDisable(false);
+                    if (areaAtualizada == null) {
+                        mostrarErroArea("Não foi possível atualizar as informações da área. Por favor, tente novamente.");
+                        limparSelecao(areaInfoBox);
+                        return;
+                    }
+                    precoValor.setText(String.format("R$ %.2f", areaAtualizada.getPreco()));
+                    disponibilidadeValor.setText(areaAtualizada.getPoltronasDisponiveis() + " de " + areaAtualizada.getCapacidadeTotal());
+                    areaInfoBox.setVisible(true);
+                    
+                    // Verifica se ainda há poltronas disponíveis
+                    if (areaAtualizada.getPoltronasDisponiveis() == 0) {
+                        Alert alert = new Alert(Alert.AlertType.WARNING);
+                        alert.setTitle("Atenção");
+                        alert.setHeaderText("Área lotada");
+                        alert.setContentText("Esta área não possui mais poltronas disponíveis. Por favor, selecione outra área.");
+                        alert.showAndWait();
+                        limparSelecao(areaInfoBox);
+                    }
+                },
+                erro -> {
+                    areaComboBox.setDisable(false);
+                    mostrarErroArea("Ocorreu um erro ao atualizar as informações da área. Por favor, tente novamente.");
+                    limparSelecao(areaInfoBox);
+                });
         });
         
         areaSelectionBox.getChildren().addAll(areaLabel, areaComboBox, areaInfoBox);
@@ -322,4 +328,18 @@ public class CompraIngressoView {
         card.getChildren().addAll(eventInfo, separator, areaSelectionBox, buttonBox);
         return card;
     }
+    
+    private void limparSelecao(VBox areaInfoBox) {
+        areaComboBox.setValue(null);
+        areaSelecionada = null;
+        areaInfoBox.setVisible(false);
+    }
+    
+    private void mostrarErroArea(String mensagem) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Erro");
+        alert.setHeaderText("Erro ao atualizar informações da área");
+        alert.setContentText(mensagem);
+        alert.showAndWait();
+    }
 }
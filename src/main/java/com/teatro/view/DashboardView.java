@@ -1,8 +1,9 @@
 package com.teatro.view;
 
 import com.teatro.model.*;
-import com.teatro.service.IngressoService;
 import com.teatro.service.EstatisticasService;
+import com.teatro.service.EstatisticasSnapshot;
+import com.teatro.util.ViewManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,6 +14,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import java.time.Instant;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
@@ -23,9 +25,10 @@ import java.util.ArrayList;
 public class DashboardView {
     private Teatro teatro;
     private Usuario usuarioLogado;
+    private ContextoUsuario contexto;
     private Stage stage;
-    private IngressoService ingressoService;
     private EstatisticasService estatisticasService;
+    private VBox areaEstatisticas;
     
     private static final double WINDOW_WIDTH = 1024;
     private static final double WINDOW_HEIGHT = 768;
@@ -40,8 +43,8 @@ public class DashboardView {
     public DashboardView(Teatro teatro, Usuario usuarioLogado, Stage stage) {
         this.teatro = teatro;
         this.usuarioLogado = usuarioLogado;
+        this.contexto = ViewManager.getContexto(stage);
         this.stage = stage;
-        this.ingressoService = IngressoService.getInstance();
         this.estatisticasService = EstatisticasService.getInstance();
     }
 
@@ -73,7 +76,7 @@ public class DashboardView {
         pageTitle.setTextFill(Color.web(TEXT_COLOR));
         
         // Conteúdo principal baseado no tipo de usuário
-        if ("ADMIN".equals(usuarioLogado.getTipoUsuario())) {
+        if (contexto.isAdmin()) {
             contentContainer.getChildren().addAll(pageTitle, criarAreaPrincipalAdmin());
         } else {
             contentContainer.getChildren().addAll(pageTitle, criarAreaPrincipalUsuario());
@@ -85,6 +88,10 @@ public class DashboardView {
         Scene scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
         stage.setScene(scene);
         stage.show();
+        
+        if (areaEstatisticas != null) {
+            carregarEstatisticas();
+        }
     }
     
     private HBox createTopBar() {
@@ -180,24 +187,20 @@ public class DashboardView {
         
         btnComprar.setOnAction(e -> new SessoesView(teatro, usuarioLogado, stage).show());
         btnImprimir.setOnAction(e -> {
-            List<Ingresso> ingressos = ingressoService.buscarPorUsuario(usuarioLogado.getCpf());
-            List<IngressoModerno> ingressosModernos = new ArrayList<>();
-            
-            for (Ingresso ingresso : ingressos) {
-                ingressosModernos.add(new IngressoModerno(
-                    ingresso.getId(),
-                    ingresso.getEventoNome(),
-                    ingresso.getTipoSessao().getDescricao(),
-                    ingresso.getDataSessao(),
-                    ingresso.getAreaNome(),
-                    ingresso.getNumeroPoltrona(),
-                    ingresso.getValor(),
-                    ingresso.getDataCompra(),
-                    ingresso.getCodigo()
-                ));
-            }
-            
-            new ImpressaoIngressoView(teatro, usuarioLogado, stage, ingressosModernos).show();
+            // Os ingressos são buscados fora da thread do JavaFX
+            btnImprimir.setDisable(true);
+            btnImprimir.setText("Carregando...");
+            ViewManager.executarEmSegundoPlano(stage, this::buscarIngressosModernos,
+                ingressosModernos -> new ImpressaoIngressoView(teatro, usuarioLogado, stage, ingressosModernos).show(),
+                erro -> {
+                    btnImprimir.setDisable(false);
+                    btnImprimir.setText("Imprimir Ingresso");
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Erro");
+                    alert.setHeaderText("Erro ao buscar ingressos");
+                    alert.setContentText("Não foi possível carregar seus ingressos. Por favor, tente novamente.");
+                    alert.showAndWait();
+                });
         });
         
         botoesAcao.getChildren().addAll(btnComprar, btnImprimir);
@@ -206,6 +209,26 @@ public class DashboardView {
         return area;
     }
 
+    private List<IngressoModerno> buscarIngressosModernos() {
+        List<Ingresso> ingressos = teatro.buscarIngressos(contexto);
+        List<IngressoModerno> ingressosModernos = new ArrayList<>();
+        
+        for (Ingresso ingresso : ingressos) {
+            ingressosModernos.add(new IngressoModerno(
+                ingresso.getId(),
+                ingresso.getEventoNome(),
+                ingresso.getTipoSessao().getDescricao(),
+                ingresso.getDataSessao(),
+                ingresso.getAreaNome(),
+                ingresso.getNumeroPoltrona(),
+                ingresso.getValor(),
+                ingresso.getDataCompra(),
+                ingresso.getCodigo()
+            ));
+        }
+        return ingressosModernos;
+    }
+
     private HBox criarItemInstrucao(String titulo, String descricao) {
         HBox item = new HBox(10);
         item.setAlignment(Pos.CENTER_LEFT);
@@ -229,8 +252,57 @@ public class DashboardView {
         VBox area = new VBox(20);
         area.setPadding(new Insets(20));
 
-        // Buscar estatísticas reais do banco de dados
-        Map<String, Object> estatisticas = estatisticasService.buscarEstatisticas();
+        // As estatísticas são carregadas em segundo plano depois que a tela é exibida
+        areaEstatisticas = new VBox(20);
+        areaEstatisticas.getChildren().add(ViewManager.criarIndicadorCarregamento("Carregando estatísticas..."));
+
+        // Botões de ação
+        HBox botoesAcao = new HBox(20);
+        botoesAcao.setAlignment(Pos.CENTER);
+        
+        Button btnComprar = new Button("Comprar Ingresso");
+        Button btnImprimir = new Button("Imprimir Ingresso");
+        
+        String buttonStyle = """
+            -fx-background-color: %s;
+            -fx-text-fill: white;
+            -fx-font-weight: bold;
+            -fx-padding: 10 20;
+            -fx-background-radius: 5;
+            -fx-cursor: hand;
+            """;
+        
+        btnComprar.setStyle(String.format(buttonStyle, PRIMARY_COLOR));
+        btnImprimir.setStyle(String.format(buttonStyle, SECONDARY_COLOR));
+        
+        btnComprar.setOnAction(e -> new SessoesView(teatro, usuarioLogado, stage).show());
+        btnImprimir.setOnAction(e -> new ImpressaoIngressoView(teatro, usuarioLogado, stage, List.of()).show());
+        
+        botoesAcao.getChildren().addAll(btnComprar, btnImprimir);
+
+        area.getChildren().addAll(areaEstatisticas, botoesAcao);
+        return area;
+    }
+
+    private void carregarEstatisticas() {
+        // Estatísticas mantidas em memória, atualizadas a cada venda; podem consultar o banco se expiradas
+        ViewManager.executarEmSegundoPlano(stage, estatisticasService::obterSnapshot,
+            this::exibirEstatisticas,
+            erro -> {
+                Label lblErro = new Label("Não foi possível carregar as estatísticas.");
+                lblErro.setStyle("-fx-font-size: 14; -fx-text-fill: #e74c3c;");
+                areaEstatisticas.getChildren().setAll(lblErro);
+            });
+    }
+
+    private void exibirEstatisticas(EstatisticasSnapshot snapshot) {
+        Map<String, Object> estatisticas = snapshot.getEstatisticas();
+
+        Label lblAtualizacao = new Label(String.format(
+            "Dados do banco de %d s atrás · calculado em %d ms",
+            snapshot.getIdade(Instant.now()).toSeconds(),
+            snapshot.getDuracaoCalculo().toMillis()));
+        lblAtualizacao.setStyle("-fx-font-size: 12; -fx-text-fill: #7f8c8d;");
 
         // Seção de Vendas
         VBox secaoVendas = criarCardSecao(
@@ -271,38 +343,13 @@ public class DashboardView {
             criarTabelaLucroMedio((List<Map<String, Object>>) estatisticas.get("lucroMedioPorPeca"))
         );
 
-        // Botões de ação
-        HBox botoesAcao = new HBox(20);
-        botoesAcao.setAlignment(Pos.CENTER);
-        
-        Button btnComprar = new Button("Comprar Ingresso");
-        Button btnImprimir = new Button("Imprimir Ingresso");
-        
-        String buttonStyle = """
-            -fx-background-color: %s;
-            -fx-text-fill: white;
-            -fx-font-weight: bold;
-            -fx-padding: 10 20;
-            -fx-background-radius: 5;
-            -fx-cursor: hand;
-            """;
-        
-        btnComprar.setStyle(String.format(buttonStyle, PRIMARY_COLOR));
-        btnImprimir.setStyle(String.format(buttonStyle, SECONDARY_COLOR));
-        
-        btnComprar.setOnAction(e -> new SessoesView(teatro, usuarioLogado, stage).show());
-        btnImprimir.setOnAction(e -> new ImpressaoIngressoView(teatro, usuarioLogado, stage, List.of()).show());
-        
-        botoesAcao.getChildren().addAll(btnComprar, btnImprimir);
-
-        area.getChildren().addAll(
+        areaEstatisticas.getChildren().setAll(
+            lblAtualizacao,
             secaoVendas,
             secaoOcupacao,
             secaoFaturamento,
-            secaoLucroMedio,
-            botoesAcao
+            secaoLucroMedio
         );
-        return area;
     }
 
     private VBox criarCardSecao(String titulo, Node conteudo) {
@@ -10,6 +10,7 @@ import javafx.stage.Stage;
 import javafx.geometry.Pos;
 import javafx.geometry.Insets;
 import java.util.Optional;
+import com.teatro.model.ContextoUsuario;
 import com.teatro.model.Usuario;
 import com.teatro.model.Teatro;
 import com.teatro.model.factory.UsuarioFactory;
@@ -51,6 +52,8 @@ public class LoginView {
         // ViewManager.prepararStageParaNovaCena(stage);
         
         stage.setTitle("Sistema de Teatro - Login");
+        // Voltar ao login encerra a sessão do usuário anterior
+        ViewManager.encerrarSessao(stage);
 
         // Container principal
         BorderPane root = new BorderPane();
@@ -189,34 +192,43 @@ public class LoginView {
                 return;
             }
             
-            try {
-                // Tenta autenticar o usuário
-                Optional<Usuario> usuarioOpt = teatro.autenticarUsuario(identificador, senha);
-                
-                if (usuarioOpt.isPresent()) {
-                    Usuario usuario = usuarioOpt.get();
-                    errorLabel.setVisible(false);
-                    
-                    // Redireciona para a tela apropriada com base no tipo de usuário
-                    if ("ADMIN".equals(usuario.getTipoUsuario())) {
-                        new DashboardView(teatro, usuario, stage).show();
+            // A autenticação (consulta e verificação do hash da senha) roda fora da thread do JavaFX
+            loginButton.setDisable(true);
+            loginButton.setText("Entrando...");
+            ViewManager.executarEmSegundoPlano(stage,
+                () -> teatro.autenticarUsuario(identificador, senha),
+                usuarioOpt -> {
+                    loginButton.setDisable(false);
+                    loginButton.setText("Entrar");
+                    if (usuarioOpt.isPresent()) {
+                        Usuario usuario = usuarioOpt.get();
+                        errorLabel.setVisible(false);
+                        // ID e papel resolvidos aqui acompanham o usuário pelas telas seguintes
+                        ViewManager.iniciarSessao(stage, ContextoUsuario.de(usuario));
+                        
+                        // Redireciona para a tela apropriada com base no tipo de usuário
+                        if ("ADMIN".equals(usuario.getTipoUsuario())) {
+                            new DashboardView(teatro, usuario, stage).show();
+                        } else {
+                            new SessoesView(teatro, usuario, stage).show();
+                        }
+                    } else {
+                        errorLabel.setText("CPF/Email ou senha incorretos.");
+                        errorLabel.setVisible(true);
+                    }
+                },
+                erro -> {
+                    loginButton.setDisable(false);
+                    loginButton.setText("Entrar");
+                    if (erro instanceof TeatroException) {
+                        // Captura exceções de validação (CPF inválido, email inválido, etc.)
+                        errorLabel.setText("Dados incorretos: " + erro.getMessage());
                     } else {
-                        new SessoesView(teatro, usuario, stage).show();
+                        // Captura outras exceções inesperadas
+                        errorLabel.setText("Erro ao fazer login. Tente novamente.");
                     }
-                } else {
-                    errorLabel.setText("CPF/Email ou senha incorretos.");
                     errorLabel.setVisible(true);
-                }
-            } catch (TeatroException ex) {
-                // Captura exceções de validação (CPF inválido, email inválido, etc.)
-                errorLabel.setText("Dados incorretos: " + ex.getMessage());
-                errorLabel.setVisible(true);
-            } catch (Exception ex) {
-                // Captura outras exceções inesperadas
-                errorLabel.setText("Erro ao fazer login. Tente novamente.");
-                errorLabel.setVisible(true);
-                System.err.println("Erro inesperado no login: " + ex.getMessage());
-            }
+                });
         });
         
         loginForm.getChildren().addAll(identificadorBox, senhaBox, loginButton, esqueceuSenhaButton, cadastrarButton, errorLabel);
@@ -412,26 +424,38 @@ public class LoginView {
             try {
                 // Valida o CPF usando o Validator
                 Validator.validarCpf(novoUsuario.getCpf());
-                
-                if (teatro.cadastrarUsuario(novoUsuario)) {
-                    cadastroStage.close();
-                    errorLabel.setText("");
-                    errorLabel.setVisible(false);
-                    
-                    // Mostrar mensagem de sucesso
-                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                    alert.setTitle("Cadastro realizado");
-                    alert.setHeaderText(null);
-                    alert.setContentText("Cadastro realizado com sucesso! Agora você pode fazer login.");
-                    alert.showAndWait();
-                } else {
-                    errorLabel.setText("Erro ao cadastrar usuário");
-                    errorLabel.setVisible(true);
-                }
             } catch (TeatroException ex) {
                 errorLabel.setText(ex.getMessage());
                 errorLabel.setVisible(true);
+                return;
             }
+            
+            // O cadastro (hash da senha e gravação) roda fora da thread do JavaFX
+            cadastrarButton.setDisable(true);
+            ViewManager.executarEmSegundoPlano(cadastroStage, () -> teatro.cadastrarUsuario(novoUsuario),
+                cadastrado -> {
+                    cadastrarButton.setDisable(false);
+                    if (cadastrado) {
+                        cadastroStage.close();
+                        errorLabel.setText("");
+                        errorLabel.setVisible(false);
+                        
+                        // Mostrar mensagem de sucesso
+                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                        alert.setTitle("Cadastro realizado");
+                        alert.setHeaderText(null);
+                        alert.setContentText("Cadastro realizado com sucesso! Agora você pode fazer login.");
+                        alert.showAndWait();
+                    } else {
+                        errorLabel.setText("Erro ao cadastrar usuário");
+                        errorLabel.setVisible(true);
+                    }
+                },
+                erro -> {
+                    cadastrarButton.setDisable(false);
+                    errorLabel.setText(erro instanceof TeatroException ? erro.getMessage() : "Erro ao cadastrar usuário");
+                    errorLabel.setVisible(true);
+                });
         });
 
         Scene scene = new Scene(root, 800, 800);
@@ -560,30 +584,36 @@ public class LoginView {
                 return;
             }
 
-            try {
-                // Verifica se o usuário existe
-                Optional<Usuario> usuarioOpt = teatro.verificarUsuarioParaRecuperacao(cpf, email);
-                
-                if (usuarioOpt.isPresent()) {
-                    Usuario usuario = usuarioOpt.get();
-                    teatro.recuperarSenha(usuario.getId(), novaSenha);
-                    
-                    // Mostra mensagem de sucesso
-                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                    alert.setTitle("Senha Recuperada");
-                    alert.setHeaderText(null);
-                    alert.setContentText("Sua senha foi atualizada com sucesso!");
-                    alert.showAndWait();
-                    
-                    recuperacaoStage.close();
-                } else {
-                    errorLabel.setText("CPF ou email não encontrados");
+            // A busca do usuário e o hash da nova senha rodam fora da thread do JavaFX
+            recuperarButton.setDisable(true);
+            ViewManager.executarEmSegundoPlano(recuperacaoStage,
+                () -> {
+                    // Verifica se o usuário existe
+                    Optional<Usuario> usuarioOpt = teatro.verificarUsuarioParaRecuperacao(cpf, email);
+                    usuarioOpt.ifPresent(usuario -> teatro.recuperarSenha(usuario.getId(), novaSenha));
+                    return usuarioOpt.isPresent();
+                },
+                recuperada -> {
+                    recuperarButton.setDisable(false);
+                    if (recuperada) {
+                        // Mostra mensagem de sucesso
+                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                        alert.setTitle("Senha Recuperada");
+                        alert.setHeaderText(null);
+                        alert.setContentText("Sua senha foi atualizada com sucesso!");
+                        alert.showAndWait();
+                        
+                        recuperacaoStage.close();
+                    } else {
+                        errorLabel.setText("CPF ou email não encontrados");
+                        errorLabel.setVisible(true);
+                    }
+                },
+                erro -> {
+                    recuperarButton.setDisable(false);
+                    errorLabel.setText("Erro ao recuperar senha: " + erro.getMessage());
                     errorLabel.setVisible(true);
-                }
-            } catch (Exception ex) {
-                errorLabel.setText("Erro ao recuperar senha: " + ex.getMessage());
-                errorLabel.setVisible(true);
-            }
+                });
         });
 
         Scene scene = new Scene(root, 500, 600);
@@ -1,14 +1,21 @@
 package com.teatro.view;
 
+import com.teatro.exception.PoltronaOcupadaException;
 import com.teatro.model.Area;
+import com.teatro.model.ContextoUsuario;
 import com.teatro.model.Evento;
 import com.teatro.model.IngressoModerno;
+import com.teatro.model.MapaPoltronas;
 import com.teatro.model.Poltrona;
 import com.teatro.model.Sessao;
 import com.teatro.model.Teatro;
 import com.teatro.model.Usuario;
+import com.teatro.model.state.ReservaPoltronas;
+import com.teatro.util.TarefasSegundoPlano;
+import com.teatro.util.ViewManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -19,6 +26,7 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,16 +36,19 @@ import java.util.Optional;
 public class SelecionarPoltronaView {
     private Teatro teatro;
     private Usuario usuario;
+    private ContextoUsuario contexto;
     private Stage stage;
     private Sessao sessao;
     private Area area;
     private List<Poltrona> poltronasSelecionadas;
-    private List<Integer> poltronasDisponiveis;
+    private MapaPoltronas mapaPoltronas;
+    private BitSet reservadasPorOutros;
     
     // Componentes da interface que precisam ser acessados em múltiplos métodos
     private Label qtdValor;
     private Label valorTotalValor;
     private Button confirmarButton;
+    private VBox mapaContainer;
     
     private static final double WINDOW_WIDTH = 1024;
     private static final double WINDOW_HEIGHT = 768;
@@ -53,37 +64,19 @@ public class SelecionarPoltronaView {
     private static final String POLTRONA_DISPONIVEL = "#2ecc71";
     private static final String POLTRONA_OCUPADA = "#e74c3c";
     private static final String POLTRONA_SELECIONADA = "#3498db";
+    private static final String POLTRONA_RESERVADA = "#f39c12";
 
     public SelecionarPoltronaView(Teatro teatro, Usuario usuario, Stage stage, Sessao sessao, Area area) {
         this.teatro = teatro;
         this.usuario = usuario;
+        this.contexto = ViewManager.getContexto(stage);
         this.stage = stage;
         this.sessao = sessao;
         this.area = area;
         this.poltronasSelecionadas = new ArrayList<>();
-        this.poltronasDisponiveis = new ArrayList<>();
-        
-        try {
-            // Busca as poltronas disponíveis para a área na sessão
-            this.poltronasDisponiveis = teatro.getPoltronasDisponiveis(sessao, area);
-            if (this.poltronasDisponiveis.isEmpty()) {
-                Alert alert = new Alert(Alert.AlertType.WARNING);
-                alert.setTitle("Atenção");
-                alert.setHeaderText("Área lotada");
-                alert.setContentText("Esta área não possui mais poltronas disponíveis.");
-                alert.showAndWait();
-                new CompraIngressoView(teatro, usuario, stage, sessao).show();
-                return;
-            }
-        } catch (Exception e) {
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Erro");
-            alert.setHeaderText("Erro ao buscar poltronas disponíveis");
-            alert.setContentText("Ocorreu um erro ao buscar as poltronas disponíveis. Por favor, tente novamente.");
-            alert.showAndWait();
-            new CompraIngressoView(teatro, usuario, stage, sessao).show();
-            return;
-        }
+        this.mapaPoltronas = new MapaPoltronas(area.getCapacidadeTotal());
+        this.reservadasPorOutros = new BitSet();
+        // O mapa de ocupação é carregado em segundo plano quando a tela é exibida (show)
     }
 
     public void show() {
@@ -181,10 +174,21 @@ public class SelecionarPoltronaView {
         selecionadaLabel.setFont(Font.font("System", 14));
         selecionadaLegenda.getChildren().addAll(selecionadaRect, selecionadaLabel);
         
-        legendaBox.getChildren().addAll(disponivelLegenda, ocupadaLegenda, selecionadaLegenda);
+        // Reservada por outro usuário
+        HBox reservadaLegenda = new HBox(10);
+        reservadaLegenda.setAlignment(Pos.CENTER_LEFT);
+        Rectangle reservadaRect = new Rectangle(20, 20);
+        reservadaRect.setFill(Color.web(POLTRONA_RESERVADA));
+        reservadaRect.setArcWidth(5);
+        reservadaRect.setArcHeight(5);
+        Label reservadaLabel = new Label("Reservada");
+        reservadaLabel.setFont(Font.font("System", 14));
+        reservadaLegenda.getChildren().addAll(reservadaRect, reservadaLabel);
+        
+        legendaBox.getChildren().addAll(disponivelLegenda, ocupadaLegenda, selecionadaLegenda, reservadaLegenda);
         
         // Mapa de poltronas
-        VBox mapaContainer = new VBox(20);
+        mapaContainer = new VBox(20);
         mapaContainer.setAlignment(Pos.CENTER);
         mapaContainer.setPadding(new Insets(20));
         mapaContainer.setStyle("-fx-background-color: " + CARD_BACKGROUND + "; -fx-effect: dropshadow(three-pass-box, rgba(0,0,0,0.1), 10, 0, 0, 0); -fx-background-radius: 8;");
@@ -203,80 +207,9 @@ public class SelecionarPoltronaView {
         telaStack.getChildren().addAll(tela, telaLabel);
         telaStack.setPadding(new Insets(0, 0, 30, 0));
         
-        // Grid de poltronas
-        GridPane poltronasGrid = new GridPane();
-        poltronasGrid.setAlignment(Pos.CENTER);
-        poltronasGrid.setHgap(10);
-        poltronasGrid.setVgap(10);
-        
-        // Número de linhas e colunas para o grid
-        int numColunas = 10;
-        int capacidade = area.getCapacidadeTotal();
-        int numLinhas = (int) Math.ceil((double) capacidade / numColunas);
-
-        // Cria as poltronas
-        for (int i = 0; i < numLinhas; i++) {
-            for (int j = 0; j < numColunas; j++) {
-                int numero = i * numColunas + j + 1;
-                if (numero > capacidade) break;
-
-                // Cria a poltrona
-                Button poltrona = new Button(String.valueOf(numero));
-                poltrona.setPrefSize(50, 50);
-                poltrona.setFont(Font.font("System", FontWeight.BOLD, 14));
-
-                // Verifica se a poltrona está ocupada
-                boolean ocupada = !poltronasDisponiveis.contains(numero);
-
-                if (ocupada) {
-                    poltrona.setStyle("-fx-background-color: " + POLTRONA_OCUPADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
-                    poltrona.setDisable(true);
-                } else {
-                    poltrona.setStyle("-fx-background-color: " + POLTRONA_DISPONIVEL + "; -fx-text-fill: white; -fx-background-radius: 5;");
-                    // Adiciona evento de clique
-                    poltrona.setOnAction(e -> {
-                        try {
-                            // Verifica se a poltrona ainda está disponível
-                            if (!teatro.verificarPoltronaDisponivel(sessao, area, numero)) {
-                                Alert alert = new Alert(Alert.AlertType.WARNING);
-                                alert.setTitle("Atenção");
-                                alert.setHeaderText("Poltrona ocupada");
-                                alert.setContentText("Esta poltrona acabou de ser ocupada. Por favor, selecione outra.");
-                                alert.showAndWait();
-                                
-                                // Atualiza o estado da poltrona
-                                poltrona.setStyle("-fx-background-color: " + POLTRONA_OCUPADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
-                                poltrona.setDisable(true);
-                                poltronasDisponiveis.remove(Integer.valueOf(numero));
-                                poltronasSelecionadas.removeIf(p -> p.getNumero() == numero);
-                                atualizarResumo();
-                                return;
-                            }
-                            
-                            if (poltrona.getStyle().contains(POLTRONA_DISPONIVEL)) {
-                                // Seleciona a poltrona
-                                poltrona.setStyle("-fx-background-color: " + POLTRONA_SELECIONADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
-                                poltronasSelecionadas.add(new Poltrona(numero, area));
-                            } else {
-                                // Desseleciona a poltrona
-                                poltrona.setStyle("-fx-background-color: " + POLTRONA_DISPONIVEL + "; -fx-text-fill: white; -fx-background-radius: 5;");
-                                poltronasSelecionadas.removeIf(p -> p.getNumero() == numero);
-                            }
-                            atualizarResumo();
-                        } catch (Exception ex) {
-                            Alert alert = new Alert(Alert.AlertType.ERROR);
-                            alert.setTitle("Erro");
-                            alert.setHeaderText("Erro ao selecionar poltrona");
-                            alert.setContentText("Ocorreu um erro ao verificar a disponibilidade da poltrona. Por favor, tente novamente.");
-                            alert.showAndWait();
-                        }
-                    });
-                }
-                poltronasGrid.add(poltrona, j, i);
-            }
-        }
-        
-        mapaContainer.getChildren().addAll(telaStack, poltronasGrid);
+        // As poltronas aparecem quando o mapa de ocupação terminar de carregar
+        mapaContainer.getChildren().addAll(telaStack,
+            ViewManager.criarIndicadorCarregamento("Carregando poltronas..."));
         
         // Resumo da compra
         VBox resumoContainer = new VBox(15);
@@ -324,6 +257,7 @@ public class SelecionarPoltronaView {
         voltarButton.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-padding: 10 20; -fx-font-size: 14; -fx-cursor: hand; -fx-background-radius: 4;");
         
         voltarButton.setOnAction(e -> {
+            liberarReservas();
             new CompraIngressoView(teatro, usuario, stage, sessao).show();
         });
         
@@ -332,84 +266,56 @@ public class SelecionarPoltronaView {
         this.confirmarButton.setDisable(true);
         
         this.confirmarButton.setOnAction(e -> {
-            try {
-                // Verifica se todas as poltronas selecionadas ainda estão disponíveis
-                for (Poltrona poltrona : new ArrayList<>(poltronasSelecionadas)) {
-                    if (!teatro.verificarPoltronaDisponivel(sessao, area, poltrona.getNumero())) {
+            // Busca o evento da sessão
+            Evento evento = teatro.getEventos().stream()
+                .filter(evt -> evt.getSessoes().contains(sessao))
+                .findFirst()
+                .orElse(null);
+            
+            if (evento == null) {
+                mostrarErroCompra();
+                return;
+            }
+            if (!renovarReservas()) {
+                return;
+            }
+            
+            // Compra todas as poltronas selecionadas de uma vez: ou todas são vendidas, ou nenhuma.
+            // A compra roda fora da thread do JavaFX e não é cancelada: a tela fica bloqueada até o fim
+            List<Integer> numeros = poltronasSelecionadas.stream().map(Poltrona::getNumero).toList();
+            Node conteudo = stage.getScene().getRoot();
+            conteudo.setDisable(true);
+            this.confirmarButton.setText("Processando...");
+            TarefasSegundoPlano.executar(
+                () -> numeros.size() == 1
+                    ? teatro.comprarIngresso(contexto, evento, sessao, area, numeros.get(0)).stream().toList()
+                    : teatro.comprarIngressos(contexto, evento, sessao, area, numeros),
+                ingressos -> {
+                    numeros.forEach(mapaPoltronas::ocupar);
+                    poltronasSelecionadas.forEach(Poltrona::ocupar);
+                    
+                    // Adiciona os ingressos ao usuário
+                    usuario.adicionarIngressos(ingressos);
+                    
+                    // Mostra a tela de impressão
+                    new ImpressaoIngressoView(teatro, usuario, stage, ingressos).show();
+                },
+                erro -> {
+                    conteudo.setDisable(false);
+                    this.confirmarButton.setText("Confirmar Compra");
+                    if (erro instanceof PoltronaOcupadaException) {
                         Alert alert = new Alert(Alert.AlertType.WARNING);
                         alert.setTitle("Atenção");
                         alert.setHeaderText("Poltrona ocupada");
-                        alert.setContentText("A poltrona " + poltrona.getNumero() + " acabou de ser ocupada. Por favor, selecione outra.");
+                        alert.setContentText(erro.getMessage() + ". Nenhum ingresso foi comprado; as demais poltronas continuam reservadas para você.");
                         alert.showAndWait();
                         
-                        // Remove a poltrona da seleção
-                        poltronasSelecionadas.remove(poltrona);
-                        atualizarResumo();
-                        return;
-                    }
-                }
-                
-                // Cria os ingressos
-                List<IngressoModerno> ingressos = new ArrayList<>();
-                boolean todosSalvos = true;
-                
-                for (Poltrona poltrona : poltronasSelecionadas) {
-                    try {
-                        // Cria o ingresso moderno
-                        IngressoModerno ingresso = new IngressoModerno(sessao, area, poltrona, usuario);
-                        ingresso.setCodigo(gerarCodigoIngresso());
-                        
-                        // Busca o evento da sessão
-                        Evento evento = teatro.getEventos().stream()
-                            .filter(evt -> evt.getSessoes().contains(sessao))
-                            .findFirst()
-                            .orElse(null);
-                        
-                        if (evento == null) {
-                            throw new Exception("Não foi possível encontrar o evento da sessão");
-                        }
-                        
-                        // Tenta salvar o ingresso no banco de dados
-                        Optional<IngressoModerno> ingressoSalvo = teatro.comprarIngresso(usuario.getCpf(), evento, sessao, area, poltrona.getNumero());
-                        if (ingressoSalvo.isPresent()) {
-                            // Adiciona o ingresso à lista
-                            ingressos.add(ingressoSalvo.get());
-                            // Remove a poltrona da lista de disponíveis
-                            poltronasDisponiveis.remove(Integer.valueOf(poltrona.getNumero()));
-                        } else {
-                            throw new Exception("Não foi possível comprar o ingresso para a poltrona " + poltrona.getNumero());
-                        }
-                    } catch (Exception ex) {
-                        todosSalvos = false;
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Erro");
-                        alert.setHeaderText("Erro ao comprar ingresso");
-                        alert.setContentText(ex.getMessage() + ". Tente novamente.");
-                        alert.showAndWait();
-                        break;
+                        // Recarrega o mapa de ocupação: só saem da seleção as poltronas perdidas
+                        carregarPoltronas();
+                    } else {
+                        mostrarErroCompra();
                     }
-                }
-                
-                if (todosSalvos && !ingressos.isEmpty()) {
-                    // Adiciona os ingressos ao usuário
-                    usuario.adicionarIngressos(ingressos);
-                    
-                    // Mostra a tela de impressão
-                    new ImpressaoIngressoView(teatro, usuario, stage, ingressos).show();
-                } else if (ingressos.isEmpty()) {
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("Erro");
-                    alert.setHeaderText("Nenhum ingresso foi comprado");
-                    alert.setContentText("Ocorreu um erro ao processar sua compra. Por favor, tente novamente.");
-                    alert.showAndWait();
-                }
-            } catch (Exception ex) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Erro");
-                alert.setHeaderText("Erro ao processar compra");
-                alert.setContentText("Ocorreu um erro ao processar sua compra. Por favor, tente novamente.");
-                alert.showAndWait();
-            }
+                });
         });
         
         botoesBox.getChildren().addAll(voltarButton, this.confirmarButton);
@@ -425,6 +331,163 @@ public class SelecionarPoltronaView {
         
         // Atualiza o resumo inicial
         atualizarResumo();
+        carregarPoltronas();
+    }
+    
+    /**
+     * Monta a grade de poltronas a partir do mapa de ocupação carregado.
+     */
+    private GridPane criarGradePoltronas() {
+        // Grid de poltronas
+        GridPane poltronasGrid = new GridPane();
+        poltronasGrid.setAlignment(Pos.CENTER);
+        poltronasGrid.setHgap(10);
+        poltronasGrid.setVgap(10);
+        
+        // Número de linhas e colunas para o grid
+        int numColunas = 10;
+        int capacidade = area.getCapacidadeTotal();
+        int numLinhas = (int) Math.ceil((double) capacidade / numColunas);
+
+        // Cria as poltronas
+        for (int i = 0; i < numLinhas; i++) {
+            for (int j = 0; j < numColunas; j++) {
+                int numero = i * numColunas + j + 1;
+                if (numero > capacidade) break;
+
+                // Cria a poltrona
+                Button poltrona = new Button(String.valueOf(numero));
+                poltrona.setPrefSize(50, 50);
+                poltrona.setFont(Font.font("System", FontWeight.BOLD, 14));
+
+                // Verifica se a poltrona está ocupada
+                boolean ocupada = mapaPoltronas.isOcupada(numero);
+
+                if (ocupada) {
+                    poltrona.setStyle("-fx-background-color: " + POLTRONA_OCUPADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
+                    poltrona.setDisable(true);
+                } else if (reservadasPorOutros.get(numero)) {
+                    poltrona.setStyle("-fx-background-color: " + POLTRONA_RESERVADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
+                    poltrona.setDisable(true);
+                } else {
+                    // Poltronas que o usuário mantém reservadas continuam selecionadas ao recarregar o mapa
+                    boolean selecionada = poltronasSelecionadas.stream().anyMatch(p -> p.getNumero() == numero);
+                    String cor = selecionada ? POLTRONA_SELECIONADA : POLTRONA_DISPONIVEL;
+                    poltrona.setStyle("-fx-background-color: " + cor + "; -fx-text-fill: white; -fx-background-radius: 5;");
+                    // Adiciona evento de clique
+                    poltrona.setOnAction(e -> {
+                        // Cada interação renova as reservas já feitas para que não expirem
+                        if (!renovarReservas()) {
+                            return;
+                        }
+                        if (!poltrona.getStyle().contains(POLTRONA_DISPONIVEL)) {
+                            // Desseleciona a poltrona e libera a reserva
+                            poltrona.setStyle("-fx-background-color: " + POLTRONA_DISPONIVEL + "; -fx-text-fill: white; -fx-background-radius: 5;");
+                            desselecionar(numero);
+                            atualizarResumo();
+                            return;
+                        }
+                        // Verifica fora da thread do JavaFX se a poltrona ainda está disponível
+                        poltrona.setDisable(true);
+                        ViewManager.executarEmSegundoPlano(stage,
+                            () -> teatro.verificarPoltronaDisponivel(sessao, area, numero),
+                            disponivel -> {
+                                poltrona.setDisable(false);
+                                selecionarPoltrona(poltrona, numero, disponivel);
+                            },
+                            erro -> {
+                                poltrona.setDisable(false);
+                                Alert alert = new Alert(Alert.AlertType.ERROR);
+                                alert.setTitle("Erro");
+                                alert.setHeaderText("Erro ao selecionar poltrona");
+                                alert.setContentText("Ocorreu um erro ao verificar a disponibilidade da poltrona. Por favor, tente novamente.");
+                                alert.showAndWait();
+                            });
+                    });
+                }
+                poltronasGrid.add(poltrona, j, i);
+            }
+        }
+        
+        return poltronasGrid;
+    }
+    
+    /**
+     * Seleciona uma poltrona disponível, reservando-a para o usuário.
+     * @param disponivel Resultado da verificação no banco
+     */
+    private void selecionarPoltrona(Button poltrona, int numero, boolean disponivel) {
+        if (!disponivel) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Atenção");
+            alert.setHeaderText("Poltrona ocupada");
+            alert.setContentText("Esta poltrona acabou de ser ocupada. Por favor, selecione outra.");
+            alert.showAndWait();
+            
+            // Atualiza o estado da poltrona
+            poltrona.setStyle("-fx-background-color: " + POLTRONA_OCUPADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
+            poltrona.setDisable(true);
+            mapaPoltronas.ocupar(numero);
+            desselecionar(numero);
+            atualizarResumo();
+            return;
+        }
+        
+        // Reserva a poltrona para este usuário enquanto ele decide
+        Optional<ReservaPoltronas.Reserva> reserva = teatro.reservarPoltrona(contexto.cpf(), sessao, area, numero);
+        if (reserva.isEmpty()) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Atenção");
+            alert.setHeaderText("Poltrona reservada");
+            alert.setContentText("Outro usuário está escolhendo esta poltrona. Por favor, selecione outra.");
+            alert.showAndWait();
+            
+            poltrona.setStyle("-fx-background-color: " + POLTRONA_RESERVADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
+            poltrona.setDisable(true);
+            return;
+        }
+        
+        // Seleciona a poltrona
+        poltrona.setStyle("-fx-background-color: " + POLTRONA_SELECIONADA + "; -fx-text-fill: white; -fx-background-radius: 5;");
+        Poltrona selecionada = new Poltrona(numero, area);
+        selecionada.selecionar(reserva.get());
+        poltronasSelecionadas.add(selecionada);
+        atualizarResumo();
+    }
+    
+    /**
+     * Carrega em segundo plano o mapa de ocupação e as reservas de outros usuários.
+     */
+    private void carregarPoltronas() {
+        ViewManager.executarEmSegundoPlano(stage,
+            () -> new Ocupacao(
+                teatro.getMapaPoltronas(sessao, area),
+                // Poltronas que outros usuários estão escolhendo neste momento
+                teatro.getPoltronasReservadas(contexto.cpf(), sessao, area)),
+            ocupacao -> {
+                this.mapaPoltronas = ocupacao.mapa();
+                this.reservadasPorOutros = ocupacao.reservadasPorOutros();
+                descartarPerdidas();
+                if (mapaPoltronas.getTotalDisponiveis() == 0) {
+                    Alert alert = new Alert(Alert.AlertType.WARNING);
+                    alert.setTitle("Atenção");
+                    alert.setHeaderText("Área lotada");
+                    alert.setContentText("Esta área não possui mais poltronas disponíveis.");
+                    alert.showAndWait();
+                    new CompraIngressoView(teatro, usuario, stage, sessao).show();
+                    return;
+                }
+                mapaContainer.getChildren().set(1, criarGradePoltronas());
+            },
+            erro -> {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Erro");
+                alert.setHeaderText("Erro ao buscar poltronas disponíveis");
+                alert.setContentText("Ocorreu um erro ao buscar as poltronas disponíveis. Por favor, tente novamente.");
+                alert.showAndWait();
+                liberarReservas();
+                new CompraIngressoView(teatro, usuario, stage, sessao).show();
+            });
     }
     
     private HBox createTopBar() {
@@ -451,6 +514,7 @@ public class SelecionarPoltronaView {
         logoutButton.setStyle("-fx-background-color: transparent; -fx-text-fill: white; -fx-border-color: white; -fx-border-radius: 3; -fx-cursor: hand;");
         
         logoutButton.setOnAction(e -> {
+            liberarReservas();
             new LoginView(stage).show();
         });
         
@@ -461,6 +525,7 @@ public class SelecionarPoltronaView {
         backButton.setStyle("-fx-background-color: white; -fx-text-fill: " + PRIMARY_COLOR + "; -fx-font-weight: bold; -fx-cursor: hand;");
         
         backButton.setOnAction(e -> {
+            liberarReservas();
             new CompraIngressoView(teatro, usuario, stage, sessao).show();
         });
         
@@ -485,8 +550,83 @@ public class SelecionarPoltronaView {
         confirmarButton.setDisable(poltronasSelecionadas.isEmpty());
     }
 
-    private String gerarCodigoIngresso() {
-        // Gera um código único para o ingresso usando timestamp e número aleatório
-        return String.format("ING-%d-%d", System.currentTimeMillis(), (int)(Math.random() * 1000));
+    private void mostrarErroCompra() {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Erro");
+        alert.setHeaderText("Erro ao processar compra");
+        alert.setContentText("Ocorreu um erro ao processar sua compra. Por favor, tente novamente.");
+        alert.showAndWait();
+    }
+
+    /**
+     * Remove uma poltrona da seleção, liberando a reserva feita para ela.
+     */
+    private void desselecionar(int numero) {
+        poltronasSelecionadas.removeIf(p -> {
+            if (p.getNumero() != numero) {
+                return false;
+            }
+            p.liberar();
+            return true;
+        });
+    }
+
+    /**
+     * Renova as reservas das poltronas selecionadas. Se alguma expirou e já foi tomada por
+     * outro usuário, avisa, tira só essa poltrona da seleção e recarrega o mapa.
+     * @return true se todas as reservas continuam do usuário
+     */
+    private boolean renovarReservas() {
+        List<Integer> perdidas = new ArrayList<>();
+        for (Poltrona selecionada : poltronasSelecionadas) {
+            Optional<ReservaPoltronas.Reserva> renovada =
+                teatro.reservarPoltrona(contexto.cpf(), sessao, area, selecionada.getNumero());
+            if (renovada.isPresent()) {
+                selecionada.selecionar(renovada.get());
+            } else {
+                perdidas.add(selecionada.getNumero());
+            }
+        }
+        if (perdidas.isEmpty()) {
+            return true;
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Atenção");
+        alert.setHeaderText("Reserva expirada");
+        alert.setContentText("A reserva das poltronas " + perdidas + " expirou e elas foram escolhidas por outro usuário. As demais continuam reservadas para você.");
+        alert.showAndWait();
+        
+        perdidas.forEach(this::desselecionar);
+        atualizarResumo();
+        carregarPoltronas();
+        return false;
+    }
+
+    /**
+     * Tira da seleção as poltronas que, no mapa recém-carregado, foram vendidas ou estão
+     * reservadas por outro usuário. As demais reservas do usuário são mantidas.
+     */
+    private void descartarPerdidas() {
+        List<Integer> perdidas = poltronasSelecionadas.stream()
+            .map(Poltrona::getNumero)
+            .filter(numero -> mapaPoltronas.isOcupada(numero) || reservadasPorOutros.get(numero))
+            .toList();
+        perdidas.forEach(this::desselecionar);
+        atualizarResumo();
+    }
+
+    /**
+     * Libera as reservas de todas as poltronas selecionadas ao sair da tela sem comprar.
+     */
+    private void liberarReservas() {
+        poltronasSelecionadas.forEach(Poltrona::liberar);
+        poltronasSelecionadas.clear();
+    }
+
+    /**
+     * Mapa de ocupação e reservas de outros usuários, carregados juntos em segundo plano.
+     */
+    private record Ocupacao(MapaPoltronas mapa, BitSet reservadasPorOutros) {
     }
-}
+}
\ No newline at end of file
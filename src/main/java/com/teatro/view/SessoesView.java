@@ -1,6 +1,7 @@
 package com.teatro.view;
 
 import com.teatro.model.*;
+import com.teatro.util.ViewManager;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,6 +13,7 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import java.util.List;
 
 /**
  * Versão modernizada da tela de seleção de sessões.
@@ -74,12 +76,14 @@ public class SessoesView {
         pageTitle.setTextFill(Color.web(TEXT_COLOR));
         
         VBox eventsContainer = new VBox(25);
+        boolean aguardarCatalogo = eventoSelecionado == null && !teatro.isCatalogoCarregado();
         if (eventoSelecionado != null) {
             eventsContainer.getChildren().add(criarCardEvento(eventoSelecionado));
+        } else if (aguardarCatalogo) {
+            // O catálogo ainda está sendo carregado desde a inicialização
+            eventsContainer.getChildren().add(ViewManager.criarIndicadorCarregamento("Carregando eventos..."));
         } else {
-        for (Evento evento : teatro.getEventos()) {
-            eventsContainer.getChildren().add(criarCardEvento(evento));
-            }
+            exibirEventos(eventsContainer, teatro.getEventos());
         }
         
         contentContainer.getChildren().addAll(pageTitle, eventsContainer);
@@ -88,6 +92,23 @@ public class SessoesView {
 
         Scene scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
         stage.setScene(scene);
+        
+        if (aguardarCatalogo) {
+            ViewManager.executarEmSegundoPlano(stage, teatro::getEventos,
+                eventos -> exibirEventos(eventsContainer, eventos),
+                erro -> {
+                    Label lblErro = new Label("Não foi possível carregar os eventos.");
+                    lblErro.setStyle("-fx-font-size: 14; -fx-text-fill: #e74c3c;");
+                    eventsContainer.getChildren().setAll(lblErro);
+                });
+        }
+    }
+    
+    private void exibirEventos(VBox eventsContainer, List<Evento> eventos) {
+        eventsContainer.getChildren().clear();
+        for (Evento evento : eventos) {
+            eventsContainer.getChildren().add(criarCardEvento(evento));
+        }
     }
     
     private HBox createTopBar() {
@@ -3,6 +3,8 @@ module com.teatro {
     requires javafx.fxml;
     requires java.sql;
     requires java.desktop;
+    requires com.zaxxer.hikari;
+    requires org.slf4j;
     requires transitive javafx.graphics;
     requires javafx.base;
 
@@ -5,12 +5,15 @@ CREATE TABLE IF NOT EXISTS usuarios (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     nome VARCHAR(100) NOT NULL,
     cpf VARCHAR(14) NOT NULL UNIQUE,
+    cpf_numerico BIGINT NULL,
     endereco VARCHAR(200),
     telefone VARCHAR(20),
     email VARCHAR(100),
-    senha VARCHAR(100) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
     tipo_usuario ENUM('COMUM', 'ADMIN') NOT NULL DEFAULT 'COMUM',
-    data_cadastro TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    data_cadastro TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_usuarios_email (email),
+    CONSTRAINT uk_usuarios_cpf_numerico UNIQUE (cpf_numerico)
 );
 
 CREATE TABLE IF NOT EXISTS eventos (
@@ -26,6 +29,7 @@ CREATE TABLE IF NOT EXISTS sessoes (
     evento_id BIGINT NOT NULL,
     horario ENUM('Manhã', 'Tarde', 'Noite') NOT NULL,
     data_sessao DATE NOT NULL,
+    INDEX idx_sessoes_evento_data (evento_id, data_sessao, horario),
     FOREIGN KEY (evento_id) REFERENCES eventos(id)
 );
 
@@ -54,14 +58,40 @@ CREATE TABLE IF NOT EXISTS ingressos (
     valor DECIMAL(10,2) NOT NULL,
     data_compra TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     codigo VARCHAR(50) NOT NULL UNIQUE,
+    CONSTRAINT uk_ingressos_poltrona UNIQUE (sessao_id, area_id, numero_poltrona),
+    INDEX idx_ingressos_usuario_compra (usuario_id, data_compra),
+    INDEX idx_ingressos_sessao_compra (sessao_id, data_compra),
+    INDEX idx_ingressos_area_poltrona (area_id, numero_poltrona),
     FOREIGN KEY (usuario_id) REFERENCES usuarios(id),
     FOREIGN KEY (sessao_id) REFERENCES sessoes(id),
     FOREIGN KEY (area_id) REFERENCES areas(id)
 );
 
+CREATE TABLE IF NOT EXISTS outbox_vendas (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo ENUM('VENDA', 'CANCELAMENTO') NOT NULL,
+    codigo VARCHAR(50) NOT NULL,
+    ingresso_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    sessao_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL,
+    numero_poltrona INT NOT NULL,
+    valor DECIMAL(10,2) NOT NULL,
+    data_compra TIMESTAMP NULL,
+    criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_outbox_vendas_codigo UNIQUE (codigo, tipo)
+);
+
+CREATE TABLE IF NOT EXISTS checkpoints_migracao (
+    nome VARCHAR(50) PRIMARY KEY,
+    ultimo_id BIGINT NOT NULL,
+    processados BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
 -- Inserir usuário administrador
-INSERT INTO usuarios (nome, cpf, senha, email, tipo_usuario) VALUES 
-('Administrador', '000.000.000-00', 'admin123', 'admin@teatro.com', 'ADMIN');
+INSERT INTO usuarios (nome, cpf, cpf_numerico, senha, email, tipo_usuario) VALUES 
+('Administrador', '000.000.000-00', 0, 'admin123', 'admin@teatro.com', 'ADMIN');
 
 -- Inserir eventos com posters
 INSERT INTO eventos (nome, poster) VALUES 
@@ -0,0 +1,16 @@
+-- Índices compostos das consultas mais frequentes.
+-- A chave única uk_ingressos_poltrona (sessao_id, area_id, numero_poltrona) já cobre
+-- poltronaOcupada e a ocupação por sessão e área.
+
+-- Ingressos de um usuário e de uma sessão, em ordem de compra
+CREATE INDEX idx_ingressos_usuario_compra ON ingressos (usuario_id, data_compra);
+CREATE INDEX idx_ingressos_sessao_compra ON ingressos (sessao_id, data_compra);
+
+-- Ocupação de uma área em todas as sessões (cobre a consulta: lê só o índice)
+CREATE INDEX idx_ingressos_area_poltrona ON ingressos (area_id, numero_poltrona);
+
+-- Sessões de um evento, em ordem de data e horário (cobre a ordenação)
+CREATE INDEX idx_sessoes_evento_data ON sessoes (evento_id, data_sessao, horario);
+
+-- Login por e-mail e busca por CPF ou e-mail (a busca por CPF usa a chave única de cpf)
+CREATE INDEX idx_usuarios_email ON usuarios (email);
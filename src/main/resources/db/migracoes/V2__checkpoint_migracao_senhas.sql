@@ -0,0 +1,11 @@
+-- Senhas no formato PBKDF2 versionado ocupam cerca de 90 caracteres; folga para aumentar
+-- as iterações ou trocar o algoritmo sem nova migração
+ALTER TABLE usuarios MODIFY senha VARCHAR(255) NOT NULL;
+
+-- Ponto de retomada dos jobs de migração em lotes (último id processado)
+CREATE TABLE IF NOT EXISTS checkpoints_migracao (
+    nome VARCHAR(50) PRIMARY KEY,
+    ultimo_id BIGINT NOT NULL,
+    processados BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
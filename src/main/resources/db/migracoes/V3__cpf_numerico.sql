@@ -0,0 +1,17 @@
+-- CPF normalizado: os 11 dígitos como número, independente da formatação digitada
+-- ("529.982.247-25", "52998224725" e "529982247-25" têm o mesmo valor)
+ALTER TABLE usuarios ADD COLUMN cpf_numerico BIGINT NULL AFTER cpf;
+
+-- Preenche os usuários existentes. Se o mesmo CPF foi cadastrado com formatações diferentes,
+-- só o cadastro mais antigo recebe o valor; os demais ficam nulos e não são encontrados
+-- pelo CPF até serem corrigidos. MigracoesSchema registra esses cadastros no log depois do script
+UPDATE usuarios u
+JOIN (SELECT MIN(id) AS id, CAST(REGEXP_REPLACE(cpf, '[^0-9]', '') AS UNSIGNED) AS numero
+      FROM usuarios
+      WHERE REGEXP_REPLACE(cpf, '[^0-9]', '') REGEXP '^[0-9]{11}$'
+      GROUP BY numero) primeiros ON primeiros.id = u.id
+SET u.cpf_numerico = primeiros.numero
+WHERE u.cpf_numerico IS NULL;
+
+-- Buscas por CPF, login por CPF e resolução do comprador usam esta chave
+CREATE UNIQUE INDEX uk_usuarios_cpf_numerico ON usuarios (cpf_numerico);
@@ -0,0 +1,6 @@
+-- Impede vender a mesma poltrona duas vezes: a compra de ingressos não consulta a ocupação
+-- antes de gravar e conta com esta chave para decidir a disputa entre compradores.
+-- Bancos criados por database.sql já têm a chave (o erro de índice duplicado é ignorado).
+-- Se já houver vendas duplicadas, a migração falha e a aplicação não inicia até que
+-- os ingressos repetidos sejam corrigidos
+ALTER TABLE ingressos ADD CONSTRAINT uk_ingressos_poltrona UNIQUE (sessao_id, area_id, numero_poltrona);
@@ -0,0 +1,16 @@
+-- Outbox das notificações de venda: gravada na mesma transação dos ingressos
+-- e drenada em lotes pelo RelayOutboxVendas
+CREATE TABLE IF NOT EXISTS outbox_vendas (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo ENUM('VENDA', 'CANCELAMENTO') NOT NULL,
+    codigo VARCHAR(50) NOT NULL,
+    ingresso_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    sessao_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL,
+    numero_poltrona INT NOT NULL,
+    valor DECIMAL(10,2) NOT NULL,
+    data_compra TIMESTAMP NULL,
+    criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_outbox_vendas_codigo UNIQUE (codigo, tipo)
+);
@@ -0,0 +1,34 @@
+-- Tabelas de resumo das estatísticas, mantidas a cada venda e cancelamento
+-- (ResumosEstatisticas) e lidas pelas views estatisticas_*
+
+-- Vendas por peça
+CREATE TABLE IF NOT EXISTS resumo_vendas_evento (
+    evento_id BIGINT NOT NULL PRIMARY KEY,
+    total_ingressos INT NOT NULL DEFAULT 0,
+    faturamento DECIMAL(14,2) NOT NULL DEFAULT 0
+);
+
+-- Vendas por sessão (a ocupação é calculada com a capacidade em sessoes_areas)
+CREATE TABLE IF NOT EXISTS resumo_ocupacao_sessao (
+    sessao_id BIGINT NOT NULL PRIMARY KEY,
+    total_ingressos INT NOT NULL DEFAULT 0,
+    faturamento DECIMAL(14,2) NOT NULL DEFAULT 0
+);
+
+-- Faturamento por área e peça
+CREATE TABLE IF NOT EXISTS resumo_faturamento_area_evento (
+    evento_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL,
+    total_ingressos INT NOT NULL DEFAULT 0,
+    faturamento DECIMAL(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (evento_id, area_id)
+);
+
+-- Vendas por mês e peça
+CREATE TABLE IF NOT EXISTS resumo_vendas_mes (
+    mes CHAR(7) NOT NULL,
+    evento_id BIGINT NOT NULL,
+    total_ingressos INT NOT NULL DEFAULT 0,
+    faturamento DECIMAL(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (mes, evento_id)
+);
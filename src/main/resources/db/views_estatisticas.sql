@@ -1,16 +1,16 @@
+-- Views de estatísticas. Leem as tabelas de resumo (resumos_estatisticas.sql),
+-- que já trazem os totais agregados, em vez de agregar a tabela de ingressos.
+
 -- View para estatísticas de vendas por peça
 CREATE OR REPLACE VIEW estatisticas_vendas_peca AS
 SELECT 
     e.nome AS nome_peca,
-    COUNT(i.id) AS total_ingressos_vendidos,
-    SUM(i.valor) AS faturamento_total,
-    AVG(i.valor) AS valor_medio_ingresso
+    COALESCE(r.total_ingressos, 0) AS total_ingressos_vendidos,
+    NULLIF(COALESCE(r.faturamento, 0), 0) AS faturamento_total,
+    r.faturamento / NULLIF(r.total_ingressos, 0) AS valor_medio_ingresso
 FROM 
     eventos e
-    LEFT JOIN sessoes s ON s.evento_id = e.id
-    LEFT JOIN ingressos i ON i.sessao_id = s.id
-GROUP BY 
-    e.id, e.nome
+    LEFT JOIN resumo_vendas_evento r ON r.evento_id = e.id
 ORDER BY 
     total_ingressos_vendidos DESC;
 
@@ -18,29 +18,26 @@ ORDER BY
 CREATE OR REPLACE VIEW estatisticas_ocupacao_sessao AS
 WITH total_poltronas AS (
     SELECT 
-        s.id AS sessao_id,
+        sa.sessao_id,
         SUM(a.capacidade_total) AS total_poltronas
     FROM 
-        sessoes s
-        JOIN sessoes_areas sa ON sa.sessao_id = s.id
+        sessoes_areas sa
         JOIN areas a ON a.id = sa.area_id
     GROUP BY 
-        s.id
+        sa.sessao_id
 )
 SELECT 
     e.nome AS nome_peca,
     s.data_sessao AS data_sessao,
     s.horario AS horario,
-    COUNT(i.id) AS ingressos_vendidos,
+    COALESCE(r.total_ingressos, 0) AS ingressos_vendidos,
     tp.total_poltronas,
-    ROUND((COUNT(i.id) / tp.total_poltronas) * 100, 2) AS percentual_ocupacao
+    ROUND((COALESCE(r.total_ingressos, 0) / tp.total_poltronas) * 100, 2) AS percentual_ocupacao
 FROM 
     eventos e
     JOIN sessoes s ON s.evento_id = e.id
     JOIN total_poltronas tp ON tp.sessao_id = s.id
-    LEFT JOIN ingressos i ON i.sessao_id = s.id
-GROUP BY 
-    e.nome, s.id, s.data_sessao, s.horario, tp.total_poltronas
+    LEFT JOIN resumo_ocupacao_sessao r ON r.sessao_id = s.id
 ORDER BY 
     percentual_ocupacao DESC;
 
@@ -49,33 +46,30 @@ CREATE OR REPLACE VIEW estatisticas_faturamento_area_peca AS
 SELECT 
     e.nome AS nome_peca,
     a.nome AS nome_area,
-    COUNT(i.id) AS total_ingressos_vendidos,
-    SUM(i.valor) AS faturamento_total,
-    AVG(i.valor) AS valor_medio_ingresso
+    r.total_ingressos AS total_ingressos_vendidos,
+    r.faturamento AS faturamento_total,
+    r.faturamento / r.total_ingressos AS valor_medio_ingresso
 FROM 
-    eventos e
-    JOIN sessoes s ON s.evento_id = e.id
-    JOIN ingressos i ON i.sessao_id = s.id
-    JOIN areas a ON a.id = i.area_id
-GROUP BY 
-    e.id, e.nome, a.id, a.nome
+    resumo_faturamento_area_evento r
+    JOIN eventos e ON e.id = r.evento_id
+    JOIN areas a ON a.id = r.area_id
+WHERE 
+    r.total_ingressos > 0
 ORDER BY 
     e.nome, faturamento_total DESC;
 
 -- View para estatísticas de vendas por período
 CREATE OR REPLACE VIEW estatisticas_vendas_periodo AS
 SELECT 
-    DATE_FORMAT(i.data_compra, '%Y-%m') AS mes,
+    r.mes,
     e.nome AS nome_peca,
-    COUNT(i.id) AS total_ingressos_vendidos,
-    SUM(i.valor) AS faturamento_total,
-    AVG(i.valor) AS valor_medio_ingresso
+    r.total_ingressos AS total_ingressos_vendidos,
+    r.faturamento AS faturamento_total,
+    r.faturamento / r.total_ingressos AS valor_medio_ingresso
 FROM 
-    eventos e
-    JOIN sessoes s ON s.evento_id = e.id
-    JOIN ingressos i ON i.sessao_id = s.id
-GROUP BY 
-    DATE_FORMAT(i.data_compra, '%Y-%m'),
-    e.id, e.nome
+    resumo_vendas_mes r
+    JOIN eventos e ON e.id = r.evento_id
+WHERE 
+    r.total_ingressos > 0
 ORDER BY 
-    mes DESC, faturamento_total DESC; 
\ No newline at end of file
+    r.mes DESC, faturamento_total DESC;
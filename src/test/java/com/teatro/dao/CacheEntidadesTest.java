@@ -0,0 +1,84 @@
+package com.teatro.dao;
+
+import com.teatro.model.Area;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CacheEntidadesTest {
+    private final AtomicInteger consultas = new AtomicInteger();
+    private final CacheEntidades<Area> cache = new CacheEntidades<>("areas", 2,
+        area -> new Area(area.getId(), area.getNome(), area.getPreco(), area.getCapacidadeTotal()));
+
+    private Optional<Area> consultarBanco(Long id) {
+        consultas.incrementAndGet();
+        return id > 0 ? Optional.of(new Area(id, "Área " + id, 50.0, 10)) : Optional.empty();
+    }
+
+    @Test
+    void testSegundaBuscaNaoVaiAoBanco() {
+        cache.buscar(1L, this::consultarBanco);
+        Optional<Area> area = cache.buscar(1L, this::consultarBanco);
+        assertEquals("Área 1", area.orElseThrow().getNome());
+        assertEquals(1, consultas.get());
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.getFalhas());
+    }
+
+    @Test
+    void testEntidadeInexistenteNaoEhGuardada() {
+        assertTrue(cache.buscar(-1L, this::consultarBanco).isEmpty());
+        assertTrue(cache.buscar(-1L, this::consultarBanco).isEmpty());
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void testDescartaMenosUsadaAoAtingirCapacidade() {
+        cache.buscar(1L, this::consultarBanco);
+        cache.buscar(2L, this::consultarBanco);
+        cache.buscar(1L, this::consultarBanco);
+        cache.buscar(3L, this::consultarBanco);
+        assertEquals(2, cache.getTamanho());
+        assertTrue(cache.contem(1L));
+        assertFalse(cache.contem(2L));
+        assertEquals(1, cache.getDescartes());
+    }
+
+    @Test
+    void testInvalidacaoForcaNovaConsulta() {
+        cache.buscar(1L, this::consultarBanco);
+        cache.invalidar(1L);
+        cache.buscar(1L, this::consultarBanco);
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    void testConsultaConcorrenteComInvalidacaoNaoGuardaValorAntigo() {
+        cache.buscar(1L, id -> {
+            // Uma escrita invalida a entidade enquanto a consulta ainda está em andamento
+            cache.invalidar(id);
+            return consultarBanco(id);
+        });
+        assertFalse(cache.contem(1L));
+    }
+
+    @Test
+    void testListagemLidaAntesDeInvalidacaoNaoEhGuardada() {
+        long geracao = cache.getGeracao();
+        Area lida = consultarBanco(1L).orElseThrow();
+        // Uma escrita é confirmada entre a consulta da listagem e o preenchimento do cache
+        cache.invalidar(1L);
+        cache.colocar(1L, lida, geracao);
+        assertFalse(cache.contem(1L));
+
+        cache.colocar(1L, lida, cache.getGeracao());
+        assertTrue(cache.contem(1L));
+    }
+
+    @Test
+    void testAlteracoesNaEntidadeDevolvidaNaoAfetamCache() {
+        cache.buscar(1L, this::consultarBanco).orElseThrow().setNome("Alterada");
+        assertEquals("Área 1", cache.buscar(1L, this::consultarBanco).orElseThrow().getNome());
+    }
+}
@@ -0,0 +1,58 @@
+package com.teatro.dao;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CacheIdentificadoresDesconhecidosTest {
+    private final AtomicLong agora = new AtomicLong();
+    private final CacheIdentificadoresDesconhecidos cache =
+        new CacheIdentificadoresDesconhecidos(2, 1000, agora::get);
+
+    @Test
+    void testIdentificadorRegistradoERecusadoAteExpirar() {
+        assertFalse(cache.desconhecido("ninguem@teatro.com"));
+        cache.registrar("ninguem@teatro.com");
+        assertTrue(cache.desconhecido("ninguem@teatro.com"));
+        // O banco compara e-mails sem diferenciar maiúsculas
+        assertTrue(cache.desconhecido(" NINGUEM@teatro.com"));
+        assertEquals(2, cache.getRecusas());
+
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertFalse(cache.desconhecido("ninguem@teatro.com"));
+        assertEquals(0, cache.getTamanho());
+    }
+
+    @Test
+    void testCadastroRemoveIdentificadores() {
+        cache.registrar("123.456.789-09");
+        cache.registrar("novo@teatro.com");
+        cache.remover("123.456.789-09", "novo@teatro.com", null);
+        assertFalse(cache.desconhecido("123.456.789-09"));
+        assertFalse(cache.desconhecido("novo@teatro.com"));
+    }
+
+    @Test
+    void testCpfEmQualquerFormatacaoUsaAMesmaEntrada() {
+        cache.registrar("123.456.789-09");
+        assertTrue(cache.desconhecido("12345678909"));
+        assertTrue(cache.desconhecido(" 123456789-09"));
+        // O cadastro remove com a formatação gravada, diferente da digitada no login
+        cache.remover("123.456.789-09");
+        cache.registrar("12345678909");
+        cache.remover("123.456.789-09");
+        assertFalse(cache.desconhecido("12345678909"));
+        assertEquals(0, cache.getTamanho());
+    }
+
+    @Test
+    void testDescartaMaisAntigoAoAtingirCapacidade() {
+        cache.registrar("a@teatro.com");
+        cache.registrar("b@teatro.com");
+        cache.registrar("c@teatro.com");
+        assertEquals(2, cache.getTamanho());
+        assertFalse(cache.desconhecido("a@teatro.com"));
+        assertTrue(cache.desconhecido("c@teatro.com"));
+    }
+}
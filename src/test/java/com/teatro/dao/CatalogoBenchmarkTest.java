@@ -0,0 +1,108 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.model.Area;
+import com.teatro.model.Evento;
+import com.teatro.model.Sessao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark da carga do catálogo, feita em segundo plano depois que a tela de login abre
+ * (não mede o tempo até a primeira tela): compara a consulta única de
+ * EventoDAO.listarComSessoes com a carga anterior, que buscava as sessões de cada evento
+ * e as áreas de cada sessão separadamente.
+ * A medição de tempo tem a tag "benchmark" e só roda com -Pbenchmarks.
+ */
+public class CatalogoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogoBenchmarkTest.class);
+
+    // Orçamento generoso para a carga do catálogo; protege o tempo até as telas de compra terem dados
+    private static final long ORCAMENTO_CARGA_MS = 2000;
+
+    private Connection conexao;
+
+    @BeforeEach
+    void setUp() {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            conexao.close();
+        }
+    }
+
+    @Test
+    void catalogoCarregaEmUmaIdaAoBanco() {
+        AtomicInteger idasLegado = new AtomicInteger();
+        Connection conexaoLegado = ConexaoTeste.contarIdasAoBanco(conexao, idasLegado);
+        List<Evento> legado = new EventoDAO(conexaoLegado).listarTodos();
+        SessaoDAO sessaoDAO = new SessaoDAO(conexaoLegado);
+        AreaDAO areaDAO = new AreaDAO(conexaoLegado);
+        int sessoesLegado = 0;
+        int areasLegado = 0;
+        for (Evento evento : legado) {
+            for (Sessao sessao : sessaoDAO.buscarPorEvento(evento.getId())) {
+                sessoesLegado++;
+                areasLegado += areaDAO.buscarPorSessao(sessao.getId()).size();
+            }
+        }
+
+        AtomicInteger idasJoin = new AtomicInteger();
+        List<Evento> catalogo = new EventoDAO(ConexaoTeste.contarIdasAoBanco(conexao, idasJoin)).listarComSessoes();
+
+        int sessoes = catalogo.stream().mapToInt(e -> e.getSessoes().size()).sum();
+        int areas = catalogo.stream().flatMap(e -> e.getSessoes().stream()).mapToInt(s -> s.getAreas().size()).sum();
+
+        assertEquals(1, idasJoin.get());
+        assertEquals(legado.stream().map(Evento::getNome).toList(), catalogo.stream().map(Evento::getNome).toList());
+        assertEquals(sessoesLegado, sessoes);
+        assertEquals(areasLegado, areas);
+        for (Evento evento : catalogo) {
+            for (Sessao sessao : evento.getSessoes()) {
+                assertEquals(evento.getId(), sessao.getEventoId());
+                assertNotNull(sessao.getTipoSessao());
+                sessao.getAreas().stream().map(Area::getSessaoId).forEach(id -> assertEquals(sessao.getId(), id));
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void cargaDoCatalogoDentroDoOrcamento() {
+        AtomicInteger idasLegado = new AtomicInteger();
+        Connection conexaoLegado = ConexaoTeste.contarIdasAoBanco(conexao, idasLegado);
+        long inicioLegado = System.nanoTime();
+        List<Evento> legado = new EventoDAO(conexaoLegado).listarTodos();
+        SessaoDAO sessaoDAO = new SessaoDAO(conexaoLegado);
+        AreaDAO areaDAO = new AreaDAO(conexaoLegado);
+        for (Evento evento : legado) {
+            for (Sessao sessao : sessaoDAO.buscarPorEvento(evento.getId())) {
+                areaDAO.buscarPorSessao(sessao.getId());
+            }
+        }
+        long tempoLegadoMs = (System.nanoTime() - inicioLegado) / 1_000_000;
+
+        long inicioJoin = System.nanoTime();
+        List<Evento> catalogo = new EventoDAO(conexao).listarComSessoes();
+        long tempoJoinMs = (System.nanoTime() - inicioJoin) / 1_000_000;
+
+        logger.info("Carga por evento e sessão: {} eventos, {} consultas, {} ms",
+            legado.size(), idasLegado.get(), tempoLegadoMs);
+        logger.info("Consulta única: {} eventos, 1 consulta, {} ms", catalogo.size(), tempoJoinMs);
+        assertTrue(tempoJoinMs < ORCAMENTO_CARGA_MS,
+            "Carga do catálogo levou " + tempoJoinMs + " ms (orçamento: " + ORCAMENTO_CARGA_MS + " ms)");
+    }
+}
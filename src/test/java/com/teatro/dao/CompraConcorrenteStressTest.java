@@ -0,0 +1,144 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.database.MigracoesSchema;
+import com.teatro.exception.PoltronaOcupadaException;
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Teste de estresse da compra concorrente: milhares de tentativas disputando o mesmo
+ * mapa de poltronas não podem gerar venda dupla. Os ingressos criados são removidos ao final.
+ * Diferente dos demais testes de banco, este faz commits de verdade (cada compra é uma
+ * transação). Por isso só roda quando pedido explicitamente, de preferência contra um banco
+ * de testes: mvn test -Dteatro.testes.estresse=true
+ */
+public class CompraConcorrenteStressTest {
+
+    private static final int THREADS = 16;
+    private static final int TENTATIVAS = 4_000;
+    private static final int POLTRONAS = 50;
+    // Números fora de qualquer área real para não colidir com vendas existentes
+    private static final int PRIMEIRA_POLTRONA = 900_001;
+    private static final String PREFIXO_CODIGO = "STRESS-";
+    private static final String HABILITAR = "teatro.testes.estresse";
+
+    private Connection conexao;
+    private long usuarioId;
+    private long sessaoId;
+    private long areaId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Assumptions.assumeTrue(Boolean.getBoolean(HABILITAR),
+            "Teste de estresse grava no banco configurado; habilite com -D" + HABILITAR + "=true");
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        // A chave única de poltronas vem da migração 4
+        new MigracoesSchema(conexao).aplicar();
+        usuarioId = buscarPrimeiroId("SELECT MIN(id) FROM usuarios");
+        sessaoId = buscarPrimeiroId("SELECT MIN(id) FROM sessoes");
+        areaId = buscarPrimeiroId("SELECT MIN(id) FROM areas");
+        limpar();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            limpar();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void compraConcorrenteNaoVendePoltronaDuasVezes() throws Exception {
+        AtomicInteger vendidos = new AtomicInteger();
+        AtomicInteger recusados = new AtomicInteger();
+        AtomicInteger proximaTentativa = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                try (Connection conn = ConexaoTeste.abrirOuIgnorar()) {
+                    IngressoDAO dao = new IngressoDAO(conn);
+                    largada.await();
+                    int tentativa;
+                    while ((tentativa = proximaTentativa.getAndIncrement()) < TENTATIVAS) {
+                        try {
+                            dao.salvar(novoIngresso(PRIMEIRA_POLTRONA + (tentativa % POLTRONAS)));
+                            vendidos.incrementAndGet();
+                        } catch (PoltronaOcupadaException e) {
+                            recusados.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(POLTRONAS, vendidos.get());
+        assertEquals(TENTATIVAS - POLTRONAS, recusados.get());
+
+        String sql = "SELECT COUNT(*), COUNT(DISTINCT numero_poltrona) FROM ingressos WHERE codigo LIKE ?";
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setString(1, PREFIXO_CODIGO + "%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(POLTRONAS, rs.getInt(1));
+                assertEquals(rs.getInt(1), rs.getInt(2));
+            }
+        }
+    }
+
+    private Ingresso novoIngresso(int numeroPoltrona) {
+        Ingresso ingresso = new Ingresso(usuarioId, sessaoId, areaId, numeroPoltrona, 40.0);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        ingresso.setCodigo(PREFIXO_CODIGO + UUID.randomUUID().toString().substring(0, 12));
+        return ingresso;
+    }
+
+    private void limpar() throws SQLException {
+        // Remove pelo DAO para que as tabelas de resumo também sejam descontadas
+        IngressoDAO dao = new IngressoDAO(conexao);
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conexao.prepareStatement("SELECT id FROM ingressos WHERE codigo LIKE ?")) {
+            stmt.setString(1, PREFIXO_CODIGO + "%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        ids.forEach(dao::remover);
+        // As vendas e os cancelamentos acima ficam na outbox; sem isto o relay de uma
+        // aplicação em execução os entregaria aos observadores
+        try (PreparedStatement stmt = conexao.prepareStatement("DELETE FROM outbox_vendas WHERE codigo LIKE ?")) {
+            stmt.setString(1, PREFIXO_CODIGO + "%");
+            stmt.executeUpdate();
+        }
+    }
+
+    private long buscarPrimeiroId(String sql) throws SQLException {
+        try (Statement stmt = conexao.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            long id = rs.next() ? rs.getLong(1) : 0;
+            Assumptions.assumeTrue(id > 0, "Banco sem dados de referência: " + sql);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.database.DatabaseConfig;
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark do cache de prepared statements: mede o tempo por consulta de poltronaOcupada
+ * e buscarPorId numa conexão com as propriedades de driver do pool (declarações preparadas
+ * no servidor e mantidas em cache) e numa conexão sem cache, que prepara cada consulta de novo.
+ * A medição tem a tag "benchmark" e só roda com -Pbenchmarks.
+ */
+public class DeclaracoesEmCacheBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeclaracoesEmCacheBenchmarkTest.class);
+    private static final int AQUECIMENTO = 200;
+    private static final int ITERACOES = 2_000;
+
+    private Connection comCache;
+    private Connection semCache;
+
+    @BeforeEach
+    void setUp() {
+        comCache = ConexaoTeste.abrirOuIgnorar(DatabaseConfig.getInstance().getPropriedadesDriver());
+        Properties desligado = new Properties();
+        desligado.setProperty("cachePrepStmts", "false");
+        desligado.setProperty("useServerPrepStmts", "false");
+        semCache = ConexaoTeste.abrirOuIgnorar(desligado);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (comCache != null) {
+            comCache.close();
+        }
+        if (semCache != null) {
+            semCache.close();
+        }
+    }
+
+    @Test
+    void declaracaoFechadaVoltaAoCacheDaConexao() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM ingressos WHERE id = ?";
+        PreparedStatement primeira = comCache.prepareStatement(sql);
+        primeira.close();
+        PreparedStatement segunda = comCache.prepareStatement(sql);
+        segunda.close();
+        assertSame(primeira, segunda);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void consultasRepetidasComCacheDeDeclaracoes() {
+        IngressoDAO daoComCache = new IngressoDAO(comCache);
+        IngressoDAO daoSemCache = new IngressoDAO(semCache);
+
+        double poltronaSemCache = medirMicros(() -> daoSemCache.poltronaOcupada(1L, 1L, 1));
+        double poltronaComCache = medirMicros(() -> daoComCache.poltronaOcupada(1L, 1L, 1));
+        double buscaSemCache = medirMicros(() -> daoSemCache.buscarPorId(1L));
+        double buscaComCache = medirMicros(() -> daoComCache.buscarPorId(1L));
+
+        logger.info("poltronaOcupada: sem cache {} us/consulta, com cache {} us/consulta",
+            String.format("%.1f", poltronaSemCache), String.format("%.1f", poltronaComCache));
+        logger.info("buscarPorId: sem cache {} us/consulta, com cache {} us/consulta",
+            String.format("%.1f", buscaSemCache), String.format("%.1f", buscaComCache));
+
+        assertEquals(daoSemCache.poltronaOcupada(1L, 1L, 1), daoComCache.poltronaOcupada(1L, 1L, 1));
+        Optional<Ingresso> semCacheIngresso = daoSemCache.buscarPorId(1L);
+        Optional<Ingresso> comCacheIngresso = daoComCache.buscarPorId(1L);
+        assertEquals(semCacheIngresso.map(Ingresso::getCodigo), comCacheIngresso.map(Ingresso::getCodigo));
+    }
+
+    private static double medirMicros(Supplier<?> consulta) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.get();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            consulta.get();
+        }
+        return (System.nanoTime() - inicio) / 1_000.0 / ITERACOES;
+    }
+}
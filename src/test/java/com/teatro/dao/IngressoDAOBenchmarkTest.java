@@ -0,0 +1,150 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.model.Area;
+import com.teatro.model.Ingresso;
+import com.teatro.model.Sessao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark da listagem de ingressos: compara a projeção com JOIN do IngressoDAO
+ * com o enriquecimento linha a linha (1 + 3N consultas) usado anteriormente.
+ * Os 10 mil ingressos são inseridos em uma transação desfeita ao final do teste.
+ * A medição de tempo tem a tag "benchmark" e só roda com -Pbenchmarks.
+ */
+public class IngressoDAOBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngressoDAOBenchmarkTest.class);
+
+    private static final int TOTAL_INGRESSOS = 10_000;
+
+    private Connection conexao;
+    private long usuarioId;
+    private long sessaoId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        conexao.setAutoCommit(false);
+
+        usuarioId = buscarPrimeiroId("SELECT MIN(id) FROM usuarios");
+        sessaoId = buscarPrimeiroId("SELECT MIN(id) FROM sessoes");
+        long areaId = buscarPrimeiroId("SELECT MIN(id) FROM areas");
+
+        String sql = "INSERT INTO ingressos (usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra, codigo) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Timestamp agora = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            for (int i = 1; i <= TOTAL_INGRESSOS; i++) {
+                stmt.setLong(1, usuarioId);
+                stmt.setLong(2, sessaoId);
+                stmt.setLong(3, areaId);
+                stmt.setInt(4, i);
+                stmt.setDouble(5, 40.0);
+                stmt.setTimestamp(6, agora);
+                stmt.setString(7, "BENCH-" + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            conexao.rollback();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void projecaoComJoinFazUmaIdaAoBanco() {
+        AtomicInteger idasLegado = new AtomicInteger();
+        List<Ingresso> legado = listarComEnriquecimentoPorLinha(ConexaoTeste.contarIdasAoBanco(conexao, idasLegado));
+
+        AtomicInteger idasJoin = new AtomicInteger();
+        IngressoDAO dao = new IngressoDAO(ConexaoTeste.contarIdasAoBanco(conexao, idasJoin));
+        List<Ingresso> comJoin = dao.buscarPorSessao(sessaoId);
+
+        assertEquals(legado.size(), comJoin.size());
+        assertEquals(1, idasJoin.get());
+        assertEquals(1 + 3 * legado.size(), idasLegado.get());
+
+        Ingresso primeiro = comJoin.get(0);
+        assertNotNull(primeiro.getEventoNome());
+        assertNotNull(primeiro.getAreaNome());
+        assertNotNull(primeiro.getTipoSessao());
+        assertNotNull(primeiro.getDataSessao());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void tempoDaProjecaoComJoin() {
+        long inicioLegado = System.nanoTime();
+        List<Ingresso> legado = listarComEnriquecimentoPorLinha(conexao);
+        long tempoLegadoMs = (System.nanoTime() - inicioLegado) / 1_000_000;
+
+        long inicioJoin = System.nanoTime();
+        List<Ingresso> comJoin = new IngressoDAO(conexao).buscarPorSessao(sessaoId);
+        long tempoJoinMs = (System.nanoTime() - inicioJoin) / 1_000_000;
+
+        logger.info("Enriquecimento por linha: {} ingressos, {} consultas, {} ms",
+            legado.size(), 1 + 3 * legado.size(), tempoLegadoMs);
+        logger.info("Projeção com JOIN: {} ingressos, 1 consulta, {} ms", comJoin.size(), tempoJoinMs);
+    }
+
+    /**
+     * Reproduz o caminho antigo: lista os ingressos e busca sessão, evento e área para cada linha.
+     */
+    private List<Ingresso> listarComEnriquecimentoPorLinha(Connection conn) {
+        SessaoDAO sessaoDAO = new SessaoDAO(conn);
+        EventoDAO eventoDAO = new EventoDAO(conn);
+        AreaDAO areaDAO = new AreaDAO(conn);
+        List<Ingresso> ingressos = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM ingressos WHERE sessao_id = ? ORDER BY data_compra")) {
+            stmt.setLong(1, sessaoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Ingresso ingresso = new Ingresso();
+                    ingresso.setId(rs.getLong("id"));
+                    ingresso.setSessaoId(rs.getLong("sessao_id"));
+                    ingresso.setAreaId(rs.getLong("area_id"));
+                    ingressos.add(ingresso);
+                }
+            }
+        } catch (SQLException e) {
+            fail(e);
+        }
+
+        for (Ingresso ingresso : ingressos) {
+            Optional<Sessao> sessao = sessaoDAO.buscarPorId(ingresso.getSessaoId());
+            sessao.ifPresent(s -> {
+                ingresso.setTipoSessao(s.getTipoSessao());
+                ingresso.setEventoNome(eventoDAO.buscarPorId(s.getEventoId()).getNome());
+            });
+            areaDAO.buscarPorId(ingresso.getAreaId()).map(Area::getNome).ifPresent(ingresso::setAreaNome);
+        }
+        return ingressos;
+    }
+
+    private long buscarPrimeiroId(String sql) throws SQLException {
+        try (Statement stmt = conexao.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            long id = rs.next() ? rs.getLong(1) : 0;
+            Assumptions.assumeTrue(id > 0, "Banco sem dados de referência: " + sql);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Paginação por chave e leitura em fluxo dos ingressos de uma sessão.
+ * Os ingressos de teste são inseridos em uma transação desfeita ao final.
+ */
+public class IngressoDAOPaginacaoTest {
+
+    private static final int TOTAL_INGRESSOS = 1_050;
+    private static final int TAMANHO_PAGINA = 100;
+    // Números fora de qualquer área real para não colidir com vendas existentes
+    private static final int PRIMEIRA_POLTRONA = 800_001;
+
+    private Connection conexao;
+    private long sessaoId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        conexao.setAutoCommit(false);
+
+        long usuarioId = buscarPrimeiroId("SELECT MIN(id) FROM usuarios");
+        sessaoId = buscarPrimeiroId("SELECT MIN(id) FROM sessoes");
+        long areaId = buscarPrimeiroId("SELECT MIN(id) FROM areas");
+
+        String sql = "INSERT INTO ingressos (usuario_id, sessao_id, area_id, numero_poltrona, valor, data_compra, codigo) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Timestamp agora = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            for (int i = 0; i < TOTAL_INGRESSOS; i++) {
+                stmt.setLong(1, usuarioId);
+                stmt.setLong(2, sessaoId);
+                stmt.setLong(3, areaId);
+                stmt.setInt(4, PRIMEIRA_POLTRONA + i);
+                stmt.setDouble(5, 40.0);
+                stmt.setTimestamp(6, agora);
+                stmt.setString(7, "PAGE-" + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            conexao.rollback();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void paginasCobremTodosOsIngressosSemRepeticao() {
+        IngressoDAO dao = new IngressoDAO(conexao);
+        List<Long> ids = new ArrayList<>();
+        Long aposId = null;
+        List<Ingresso> pagina;
+        do {
+            pagina = dao.listarPaginaPorSessao(sessaoId, aposId, TAMANHO_PAGINA);
+            for (Ingresso ingresso : pagina) {
+                assertTrue(aposId == null || ingresso.getId() > aposId);
+                ids.add(ingresso.getId());
+                aposId = ingresso.getId();
+            }
+        } while (pagina.size() == TAMANHO_PAGINA);
+
+        List<Long> esperados = dao.buscarPorSessao(sessaoId).stream().map(Ingresso::getId).sorted().toList();
+        assertEquals(esperados, ids);
+        assertTrue(ids.size() >= TOTAL_INGRESSOS);
+    }
+
+    @Test
+    void fluxoLeTodosOsIngressosDaSessao() {
+        IngressoDAO dao = new IngressoDAO(conexao);
+        long esperados = dao.buscarPorSessao(sessaoId).size();
+        try (Stream<Ingresso> ingressos = dao.buscarPorSessaoEmFluxo(sessaoId)) {
+            assertEquals(esperados, ingressos.filter(i -> i.getEventoNome() != null).count());
+        }
+        // O cursor foi fechado com o Stream: a conexão continua utilizável
+        assertFalse(dao.listarPagina(null, 1).isEmpty());
+    }
+
+    private long buscarPrimeiroId(String sql) throws SQLException {
+        try (Statement stmt = conexao.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            long id = rs.next() ? rs.getLong(1) : 0;
+            Assumptions.assumeTrue(id > 0, "Banco sem dados de referência: " + sql);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.database.MigracoesSchema;
+import com.teatro.database.UnidadeDeTrabalho;
+import com.teatro.util.PasswordHasher;
+import com.teatro.util.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark do login com muitos usuários: compara a busca antiga ("cpf = ? OR email = ?",
+ * todas as colunas) com as buscas de credenciais do UsuarioDAOImpl por e-mail e por CPF
+ * (coluna cpf_numerico), e mede uma rajada de tentativas com um identificador inexistente
+ * atendida pelo cache negativo do DAO.
+ * Os usuários são inseridos em uma transação desfeita ao final do teste. A quantidade
+ * padrão é 100 mil; para a medição com 1 milhão use -Dteatro.bench.usuarios=1000000.
+ * Tem a tag "benchmark" e só roda com -Pbenchmarks.
+ */
+@Tag("benchmark")
+public class LoginBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginBenchmarkTest.class);
+
+    private static final int TOTAL_USUARIOS = Integer.getInteger("teatro.bench.usuarios", 100_000);
+    private static final int LOGINS = 2_000;
+    private static final String SQL_LEGADO = "SELECT * FROM usuarios WHERE cpf = ? OR email = ?";
+
+    private Connection conexao;
+    private String senhaHasheada;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        new MigracoesSchema(conexao).aplicar();
+        conexao.setAutoCommit(false);
+        senhaHasheada = PasswordHasher.hashPassword("senha-bench");
+
+        String sql = "INSERT INTO usuarios (nome, cpf, cpf_numerico, email, senha, tipo_usuario) " +
+                     "VALUES (?, ?, ?, ?, ?, 'COMUM')";
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            for (int i = 1; i <= TOTAL_USUARIOS; i++) {
+                stmt.setString(1, "Usuário " + i);
+                stmt.setString(2, Validator.formatarCpf(cpf(i)));
+                stmt.setLong(3, cpf(i));
+                stmt.setString(4, email(i));
+                stmt.setString(5, senhaHasheada);
+                stmt.addBatch();
+                if (i % 10_000 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        // O escopo do teste fecha a conexão; o rollback é feito antes, dentro dele
+        if (conexao != null && !conexao.isClosed()) {
+            conexao.rollback();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void loginPorCaminhoIndexado() throws SQLException {
+        AtomicInteger idasAoBanco = new AtomicInteger();
+        try (UnidadeDeTrabalho escopo = ConexaoTeste.abrirEscopo(ConexaoTeste.contarIdasAoBanco(conexao, idasAoBanco))) {
+            try {
+                medirCaminhos(escopo.getConnection(), idasAoBanco);
+            } finally {
+                conexao.rollback();
+            }
+        }
+    }
+
+    private void medirCaminhos(Connection conexaoDoEscopo, AtomicInteger idasAoBanco) throws SQLException {
+        UsuarioDAOImpl dao = new UsuarioDAOImpl();
+        double legadoPorSegundo = medirLogins(i -> {
+            try (PreparedStatement stmt = conexaoDoEscopo.prepareStatement(SQL_LEGADO)) {
+                stmt.setString(1, email(i));
+                stmt.setString(2, email(i));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    return senhaHasheada.equals(rs.getString("senha"));
+                }
+            }
+        });
+        double emailPorSegundo = medirLogins(i -> verificar(dao.buscarCredenciaisPorEmail(email(i))));
+        // CPF digitado sem formatação: a busca normaliza para cpf_numerico
+        double cpfPorSegundo = medirLogins(i -> verificar(dao.buscarCredenciaisPorCpf(Long.toString(cpf(i)))));
+
+        String inventado = "inexistente@teatro.com";
+        CacheIdentificadoresDesconhecidos.getInstance().remover(inventado);
+        int antes = idasAoBanco.get();
+        double rajadaPorSegundo = medirLogins(i -> dao.buscarCredenciaisPorEmail(inventado).isPresent());
+        int idasDaRajada = idasAoBanco.get() - antes;
+
+        logger.info("{} usuários", TOTAL_USUARIOS);
+        logger.info("cpf OR email, todas as colunas: {} logins/s", String.format("%,.0f", legadoPorSegundo));
+        logger.info("por e-mail, colunas do login: {} logins/s", String.format("%,.0f", emailPorSegundo));
+        logger.info("por CPF numérico, colunas do login: {} logins/s", String.format("%,.0f", cpfPorSegundo));
+        logger.info("rajada com e-mail inexistente: {} tentativas/s ({} ida ao banco)",
+            String.format("%,.0f", rajadaPorSegundo), idasDaRajada);
+
+        assertEquals(1, idasDaRajada);
+    }
+
+    @FunctionalInterface
+    private interface Login {
+        boolean executar(int indice) throws SQLException;
+    }
+
+    /**
+     * Executa LOGINS autenticações com usuários espalhados pela tabela e devolve a vazão.
+     * Só a busca é medida: a verificação do hash é a mesma em todos os caminhos.
+     */
+    private double medirLogins(Login login) throws SQLException {
+        long inicio = System.nanoTime();
+        for (int n = 0; n < LOGINS; n++) {
+            int indice = 1 + (int) ((n * 7919L) % TOTAL_USUARIOS);
+            login.executar(indice);
+        }
+        long decorrido = System.nanoTime() - inicio;
+        return LOGINS / (decorrido / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private boolean verificar(Optional<UsuarioDAOImpl.Credenciais> credenciais) {
+        assertTrue(credenciais.isPresent());
+        return senhaHasheada.equals(credenciais.get().senhaArmazenada());
+    }
+
+    private static String email(int i) {
+        return "bench" + i + "@teatro.com";
+    }
+
+    private static long cpf(int i) {
+        return 90_000_000_000L + i;
+    }
+}
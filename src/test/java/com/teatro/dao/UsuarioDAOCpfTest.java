@@ -0,0 +1,54 @@
+package com.teatro.dao;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.database.MigracoesSchema;
+import com.teatro.database.UnidadeDeTrabalho;
+import com.teatro.model.Usuario;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes das buscas por CPF normalizado: formatações diferentes do mesmo CPF encontram o
+ * mesmo usuário, e o ID resolvido pelo CPF é servido pelo cache nas chamadas seguintes.
+ * Tudo roda em uma transação desfeita ao final.
+ */
+public class UsuarioDAOCpfTest {
+
+    @Test
+    void testFormatacoesDoMesmoCpfEncontramOMesmoUsuario() throws SQLException {
+        Connection conexao = ConexaoTeste.abrirOuIgnorar();
+        new MigracoesSchema(conexao).aplicar();
+        conexao.setAutoCommit(false);
+        AtomicInteger idasAoBanco = new AtomicInteger();
+        Connection contada = ConexaoTeste.contarIdasAoBanco(conexao, idasAoBanco);
+
+        try (UnidadeDeTrabalho uow = ConexaoTeste.abrirEscopo(contada)) {
+            UsuarioDAOImpl dao = new UsuarioDAOImpl();
+            Usuario usuario = new Usuario("Cliente CPF", "529.982.247-25", "senha123", "cpf.normalizado@teatro.com", null);
+            usuario.setTipoUsuario("COMUM");
+            try {
+                dao.salvar(usuario);
+
+                assertEquals(usuario.getId(), dao.buscarPorCpf("52998224725").map(Usuario::getId).orElse(null));
+                assertTrue(dao.buscarPorCpfEEmail("529982247-25", "cpf.normalizado@teatro.com").isPresent());
+                assertTrue(dao.autenticarPorCpf("52998224725", "senha123").isPresent());
+
+                assertEquals(usuario.getId(), dao.buscarIdPorCpf("529.982.247-25").orElse(null));
+                int antes = idasAoBanco.get();
+                assertEquals(usuario.getId(), dao.buscarIdPorCpf("52998224725").orElse(null));
+                assertEquals(antes, idasAoBanco.get(), "A segunda resolução deveria vir do cache");
+
+                assertTrue(dao.buscarIdPorCpf("529.982.247").isEmpty());
+            } finally {
+                if (usuario.getId() != null) {
+                    // Também esvazia o cache de IDs por CPF
+                    dao.remover(usuario.getId());
+                }
+                conexao.rollback();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.teatro.database;
+
+import org.junit.jupiter.api.Assumptions;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utilitário de testes para obter conexões com o banco configurado em database.properties.
+ * Os testes que dependem do MySQL são ignorados quando o banco não está acessível.
+ */
+public final class ConexaoTeste {
+    
+    private ConexaoTeste() {
+    }
+    
+    /**
+     * Abre uma conexão direta (fora do pool) ou ignora o teste se o banco não estiver disponível.
+     * @return Uma nova conexão
+     */
+    public static Connection abrirOuIgnorar() {
+        return abrirOuIgnorar(new Properties());
+    }
+    
+    /**
+     * Abre uma conexão direta com as propriedades de driver informadas
+     * (por exemplo, as do pool, em DatabaseConfig.getPropriedadesDriver).
+     * @param propriedadesDriver Propriedades adicionais do driver
+     * @return Uma nova conexão
+     */
+    public static Connection abrirOuIgnorar(Properties propriedadesDriver) {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        Properties propriedades = new Properties();
+        propriedades.putAll(propriedadesDriver);
+        propriedades.setProperty("user", config.getUsuario());
+        propriedades.setProperty("password", config.getSenha());
+        try {
+            Class.forName(config.getDriver());
+            return DriverManager.getConnection(config.getUrl(), propriedades);
+        } catch (ClassNotFoundException | SQLException e) {
+            Assumptions.abort("Banco de dados indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Abre uma unidade de trabalho sobre a conexão de teste: o código que usa
+     * UnidadeDeTrabalho.abrir() passa a usar essa conexão em vez de pedir uma ao pool.
+     * Ao fechar o escopo, a conexão é fechada.
+     * @param conexao A conexão de teste
+     * @return O escopo aberto na thread atual
+     */
+    public static UnidadeDeTrabalho abrirEscopo(Connection conexao) throws SQLException {
+        return UnidadeDeTrabalho.abrir(() -> conexao, false);
+    }
+    
+    /**
+     * Envolve uma conexão em um proxy que conta quantas consultas/comandos foram enviados ao banco.
+     * @param conexao A conexão real
+     * @param contador Contador incrementado a cada execute/executeQuery/executeUpdate/executeBatch
+     * @return A conexão instrumentada
+     */
+    public static Connection contarIdasAoBanco(Connection conexao, AtomicInteger contador) {
+        InvocationHandler handlerConexao = (proxy, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof Statement stmt) {
+                return instrumentarStatement(stmt, contador);
+            }
+            return resultado;
+        };
+        return (Connection) Proxy.newProxyInstance(
+            ConexaoTeste.class.getClassLoader(), new Class<?>[] { Connection.class }, handlerConexao);
+    }
+    
+    /**
+     * Consulta enviada ao banco por uma conexão de registrarConsultas.
+     * @param sql O texto da consulta
+     * @param parametros Os parâmetros por posição
+     */
+    public record ConsultaRegistrada(String sql, Map<Integer, Object> parametros) {
+    }
+    
+    /**
+     * Envolve uma conexão em um proxy que registra as consultas preparadas executadas e seus
+     * parâmetros (por exemplo, para verificá-las com EXPLAIN). O close() do proxy é ignorado:
+     * a conexão real continua sob responsabilidade do teste.
+     * @param conexao A conexão real
+     * @param consultas Lista que recebe as consultas executadas
+     * @return A conexão instrumentada
+     */
+    public static Connection registrarConsultas(Connection conexao, List<ConsultaRegistrada> consultas) {
+        InvocationHandler handlerConexao = (proxy, metodo, args) -> {
+            if (metodo.getName().equals("close")) {
+                return null;
+            }
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof PreparedStatement stmt && metodo.getName().equals("prepareStatement")) {
+                return registrarStatement(stmt, (String) args[0], consultas);
+            }
+            return resultado;
+        };
+        return (Connection) Proxy.newProxyInstance(
+            ConexaoTeste.class.getClassLoader(), new Class<?>[] { Connection.class }, handlerConexao);
+    }
+    
+    private static PreparedStatement registrarStatement(PreparedStatement stmt, String sql,
+                                                        List<ConsultaRegistrada> consultas) {
+        Map<Integer, Object> parametros = new TreeMap<>();
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer posicao) {
+                parametros.put(posicao, args[1]);
+            } else if (nome.startsWith("execute")) {
+                consultas.add(new ConsultaRegistrada(sql, new TreeMap<>(parametros)));
+            }
+            return invocar(stmt, metodo, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+            ConexaoTeste.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, handler);
+    }
+    
+    private static Statement instrumentarStatement(Statement stmt, AtomicInteger contador) {
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            if (metodo.getName().startsWith("execute")) {
+                contador.incrementAndGet();
+            }
+            return invocar(stmt, metodo, args);
+        };
+        Class<?>[] interfaces = stmt instanceof java.sql.PreparedStatement
+            ? new Class<?>[] { java.sql.PreparedStatement.class }
+            : new Class<?>[] { Statement.class };
+        return (Statement) Proxy.newProxyInstance(ConexaoTeste.class.getClassLoader(), interfaces, handler);
+    }
+    
+    private static Object invocar(Object alvo, java.lang.reflect.Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
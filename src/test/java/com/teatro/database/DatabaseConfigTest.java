@@ -0,0 +1,26 @@
+package com.teatro.database;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Properties;
+
+/**
+ * Testes unitários para a classe DatabaseConfig.
+ */
+public class DatabaseConfigTest {
+
+    @Test
+    void testPropriedadesDoCacheDeDeclaracoes() {
+        DatabaseConfig config = DatabaseConfig.getInstance();
+        // database.properties tinha "useServerPrepStmts=true " (com espaço), lido como false
+        assertTrue(config.getUseServerPrepStmts());
+        assertTrue(config.getCachePrepStmts());
+
+        Properties driver = config.getPropriedadesDriver();
+        assertEquals("true", driver.getProperty("cachePrepStmts"));
+        assertEquals("true", driver.getProperty("useServerPrepStmts"));
+        assertEquals(String.valueOf(config.getPrepStmtCacheSize()), driver.getProperty("prepStmtCacheSize"));
+        assertEquals(String.valueOf(config.getPrepStmtCacheSqlLimit()), driver.getProperty("prepStmtCacheSqlLimit"));
+        assertEquals("true", driver.getProperty("useCursorFetch"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.teatro.database;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes unitários para a classe MetricasPool.
+ */
+public class MetricasPoolTest {
+
+    @Test
+    void testHistogramaDeAquisicao() {
+        MetricasPool metricas = new MetricasPool();
+        metricas.registrarAquisicao(TimeUnit.MICROSECONDS.toNanos(200));
+        metricas.registrarAquisicao(TimeUnit.MILLISECONDS.toNanos(7));
+        metricas.registrarAquisicao(TimeUnit.MILLISECONDS.toNanos(2000));
+
+        Map<String, Long> histograma = metricas.getHistogramaAquisicao();
+        assertEquals(1L, histograma.get("< 1 ms"));
+        assertEquals(1L, histograma.get("< 10 ms"));
+        assertEquals(1L, histograma.get(">= 1000 ms"));
+        assertEquals(3, metricas.getTotalAquisicoes());
+        assertTrue(metricas.getTempoMedioAquisicaoMs() > 600);
+    }
+
+    @Test
+    void testMetricasSemPoolIniciado() {
+        MetricasPool metricas = new MetricasPool();
+        assertEquals(0, metricas.getConexoesAtivas());
+        assertEquals(0, metricas.getThreadsAguardando());
+        assertEquals(0.0, metricas.getTempoMedioAquisicaoMs());
+        assertNotNull(metricas.resumo());
+    }
+}
@@ -0,0 +1,120 @@
+package com.teatro.database;
+
+import com.teatro.dao.IngressoDAO;
+import com.teatro.dao.SessaoDAO;
+import com.teatro.dao.UsuarioDAOImpl;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Testes das migrações de schema. O plano das consultas mais frequentes é verificado com
+ * EXPLAIN: o teste falha se alguma delas voltar a ler uma tabela inteira (type = ALL).
+ * As consultas são capturadas dos próprios DAOs, com os parâmetros usados na chamada.
+ */
+public class MigracoesSchemaTest {
+
+    @Test
+    void testMigracoesEmOrdemComScripts() {
+        int anterior = 0;
+        for (MigracoesSchema.Migracao migracao : MigracoesSchema.MIGRACOES) {
+            assertTrue(migracao.versao() > anterior, "Versões devem ser crescentes");
+            assertNotNull(MigracoesSchema.class.getResourceAsStream(migracao.recurso()), migracao.recurso());
+            anterior = migracao.versao();
+        }
+    }
+
+    @Test
+    void testConsultasFrequentesNaoLeemTabelasInteiras() throws SQLException {
+        try (Connection conexao = ConexaoTeste.abrirOuIgnorar()) {
+            new MigracoesSchema(conexao).aplicar();
+            // Uma segunda execução não reaplica nada
+            assertEquals(0, new MigracoesSchema(conexao).aplicar());
+
+            List<ConexaoTeste.ConsultaRegistrada> consultas = new ArrayList<>();
+            Connection registradora = ConexaoTeste.registrarConsultas(conexao, consultas);
+
+            IngressoDAO ingressoDAO = new IngressoDAO(registradora);
+            ingressoDAO.poltronaOcupada(1L, 1L, 1);
+            ingressoDAO.buscarPoltronasOcupadas(1L, 1L);
+            ingressoDAO.buscarPoltronasOcupadas(null, 1L);
+            ingressoDAO.buscarPoltronasOcupadasPorArea(1L);
+            ingressoDAO.buscarPorUsuario(1L);
+            ingressoDAO.buscarPorSessao(1L);
+            new SessaoDAO(registradora).buscarPorEvento(1L);
+            try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> registradora, false)) {
+                UsuarioDAOImpl usuarioDAO = new UsuarioDAOImpl();
+                usuarioDAO.buscarPorEmail("consulta@teatro.com");
+                usuarioDAO.buscarPorCpf("000.000.000-00");
+                usuarioDAO.buscarIdPorCpf("123.456.789-09");
+                usuarioDAO.autenticar("consulta@teatro.com", "senha");
+            }
+
+            assertEquals(11, consultas.size());
+            for (ConexaoTeste.ConsultaRegistrada consulta : consultas) {
+                List<String> leiturasCompletas = explicar(conexao, consulta);
+                System.out.printf("%-4s %s%n", leiturasCompletas.isEmpty() ? "ok" : "SCAN", consulta.sql());
+                assertTrue(leiturasCompletas.isEmpty(),
+                    "Leitura completa de " + leiturasCompletas + " em: " + consulta.sql());
+            }
+        }
+    }
+
+    @Test
+    void testCpfsDuplicadosPorFormatacaoSaoDetectados() throws SQLException {
+        try (Connection conexao = ConexaoTeste.abrirOuIgnorar()) {
+            new MigracoesSchema(conexao).aplicar();
+            conexao.setAutoCommit(false);
+            try {
+                int antes = MigracoesSchema.registrarCpfsDuplicados(conexao);
+                String sql = "INSERT INTO usuarios (nome, cpf, cpf_numerico, email, senha, tipo_usuario) " +
+                             "VALUES (?, ?, ?, ?, 'x', 'COMUM')";
+                try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+                    stmt.setString(1, "Cadastro original");
+                    stmt.setString(2, "529.982.247-25");
+                    stmt.setLong(3, 52998224725L);
+                    stmt.setString(4, "cpf.original@teatro.com");
+                    stmt.addBatch();
+                    // Mesmo CPF sem formatação: a migração 3 o deixa sem cpf_numerico
+                    stmt.setString(1, "Cadastro duplicado");
+                    stmt.setString(2, "52998224725");
+                    stmt.setNull(3, Types.BIGINT);
+                    stmt.setString(4, "cpf.duplicado@teatro.com");
+                    stmt.addBatch();
+                    stmt.executeBatch();
+                }
+                assertEquals(antes + 1, MigracoesSchema.registrarCpfsDuplicados(conexao));
+            } finally {
+                conexao.rollback();
+            }
+        }
+    }
+
+    /**
+     * Executa EXPLAIN da consulta e devolve as tabelas lidas por inteiro.
+     */
+    private static List<String> explicar(Connection conexao, ConexaoTeste.ConsultaRegistrada consulta)
+            throws SQLException {
+        List<String> tabelas = new ArrayList<>();
+        try (PreparedStatement stmt = conexao.prepareStatement("EXPLAIN " + consulta.sql())) {
+            for (Map.Entry<Integer, Object> parametro : consulta.parametros().entrySet()) {
+                stmt.setObject(parametro.getKey(), parametro.getValue());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if ("ALL".equals(rs.getString("type"))) {
+                        tabelas.add(rs.getString("table"));
+                    }
+                }
+            }
+        }
+        return tabelas;
+    }
+}
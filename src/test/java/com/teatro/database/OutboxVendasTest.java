@@ -0,0 +1,78 @@
+package com.teatro.database;
+
+import com.teatro.dao.IngressoDAO;
+import com.teatro.database.OutboxVendas.Registro;
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.*;
+import java.util.List;
+
+/**
+ * Gravação da outbox de vendas na transação da venda e do cancelamento.
+ * Tudo é feito em uma transação desfeita ao final.
+ */
+public class OutboxVendasTest {
+
+    // Números fora de qualquer área real para não colidir com vendas existentes
+    private static final int POLTRONA = 820_001;
+
+    private Connection conexao;
+    private long usuarioId;
+    private long sessaoId;
+    private long areaId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        new ResumosEstatisticas(conexao).criarTabelas();
+        new OutboxVendas(conexao).criarTabela();
+        conexao.setAutoCommit(false);
+        usuarioId = buscarPrimeiroId("SELECT MIN(id) FROM usuarios");
+        sessaoId = buscarPrimeiroId("SELECT MIN(id) FROM sessoes");
+        areaId = buscarPrimeiroId("SELECT MIN(id) FROM areas");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            conexao.rollback();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void vendaECancelamentoSaoGravadosNaOutbox() throws SQLException {
+        IngressoDAO dao = new IngressoDAO(conexao);
+        OutboxVendas outbox = new OutboxVendas(conexao);
+        Ingresso ingresso = new Ingresso(usuarioId, sessaoId, areaId, POLTRONA, 42.0);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        ingresso.setCodigo("OUTBOX-1");
+
+        dao.salvar(ingresso);
+        dao.remover(ingresso.getId());
+
+        List<Registro> registros = outbox.buscarPendentes(Integer.MAX_VALUE).stream()
+            .filter(r -> "OUTBOX-1".equals(r.ingresso().getCodigo()))
+            .toList();
+        assertEquals(2, registros.size());
+        assertFalse(registros.get(0).isCancelamento());
+        assertTrue(registros.get(1).isCancelamento());
+        assertEquals(POLTRONA, registros.get(1).ingresso().getNumeroPoltrona());
+
+        long antes = outbox.contarPendentes();
+        outbox.remover(registros);
+        assertEquals(antes - 2, outbox.contarPendentes());
+    }
+
+    private long buscarPrimeiroId(String sql) throws SQLException {
+        try (Statement stmt = conexao.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            long id = rs.next() ? rs.getLong(1) : 0;
+            Assumptions.assumeTrue(id > 0, "Banco sem dados de referência: " + sql);
+            return id;
+        }
+    }
+}
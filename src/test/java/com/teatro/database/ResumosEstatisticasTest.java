@@ -0,0 +1,109 @@
+package com.teatro.database;
+
+import com.teatro.dao.IngressoDAO;
+import com.teatro.exception.IngressoException;
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manutenção incremental das tabelas de resumo pelas vendas e cancelamentos do IngressoDAO.
+ * Tudo é feito em uma transação desfeita ao final.
+ */
+public class ResumosEstatisticasTest {
+
+    // Números fora de qualquer área real para não colidir com vendas existentes
+    private static final int PRIMEIRA_POLTRONA = 810_001;
+
+    private Connection conexao;
+    private long usuarioId;
+    private long sessaoId;
+    private long areaId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = ConexaoTeste.abrirOuIgnorar();
+        new ResumosEstatisticas(conexao).criarTabelas();
+        conexao.setAutoCommit(false);
+        usuarioId = buscarPrimeiroId("SELECT MIN(id) FROM usuarios");
+        sessaoId = buscarPrimeiroId("SELECT MIN(id) FROM sessoes");
+        areaId = buscarPrimeiroId("SELECT MIN(id) FROM areas");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (conexao != null) {
+            conexao.rollback();
+            conexao.close();
+        }
+    }
+
+    @Test
+    void vendaECancelamentoAtualizamResumos() throws SQLException {
+        double[] antes = totaisSessao();
+        IngressoDAO dao = new IngressoDAO(conexao);
+        List<Ingresso> ingressos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Ingresso ingresso = new Ingresso(usuarioId, sessaoId, areaId, PRIMEIRA_POLTRONA + i, 35.5);
+            ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+            ingresso.setCodigo("RESUMO-" + i);
+            ingressos.add(ingresso);
+        }
+
+        dao.salvarEmLote(ingressos);
+        double[] depoisVenda = totaisSessao();
+        assertEquals(antes[0] + 3, depoisVenda[0]);
+        assertEquals(antes[1] + 106.5, depoisVenda[1], 0.001);
+
+        dao.remover(ingressos.get(0).getId());
+        double[] depoisCancelamento = totaisSessao();
+        assertEquals(antes[0] + 2, depoisCancelamento[0]);
+        assertEquals(antes[1] + 71.0, depoisCancelamento[1], 0.001);
+    }
+
+    @Test
+    void atualizacaoNaoAlteraDadosDosResumos() throws SQLException {
+        IngressoDAO dao = new IngressoDAO(conexao);
+        Ingresso ingresso = new Ingresso(usuarioId, sessaoId, areaId, PRIMEIRA_POLTRONA, 35.5);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        ingresso.setCodigo("RESUMO-ATUALIZACAO");
+        dao.salvarEmLote(List.of(ingresso));
+        double[] antes = totaisSessao();
+
+        Ingresso alterado = dao.buscarPorId(ingresso.getId()).orElseThrow();
+        alterado.setValor(99.0);
+        assertThrows(IngressoException.class, () -> dao.atualizar(alterado));
+        assertArrayEquals(antes, totaisSessao());
+
+        // A poltrona não entra nos resumos e pode ser trocada
+        Ingresso trocado = dao.buscarPorId(ingresso.getId()).orElseThrow();
+        trocado.setNumeroPoltrona(PRIMEIRA_POLTRONA + 1);
+        dao.atualizar(trocado);
+        assertEquals(PRIMEIRA_POLTRONA + 1, dao.buscarPorId(ingresso.getId()).orElseThrow().getNumeroPoltrona());
+        assertArrayEquals(antes, totaisSessao());
+    }
+
+    private double[] totaisSessao() throws SQLException {
+        String sql = "SELECT total_ingressos, faturamento FROM resumo_ocupacao_sessao WHERE sessao_id = ?";
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            stmt.setLong(1, sessaoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new double[] {rs.getInt(1), rs.getDouble(2)} : new double[] {0, 0};
+            }
+        }
+    }
+
+    private long buscarPrimeiroId(String sql) throws SQLException {
+        try (Statement stmt = conexao.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            long id = rs.next() ? rs.getLong(1) : 0;
+            Assumptions.assumeTrue(id > 0, "Banco sem dados de referência: " + sql);
+            return id;
+        }
+    }
+}
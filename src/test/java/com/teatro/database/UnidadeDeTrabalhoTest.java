@@ -0,0 +1,184 @@
+package com.teatro.database;
+
+import com.teatro.dao.IngressoDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes unitários da UnidadeDeTrabalho, com uma conexão falsa no lugar do pool.
+ */
+public class UnidadeDeTrabalhoTest {
+
+    /** Conexão falsa que registra commits, rollbacks, auto-commit e fechamento. */
+    private static final class ConexaoFalsa {
+        boolean autoCommit = true;
+        boolean fechada;
+        int commits;
+        int rollbacks;
+        final Connection conexao = (Connection) Proxy.newProxyInstance(
+            UnidadeDeTrabalhoTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, metodo, args) -> switch (metodo.getName()) {
+                case "getAutoCommit" -> autoCommit;
+                case "setAutoCommit" -> { autoCommit = (Boolean) args[0]; yield null; }
+                case "commit" -> { commits++; yield null; }
+                case "rollback" -> { rollbacks++; yield null; }
+                case "close" -> { fechada = true; yield null; }
+                case "isClosed" -> fechada;
+                default -> throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+
+    @AfterEach
+    void verificarEscoposFechados() {
+        assertFalse(UnidadeDeTrabalho.emAndamento());
+    }
+
+    @Test
+    void testExecutarParticipaDoEscopoAberto() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+        try (UnidadeDeTrabalho externa = UnidadeDeTrabalho.abrir(() -> falsa.conexao, false)) {
+            assertSame(externa.getConnection(), UnidadeDeTrabalho.executar(UnidadeDeTrabalho::conexaoAtual));
+            assertThrows(IllegalStateException.class, () -> UnidadeDeTrabalho.executar(() -> {
+                throw new IllegalStateException("falha na operação");
+            }));
+            // A operação não fecha a conexão do escopo externo, nem quando falha
+            assertFalse(falsa.fechada);
+        }
+        assertTrue(falsa.fechada);
+    }
+
+    @Test
+    void testEscoposAninhadosCompartilhamUmaConexao() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+        AtomicInteger emprestimos = new AtomicInteger();
+        UnidadeDeTrabalho.FonteConexoes fonte = () -> {
+            emprestimos.incrementAndGet();
+            return falsa.conexao;
+        };
+
+        try (UnidadeDeTrabalho externa = UnidadeDeTrabalho.abrir(fonte, false)) {
+            try (UnidadeDeTrabalho interna = UnidadeDeTrabalho.abrir(fonte, false)) {
+                assertSame(externa.getConnection(), interna.getConnection());
+                assertSame(falsa.conexao, UnidadeDeTrabalho.conexaoAtual());
+            }
+            // Fechar o escopo interno não devolve a conexão
+            assertFalse(falsa.fechada);
+            assertTrue(UnidadeDeTrabalho.emAndamento());
+        }
+
+        assertEquals(1, emprestimos.get());
+        assertTrue(falsa.fechada);
+        assertThrows(IllegalStateException.class, UnidadeDeTrabalho::conexaoAtual);
+    }
+
+    @Test
+    void testTransacaoConfirmadaFazCommitERestauraAutoCommit() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+            assertFalse(falsa.autoCommit);
+            uow.confirmar();
+        }
+
+        assertEquals(1, falsa.commits);
+        assertEquals(0, falsa.rollbacks);
+        assertTrue(falsa.autoCommit);
+        assertTrue(falsa.fechada);
+    }
+
+    @Test
+    void testTransacaoNaoConfirmadaEDesfeita() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+                throw new IllegalArgumentException("falha no meio da operação");
+            }
+        });
+
+        assertEquals(0, falsa.commits);
+        assertEquals(1, falsa.rollbacks);
+        assertTrue(falsa.autoCommit);
+        assertTrue(falsa.fechada);
+    }
+
+    @Test
+    void testTransacaoInternaParticipaDaExterna() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+
+        try (UnidadeDeTrabalho externa = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+            try (UnidadeDeTrabalho interna = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+                interna.confirmar();
+            }
+            // Só quem iniciou a transação faz commit
+            assertEquals(0, falsa.commits);
+            assertFalse(falsa.autoCommit);
+        }
+
+        // A externa não foi confirmada: tudo é desfeito
+        assertEquals(0, falsa.commits);
+        assertEquals(1, falsa.rollbacks);
+    }
+
+    @Test
+    void testAcoesAposConfirmarRodamSoDepoisDoCommit() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+        List<Integer> commitsVistos = new ArrayList<>();
+
+        try (UnidadeDeTrabalho externa = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+            try (UnidadeDeTrabalho interna = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+                UnidadeDeTrabalho.aposConfirmar(() -> commitsVistos.add(falsa.commits));
+                interna.confirmar();
+            }
+            // O commit da transação interna é o da externa: a ação ainda espera
+            assertTrue(commitsVistos.isEmpty());
+            externa.confirmar();
+        }
+
+        assertEquals(List.of(1), commitsVistos);
+    }
+
+    @Test
+    void testAcoesAposConfirmarDescartadasNoRollback() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+        List<String> executadas = new ArrayList<>();
+
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> falsa.conexao, true)) {
+            UnidadeDeTrabalho.aposConfirmar(() -> executadas.add("transacao"));
+        }
+        assertEquals(1, falsa.rollbacks);
+        assertTrue(executadas.isEmpty());
+
+        // Sem transação a escrita já está confirmada: a ação roda na hora
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> falsa.conexao, false)) {
+            UnidadeDeTrabalho.aposConfirmar(() -> executadas.add("auto-commit"));
+            assertEquals(List.of("auto-commit"), executadas);
+        }
+        UnidadeDeTrabalho.aposConfirmar(() -> executadas.add("sem escopo"));
+        assertEquals(List.of("auto-commit", "sem escopo"), executadas);
+    }
+
+    @Test
+    void testEscopoEsquecidoAbertoEReportadoUmaVez() throws Exception {
+        ConexaoFalsa falsa = new ConexaoFalsa();
+
+        try (UnidadeDeTrabalho uow = UnidadeDeTrabalho.abrir(() -> falsa.conexao, false)) {
+            assertEquals(1, UnidadeDeTrabalho.getEscoposAbertos());
+            assertEquals(1, UnidadeDeTrabalho.verificarVazamentos(0));
+            assertEquals(0, UnidadeDeTrabalho.verificarVazamentos(0));
+        }
+        assertEquals(0, UnidadeDeTrabalho.getEscoposAbertos());
+    }
+
+    @Test
+    void testDAOSemConexaoExigeUnidadeDeTrabalho() {
+        IngressoDAO dao = new IngressoDAO();
+        assertThrows(IllegalStateException.class, () -> dao.existe(1L));
+    }
+}
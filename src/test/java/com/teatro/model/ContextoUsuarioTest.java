@@ -0,0 +1,36 @@
+package com.teatro.model;
+
+import com.teatro.exception.TeatroException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContextoUsuarioTest {
+    @Test
+    void testCriadoAPartirDoUsuarioAutenticado() {
+        Usuario usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setCpf("123.456.789-09");
+        usuario.setTipoUsuario("ADMIN");
+
+        ContextoUsuario contexto = ContextoUsuario.de(usuario);
+
+        assertEquals(42L, contexto.usuarioId());
+        assertEquals("123.456.789-09", contexto.cpf());
+        assertTrue(contexto.isAdmin());
+    }
+
+    @Test
+    void testUsuarioComum() {
+        assertFalse(new ContextoUsuario(1L, "123.456.789-09", "COMUM").isAdmin());
+    }
+
+    @Test
+    void testExigeIdECpf() {
+        Usuario naoSalvo = new Usuario();
+        naoSalvo.setCpf("123.456.789-09");
+
+        assertThrows(TeatroException.class, () -> ContextoUsuario.de(naoSalvo));
+        assertThrows(TeatroException.class, () -> new ContextoUsuario(1L, "", "COMUM"));
+        assertThrows(TeatroException.class, () -> ContextoUsuario.de(null));
+    }
+}
@@ -0,0 +1,58 @@
+package com.teatro.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.BitSet;
+import java.util.List;
+
+public class MapaPoltronasTest {
+    @Test
+    void testMapaVazioTemTodasDisponiveis() {
+        MapaPoltronas mapa = new MapaPoltronas(5);
+        assertEquals(5, mapa.getTotalDisponiveis());
+        assertEquals(0, mapa.getTotalOcupadas());
+        assertEquals(1, mapa.getPrimeiraDisponivel());
+        assertEquals(List.of(1, 2, 3, 4, 5), mapa.getPoltronasDisponiveis());
+    }
+
+    @Test
+    void testOcuparELiberar() {
+        MapaPoltronas mapa = new MapaPoltronas(3);
+        assertTrue(mapa.ocupar(1));
+        assertFalse(mapa.ocupar(1));
+        assertFalse(mapa.ocupar(0));
+        assertFalse(mapa.ocupar(4));
+        assertTrue(mapa.isOcupada(1));
+        assertEquals(2, mapa.getPrimeiraDisponivel());
+        mapa.liberar(1);
+        assertTrue(mapa.isDisponivel(1));
+    }
+
+    @Test
+    void testDescartaPoltronasForaDaCapacidade() {
+        BitSet ocupadas = new BitSet();
+        ocupadas.set(0);
+        ocupadas.set(2);
+        ocupadas.set(50);
+        MapaPoltronas mapa = new MapaPoltronas(10, ocupadas);
+        assertEquals(List.of(2), mapa.getPoltronasOcupadas());
+        assertEquals(9, mapa.getTotalDisponiveis());
+    }
+
+    @Test
+    void testAreaLotada() {
+        MapaPoltronas mapa = MapaPoltronas.deLista(2, List.of(1, 2));
+        assertEquals(-1, mapa.getPrimeiraDisponivel());
+        assertTrue(mapa.getPoltronasDisponiveis().isEmpty());
+    }
+
+    @Test
+    void testAreaUsaMapaDePoltronas() {
+        Area area = new Area(1L, "Frisa 1", 120.0, 5);
+        area.carregarPoltronasOcupadas(List.of(1, 3));
+        assertEquals(3, area.getPoltronasDisponiveis());
+        assertEquals(List.of(2, 4, 5), area.getPoltronasDisponiveisList());
+        assertTrue(area.ocuparPoltrona(2));
+        assertEquals(4, area.getPrimeiraPoltrona());
+    }
+}
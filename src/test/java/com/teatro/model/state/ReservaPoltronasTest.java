@@ -0,0 +1,109 @@
+package com.teatro.model.state;
+
+import com.teatro.model.Poltrona;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReservaPoltronasTest {
+    private final AtomicLong agora = new AtomicLong(1_000);
+    private final ReservaPoltronas reservas = new ReservaPoltronas(Duration.ofSeconds(60), agora::get);
+
+    @Test
+    void testOutroUsuarioNaoReservaPoltronaJaReservada() {
+        assertTrue(reservas.reservar(1L, 2L, 10, "ana").isPresent());
+        assertTrue(reservas.reservar(1L, 2L, 10, "bruno").isEmpty());
+        assertTrue(reservas.isReservadaPorOutro(1L, 2L, 10, "bruno"));
+        assertFalse(reservas.isReservadaPorOutro(1L, 2L, 10, "ana"));
+        // Mesma poltrona em outra sessão é independente
+        assertTrue(reservas.reservar(9L, 2L, 10, "bruno").isPresent());
+    }
+
+    @Test
+    void testReservaExpiradaPodeSerTomadaEVarrida() {
+        reservas.reservar(1L, 2L, 10, "ana");
+        reservas.reservar(1L, 2L, 11, "ana");
+        agora.addAndGet(60_000);
+        assertTrue(reservas.reservar(1L, 2L, 10, "bruno").isPresent());
+        assertEquals(1, reservas.removerExpiradas());
+        assertEquals(1, reservas.getTotalReservas());
+    }
+
+    @Test
+    void testLiberacaoDeReservaRenovadaNaoTemEfeito() {
+        ReservaPoltronas.Reserva primeira = reservas.reservar(1L, 2L, 10, "ana").orElseThrow();
+        ReservaPoltronas.Reserva renovada = reservas.reservar(1L, 2L, 10, "ana").orElseThrow();
+        assertFalse(reservas.liberar(primeira));
+        assertTrue(reservas.liberar(renovada));
+        assertTrue(reservas.reservar(1L, 2L, 10, "bruno").isPresent());
+    }
+
+    @Test
+    void testBuscarReservaDoProprioUsuario() {
+        ReservaPoltronas.Reserva reserva = reservas.reservar(1L, 2L, 10, "ana").orElseThrow();
+        assertSame(reserva, reservas.buscarReserva(1L, 2L, 10, "ana").orElseThrow());
+        assertTrue(reservas.buscarReserva(1L, 2L, 10, "bruno").isEmpty());
+        agora.addAndGet(60_000);
+        assertTrue(reservas.buscarReserva(1L, 2L, 10, "ana").isEmpty());
+    }
+
+    @Test
+    void testReservadasPorOutros() {
+        reservas.reservar(1L, 2L, 3, "ana");
+        reservas.reservar(1L, 2L, 5, "bruno");
+        reservas.reservar(1L, 7L, 4, "bruno");
+        assertEquals(List.of(5), reservas.getReservadasPorOutros(1L, 2L, "ana").stream().boxed().toList());
+    }
+
+    @Test
+    void testSelecaoConcorrenteTemUmUnicoVencedor() throws Exception {
+        int threads = 8;
+        AtomicInteger vencedores = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            String dono = "usuario-" + t;
+            executor.submit(() -> {
+                largada.await();
+                for (int numero = 1; numero <= 1_000; numero++) {
+                    if (reservas.reservar(1L, 1L, numero, dono).isPresent()) {
+                        vencedores.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1_000, vencedores.get());
+    }
+
+    @Test
+    void testPoltronaSelecionadaLiberaReservaAoSerDesselecionada() {
+        ReservaPoltronas global = ReservaPoltronas.getInstance();
+        Optional<ReservaPoltronas.Reserva> reserva = global.reservar(-1L, -1L, 1, "ana");
+        Poltrona poltrona = new Poltrona(1);
+        poltrona.selecionar(reserva.orElseThrow());
+        assertEquals("Selecionada", poltrona.getNomeEstado());
+        assertTrue(global.isReservadaPorOutro(-1L, -1L, 1, "bruno"));
+        poltrona.liberar();
+        assertEquals("Disponível", poltrona.getNomeEstado());
+        assertFalse(global.isReservadaPorOutro(-1L, -1L, 1, "bruno"));
+    }
+
+    @Test
+    void testPoltronaSelecionadaGuardaReservaRenovada() {
+        ReservaPoltronas global = ReservaPoltronas.getInstance();
+        Poltrona poltrona = new Poltrona(2);
+        poltrona.selecionar(global.reservar(-1L, -1L, 2, "ana").orElseThrow());
+        poltrona.selecionar(global.reservar(-1L, -1L, 2, "ana").orElseThrow());
+        poltrona.liberar();
+        assertFalse(global.isReservadaPorOutro(-1L, -1L, 2, "bruno"));
+    }
+}
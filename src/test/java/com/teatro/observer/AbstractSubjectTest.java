@@ -0,0 +1,44 @@
+package com.teatro.observer;
+
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Timestamp;
+
+public class AbstractSubjectTest {
+
+    private NotificacaoVenda notificacao(long sessaoId, int poltrona) {
+        Ingresso ingresso = new Ingresso(1L, sessaoId, 1L, poltrona, 10.0);
+        ingresso.setCodigo("C" + poltrona);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        return new NotificacaoVenda(ingresso);
+    }
+
+    @Test
+    void metricasContamAsEntregasDeCadaObservador() {
+        NotificacaoSubject subject = new NotificacaoSubject();
+        TestObserver observer = new TestObserver();
+        subject.registerObserver(observer);
+
+        for (int i = 1; i <= 50; i++) {
+            subject.notifyObservers(notificacao(1L, i));
+        }
+
+        assertTrue(observer.notificado);
+        MetricasObservador metricas = subject.getMetricasObservadores().iterator().next();
+        assertEquals(50, metricas.getEntregas());
+        assertEquals(0, metricas.getFalhas());
+    }
+
+    @Test
+    void falhaDeUmObservadorNaoImpedeOsDemais() {
+        NotificacaoSubject subject = new NotificacaoSubject();
+        subject.registerObserver(n -> { throw new IllegalStateException("falha"); });
+        TestObserver observer = new TestObserver();
+        subject.registerObserver(observer);
+
+        subject.notifyObservers(notificacao(1L, 1));
+        assertTrue(observer.notificado);
+        assertEquals(1, subject.getMetricasObservadores().stream().mapToLong(MetricasObservador::getFalhas).sum());
+    }
+}
@@ -0,0 +1,45 @@
+package com.teatro.observer;
+
+import com.teatro.model.Ingresso;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class NotificacaoVendaTest {
+    private Ingresso criarIngresso(int poltrona, String codigo) {
+        Ingresso ingresso = new Ingresso();
+        ingresso.setEventoNome("Hamlet");
+        ingresso.setHorario("Noite");
+        ingresso.setAreaNome("Plateia A");
+        ingresso.setNumeroPoltrona(poltrona);
+        ingresso.setValor(50.0);
+        ingresso.setCodigo(codigo);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        return ingresso;
+    }
+
+    @Test
+    void compraDeVariasPoltronasGeraUmaNotificacaoAgregada() {
+        NotificacaoVenda notificacao = new NotificacaoVenda(List.of(
+            criarIngresso(3, "AAA"), criarIngresso(4, "BBB"), criarIngresso(5, "CCC")));
+        assertEquals(3, notificacao.getIngressos().size());
+        assertEquals(3, notificacao.getIngresso().getNumeroPoltrona());
+        assertTrue(notificacao.getMensagem().contains("Poltronas: 3, 4, 5"));
+        assertTrue(notificacao.getMensagem().contains("Códigos: AAA, BBB, CCC"));
+        assertTrue(notificacao.getMensagem().contains(String.format("%.2f", 150.0)));
+    }
+
+    @Test
+    void notificacaoDeUmIngressoMantemMensagemOriginal() {
+        NotificacaoVenda notificacao = new NotificacaoVenda(criarIngresso(7, "XYZ"));
+        assertEquals(List.of(notificacao.getIngresso()), notificacao.getIngressos());
+        assertTrue(notificacao.getMensagem().startsWith("Nova venda de ingresso:"));
+        assertTrue(notificacao.getMensagem().contains("Poltrona: 7"));
+    }
+
+    @Test
+    void notificacaoSemIngressosEhRejeitada() {
+        assertThrows(IllegalArgumentException.class, () -> new NotificacaoVenda(List.of()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.teatro.service;
+
+import com.teatro.model.Ingresso;
+import com.teatro.observer.NotificacaoVenda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class EstatisticasIncrementaisTest {
+    private EstatisticasIncrementais estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = new EstatisticasIncrementais();
+        estatisticas.registrarEvento(1L, "Hamlet");
+        estatisticas.registrarSessao(10L, 1L, "Hamlet", Date.valueOf("2025-06-01"), "Noite", 100);
+        estatisticas.registrarSessao(11L, 1L, "Hamlet", Date.valueOf("2025-06-02"), "Tarde", 100);
+        estatisticas.registrarArea(5L, "Plateia A", 50);
+    }
+
+    private Ingresso ingresso(Long sessaoId, int poltrona, double valor) {
+        Ingresso ingresso = new Ingresso(1L, sessaoId, 5L, poltrona, valor);
+        ingresso.setCodigo("EST-" + sessaoId + "-" + poltrona);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        return ingresso;
+    }
+
+    @Test
+    void vendaAtualizaSessaoEventoEArea() {
+        estatisticas.update(new NotificacaoVenda(List.of(ingresso(10L, 1, 40.0), ingresso(10L, 2, 40.0))));
+        estatisticas.update(new NotificacaoVenda(ingresso(11L, 1, 30.0)));
+
+        assertEquals(2, estatisticas.getSessao(10L).getVendidos());
+        assertEquals(2.0, estatisticas.getSessao(10L).getPercentualOcupacao(), 1e-9);
+        assertEquals(3, estatisticas.getEvento(1L).getVendidos());
+        assertEquals(110.0, estatisticas.getEvento(1L).getFaturamento(), 1e-9);
+        assertEquals(200, estatisticas.getEvento(1L).getCapacidade());
+        assertEquals(3, estatisticas.getArea(5L).getVendidos());
+        assertEquals(110.0 / 3, estatisticas.getEvento(1L).getValorMedio(), 1e-9);
+    }
+
+    @Test
+    void cancelamentoDesfazVenda() {
+        Ingresso vendido = ingresso(10L, 7, 25.5);
+        estatisticas.update(new NotificacaoVenda(vendido));
+        estatisticas.update(NotificacaoVenda.cancelamento(vendido));
+
+        assertEquals(0, estatisticas.getSessao(10L).getVendidos());
+        assertEquals(0.0, estatisticas.getEvento(1L).getFaturamento(), 1e-9);
+        assertEquals(0, estatisticas.getArea(5L).getVendidos());
+    }
+
+    @Test
+    void faturamentoEmCentavosNaoAcumulaErro() {
+        for (int i = 1; i <= 1000; i++) {
+            estatisticas.update(new NotificacaoVenda(ingresso(10L, i, 0.1)));
+        }
+        assertEquals(100.0, estatisticas.getEvento(1L).getFaturamento());
+    }
+
+    @Test
+    void entregaRepetidaPelaOutboxNaoContaDuasVezes() {
+        Ingresso vendido = ingresso(10L, 3, 20.0);
+        estatisticas.update(new NotificacaoVenda(vendido));
+        estatisticas.update(new NotificacaoVenda(List.of(vendido, ingresso(10L, 4, 20.0))));
+        estatisticas.update(NotificacaoVenda.cancelamento(vendido));
+        estatisticas.update(NotificacaoVenda.cancelamento(vendido));
+
+        assertEquals(1, estatisticas.getSessao(10L).getVendidos());
+        assertEquals(20.0, estatisticas.getEvento(1L).getFaturamento(), 1e-9);
+    }
+
+    @Test
+    void sessaoDesconhecidaSemCargaEIgnorada() {
+        estatisticas.update(new NotificacaoVenda(ingresso(99L, 1, 10.0)));
+        assertNull(estatisticas.getSessao(99L));
+        assertEquals(0, estatisticas.getEvento(1L).getVendidos());
+        assertEquals(1, estatisticas.getArea(5L).getVendidos());
+    }
+}
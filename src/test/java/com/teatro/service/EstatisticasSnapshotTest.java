@@ -0,0 +1,38 @@
+package com.teatro.service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EstatisticasSnapshotTest {
+
+    @Test
+    void snapshotExpiraAposTtl() {
+        Instant calculadoEm = Instant.parse("2025-06-01T20:00:00Z");
+        EstatisticasSnapshot snapshot = new EstatisticasSnapshot(
+            Map.of("pecaMaisVendida", Map.of("nome", "Hamlet", "totalVendas", 3)),
+            calculadoEm, Duration.ofMillis(12), true, 1);
+
+        Duration ttl = Duration.ofSeconds(60);
+        assertFalse(snapshot.isExpirado(ttl, calculadoEm.plusSeconds(59)));
+        assertTrue(snapshot.isExpirado(ttl, calculadoEm.plusSeconds(60)));
+        assertEquals(Duration.ofSeconds(30), snapshot.getIdade(calculadoEm.plusSeconds(30)));
+    }
+
+    @Test
+    void snapshotNaoMudaComAlteracoesNoMapaOriginal() {
+        Map<String, Object> estatisticas = new HashMap<>();
+        estatisticas.put("lucroMedioPorPeca", List.of());
+        EstatisticasSnapshot snapshot = new EstatisticasSnapshot(
+            estatisticas, Instant.now(), Duration.ZERO, false, 1);
+
+        estatisticas.put("pecaMaisVendida", Map.of());
+        assertFalse(snapshot.getEstatisticas().containsKey("pecaMaisVendida"));
+        assertThrows(UnsupportedOperationException.class,
+            () -> snapshot.getEstatisticas().put("x", "y"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.teatro.service;
+
+import com.teatro.database.OutboxVendas;
+import com.teatro.database.OutboxVendas.Registro;
+import com.teatro.model.Ingresso;
+import com.teatro.observer.NotificacaoSubject;
+import com.teatro.observer.NotificacaoVenda;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RelayOutboxVendasTest {
+
+    private Registro registro(long id, String tipo, long sessaoId, int poltrona) {
+        Ingresso ingresso = new Ingresso(1L, sessaoId, 1L, poltrona, 10.0);
+        ingresso.setCodigo("RELAY-" + poltrona);
+        ingresso.setDataCompra(new Timestamp(System.currentTimeMillis()));
+        return new Registro(id, tipo, ingresso);
+    }
+
+    @Test
+    void registroSoSaiDaOutboxDepoisQueTodosOsObservadoresProcessam() {
+        NotificacaoSubject subject = new NotificacaoSubject();
+        List<NotificacaoVenda> recebidas = new ArrayList<>();
+        boolean[] falhar = {true};
+        subject.registerObserver(recebidas::add);
+        subject.registerObserver(n -> {
+            if (falhar[0] && n.getIngresso().getSessaoId() == 2L) {
+                throw new IllegalStateException("indisponível");
+            }
+        });
+        RelayOutboxVendas relay = new RelayOutboxVendas(subject);
+        List<Registro> registros = List.of(
+            registro(1, OutboxVendas.TIPO_VENDA, 1L, 1),
+            registro(2, OutboxVendas.TIPO_VENDA, 1L, 2),
+            registro(3, OutboxVendas.TIPO_VENDA, 2L, 3),
+            registro(4, OutboxVendas.TIPO_CANCELAMENTO, 1L, 1));
+
+        // A entrega para no grupo que falhou, para manter a ordem
+        assertEquals(registros.subList(0, 2), relay.entregar(registros));
+        assertEquals(2, relay.getTotalEntregues());
+
+        // Na nova tentativa, o grupo já entregue não é repetido
+        falhar[0] = false;
+        assertEquals(registros, relay.entregar(registros));
+        assertEquals(4, relay.getTotalEntregues());
+        assertEquals(2, relay.getTotalRepetidos());
+        assertTrue(recebidas.get(recebidas.size() - 1).isCancelamento());
+    }
+}
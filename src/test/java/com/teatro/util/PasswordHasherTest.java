@@ -1,7 +1,9 @@
 package com.teatro.util;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.slf4j.LoggerFactory;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -100,4 +102,76 @@ public class PasswordHasherTest {
         assertTrue(PasswordHasher.verifyPassword(senhaTeste, hash1));
         assertTrue(PasswordHasher.verifyPassword(senhaTeste, hash2));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testFormatoVersionado() {
+        // O hash atual registra o algoritmo e o número de iterações
+        String hash = PasswordHasher.hashPassword(senhaTeste, 1_000);
+        
+        String[] parts = hash.split(":");
+        assertEquals(4, parts.length);
+        assertEquals("pbkdf2-sha256", parts[0]);
+        assertEquals("1000", parts[1]);
+        assertTrue(PasswordHasher.verifyPassword(senhaTeste, hash));
+    }
+    
+    @Test
+    void testVerifyPasswordFormatoAntigo() {
+        // Senhas gravadas como "salt:hash" (SHA-256) continuam válidas
+        String salt = PasswordHasher.generateSalt();
+        String hashAntigo = salt + ":" + PasswordHasher.hashPassword(senhaTeste, salt);
+        
+        assertTrue(PasswordHasher.verifyPassword(senhaTeste, hashAntigo));
+        assertFalse(PasswordHasher.verifyPassword("senhaErrada", hashAntigo));
+    }
+    
+    @Test
+    void testNeedsRehash() {
+        String salt = PasswordHasher.generateSalt();
+        
+        assertTrue(PasswordHasher.needsRehash(senhaTeste));
+        assertTrue(PasswordHasher.needsRehash(salt + ":" + PasswordHasher.hashPassword(senhaTeste, salt)));
+        assertTrue(PasswordHasher.needsRehash(PasswordHasher.hashPassword(senhaTeste, 1_000)));
+        assertFalse(PasswordHasher.needsRehash(PasswordHasher.hashPassword(senhaTeste)));
+    }
+    
+    @Test
+    void testHashAdulterado() {
+        String hash = PasswordHasher.hashPassword(senhaTeste, 1_000);
+        String[] parts = hash.split(":");
+        
+        assertFalse(PasswordHasher.verifyPassword(senhaTeste, parts[0] + ":1001:" + parts[2] + ":" + parts[3]));
+        assertFalse(PasswordHasher.verifyPassword(senhaTeste, parts[0] + ":abc:" + parts[2] + ":" + parts[3]));
+        assertFalse(PasswordHasher.verifyPassword(senhaTeste, parts[0] + ":2000000000:" + parts[2] + ":" + parts[3]));
+        assertFalse(PasswordHasher.verifyPassword(senhaTeste, parts[0] + ":1000:" + parts[2] + ":%%%"));
+        assertFalse(PasswordHasher.verifyPassword(null, hash));
+        assertFalse(PasswordHasher.verifyPassword(senhaTeste, null));
+    }
+    
+    @Test
+    @Tag("benchmark")
+    void testCalibracaoIteracoes() {
+        // Mede o custo por iteração nesta máquina e estima quantas iterações cabem no tempo
+        // alvo de uma verificação (teatro.senha.alvoMs), para ajustar teatro.senha.iteracoes
+        int alvoMs = Integer.getInteger("teatro.senha.alvoMs", 250);
+        int iteracoesMedidas = 50_000;
+        String hash = PasswordHasher.hashPassword(senhaTeste, iteracoesMedidas);
+        
+        // Aquecimento
+        for (int i = 0; i < 3; i++) {
+            PasswordHasher.verifyPassword(senhaTeste, hash);
+        }
+        int repeticoes = 5;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticoes; i++) {
+            assertTrue(PasswordHasher.verifyPassword(senhaTeste, hash));
+        }
+        double nanosPorIteracao = (double) (System.nanoTime() - inicio) / repeticoes / iteracoesMedidas;
+        long sugeridas = Math.round(alvoMs * 1_000_000L / nanosPorIteracao);
+        
+        LoggerFactory.getLogger(PasswordHasherTest.class).info(
+            "PBKDF2-HMAC-SHA256: {} ns/iteração; {} iterações para {} ms (configurado: {})",
+            String.format("%.1f", nanosPorIteracao), sugeridas, alvoMs, PasswordHasher.getIterations());
+        assertTrue(sugeridas > 0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.teatro.util;
+
+import com.teatro.database.ConexaoTeste;
+import com.teatro.database.MigracoesSchema;
+import com.teatro.database.UnidadeDeTrabalho;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Testes da migração de senhas em lotes. Tudo roda em uma transação desfeita ao final;
+ * as iterações do PBKDF2 são reduzidas para o teste não depender da velocidade da máquina.
+ */
+public class PasswordMigrationTest {
+
+    private static final int USUARIOS = 25;
+    private static final int TAMANHO_LOTE = 10;
+
+    @Test
+    void testMigracaoEmLotesRetomaDoCheckpoint() throws SQLException {
+        Connection conexao = ConexaoTeste.abrirOuIgnorar();
+        new MigracoesSchema(conexao).aplicar();
+        conexao.setAutoCommit(false);
+        String iteracoes = System.setProperty("teatro.senha.iteracoes", "1000");
+        try (UnidadeDeTrabalho uow = ConexaoTeste.abrirEscopo(conexao)) {
+            try {
+                // Migra o que já estiver pendente no banco de teste
+                PasswordMigration.migrarSenhas();
+                assertFalse(PasswordMigration.existemSenhasEmTextoPlano());
+
+                inserirUsuarios(conexao);
+                assertTrue(PasswordMigration.existemSenhasEmTextoPlano());
+
+                // Um lote e "queda": a próxima execução continua de onde parou
+                assertEquals(TAMANHO_LOTE, PasswordMigration.migrarSenhas(TAMANHO_LOTE, 1));
+                assertTrue(PasswordMigration.existemSenhasEmTextoPlano());
+                assertEquals(USUARIOS - TAMANHO_LOTE, PasswordMigration.migrarSenhas(TAMANHO_LOTE, Integer.MAX_VALUE));
+                assertFalse(PasswordMigration.existemSenhasEmTextoPlano());
+                verificarSenhas(conexao);
+
+                // Concluída a migração, senhas em texto plano abaixo do último checkpoint são encontradas
+                try (PreparedStatement stmt = conexao.prepareStatement(
+                        "UPDATE usuarios SET senha = 'senha1' WHERE email = 'migracao1@teatro.com'")) {
+                    assertEquals(1, stmt.executeUpdate());
+                }
+                assertTrue(PasswordMigration.existemSenhasEmTextoPlano());
+                assertEquals(1, PasswordMigration.migrarSenhas());
+                verificarSenhas(conexao);
+            } finally {
+                conexao.rollback();
+            }
+        } finally {
+            restaurar(iteracoes);
+        }
+    }
+
+    private static void inserirUsuarios(Connection conexao) throws SQLException {
+        String sql = "INSERT INTO usuarios (nome, cpf, email, senha, tipo_usuario) VALUES (?, ?, ?, ?, 'COMUM')";
+        try (PreparedStatement stmt = conexao.prepareStatement(sql)) {
+            for (int i = 1; i <= USUARIOS; i++) {
+                stmt.setString(1, "Migração " + i);
+                stmt.setString(2, String.format("910.000.%03d-00", i));
+                stmt.setString(3, "migracao" + i + "@teatro.com");
+                stmt.setString(4, "senha" + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void verificarSenhas(Connection conexao) throws SQLException {
+        String sql = "SELECT email, senha FROM usuarios WHERE email LIKE 'migracao%@teatro.com'";
+        int verificadas = 0;
+        try (PreparedStatement stmt = conexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String indice = rs.getString("email").replaceAll("\\D", "");
+                assertTrue(PasswordHasher.verifyPassword("senha" + indice, rs.getString("senha")));
+                verificadas++;
+            }
+        }
+        assertEquals(USUARIOS, verificadas);
+    }
+
+    private static void restaurar(String iteracoes) {
+        if (iteracoes == null) {
+            System.clearProperty("teatro.senha.iteracoes");
+        } else {
+            System.setProperty("teatro.senha.iteracoes", iteracoes);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.teatro.util;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtro por nível e montagem preguiçosa das mensagens do TeatroLogger.
+ * O benchmark compara uma chamada de debug desabilitada com a formatação feita
+ * anteriormente em toda chamada (String.format com data e hora); tem a tag "benchmark"
+ * e só roda com -Pbenchmarks.
+ */
+public class TeatroLoggerTest {
+
+    private static final int CHAMADAS = 1_000_000;
+
+    private final TeatroLogger logger = new TeatroLogger(LoggerFactory.getLogger("com.teatro.teste"));
+
+    @Test
+    void mensagemDeDebugNaoEhMontadaComNivelDesabilitado() {
+        Assumptions.assumeFalse(logger.isDebugEnabled(), "Debug habilitado por -Dteatro.log.nivel");
+        AtomicInteger montagens = new AtomicInteger();
+        logger.debug(() -> "Mensagem " + montagens.incrementAndGet());
+        assertEquals(0, montagens.get());
+    }
+
+    @Test
+    void mensagemDeInfoEhMontadaComNivelHabilitado() {
+        Assumptions.assumeTrue(logger.isInfoEnabled());
+        AtomicInteger montagens = new AtomicInteger();
+        logger.info(() -> "Mensagem " + montagens.incrementAndGet());
+        assertEquals(1, montagens.get());
+    }
+
+    @Test
+    void parametrosNaoSaoConvertidosComNivelDesabilitado() {
+        Assumptions.assumeFalse(logger.isDebugEnabled(), "Debug habilitado por -Dteatro.log.nivel");
+        AtomicInteger conversoes = new AtomicInteger();
+        Object parametro = new Object() {
+            @Override
+            public String toString() {
+                conversoes.incrementAndGet();
+                return "parametro";
+            }
+        };
+        logger.debug("Valor: {}", parametro);
+        assertEquals(0, conversoes.get());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void custoPorChamadaDeDebugDesabilitado() {
+        Assumptions.assumeFalse(logger.isDebugEnabled(), "Debug habilitado por -Dteatro.log.nivel");
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        long tamanhoLegado = 0;
+        long inicioLegado = System.nanoTime();
+        for (int i = 0; i < CHAMADAS; i++) {
+            String mensagem = String.format("[%s] [%s] %s", LocalDateTime.now().format(formatter), "DEBUG",
+                String.format("Ingresso %d da sessão %d", i, 42));
+            tamanhoLegado += mensagem.length();
+        }
+        long tempoLegadoNs = System.nanoTime() - inicioLegado;
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CHAMADAS; i++) {
+            logger.debug("Ingresso {} da sessão {}", i, 42);
+        }
+        long tempoNs = System.nanoTime() - inicio;
+
+        LoggerFactory.getLogger(TeatroLoggerTest.class).info(
+            "Formatação a cada chamada: {} ns/chamada; debug desabilitado (SLF4J): {} ns/chamada ({} caracteres)",
+            String.format("%.1f", (double) tempoLegadoNs / CHAMADAS), String.format("%.1f", (double) tempoNs / CHAMADAS),
+            tamanhoLegado);
+    }
+}
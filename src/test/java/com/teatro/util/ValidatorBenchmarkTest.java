@@ -0,0 +1,123 @@
+package com.teatro.util;
+
+import com.teatro.exception.TeatroException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark das validações de CPF, e-mail e telefone contra a implementação anterior
+ * (ValidatorLegado): vazão e bytes alocados por chamada, medidos na thread do teste.
+ * Para uma medição mais longa use -Dteatro.bench.validacoes=5000000. A verificação de
+ * alocação exige o módulo jdk.management (--add-modules jdk.management); sem ele o teste
+ * informa só a vazão e é ignorado. Tem a tag "benchmark" e só roda com -Pbenchmarks.
+ */
+@Tag("benchmark")
+public class ValidatorBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidatorBenchmarkTest.class);
+
+    private static final int VALIDACOES = Integer.getInteger("teatro.bench.validacoes", 200_000);
+    private static final int AMOSTRAS = 1024;
+
+    /**
+     * ThreadMXBean.getThreadAllocatedBytes da extensão com.sun.management, obtido por reflexão
+     * porque o módulo da aplicação não lê jdk.management. Nulo se a JVM não oferecer a medição.
+     */
+    private static final Method bytesAlocados = buscarMedicaoDeAlocacao();
+
+    @Test
+    void validacoesSemExpressoesRegulares() {
+        Random random = new Random(7);
+        String[] cpfs = new String[AMOSTRAS];
+        String[] emails = new String[AMOSTRAS];
+        String[] telefones = new String[AMOSTRAS];
+        for (int i = 0; i < AMOSTRAS; i++) {
+            cpfs[i] = ValidatorTest.cpfValido(random);
+            emails[i] = "cliente" + i + "@teatro.com";
+            telefones[i] = String.format("(%02d) 9%04d-%04d", 11 + i % 80, i, random.nextInt(10_000));
+        }
+
+        Medicao cpfLegado = medir(cpfs, ValidatorLegado::validarCpf);
+        Medicao cpfAtual = medir(cpfs, Validator::validarCpf);
+        Medicao emailLegado = medir(emails, ValidatorLegado::validarEmail);
+        Medicao emailAtual = medir(emails, Validator::validarEmail);
+        Medicao telefoneLegado = medir(telefones, ValidatorLegado::validarTelefone);
+        Medicao telefoneAtual = medir(telefones, Validator::validarTelefone);
+
+        logger.info("{} validações de cada tipo", VALIDACOES);
+        logger.info("CPF      anterior: {} | atual: {}", cpfLegado, cpfAtual);
+        logger.info("e-mail   anterior: {} | atual: {}", emailLegado, emailAtual);
+        logger.info("telefone anterior: {} | atual: {}", telefoneLegado, telefoneAtual);
+
+        // As validações atuais não criam objetos para entradas válidas
+        assumeTrue(bytesAlocados != null, "Medição de alocação indisponível nesta JVM");
+        assertTrue(cpfAtual.bytesPorChamada() < 1, cpfAtual.toString());
+        assertTrue(emailAtual.bytesPorChamada() < 1, emailAtual.toString());
+        assertTrue(telefoneAtual.bytesPorChamada() < 1, telefoneAtual.toString());
+    }
+
+    private record Medicao(double porSegundo, double bytesPorChamada) {
+        @Override
+        public String toString() {
+            return Double.isNaN(bytesPorChamada)
+                ? String.format("%,12.0f/s", porSegundo)
+                : String.format("%,12.0f/s %6.1f bytes/chamada", porSegundo, bytesPorChamada);
+        }
+    }
+
+    private static Medicao medir(String[] entradas, Consumer<String> validacao) {
+        // Aquecimento, para que a medição pegue o código já compilado
+        executar(entradas, validacao, VALIDACOES);
+
+        long bytesAntes = bytesAlocadosNaThread();
+        long inicio = System.nanoTime();
+        executar(entradas, validacao, VALIDACOES);
+        long decorrido = System.nanoTime() - inicio;
+        long bytes = bytesAlocadosNaThread() - bytesAntes;
+
+        return new Medicao(VALIDACOES / (decorrido / (double) TimeUnit.SECONDS.toNanos(1)),
+                           bytesAlocados == null ? Double.NaN : bytes / (double) VALIDACOES);
+    }
+
+    private static void executar(String[] entradas, Consumer<String> validacao, int vezes) {
+        for (int i = 0; i < vezes; i++) {
+            try {
+                validacao.accept(entradas[i & (AMOSTRAS - 1)]);
+            } catch (TeatroException e) {
+                fail("Entrada válida recusada: " + entradas[i & (AMOSTRAS - 1)]);
+            }
+        }
+    }
+
+    private static Method buscarMedicaoDeAlocacao() {
+        try {
+            Class<?> extensao = Class.forName("com.sun.management.ThreadMXBean");
+            return extensao.isInstance(ManagementFactory.getThreadMXBean())
+                ? extensao.getMethod("getThreadAllocatedBytes", long.class)
+                : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /** Bytes alocados pela thread atual até agora (zero se a medição não estiver disponível). */
+    private static long bytesAlocadosNaThread() {
+        if (bytesAlocados == null) {
+            return 0;
+        }
+        try {
+            return (Long) bytesAlocados.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
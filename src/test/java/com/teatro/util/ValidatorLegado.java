@@ -0,0 +1,68 @@
+package com.teatro.util;
+
+import com.teatro.exception.TeatroException;
+import java.util.regex.Pattern;
+
+/**
+ * Implementação anterior das validações do Validator, baseada em expressões regulares.
+ * Serve de referência nos testes de equivalência e no benchmark.
+ */
+final class ValidatorLegado {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "^[A-Za-z0-9+_.-]+@(.+)$"
+    );
+    
+    private static final Pattern TELEFONE_PATTERN = Pattern.compile(
+        "^\\(?\\d{2}\\)?[\\s-]?\\d{4,5}[\\s-]?\\d{4}$"
+    );
+    
+    private ValidatorLegado() {
+    }
+    
+    static void validarEmail(String email) {
+        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new TeatroException("E-mail inválido: " + email);
+        }
+    }
+    
+    static void validarTelefone(String telefone) {
+        if (telefone == null || !TELEFONE_PATTERN.matcher(telefone).matches()) {
+            throw new TeatroException("Telefone inválido: " + telefone);
+        }
+    }
+    
+    static void validarCpf(String cpf) {
+        if (cpf == null || cpf.trim().isEmpty()) {
+            throw new TeatroException("CPF não pode ser nulo ou vazio");
+        }
+        
+        String cpfNumerico = cpf.replaceAll("[^0-9]", "");
+        
+        if (cpfNumerico.length() != 11) {
+            throw new TeatroException("CPF deve conter 11 dígitos");
+        }
+        
+        if (cpfNumerico.matches("(\\d)\\1{10}")) {
+            throw new TeatroException("CPF não pode ter todos os dígitos iguais");
+        }
+        
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += Character.getNumericValue(cpfNumerico.charAt(i)) * (10 - i);
+        }
+        int primeiroDigito = 11 - (soma % 11);
+        if (primeiroDigito > 9) primeiroDigito = 0;
+        
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += Character.getNumericValue(cpfNumerico.charAt(i)) * (11 - i);
+        }
+        int segundoDigito = 11 - (soma % 11);
+        if (segundoDigito > 9) segundoDigito = 0;
+        
+        if (Character.getNumericValue(cpfNumerico.charAt(9)) != primeiroDigito ||
+            Character.getNumericValue(cpfNumerico.charAt(10)) != segundoDigito) {
+            throw new TeatroException("CPF inválido (dígitos verificadores incorretos)");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.teatro.util;
+
+import com.teatro.exception.TeatroException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/**
+ * Testes unitários para a classe Validator. As validações de CPF, e-mail e telefone são
+ * comparadas com a implementação anterior (ValidatorLegado) em entradas geradas.
+ */
+public class ValidatorTest {
+    
+    @Test
+    void testCpfNumerico() {
+        assertEquals(52998224725L, Validator.cpfNumerico("529.982.247-25"));
+        assertEquals(52998224725L, Validator.cpfNumerico("52998224725"));
+        assertEquals(52998224725L, Validator.cpfNumerico("529982247-25"));
+        assertEquals(191L, Validator.cpfNumerico("000.000.001-91"));
+        assertEquals("529.982.247-25", Validator.formatarCpf(52998224725L));
+        assertEquals("000.000.001-91", Validator.formatarCpf(191L));
+    }
+    
+    @Test
+    void testNormalizarCpf() {
+        // Não confere os dígitos verificadores: serve de chave para CPFs já gravados
+        assertEquals(0L, Validator.normalizarCpf("000.000.000-00"));
+        assertEquals(52998224726L, Validator.normalizarCpf("529.982.247-26"));
+        assertEquals(Validator.normalizarCpf("52998224725"), Validator.normalizarCpf(" 529.982.247-25 "));
+        assertEquals(-1L, Validator.normalizarCpf("529.982.247-2"));
+        assertEquals(-1L, Validator.normalizarCpf("529.982.247-250"));
+        assertEquals(-1L, Validator.normalizarCpf(null));
+    }
+    
+    @Test
+    void testCpfInvalido() {
+        assertEquals("CPF não pode ser nulo ou vazio",
+            assertThrows(TeatroException.class, () -> Validator.validarCpf("  ")).getMessage());
+        assertEquals("CPF deve conter 11 dígitos",
+            assertThrows(TeatroException.class, () -> Validator.validarCpf("529.982.247-2")).getMessage());
+        assertEquals("CPF deve conter 11 dígitos",
+            assertThrows(TeatroException.class, () -> Validator.validarCpf("529.982.247-250")).getMessage());
+        assertEquals("CPF não pode ter todos os dígitos iguais",
+            assertThrows(TeatroException.class, () -> Validator.validarCpf("111.111.111-11")).getMessage());
+        assertEquals("CPF inválido (dígitos verificadores incorretos)",
+            assertThrows(TeatroException.class, () -> Validator.validarCpf("529.982.247-26")).getMessage());
+    }
+    
+    @Test
+    void testEmailETelefone() {
+        assertDoesNotThrow(() -> Validator.validarEmail("cliente.vip+teatro@teatro.com"));
+        assertThrows(TeatroException.class, () -> Validator.validarEmail("@teatro.com"));
+        assertThrows(TeatroException.class, () -> Validator.validarEmail("cliente@"));
+        assertThrows(TeatroException.class, () -> Validator.validarEmail(null));
+        
+        assertDoesNotThrow(() -> Validator.validarTelefone("(11) 98765-4321"));
+        assertDoesNotThrow(() -> Validator.validarTelefone("1133334444"));
+        assertThrows(TeatroException.class, () -> Validator.validarTelefone("(11) 987-4321"));
+        assertThrows(TeatroException.class, () -> Validator.validarTelefone(null));
+    }
+    
+    @Test
+    void testEquivalenteAImplementacaoAnterior() {
+        Random random = new Random(42);
+        String alfabetoCpf = "0123456789.- a";
+        String alfabetoEmail = "aZ9+_.-@\n é";
+        String alfabetoTelefone = "0123456789()- \ta";
+        for (int n = 0; n < 50_000; n++) {
+            String cpf = n % 3 == 0 ? cpfValido(random) : aleatorio(random, alfabetoCpf, 16);
+            assertEquals(mensagem(() -> ValidatorLegado.validarCpf(cpf)),
+                         mensagem(() -> Validator.validarCpf(cpf)), cpf);
+            
+            String email = aleatorio(random, alfabetoEmail, 8);
+            assertEquals(mensagem(() -> ValidatorLegado.validarEmail(email)),
+                         mensagem(() -> Validator.validarEmail(email)), email);
+            
+            String telefone = n % 3 == 0 ? telefoneQuaseValido(random) : aleatorio(random, alfabetoTelefone, 16);
+            assertEquals(mensagem(() -> ValidatorLegado.validarTelefone(telefone)),
+                         mensagem(() -> Validator.validarTelefone(telefone)), telefone);
+        }
+    }
+    
+    /** Gera um CPF válido, formatado em metade dos casos. */
+    static String cpfValido(Random random) {
+        int[] d = new int[11];
+        for (int i = 0; i < 9; i++) {
+            d[i] = random.nextInt(10);
+        }
+        for (int tamanho = 9; tamanho <= 10; tamanho++) {
+            int soma = 0;
+            for (int i = 0; i < tamanho; i++) {
+                soma += d[i] * (tamanho + 1 - i);
+            }
+            int digito = 11 - (soma % 11);
+            d[tamanho] = digito > 9 ? 0 : digito;
+        }
+        StringBuilder cpf = new StringBuilder();
+        for (int digito : d) {
+            cpf.append(digito);
+        }
+        return random.nextBoolean() ? Validator.formatarCpf(Long.parseLong(cpf.toString())) : cpf.toString();
+    }
+    
+    /** Gera telefones no formato esperado, variando parênteses, separadores e quantidade de dígitos. */
+    private static String telefoneQuaseValido(Random random) {
+        String separadores = "  -\t";
+        StringBuilder telefone = new StringBuilder();
+        if (random.nextBoolean()) {
+            telefone.append('(');
+        }
+        telefone.append(aleatorio(random, "0123456789", 2, 3));
+        if (random.nextBoolean()) {
+            telefone.append(')');
+        }
+        if (random.nextBoolean()) {
+            telefone.append(separadores.charAt(random.nextInt(separadores.length())));
+        }
+        telefone.append(aleatorio(random, "0123456789", 3, 9));
+        if (random.nextBoolean()) {
+            telefone.append(separadores.charAt(random.nextInt(separadores.length())));
+        }
+        telefone.append(aleatorio(random, "0123456789", 3, 5));
+        return telefone.toString();
+    }
+    
+    private static String aleatorio(Random random, String alfabeto, int tamanhoMaximo) {
+        return aleatorio(random, alfabeto, 0, tamanhoMaximo);
+    }
+    
+    private static String aleatorio(Random random, String alfabeto, int tamanhoMinimo, int tamanhoMaximo) {
+        int tamanho = tamanhoMinimo + random.nextInt(tamanhoMaximo - tamanhoMinimo + 1);
+        StringBuilder valor = new StringBuilder(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            valor.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+        }
+        return valor.toString();
+    }
+    
+    /** Mensagem da TeatroException lançada, ou null se a validação passou. */
+    private static String mensagem(Runnable validacao) {
+        try {
+            validacao.run();
+            return null;
+        } catch (TeatroException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.teatro.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Testes unitários para a classe VerificacaoSenhas.
+ */
+public class VerificacaoSenhasTest {
+
+    @Test
+    void testVerificar() {
+        String hash = PasswordHasher.hashPassword("minhaSenha123", 1_000);
+
+        assertTrue(VerificacaoSenhas.verificar("minhaSenha123", hash));
+        assertFalse(VerificacaoSenhas.verificar("senhaErrada", hash));
+    }
+
+    @Test
+    void testVerificacaoFicticiaAceitaQualquerSenha() {
+        // Identificador desconhecido: paga o custo da verificação sem depender da senha
+        assertDoesNotThrow(() -> VerificacaoSenhas.verificarFicticia("qualquerSenha"));
+        assertDoesNotThrow(() -> VerificacaoSenhas.verificarFicticia(null));
+    }
+
+    @Test
+    void testVerificacoesConcorrentes() throws Exception {
+        // Mais chamadores que threads do executor: todos recebem o resultado correto
+        String hash = PasswordHasher.hashPassword("minhaSenha123", 1_000);
+        int chamadores = VerificacaoSenhas.getThreads() * 4;
+        ExecutorService clientes = Executors.newFixedThreadPool(chamadores);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < chamadores; i++) {
+                String senha = i % 2 == 0 ? "minhaSenha123" : "senhaErrada";
+                resultados.add(clientes.submit(() -> VerificacaoSenhas.verificar(senha, hash)));
+            }
+            for (int i = 0; i < chamadores; i++) {
+                assertEquals(i % 2 == 0, resultados.get(i).get());
+            }
+        } finally {
+            clientes.shutdownNow();
+        }
+        assertEquals(0, VerificacaoSenhas.getNaFila());
+    }
+}